@@ -0,0 +1,54 @@
+package de.fau.clients.orchestrator.benchmarks;
+
+import de.fau.clients.orchestrator.utils.DateTimeParser;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for parsing the ISO date and time strings used in SiLA responses and *.silo-files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DateTimeParserBenchmark {
+
+    private String isoDate = "2020-10-18+02:00";
+    private String isoTime = "08:15:30.250+02:00";
+    private String isoDateTime = "2020-10-18T08:15:30.250+02:00";
+    /** The basic format only matches the last formatter and therefore runs through all others. */
+    private String isoDateTimeBasic = "20201018T081530Z";
+
+    @Benchmark
+    public LocalDate parseIsoDate() {
+        return DateTimeParser.parseIsoDate(isoDate);
+    }
+
+    @Benchmark
+    public OffsetTime parseIsoTime() {
+        return DateTimeParser.parseIsoTime(isoTime);
+    }
+
+    @Benchmark
+    public OffsetDateTime parseIsoDateTime() {
+        return DateTimeParser.parseIsoDateTime(isoDateTime);
+    }
+
+    @Benchmark
+    public OffsetDateTime parseIsoDateTimeBasic() {
+        return DateTimeParser.parseIsoDateTime(isoDateTimeBasic);
+    }
+}
@@ -0,0 +1,110 @@
+package de.fau.clients.orchestrator.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.fau.clients.orchestrator.ctx.ConnectionManager;
+import de.fau.clients.orchestrator.mock.LatencyDistribution;
+import de.fau.clients.orchestrator.mock.MockSilaServer;
+import de.fau.clients.orchestrator.tasks.CommandTask;
+import de.fau.clients.orchestrator.tasks.CommandTaskModel;
+import de.fau.clients.orchestrator.tasks.TaskState;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end throughput benchmark, which drives command tasks of the orchestrator against a number
+ * of local mock servers. Each benchmark thread runs its own set of tasks round-robin across all
+ * servers, similar to parallel queues sharing the same devices. The thread count can be changed
+ * with the JMH option <code>-t</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EngineThroughputBenchmark {
+
+    @Param({"1", "4"})
+    private int serverCount;
+
+    @Param({"none", "lognormal:5:0.5"})
+    private String latency;
+
+    private List<MockSilaServer> servers;
+    private final List<UUID> serverUuids = new ArrayList<>();
+
+    @Setup
+    @SuppressWarnings("deprecation")
+    public void startServers() throws Exception {
+        servers = MockSilaServer.startMany(serverCount, MockSilaServer.Builder.newBuilder()
+                .withLatency(LatencyDistribution.parse(latency))
+                .withWorkerThreads(4));
+        final ConnectionManager conManager = ConnectionManager.getInstance();
+        for (final MockSilaServer server : servers) {
+            final UUID serverUuid = conManager.addServer(MockSilaServer.HOST, server.getPort());
+            if (serverUuid == null) {
+                throw new IllegalStateException("Could not connect to mock server on port "
+                        + server.getPort());
+            }
+            serverUuids.add(serverUuid);
+        }
+    }
+
+    @TearDown
+    public void stopServers() {
+        final ConnectionManager conManager = ConnectionManager.getInstance();
+        serverUuids.forEach(conManager::removeServer);
+        serverUuids.clear();
+        servers.forEach(MockSilaServer::close);
+    }
+
+    /**
+     * The tasks of a single benchmark thread. Command tasks are not thread-safe, so every thread
+     * needs its own instances.
+     */
+    @State(Scope.Thread)
+    public static class Worker {
+
+        private final List<CommandTask> tasks = new ArrayList<>();
+        private int nextIdx = 0;
+
+        @Setup
+        public void createTasks(final EngineThroughputBenchmark benchmark) {
+            final ObjectNode params = new ObjectMapper().createObjectNode();
+            params.putObject("Value").put("value", "ping");
+            for (final UUID serverUuid : benchmark.serverUuids) {
+                final CommandTaskModel model = new CommandTaskModel(
+                        serverUuid,
+                        MockSilaServer.FEATURE_ID_PREFIX,
+                        "Echo");
+                model.setCommandParams(params);
+                tasks.add(new CommandTask(model));
+            }
+        }
+    }
+
+    @Benchmark
+    public TaskState runCommandTask(final Worker worker) {
+        final CommandTask task = worker.tasks.get(worker.nextIdx);
+        worker.nextIdx = (worker.nextIdx + 1) % worker.tasks.size();
+        task.run();
+        return task.getState();
+    }
+}
@@ -0,0 +1,61 @@
+package de.fau.clients.orchestrator.benchmarks;
+
+import de.fau.clients.orchestrator.queue.TaskQueueTable;
+import de.fau.clients.orchestrator.tasks.DelayTask;
+import de.fau.clients.orchestrator.tasks.ExecPolicy;
+import de.fau.clients.orchestrator.tasks.QueueTask;
+import de.fau.clients.orchestrator.tasks.TaskState;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the per-task overhead of running a queue. The queue consists of zero-delay tasks
+ * only, so the measured time is dominated by the state handling and table updates of the queue
+ * itself. The loop mirrors the sequential execution of the command line runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class QueueRunnerBenchmark {
+
+    private static final int TASK_COUNT = 500;
+    private TaskQueueTable queue;
+
+    @Setup
+    public void setup() {
+        queue = new TaskQueueTable();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            queue.addTask(new DelayTask(0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASK_COUNT)
+    public int runQueue() {
+        queue.resetAllTaskStates();
+        int finishedCount = 0;
+        for (int i = 0; i < queue.getRowCount(); i++) {
+            final QueueTask task = queue.getTaskFromRow(i);
+            task.run();
+            if (task.getState() == TaskState.FINISHED_ERROR
+                    && queue.getTaskPolicyFromRow(i) == ExecPolicy.HALT_AFTER_ERROR) {
+                break;
+            }
+            finishedCount++;
+        }
+        return finishedCount;
+    }
+}
@@ -0,0 +1,66 @@
+package de.fau.clients.orchestrator.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the conversions between SiLA basic types and their JSON representation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SilaBasicTypeUtilsBenchmark {
+
+    private OffsetDateTime timestamp;
+    private JsonNode timestampNode;
+    private JsonNode dateNode;
+    private byte[] binary;
+
+    @Setup
+    public void setup() {
+        timestamp = OffsetDateTime.of(2020, 10, 18, 8, 15, 30, 0, ZoneOffset.ofHours(2));
+        timestampNode = SilaBasicTypeUtils.timestampAsJsonNode(timestamp);
+        dateNode = SilaBasicTypeUtils.dateAsJsonNode(timestamp);
+        binary = new byte[1024];
+        for (int i = 0; i < binary.length; i++) {
+            binary[i] = (byte) i;
+        }
+    }
+
+    @Benchmark
+    public JsonNode timestampAsJsonNode() {
+        return SilaBasicTypeUtils.timestampAsJsonNode(timestamp);
+    }
+
+    @Benchmark
+    public OffsetDateTime timestampFromJsonNode() {
+        return SilaBasicTypeUtils.timestampFromJsonNode(timestampNode);
+    }
+
+    @Benchmark
+    public LocalDate dateFromJsonNode() {
+        return SilaBasicTypeUtils.dateFromJsonNode(dateNode);
+    }
+
+    @Benchmark
+    public String toHexString() {
+        return SilaBasicTypeUtils.toHexString(binary);
+    }
+}
@@ -0,0 +1,78 @@
+package de.fau.clients.orchestrator.benchmarks;
+
+import de.fau.clients.orchestrator.queue.SiloFileFormat;
+import de.fau.clients.orchestrator.queue.TaskQueueData;
+import de.fau.clients.orchestrator.queue.TaskQueueTable;
+import de.fau.clients.orchestrator.tasks.DelayTask;
+import de.fau.clients.orchestrator.tasks.LocalExecTask;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for loading and saving *.silo-files of different sizes and encodings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TaskQueueDataBenchmark {
+
+    @Param({"100", "10000"})
+    private int taskCount;
+
+    @Param({"JSON", "SMILE"})
+    private SiloFileFormat format;
+
+    private TaskQueueData queueData;
+    private Path inFile;
+    private Path outFile;
+
+    @Setup
+    public void setup() throws IOException {
+        final TaskQueueTable queue = new TaskQueueTable();
+        for (int i = 0; i < taskCount; i++) {
+            if (i % 2 == 0) {
+                queue.addTask(new DelayTask(i));
+            } else {
+                queue.addTask(new LocalExecTask("echo \"task " + i + "\""));
+            }
+        }
+        queueData = TaskQueueData.createFromTaskQueue(queue);
+        inFile = Files.createTempFile("benchmark", "." + format.fileExtension);
+        outFile = Files.createTempFile("benchmark", "." + format.fileExtension);
+        TaskQueueData.writeToFile(inFile, queueData, format);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(inFile);
+        Files.deleteIfExists(outFile);
+    }
+
+    @Benchmark
+    public TaskQueueData createFromFile() throws IOException {
+        return TaskQueueData.createFromFile(inFile.toString());
+    }
+
+    @Benchmark
+    public Path writeToFile() throws IOException {
+        TaskQueueData.writeToFile(outFile, queueData, format);
+        return outFile;
+    }
+}
@@ -0,0 +1,64 @@
+package de.fau.clients.orchestrator.benchmarks;
+
+import de.fau.clients.orchestrator.utils.ValidatorUtils;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the input validation checks applied on user entries and server responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ValidatorUtilsBenchmark {
+
+    private String json;
+    private byte[] utf8;
+    private byte[] xml;
+
+    @Setup
+    public void setup() {
+        final StringBuilder jsonSb = new StringBuilder("{\"entries\":[");
+        final StringBuilder xmlSb = new StringBuilder("<?xml version=\"1.0\"?><Entries>");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) {
+                jsonSb.append(',');
+            }
+            jsonSb.append("{\"id\":").append(i).append(",\"label\":\"Entry ").append(i).append("\"}");
+            xmlSb.append("<Entry id=\"").append(i).append("\">Entry ").append(i).append("</Entry>");
+        }
+        json = jsonSb.append("]}").toString();
+        xml = xmlSb.append("</Entries>").toString().getBytes(StandardCharsets.UTF_8);
+        utf8 = "Gr\u00fc\u00dfe aus Erlangen \u2013 \u6e29\u5ea6 25 \u00b0C".repeat(32).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public boolean isJsonValid() {
+        return ValidatorUtils.isJsonValid(json);
+    }
+
+    @Benchmark
+    public boolean isValidUtf8() {
+        return ValidatorUtils.isValidUtf8(utf8);
+    }
+
+    @Benchmark
+    public boolean isXmlWellFormed() {
+        return ValidatorUtils.isXmlWellFormed(new ByteArrayInputStream(xml));
+    }
+}
@@ -0,0 +1,98 @@
+package de.fau.clients.orchestrator.nodes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sila2.org.silastandard.SiLAFramework;
+import sila_java.library.core.models.BasicType;
+import sila_java.library.core.models.DataTypeType;
+import sila_java.library.core.models.SiLAElement;
+
+/**
+ * Benchmarks for building and serializing the node trees which represent the parameters and
+ * responses of SiLA commands. The class resides in the nodes package to be able to access the
+ * protected factory methods.
+ * <p>
+ * The public <code>NodeFactory.createFromElementsWithJson</code> requires a feature context, which
+ * can only be obtained from a connected server. Since none of the basic types used here needs the
+ * context, the benchmark calls the underlying <code>CompositNode.createFromJson</code> directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class NodeBenchmark {
+
+    private static final String PARAMETER_JSON = "{"
+            + "\"Name\":{\"value\":\"Sample 42\"},"
+            + "\"Count\":{\"value\":\"42\"},"
+            + "\"Volume\":{\"value\":\"12.5\"},"
+            + "\"Enabled\":{\"value\":\"true\"},"
+            + "\"StartDate\":{\"day\":\"18\",\"month\":\"10\",\"year\":\"2020\","
+            + "\"timezone\":{\"hours\":\"2\",\"minutes\":\"0\"}},"
+            + "\"StartTime\":{\"second\":\"30\",\"minute\":\"15\",\"hour\":\"8\","
+            + "\"timezone\":{\"hours\":\"2\",\"minutes\":\"0\"}}"
+            + "}";
+
+    private List<SiLAElement> elements;
+    private JsonNode parameterJson;
+    private SilaNode parameterNode;
+    private DataTypeType integerType;
+    private byte[] integerPayload;
+
+    private static SiLAElement createBasicElement(final String identifier, final BasicType type) {
+        final DataTypeType dtt = new DataTypeType();
+        dtt.setBasic(type);
+        final SiLAElement elem = new SiLAElement();
+        elem.setIdentifier(identifier);
+        elem.setDataType(dtt);
+        return elem;
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        elements = new ArrayList<>();
+        elements.add(createBasicElement("Name", BasicType.STRING));
+        elements.add(createBasicElement("Count", BasicType.INTEGER));
+        elements.add(createBasicElement("Volume", BasicType.REAL));
+        elements.add(createBasicElement("Enabled", BasicType.BOOLEAN));
+        elements.add(createBasicElement("StartDate", BasicType.DATE));
+        elements.add(createBasicElement("StartTime", BasicType.TIME));
+        parameterJson = new ObjectMapper().readTree(PARAMETER_JSON);
+        parameterNode = CompositNode.createFromJson(null, elements, parameterJson, false);
+
+        integerType = new DataTypeType();
+        integerType.setBasic(BasicType.INTEGER);
+        integerPayload = SiLAFramework.Integer.newBuilder().setValue(42).build().toByteArray();
+    }
+
+    @Benchmark
+    public SilaNode createFromElementsWithJson() {
+        return CompositNode.createFromJson(null, elements, parameterJson, false);
+    }
+
+    @Benchmark
+    public JsonNode toJson() {
+        return parameterNode.toJson();
+    }
+
+    @Benchmark
+    public SilaNode createAnyType() {
+        return BasicNodeFactory.createAnyType(null, integerType, integerPayload, false);
+    }
+}
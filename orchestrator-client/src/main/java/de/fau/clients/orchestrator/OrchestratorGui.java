@@ -6,13 +6,26 @@
 import de.fau.clients.orchestrator.cli.CommandlineControls;
 import de.fau.clients.orchestrator.ctx.ConnectionManager;
 import de.fau.clients.orchestrator.dnd.TaskExportTransferHandler;
+import de.fau.clients.orchestrator.metrics.MetricsPanel;
+import de.fau.clients.orchestrator.metrics.MetricsRegistry;
+import de.fau.clients.orchestrator.metrics.TraceRecorder;
+import de.fau.clients.orchestrator.metrics.jfr.JfrEvents;
+import de.fau.clients.orchestrator.monitor.PropertyMonitor;
+import de.fau.clients.orchestrator.monitor.PropertyMonitorPanel;
 import de.fau.clients.orchestrator.queue.Column;
+import de.fau.clients.orchestrator.queue.QueueExportFormat;
+import de.fau.clients.orchestrator.queue.SiloFileFormat;
 import de.fau.clients.orchestrator.queue.TaskQueueData;
 import de.fau.clients.orchestrator.queue.TaskQueueTable;
 import de.fau.clients.orchestrator.tasks.DelayTask;
 import de.fau.clients.orchestrator.tasks.ExecPolicy;
+import de.fau.clients.orchestrator.tasks.IncludeTask;
 import de.fau.clients.orchestrator.tasks.LocalExecTask;
 import de.fau.clients.orchestrator.tasks.QueueTask;
+import de.fau.clients.orchestrator.tasks.ResourceClaim;
+import de.fau.clients.orchestrator.tasks.ResourceManager;
+import de.fau.clients.orchestrator.tasks.RunSchedule;
+import de.fau.clients.orchestrator.tasks.TaskPriority;
 import de.fau.clients.orchestrator.tasks.TaskState;
 import de.fau.clients.orchestrator.tree.CommandTreeNode;
 import de.fau.clients.orchestrator.tree.ServerFeatureTree;
@@ -25,6 +38,7 @@
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -35,12 +49,15 @@
 import java.nio.file.Paths;
 import java.security.cert.X509Certificate;
 import java.text.DecimalFormat;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Properties;
 import java.util.UUID;
 import javax.swing.AbstractAction;
 import javax.swing.JComponent;
+import javax.swing.JDialog;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.JPopupMenu;
@@ -83,7 +100,10 @@ public class OrchestratorGui extends javax.swing.JFrame {
     private boolean wasSaved = false;
     private String certificateStr = null;
     private Path outFilePath = null;
+    private SiloFileFormat outFileFormat = SiloFileFormat.JSON;
     private Thread currentlyExecutedTaskThread = null;
+    private JDialog statisticsDialog = null;
+    private JDialog propertyMonitorDialog = null;
 
     static {
         final StringBuilder asb = new StringBuilder();
@@ -154,7 +174,6 @@ private void addSpecificServer() {
         }
 
         serverFeatureTree.putServerToTree(connectionManager.getServerCtx(serverUuid));
-        serverFeatureTree.updateTreeView();
         serverAddErrorEditorPane.setText(NO_ERROR_STR);
         addServerDialog.setVisible(false);
         addServerDialog.dispose();
@@ -165,6 +184,7 @@ private void addSpecificServer() {
      */
     public OrchestratorGui() {
         initComponents();
+        initSaveAsFileChooser();
         initTaskQueueTable();
         initServerTree();
         scanServerBtn.grabFocus();
@@ -467,6 +487,33 @@ public void actionPerformed(java.awt.event.ActionEvent evt) {
         });
         taskQueuePopupMenu.add(startQueueRunFromHereMenuItem);
 
+        editRetrySettingsMenuItem.setText("Retry Settings...");
+        editRetrySettingsMenuItem.setToolTipText("Edits the retry settings and sets the execution policy to RETRY.");
+        editRetrySettingsMenuItem.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                editRetrySettingsMenuItemActionPerformed(evt);
+            }
+        });
+        taskQueuePopupMenu.add(editRetrySettingsMenuItem);
+
+        editResourcesMenuItem.setText("Resources...");
+        editResourcesMenuItem.setToolTipText("Edits the resources the task holds during its execution.");
+        editResourcesMenuItem.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                editResourcesMenuItemActionPerformed(evt);
+            }
+        });
+        taskQueuePopupMenu.add(editResourcesMenuItem);
+
+        editSchedulingMenuItem.setText("Scheduling...");
+        editSchedulingMenuItem.setToolTipText("Edits the priority and the deadline of the task.");
+        editSchedulingMenuItem.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                editSchedulingMenuItemActionPerformed(evt);
+            }
+        });
+        taskQueuePopupMenu.add(editSchedulingMenuItem);
+
         commandTreeNodePopupMenu.setFocusable(false);
 
         addCommandToQueueMenuItem.setIcon(new javax.swing.ImageIcon(getClass().getResource("/icons/queue-add-task-16px.png"))); // NOI18N
@@ -478,6 +525,26 @@ public void actionPerformed(java.awt.event.ActionEvent evt) {
         });
         commandTreeNodePopupMenu.add(addCommandToQueueMenuItem);
 
+        addFanOutToQueueMenuItem.setIcon(new javax.swing.ImageIcon(getClass().getResource("/icons/queue-add-task-16px.png"))); // NOI18N
+        addFanOutToQueueMenuItem.setText("Add Fan-Out to Queue");
+        addFanOutToQueueMenuItem.setToolTipText("Executes the command on all servers offering its feature");
+        addFanOutToQueueMenuItem.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                addFanOutToQueueMenuItemActionPerformed(evt);
+            }
+        });
+        commandTreeNodePopupMenu.add(addFanOutToQueueMenuItem);
+
+        addSweepToQueueMenuItem.setIcon(new javax.swing.ImageIcon(getClass().getResource("/icons/queue-add-task-16px.png"))); // NOI18N
+        addSweepToQueueMenuItem.setText("Add Sweep to Queue");
+        addSweepToQueueMenuItem.setToolTipText("Executes the command repeatedly with varying parameters");
+        addSweepToQueueMenuItem.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                addSweepToQueueMenuItemActionPerformed(evt);
+            }
+        });
+        commandTreeNodePopupMenu.add(addSweepToQueueMenuItem);
+
         serverTreeNodePopupMenu.setFocusable(false);
 
         disconnectServerMenuItem.setText("Disconnect Server");
@@ -774,7 +841,7 @@ public void actionPerformed(java.awt.event.ActionEvent evt) {
 
         exportQueueBtn.setIcon(new javax.swing.ImageIcon(getClass().getResource("/icons/queue-export.png"))); // NOI18N
         exportQueueBtn.setText("Export Queue");
-        exportQueueBtn.setToolTipText("Exports current queue data as *.csv table.");
+        exportQueueBtn.setToolTipText("Exports current queue data as *.csv table or *.jsonl file.");
         exportQueueBtn.setEnabled(false);
         exportQueueBtn.setFocusable(false);
         exportQueueBtn.setHorizontalTextPosition(javax.swing.SwingConstants.CENTER);
@@ -932,7 +999,7 @@ public void actionPerformed(java.awt.event.ActionEvent evt) {
 
         exportQueueMenuItem.setMnemonic('x');
         exportQueueMenuItem.setText("Export Queue");
-        exportQueueMenuItem.setToolTipText("Exports current queue data as *.csv table.");
+        exportQueueMenuItem.setToolTipText("Exports current queue data as *.csv table or *.jsonl file.");
         exportQueueMenuItem.setEnabled(false);
         exportQueueMenuItem.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -965,6 +1032,15 @@ public void actionPerformed(java.awt.event.ActionEvent evt) {
         });
         tasksMenu.add(stopQueueRunMenuItem);
 
+        runSettingsMenuItem.setText("Run Settings...");
+        runSettingsMenuItem.setToolTipText("Edits the priority and the deadline of the following queue runs.");
+        runSettingsMenuItem.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                runSettingsMenuItemActionPerformed(evt);
+            }
+        });
+        tasksMenu.add(runSettingsMenuItem);
+
         addDelayTaskMenuItem.setText("Add Delay");
         addDelayTaskMenuItem.setToolTipText("Add a delay to the task queue.");
         addDelayTaskMenuItem.addActionListener(new java.awt.event.ActionListener() {
@@ -983,6 +1059,53 @@ public void actionPerformed(java.awt.event.ActionEvent evt) {
         });
         tasksMenu.add(addLocalExecTaskMenuItem);
 
+        addIncludeTaskMenuItem.setText("Add Include");
+        addIncludeTaskMenuItem.setToolTipText("Adds a task executing the tasks of another *.silo file.");
+        addIncludeTaskMenuItem.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                addIncludeTaskActionPerformed(evt);
+            }
+        });
+        tasksMenu.add(addIncludeTaskMenuItem);
+
+        statisticsMenuItem.setMnemonic('s');
+        statisticsMenuItem.setText("Statistics");
+        statisticsMenuItem.setToolTipText("Shows latency and error statistics of the executed commands.");
+        statisticsMenuItem.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                statisticsMenuItemActionPerformed(evt);
+            }
+        });
+        tasksMenu.add(statisticsMenuItem);
+
+        propertyMonitorMenuItem.setMnemonic('p');
+        propertyMonitorMenuItem.setText("Property Monitor");
+        propertyMonitorMenuItem.setToolTipText("Shows the history of the monitored properties.");
+        propertyMonitorMenuItem.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                propertyMonitorMenuItemActionPerformed(evt);
+            }
+        });
+        tasksMenu.add(propertyMonitorMenuItem);
+
+        traceRecordingMenuItem.setText("Record Trace");
+        traceRecordingMenuItem.setToolTipText("Records a timeline of the task executions and server calls.");
+        traceRecordingMenuItem.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                traceRecordingMenuItemActionPerformed(evt);
+            }
+        });
+        tasksMenu.add(traceRecordingMenuItem);
+
+        exportTraceMenuItem.setText("Export Trace...");
+        exportTraceMenuItem.setToolTipText("Exports the recorded timeline as trace-event JSON (viewable in Perfetto or chrome://tracing).");
+        exportTraceMenuItem.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                exportTraceMenuItemActionPerformed(evt);
+            }
+        });
+        tasksMenu.add(exportTraceMenuItem);
+
         menuBar.add(tasksMenu);
 
         helpMenu.setMnemonic('h');
@@ -1006,6 +1129,14 @@ public void actionPerformed(java.awt.event.ActionEvent evt) {
         setLocationRelativeTo(null);
     }// </editor-fold>//GEN-END:initComponents
 
+    private void initSaveAsFileChooser() {
+        saveAsFileChooser.setAcceptAllFileFilterUsed(false);
+        for (final SiloFileFormat format : SiloFileFormat.values()) {
+            saveAsFileChooser.addChoosableFileFilter(new SiloFileFilter(format));
+        }
+        saveAsFileChooser.setFileFilter(saveAsFileChooser.getChoosableFileFilters()[0]);
+    }
+
     private void initTaskQueueTable() {
         taskQueueTable.setParamsPane(presenterScrollPane);
         taskQueueTable.setComponentPopupMenu(taskQueuePopupMenu);
@@ -1115,6 +1246,63 @@ private void addServerActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIR
         addServerDialog.setVisible(true);
     }//GEN-LAST:event_addServerActionPerformed
 
+    private void statisticsMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_statisticsMenuItemActionPerformed
+        if (statisticsDialog == null) {
+            statisticsDialog = new JDialog(this, "Statistics", false);
+            statisticsDialog.setIconImage(ICON_IMG);
+            statisticsDialog.setDefaultCloseOperation(javax.swing.WindowConstants.HIDE_ON_CLOSE);
+            statisticsDialog.getContentPane().add(new MetricsPanel(MetricsRegistry.getInstance()));
+            statisticsDialog.setPreferredSize(new java.awt.Dimension(900, 300));
+            statisticsDialog.pack();
+            statisticsDialog.setLocationRelativeTo(this);
+        }
+        statisticsDialog.setVisible(true);
+    }//GEN-LAST:event_statisticsMenuItemActionPerformed
+
+    private void propertyMonitorMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_propertyMonitorMenuItemActionPerformed
+        if (propertyMonitorDialog == null) {
+            propertyMonitorDialog = new JDialog(this, "Property Monitor", false);
+            propertyMonitorDialog.setIconImage(ICON_IMG);
+            propertyMonitorDialog.setDefaultCloseOperation(javax.swing.WindowConstants.HIDE_ON_CLOSE);
+            propertyMonitorDialog.getContentPane().add(new PropertyMonitorPanel(PropertyMonitor.getInstance()));
+            propertyMonitorDialog.setPreferredSize(new java.awt.Dimension(900, 300));
+            propertyMonitorDialog.pack();
+            propertyMonitorDialog.setLocationRelativeTo(this);
+        }
+        propertyMonitorDialog.setVisible(true);
+    }//GEN-LAST:event_propertyMonitorMenuItemActionPerformed
+
+    private void traceRecordingMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_traceRecordingMenuItemActionPerformed
+        TraceRecorder.getInstance().setEnabled(traceRecordingMenuItem.isSelected());
+    }//GEN-LAST:event_traceRecordingMenuItemActionPerformed
+
+    private void exportTraceMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_exportTraceMenuItemActionPerformed
+        final DateTimeFormatter dtf = DateTimeFormatter.ofPattern("uuuu-MM-dd_HH.mm");
+        saveAsFileChooser.setSelectedFile(new File("trace_" + LocalDateTime.now().format(dtf) + ".json"));
+        int retVal = saveAsFileChooser.showSaveDialog(this);
+        if (retVal == JFileChooser.APPROVE_OPTION) {
+            final Path outPath = Paths.get(saveAsFileChooser.getSelectedFile().getAbsolutePath());
+            int userDesition = JOptionPane.OK_OPTION;
+            if (Files.exists(outPath)) {
+                userDesition = JOptionPane.showConfirmDialog(this,
+                        "File \"" + outPath.getFileName() + "\" already exists in \""
+                        + outPath.getParent() + "\"!\n"
+                        + "Do you want to overwrite the existing file?",
+                        "Overwrite File?",
+                        JOptionPane.YES_NO_CANCEL_OPTION);
+            }
+
+            if (userDesition == JOptionPane.OK_OPTION) {
+                try (final BufferedWriter bw = Files.newBufferedWriter(outPath)) {
+                    TraceRecorder.getInstance().writeTraceEvents(bw);
+                    log.info("Exported trace " + outPath);
+                } catch (final IOException ex) {
+                    log.error(ex.getMessage());
+                }
+            }
+        }
+    }//GEN-LAST:event_exportTraceMenuItemActionPerformed
+
     private void aboutMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_aboutMenuItemActionPerformed
         aboutDialog.pack();
         aboutDialog.setVisible(true);
@@ -1168,7 +1356,15 @@ private void execRowEntryMenuItemActionPerformed(java.awt.event.ActionEvent evt)
             return;
         }
         final QueueTask entry = taskQueueTable.getTaskFromRow(selectedRowIdx);
-        new Thread(entry).start();
+        final List<ResourceClaim> resources = taskQueueTable.getTaskResourcesFromRow(selectedRowIdx);
+        final RunSchedule schedule = new RunSchedule(taskQueueTable.getRunPriority(),
+                taskQueueTable.getRunDeadlineInMs());
+        final TaskPriority priority = schedule.getPriority(
+                taskQueueTable.getTaskPriorityFromRow(selectedRowIdx));
+        final Instant deadline = schedule.getDeadline(
+                taskQueueTable.getTaskDeadlineFromRow(selectedRowIdx));
+        new Thread(() -> ResourceManager.getInstance()
+                .execute(entry, resources, priority, deadline)).start();
     }//GEN-LAST:event_execRowEntryMenuItemActionPerformed
 
     private void moveTaskUpBtnActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_moveTaskUpBtnActionPerformed
@@ -1217,7 +1413,7 @@ private void saveFileActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRS
             // TODO: give the user some kind of notification that the file was saved
             final TaskQueueData tqd = TaskQueueData.createFromTaskQueue(taskQueueTable);
             try {
-                TaskQueueData.writeToFile(outFilePath, tqd);
+                TaskQueueData.writeToFile(outFilePath, tqd, outFileFormat);
                 log.info("Saved " + outFilePath);
             } catch (IOException ex) {
                 log.error(ex.getMessage());
@@ -1231,7 +1427,13 @@ private void saveAsActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:
         int retVal = saveAsFileChooser.showSaveDialog(this);
         if (retVal == JFileChooser.APPROVE_OPTION) {
             final Path outPath = Paths.get(saveAsFileChooser.getSelectedFile().getAbsolutePath());
+            final SiloFileFilter filter = (SiloFileFilter) saveAsFileChooser.getFileFilter();
+            // the compact filter enforces the binary encoding, also for files named *.silo
+            final SiloFileFormat format = (filter.getFormat() == SiloFileFormat.SMILE)
+                    ? SiloFileFormat.SMILE
+                    : SiloFileFormat.fromFileName(outPath);
             outFilePath = outPath;
+            outFileFormat = format;
             int userDesition = JOptionPane.OK_OPTION;
             if (Files.exists(outPath)) {
                 userDesition = JOptionPane.showConfirmDialog(this,
@@ -1246,7 +1448,7 @@ private void saveAsActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:
             if (userDesition == JOptionPane.OK_OPTION) {
                 TaskQueueData tqd = TaskQueueData.createFromTaskQueue(taskQueueTable);
                 try {
-                    TaskQueueData.writeToFile(outPath, tqd);
+                    TaskQueueData.writeToFile(outPath, tqd, format);
                     wasSaved = true;
                     log.info("Saved as file " + outPath);
                 } catch (IOException ex) {
@@ -1313,6 +1515,10 @@ private void addLocalExecTaskActionPerformed(java.awt.event.ActionEvent evt) {//
         taskQueueTable.addTask(new LocalExecTask());
     }//GEN-LAST:event_addLocalExecTaskActionPerformed
 
+    private void addIncludeTaskActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_addIncludeTaskActionPerformed
+        taskQueueTable.addTask(new IncludeTask());
+    }//GEN-LAST:event_addIncludeTaskActionPerformed
+
     private void addTaskBtnMouseDragged(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_addTaskBtnMouseDragged
         JComponent comp = (JComponent) evt.getSource();
         TransferHandler handler = comp.getTransferHandler();
@@ -1345,10 +1551,8 @@ private void exportQueueActionPerformed(java.awt.event.ActionEvent evt) {//GEN-F
             }
 
             if (userDesition == JOptionPane.OK_OPTION) {
-                final StringBuilder sb = new StringBuilder();
-                taskQueueTable.exportTableContentsAsCsv(sb);
-                try {
-                    Files.writeString(outPath, sb);
+                try (final BufferedWriter bw = Files.newBufferedWriter(outPath)) {
+                    taskQueueTable.exportTableContents(bw, QueueExportFormat.fromFileName(outPath));
                     log.info("Exported file " + outPath);
                 } catch (final IOException ex) {
                     log.error(ex.getMessage());
@@ -1366,25 +1570,48 @@ private void startQueueRunActionPerformed(java.awt.event.ActionEvent evt) {//GEN
         disableStartRunControls();
         taskQueueTable.resetAllTaskStates();
         isQueueOnExecution = true;
+        final RunSchedule schedule = new RunSchedule(taskQueueTable.getRunPriority(),
+                taskQueueTable.getRunDeadlineInMs());
 
         final Runnable queueRunner = () -> {
+            final TraceRecorder tracer = TraceRecorder.getInstance();
+            final long queueStart = tracer.now();
             for (int i = 0; i < taskQueueTable.getRowCount(); i++) {
                 if (!isQueueOnExecution) {
                     break;
                 }
 
                 final QueueTask task = taskQueueTable.getTaskFromRow(i);
-                currentlyExecutedTaskThread = new Thread(task);
-                currentlyExecutedTaskThread.start();
-                try {
-                    currentlyExecutedTaskThread.join();
-                } catch (InterruptedException ex) {
-                    log.error(ex.getMessage());
+                final int taskNr = i + 1;
+                tracer.recordSpan(TraceRecorder.CATEGORY_QUEUE, () -> "Queued: " + task, queueStart);
+                final TraceRecorder.Span taskSpan = tracer.beginSpan(
+                        TraceRecorder.CATEGORY_TASK,
+                        () -> "#" + taskNr + " " + task);
+                final List<ResourceClaim> resources = taskQueueTable.getTaskResourcesFromRow(i);
+                final TaskPriority priority = schedule.getPriority(
+                        taskQueueTable.getTaskPriorityFromRow(i));
+                final Instant deadline = schedule.getDeadline(
+                        taskQueueTable.getTaskDeadlineFromRow(i));
+                final Runnable attempt = () -> {
+                    currentlyExecutedTaskThread = new Thread(() -> ResourceManager.getInstance()
+                            .execute(task, resources, priority, deadline));
+                    currentlyExecutedTaskThread.start();
+                    try {
+                        currentlyExecutedTaskThread.join();
+                    } catch (InterruptedException ex) {
+                        log.error(ex.getMessage());
+                    }
+                };
+                attempt.run();
+                final ExecPolicy policy = taskQueueTable.getTaskPolicyFromRow(i);
+                if (policy == ExecPolicy.RETRY) {
+                    taskQueueTable.getTaskRetryFromRow(i).retry(task, attempt, () -> !isQueueOnExecution);
                 }
+                taskSpan.arg("state", task.getState()).close();
 
                 if (task.getState() != TaskState.FINISHED_SUCCESS) {
                     // apply execution policy
-                    if (taskQueueTable.getTaskPolicyFromRow(i) == ExecPolicy.HALT_AFTER_ERROR) {
+                    if (policy != ExecPolicy.PROCEED_AFTER_ERROR) {
                         break;
                     }
                 }
@@ -1453,25 +1680,48 @@ private void startQueueRunFromHereMenuItemActionPerformed(java.awt.event.ActionE
         disableStartRunControls();
         taskQueueTable.resetAllTaskStates();
         isQueueOnExecution = true;
+        final RunSchedule schedule = new RunSchedule(taskQueueTable.getRunPriority(),
+                taskQueueTable.getRunDeadlineInMs());
 
         final Runnable queueRunner = () -> {
+            final TraceRecorder tracer = TraceRecorder.getInstance();
+            final long queueStart = tracer.now();
             for (int i = selectedRowIdx; i < taskQueueTable.getRowCount(); i++) {
                 if (!isQueueOnExecution) {
                     break;
                 }
 
                 final QueueTask task = taskQueueTable.getTaskFromRow(i);
-                currentlyExecutedTaskThread = new Thread(task);
-                currentlyExecutedTaskThread.start();
-                try {
-                    currentlyExecutedTaskThread.join();
-                } catch (InterruptedException ex) {
-                    log.error(ex.getMessage());
+                final int taskNr = i + 1;
+                tracer.recordSpan(TraceRecorder.CATEGORY_QUEUE, () -> "Queued: " + task, queueStart);
+                final TraceRecorder.Span taskSpan = tracer.beginSpan(
+                        TraceRecorder.CATEGORY_TASK,
+                        () -> "#" + taskNr + " " + task);
+                final List<ResourceClaim> resources = taskQueueTable.getTaskResourcesFromRow(i);
+                final TaskPriority priority = schedule.getPriority(
+                        taskQueueTable.getTaskPriorityFromRow(i));
+                final Instant deadline = schedule.getDeadline(
+                        taskQueueTable.getTaskDeadlineFromRow(i));
+                final Runnable attempt = () -> {
+                    currentlyExecutedTaskThread = new Thread(() -> ResourceManager.getInstance()
+                            .execute(task, resources, priority, deadline));
+                    currentlyExecutedTaskThread.start();
+                    try {
+                        currentlyExecutedTaskThread.join();
+                    } catch (InterruptedException ex) {
+                        log.error(ex.getMessage());
+                    }
+                };
+                attempt.run();
+                final ExecPolicy policy = taskQueueTable.getTaskPolicyFromRow(i);
+                if (policy == ExecPolicy.RETRY) {
+                    taskQueueTable.getTaskRetryFromRow(i).retry(task, attempt, () -> !isQueueOnExecution);
                 }
+                taskSpan.arg("state", task.getState()).close();
 
                 if (task.getState() != TaskState.FINISHED_SUCCESS) {
                     // apply execution policy
-                    if (taskQueueTable.getTaskPolicyFromRow(i) == ExecPolicy.HALT_AFTER_ERROR) {
+                    if (policy != ExecPolicy.PROCEED_AFTER_ERROR) {
                         break;
                     }
                 }
@@ -1486,6 +1736,34 @@ private void startQueueRunFromHereMenuItemActionPerformed(java.awt.event.ActionE
         new Thread(queueRunner).start();
     }//GEN-LAST:event_startQueueRunFromHereMenuItemActionPerformed
 
+    private void editRetrySettingsMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_editRetrySettingsMenuItemActionPerformed
+        int selectedRowIdx = taskQueueTable.getSelectedRow();
+        if (selectedRowIdx < 0) {
+            return;
+        }
+        taskQueueTable.editRetrySettings(selectedRowIdx);
+    }//GEN-LAST:event_editRetrySettingsMenuItemActionPerformed
+
+    private void editResourcesMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_editResourcesMenuItemActionPerformed
+        int selectedRowIdx = taskQueueTable.getSelectedRow();
+        if (selectedRowIdx < 0) {
+            return;
+        }
+        taskQueueTable.editResources(selectedRowIdx);
+    }//GEN-LAST:event_editResourcesMenuItemActionPerformed
+
+    private void editSchedulingMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_editSchedulingMenuItemActionPerformed
+        int selectedRowIdx = taskQueueTable.getSelectedRow();
+        if (selectedRowIdx < 0) {
+            return;
+        }
+        taskQueueTable.editScheduling(selectedRowIdx);
+    }//GEN-LAST:event_editSchedulingMenuItemActionPerformed
+
+    private void runSettingsMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_runSettingsMenuItemActionPerformed
+        taskQueueTable.editRunSettings();
+    }//GEN-LAST:event_runSettingsMenuItemActionPerformed
+
     private void openAndAppendFileActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_openAndAppendFileActionPerformed
         int retVal = openFileChooser.showOpenDialog(this);
         if (retVal == JFileChooser.APPROVE_OPTION) {
@@ -1524,6 +1802,20 @@ private void addCommandToQueueMenuItemActionPerformed(java.awt.event.ActionEvent
         }
     }//GEN-LAST:event_addCommandToQueueMenuItemActionPerformed
 
+    private void addFanOutToQueueMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_addFanOutToQueueMenuItemActionPerformed
+        final DefaultMutableTreeNode node = (DefaultMutableTreeNode) serverFeatureTree.getLastSelectedPathComponent();
+        if (node instanceof CommandTreeNode) {
+            taskQueueTable.addTask(((CommandTreeNode) node).createFanOutTableEntry());
+        }
+    }//GEN-LAST:event_addFanOutToQueueMenuItemActionPerformed
+
+    private void addSweepToQueueMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_addSweepToQueueMenuItemActionPerformed
+        final DefaultMutableTreeNode node = (DefaultMutableTreeNode) serverFeatureTree.getLastSelectedPathComponent();
+        if (node instanceof CommandTreeNode) {
+            taskQueueTable.addTask(((CommandTreeNode) node).createSweepTableEntry());
+        }
+    }//GEN-LAST:event_addSweepToQueueMenuItemActionPerformed
+
     private void disconnectServerMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_disconnectServerMenuItemActionPerformed
         final DefaultMutableTreeNode node = (DefaultMutableTreeNode) serverFeatureTree.getLastSelectedPathComponent();
         if (node == null) {
@@ -1650,6 +1942,7 @@ private void disableTaskQueueOperationControls() {
      * @see CommandlineArguments
      */
     public static void main(String args[]) {
+        JfrEvents.register();
         try {
             // retrieve version info from the maven git plug-in
             GIT_PROPS.load(OrchestratorGui.class.getClassLoader().getResourceAsStream("git.properties"));
@@ -1723,11 +2016,14 @@ public static void main(String args[]) {
     private final javax.swing.JMenuItem addCommandToQueueMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JButton addDelayBtn = new javax.swing.JButton();
     private final javax.swing.JMenuItem addDelayTaskMenuItem = new javax.swing.JMenuItem();
+    private final javax.swing.JMenuItem addFanOutToQueueMenuItem = new javax.swing.JMenuItem();
+    private final javax.swing.JMenuItem addIncludeTaskMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JButton addLocalExecBtn = new javax.swing.JButton();
     private final javax.swing.JMenuItem addLocalExecTaskMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JButton addServerBtn = new javax.swing.JButton();
     private final javax.swing.JDialog addServerDialog = new javax.swing.JDialog();
     private final javax.swing.JMenuItem addServerMenuItem = new javax.swing.JMenuItem();
+    private final javax.swing.JMenuItem addSweepToQueueMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JTextField certSerialNumberTextField = new javax.swing.JTextField();
     private final javax.swing.JFileChooser certificateFileChooser = new javax.swing.JFileChooser();
     private final javax.swing.JLabel certificateLabel = new javax.swing.JLabel();
@@ -1735,10 +2031,14 @@ public static void main(String args[]) {
     private final javax.swing.JMenuItem clearQueueMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JPopupMenu commandTreeNodePopupMenu = new javax.swing.JPopupMenu();
     private final javax.swing.JMenuItem disconnectServerMenuItem = new javax.swing.JMenuItem();
+    private final javax.swing.JMenuItem editResourcesMenuItem = new javax.swing.JMenuItem();
+    private final javax.swing.JMenuItem editRetrySettingsMenuItem = new javax.swing.JMenuItem();
+    private final javax.swing.JMenuItem editSchedulingMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JMenuItem execRowEntryMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JMenuItem exitMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JButton exportQueueBtn = new javax.swing.JButton();
     private final javax.swing.JMenuItem exportQueueMenuItem = new javax.swing.JMenuItem();
+    private final javax.swing.JMenuItem exportTraceMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JMenu fileMenu = new javax.swing.JMenu();
     private final javax.swing.Box.Filler filler1 = new javax.swing.Box.Filler(new java.awt.Dimension(10, 0), new java.awt.Dimension(10, 0), new java.awt.Dimension(10, 32767));
     private final javax.swing.Box.Filler filler2 = new javax.swing.Box.Filler(new java.awt.Dimension(10, 0), new java.awt.Dimension(10, 0), new java.awt.Dimension(10, 32767));
@@ -1760,9 +2060,11 @@ public static void main(String args[]) {
     private final javax.swing.JFileChooser openFileChooser = new javax.swing.JFileChooser();
     private final javax.swing.JMenuItem openMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JScrollPane presenterScrollPane = new javax.swing.JScrollPane();
+    private final javax.swing.JMenuItem propertyMonitorMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JMenuItem reconnectServerMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JButton removeTaskFromQueueBtn = new javax.swing.JButton();
     private final javax.swing.JMenuItem removeTaskFromQueueMenuItem = new javax.swing.JMenuItem();
+    private final javax.swing.JMenuItem runSettingsMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JFileChooser saveAsFileChooser = new javax.swing.JFileChooser();
     private final javax.swing.JMenuItem saveAsMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JButton saveFileBtn = new javax.swing.JButton();
@@ -1786,6 +2088,7 @@ public static void main(String args[]) {
     private final javax.swing.JButton startQueueRunBtn = new javax.swing.JButton();
     private final javax.swing.JMenuItem startQueueRunFromHereMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JMenuItem startQueueRunMenuItem = new javax.swing.JMenuItem();
+    private final javax.swing.JMenuItem statisticsMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JButton stopQueueRunBtn = new javax.swing.JButton();
     private final javax.swing.JMenuItem stopQueueRunMenuItem = new javax.swing.JMenuItem();
     private final javax.swing.JPanel taskQueuePanel = new javax.swing.JPanel();
@@ -1795,6 +2098,7 @@ public static void main(String args[]) {
     private final javax.swing.JToolBar toolBar = new javax.swing.JToolBar();
     private final javax.swing.JToolBar.Separator toolBarSeparator1 = new javax.swing.JToolBar.Separator();
     private final javax.swing.JToolBar.Separator toolBarSeparator2 = new javax.swing.JToolBar.Separator();
+    private final javax.swing.JCheckBoxMenuItem traceRecordingMenuItem = new javax.swing.JCheckBoxMenuItem();
     private final javax.swing.JButton viewLicenseBtn = new javax.swing.JButton();
     // End of variables declaration//GEN-END:variables
 }
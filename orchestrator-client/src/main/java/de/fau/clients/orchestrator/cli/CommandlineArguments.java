@@ -1,6 +1,8 @@
 package de.fau.clients.orchestrator.cli;
 
+import de.fau.clients.orchestrator.tasks.TaskPriority;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Class for parsing, storing and handling the Command-line Interface (CLI)-arguments. The
@@ -28,6 +30,14 @@ public class CommandlineArguments {
     protected static final String CHECK_TASKS_LONG_FLAG = "--check-tasks";
     protected static final char EXECUTE_SHORT_FLAG = 'x';
     protected static final String EXECUTE_LONG_FLAG = "--execute";
+    protected static final char METRICS_ENDPOINT_SHORT_FLAG = 'm';
+    protected static final String METRICS_ENDPOINT_LONG_FLAG = "--metrics-endpoint";
+    protected static final char TRACE_SHORT_FLAG = 't';
+    protected static final String TRACE_LONG_FLAG = "--trace";
+    protected static final char PRIORITY_SHORT_FLAG = 'p';
+    protected static final String PRIORITY_LONG_FLAG = "--priority";
+    protected static final char DEADLINE_SHORT_FLAG = 'd';
+    protected static final String DEADLINE_LONG_FLAG = "--deadline";
 
     protected static final String USAGE_INFO_MSG = "Usage: java -jar sila-orchestrator.jar [args]"
             + "\n -" + HELP_SHORT_FLAG + ", " + HELP_LONG_FLAG
@@ -44,12 +54,36 @@ public class CommandlineArguments {
             + "\n -" + CHECK_TASKS_SHORT_FLAG + " <silo-file>, " + CHECK_TASKS_LONG_FLAG + " <silo-file>"
             + "\n\t Checks all tasks in the given *.silo-file if they are ready for execution."
             + "\n -" + EXECUTE_SHORT_FLAG + " <silo-file>, " + EXECUTE_LONG_FLAG + " <silo-file>"
-            + "\n\t Loads and executes the provided *.silo-file.";
+            + "\n\t Loads and executes the provided *.silo-file."
+            + "\n -" + METRICS_ENDPOINT_SHORT_FLAG + " <[host:]port>, " + METRICS_ENDPOINT_LONG_FLAG + " <[host:]port>"
+            + "\n\t Starts an HTTP endpoint exposing the queue progress and command metrics"
+            + "\n\t under '/metrics' (Prometheus) and '/metrics.json' (JSON)."
+            + "\n\t Binds to localhost if no host is given. Examples: '9100', '0.0.0.0:9100'."
+            + "\n -" + TRACE_SHORT_FLAG + " <json-file>, " + TRACE_LONG_FLAG + " <json-file>"
+            + "\n\t Records a timeline of the task executions and server calls and writes it"
+            + "\n\t as trace-event JSON to the given file (viewable in Perfetto or chrome://tracing)."
+            + "\n -" + PRIORITY_SHORT_FLAG + " <level>, " + PRIORITY_LONG_FLAG + " <level>"
+            + "\n\t Sets the priority of the executed queue run, which decides the order in which"
+            + "\n\t tasks waiting for shared resources are served."
+            + "\n\t Levels: " + Arrays.toString(TaskPriority.values()) + ", default: NORMAL."
+            + "\n -" + DEADLINE_SHORT_FLAG + " <seconds>, " + DEADLINE_LONG_FLAG + " <seconds>"
+            + "\n\t Sets the time until the executed queue run should be finished. Tasks waiting"
+            + "\n\t for shared resources are served earliest deadline first.";
 
     protected static final String ERROR_HOST_PORT_ARG_MSG = "Host address and port option is missing.";
     protected static final String ERROR_HOST_PORT_INVALID_MSG = "Host address and port string is invalid. "
             + "Option must be in the form [host]:[port] e.g. '127.0.0.1:50052'.";
     protected static final String ERROR_SILO_FILE_ARG_MSG = "Path to *.silo-file is missing.";
+    protected static final String ERROR_METRICS_ENDPOINT_ARG_MSG = "Metrics endpoint address is missing.";
+    protected static final String ERROR_METRICS_ENDPOINT_INVALID_MSG = "Metrics endpoint address is invalid. "
+            + "Option must be in the form [host:]port e.g. '9100' or '0.0.0.0:9100'.";
+    protected static final String ERROR_TRACE_FILE_ARG_MSG = "Path to the trace output file is missing.";
+    protected static final String ERROR_PRIORITY_ARG_MSG = "Priority level is missing.";
+    protected static final String ERROR_PRIORITY_INVALID_MSG = "Priority level is invalid. "
+            + "Option must be one of " + Arrays.toString(TaskPriority.values()) + ".";
+    protected static final String ERROR_DEADLINE_ARG_MSG = "Deadline in seconds is missing.";
+    protected static final String ERROR_DEADLINE_INVALID_MSG = "Deadline is invalid. "
+            + "Option must be a positive number of seconds e.g. '300'.";
     protected static final String ERROR_UNKONWN_ARG_MSG = "Unknown argument";
 
     public boolean isHelpToPrint = false;
@@ -59,6 +93,10 @@ public class CommandlineArguments {
     public ArrayList<String> serverToAdd = new ArrayList<>();
     public String siloFilePathForExec = null;
     public String siloFilePathForCheck = null;
+    public String metricsEndpoint = null;
+    public String traceFilePath = null;
+    public TaskPriority runPriority = TaskPriority.NORMAL;
+    public Long runDeadlineInMs = null;
 
     public CommandlineArguments() {
     }
@@ -94,6 +132,14 @@ public boolean isSiloFileToExecute() {
         return (siloFilePathForExec != null);
     }
 
+    public boolean isMetricsEndpointToStart() {
+        return (metricsEndpoint != null);
+    }
+
+    public boolean isTraceToWrite() {
+        return (traceFilePath != null);
+    }
+
     /**
      * Parses and evaluates one single long flag argument.
      *
@@ -139,6 +185,19 @@ private int parseLongArg(int pos, final String[] args) throws IllegalArgumentExc
             } else {
                 throw new IllegalArgumentException(ERROR_SILO_FILE_ARG_MSG);
             }
+        } else if (arg.equalsIgnoreCase(METRICS_ENDPOINT_LONG_FLAG)) {
+            return parseMetricsEndpoint(pos, args);
+        } else if (arg.equalsIgnoreCase(PRIORITY_LONG_FLAG)) {
+            return parsePriority(pos, args);
+        } else if (arg.equalsIgnoreCase(DEADLINE_LONG_FLAG)) {
+            return parseDeadline(pos, args);
+        } else if (arg.equalsIgnoreCase(TRACE_LONG_FLAG)) {
+            if (pos + 1 < args.length) {
+                traceFilePath = args[pos + 1];
+                return pos + 2;
+            } else {
+                throw new IllegalArgumentException(ERROR_TRACE_FILE_ARG_MSG);
+            }
         } else {
             throw new IllegalArgumentException(ERROR_UNKONWN_ARG_MSG + " '" + arg + "'.");
         }
@@ -185,6 +244,19 @@ private int parseShortArg(int pos, final String[] args) {
                 } else {
                     throw new IllegalArgumentException(ERROR_SILO_FILE_ARG_MSG);
                 }
+            case METRICS_ENDPOINT_SHORT_FLAG:
+                return parseMetricsEndpoint(pos, args);
+            case PRIORITY_SHORT_FLAG:
+                return parsePriority(pos, args);
+            case DEADLINE_SHORT_FLAG:
+                return parseDeadline(pos, args);
+            case TRACE_SHORT_FLAG:
+                if (pos + 1 < args.length) {
+                    traceFilePath = args[pos + 1];
+                    return pos + 2;
+                } else {
+                    throw new IllegalArgumentException(ERROR_TRACE_FILE_ARG_MSG);
+                }
             default:
                 /**
                  * On *nix systems it is common to chain short flags without options together.
@@ -210,6 +282,45 @@ private int parseShortArg(int pos, final String[] args) {
         }
     }
 
+    private int parseMetricsEndpoint(int pos, final String[] args) throws IllegalArgumentException {
+        if (pos + 1 < args.length) {
+            final String endpointOption = args[pos + 1];
+            if (!endpointOption.matches("(\\S+\\:)?\\d{1,5}")) {
+                throw new IllegalArgumentException(ERROR_METRICS_ENDPOINT_INVALID_MSG);
+            }
+            metricsEndpoint = endpointOption;
+            return pos + 2;
+        } else {
+            throw new IllegalArgumentException(ERROR_METRICS_ENDPOINT_ARG_MSG);
+        }
+    }
+
+    private int parsePriority(int pos, final String[] args) throws IllegalArgumentException {
+        if (pos + 1 < args.length) {
+            try {
+                runPriority = TaskPriority.valueOf(args[pos + 1].toUpperCase());
+            } catch (final IllegalArgumentException ex) {
+                throw new IllegalArgumentException(ERROR_PRIORITY_INVALID_MSG);
+            }
+            return pos + 2;
+        } else {
+            throw new IllegalArgumentException(ERROR_PRIORITY_ARG_MSG);
+        }
+    }
+
+    private int parseDeadline(int pos, final String[] args) throws IllegalArgumentException {
+        if (pos + 1 < args.length) {
+            final String deadlineOption = args[pos + 1];
+            if (!deadlineOption.matches("\\d{1,9}") || Long.parseLong(deadlineOption) == 0) {
+                throw new IllegalArgumentException(ERROR_DEADLINE_INVALID_MSG);
+            }
+            runDeadlineInMs = Long.parseLong(deadlineOption) * 1000;
+            return pos + 2;
+        } else {
+            throw new IllegalArgumentException(ERROR_DEADLINE_ARG_MSG);
+        }
+    }
+
     /**
      * Checks if the host and port string has a valid form like <code>[host]:[port]</code>. Some
      * examples of valid strings:<code>
@@ -3,16 +3,32 @@
 import com.google.common.net.HostAndPort;
 import static de.fau.clients.orchestrator.OrchestratorGui.COPYRIGHT_NOTICE;
 import de.fau.clients.orchestrator.ctx.ConnectionManager;
+import de.fau.clients.orchestrator.ctx.ServerContext;
+import de.fau.clients.orchestrator.metrics.MetricsHttpServer;
+import de.fau.clients.orchestrator.metrics.MetricsRegistry;
+import de.fau.clients.orchestrator.metrics.QueueProgress;
+import de.fau.clients.orchestrator.metrics.TraceRecorder;
 import de.fau.clients.orchestrator.queue.TaskQueueData;
 import de.fau.clients.orchestrator.queue.TaskQueueTable;
 import de.fau.clients.orchestrator.tasks.ConnectionStatus;
 import de.fau.clients.orchestrator.tasks.ExecPolicy;
 import de.fau.clients.orchestrator.tasks.QueueTask;
+import de.fau.clients.orchestrator.tasks.ResourceClaim;
+import de.fau.clients.orchestrator.tasks.ResourceManager;
+import de.fau.clients.orchestrator.tasks.RunSchedule;
+import de.fau.clients.orchestrator.tasks.TaskPriority;
 import de.fau.clients.orchestrator.tasks.TaskState;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 import java.util.UUID;
 import lombok.NonNull;
 import sila_java.library.manager.ServerAdditionException;
@@ -28,6 +44,7 @@ public final class CommandlineControls {
 
     private final Properties gitProps;
     private final ConnectionManager conManager;
+    private final QueueProgress queueProgress = new QueueProgress();
 
     public CommandlineControls(final Properties gitProps, final ConnectionManager conManager) {
         this.gitProps = gitProps;
@@ -74,6 +91,52 @@ public int processArgs(@NonNull final CommandlineArguments args) {
             scanNetworkAndListAvailableServer();
         }
 
+        MetricsHttpServer metricsServer = null;
+        if (args.isMetricsEndpointToStart()) {
+            try {
+                metricsServer = startMetricsEndpoint(args.metricsEndpoint);
+            } catch (final IOException | IllegalArgumentException ex) {
+                System.err.println("Could not start metrics endpoint '" + args.metricsEndpoint
+                        + "': " + ex.getMessage());
+                return -1;
+            }
+        }
+
+        if (args.isTraceToWrite()) {
+            TraceRecorder.getInstance().setEnabled(true);
+        }
+
+        try {
+            return processSiloFiles(args);
+        } finally {
+            if (metricsServer != null) {
+                metricsServer.close();
+            }
+            if (args.isTraceToWrite()) {
+                writeTrace(args.traceFilePath);
+            }
+        }
+    }
+
+    /**
+     * Writes the recorded trace spans to the given file.
+     *
+     * @param traceFilePath The path of the JSON output file.
+     */
+    private void writeTrace(final String traceFilePath) {
+        final TraceRecorder tracer = TraceRecorder.getInstance();
+        tracer.setEnabled(false);
+        try (final BufferedWriter bw = Files.newBufferedWriter(Paths.get(traceFilePath))) {
+            tracer.writeTraceEvents(bw);
+            System.out.println("Wrote " + tracer.getRecordedCount() + " trace spans to '"
+                    + traceFilePath + "'.");
+        } catch (final IOException | RuntimeException ex) {
+            System.err.println("Could not write trace file '" + traceFilePath + "': "
+                    + ex.getMessage());
+        }
+    }
+
+    private int processSiloFiles(final CommandlineArguments args) {
         if (args.isSiloFileToCheck()) {
             int retVal = checkSiloFile(args.siloFilePathForCheck);
             if (retVal == 0) {
@@ -85,12 +148,39 @@ public int processArgs(@NonNull final CommandlineArguments args) {
         }
 
         if (args.isSiloFileToExecute()) {
-            int retVal = executeSiloFile(args.siloFilePathForExec);
+            int retVal = executeSiloFile(args.siloFilePathForExec,
+                    new RunSchedule(args.runPriority, args.runDeadlineInMs));
             return retVal;
         }
         return 0;
     }
 
+    /**
+     * Starts the HTTP endpoint exposing the queue progress and metrics on the given address.
+     *
+     * @param endpoint The address in the form <code>[host:]port</code>.
+     * @return The started endpoint.
+     * @throws IOException if the address cannot be bound.
+     */
+    private MetricsHttpServer startMetricsEndpoint(final String endpoint) throws IOException {
+        final int sepIdx = endpoint.lastIndexOf(':');
+        final String host = (sepIdx > 0) ? endpoint.substring(0, sepIdx) : MetricsHttpServer.DEFAULT_HOST;
+        final int port = Integer.parseInt(endpoint.substring(sepIdx + 1));
+        final MetricsHttpServer metricsServer = new MetricsHttpServer(
+                new InetSocketAddress(host, port),
+                MetricsRegistry.getInstance(),
+                queueProgress,
+                () -> {
+                    final Map<UUID, Boolean> serverStatus = new TreeMap<>();
+                    for (final ServerContext serverCtx : conManager.getServerCtxList()) {
+                        serverStatus.put(serverCtx.getServerUuid(), serverCtx.isOnline());
+                    }
+                    return serverStatus;
+                });
+        System.out.println("Metrics endpoint listening on " + metricsServer.getAddress());
+        return metricsServer;
+    }
+
     private void connectToServerList(List<String> hostPortStrList) {
         for (final String hostPortStr : hostPortStrList) {
             final HostAndPort hp;
@@ -130,18 +220,15 @@ private void scanNetworkAndListAvailableServer() {
      * @return 0 on success, -1 on error or the number of the offline task.
      */
     private int checkSiloFile(final String siloFilePath) {
-        final TaskQueueData tcd;
+        conManager.scanNetwork();
+        final TaskQueueTable tqt = new TaskQueueTable();
         try {
-            tcd = TaskQueueData.createFromFile(siloFilePath);
+            TaskQueueData.importFromFile(siloFilePath, tqt);
         } catch (final IOException | IllegalArgumentException ex) {
             System.err.println(ex.getMessage());
             return -1;
         }
 
-        conManager.scanNetwork();
-        TaskQueueTable tqt = new TaskQueueTable();
-        tcd.importToTaskQueue(tqt);
-
         for (int i = 0; i < tqt.getRowCount(); i++) {
             final QueueTask task = tqt.getTaskFromRow(i);
             if (task.getConnectionStatus() == ConnectionStatus.OFFLINE) {
@@ -157,31 +244,54 @@ private int checkSiloFile(final String siloFilePath) {
      * Executes all queue entries inside the given *.silo-file.
      *
      * @param siloFilePath The path to the *.silo-file.
+     * @param schedule The priority and deadline of the run.
      * @return 0 on success, -1 on error or the number of the failed task.
      */
-    private int executeSiloFile(final String siloFilePath) {
-        final TaskQueueData tcd;
+    private int executeSiloFile(final String siloFilePath, final RunSchedule schedule) {
+        conManager.scanNetwork();
+        final TaskQueueTable tqt = new TaskQueueTable();
         try {
-            tcd = TaskQueueData.createFromFile(siloFilePath);
+            TaskQueueData.importFromFile(siloFilePath, tqt);
         } catch (final IOException | IllegalArgumentException ex) {
             System.err.println(ex.getMessage());
             return -1;
         }
 
-        conManager.scanNetwork();
-        TaskQueueTable tqt = new TaskQueueTable();
-        tcd.importToTaskQueue(tqt);
+        final List<String> taskNames = new ArrayList<>(tqt.getRowCount());
+        for (int i = 0; i < tqt.getRowCount(); i++) {
+            taskNames.add(tqt.getTaskFromRow(i).toString());
+        }
+        queueProgress.start(taskNames);
 
+        final TraceRecorder tracer = TraceRecorder.getInstance();
+        final long queueStart = tracer.now();
         for (int i = 0; i < tqt.getRowCount(); i++) {
             final QueueTask task = tqt.getTaskFromRow(i);
-            task.run();
+            final int taskNr = i + 1;
+            tracer.recordSpan(TraceRecorder.CATEGORY_QUEUE, () -> "Queued: " + task, queueStart);
+            final TraceRecorder.Span taskSpan = tracer.beginSpan(
+                    TraceRecorder.CATEGORY_TASK,
+                    () -> "#" + taskNr + " " + task);
+            queueProgress.setTaskState(i, TaskState.RUNNING);
+            final List<ResourceClaim> resources = tqt.getTaskResourcesFromRow(i);
+            final TaskPriority priority = schedule.getPriority(tqt.getTaskPriorityFromRow(i));
+            final Instant deadline = schedule.getDeadline(tqt.getTaskDeadlineFromRow(i));
+            final Runnable attempt = () -> ResourceManager.getInstance()
+                    .execute(task, resources, priority, deadline);
+            attempt.run();
+            if (tqt.getTaskPolicyFromRow(i) == ExecPolicy.RETRY) {
+                tqt.getTaskRetryFromRow(i).retry(task, attempt, () -> false);
+            }
+            queueProgress.setTaskState(i, task.getState());
+            taskSpan.arg("state", task.getState()).close();
             if (task.getState() != TaskState.FINISHED_SUCCESS) {
                 // apply execution policy
-                if (tqt.getTaskPolicyFromRow(i) == ExecPolicy.HALT_AFTER_ERROR) {
+                if (tqt.getTaskPolicyFromRow(i) != ExecPolicy.PROCEED_AFTER_ERROR) {
                     System.out.println("Halted after task #" + (i + 1) + " '" + task.toString()
                             + "' with state " + task.getState().toString()
                             + " at " + task.getEndTimeStamp() + ".\n"
                             + "Run stopped with failure.");
+                    printMetricsSummary();
                     return i + 1;
                 }
             } else {
@@ -191,6 +301,15 @@ private int executeSiloFile(final String siloFilePath) {
             }
         }
         System.out.println("Run finished successfully.");
+        printMetricsSummary();
         return 0;
     }
+
+    /**
+     * Prints the latency and error statistics of all executed commands.
+     */
+    private void printMetricsSummary() {
+        System.out.println("\nCommand statistics:\n"
+                + MetricsRegistry.getInstance().formatSummary());
+    }
 }
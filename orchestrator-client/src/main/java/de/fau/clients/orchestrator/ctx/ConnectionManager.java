@@ -1,6 +1,10 @@
 package de.fau.clients.orchestrator.ctx;
 
+import de.fau.clients.orchestrator.metrics.jfr.DiscoveryScanEvent;
+import de.fau.clients.orchestrator.metrics.jfr.ServerConnectionEvent;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -69,10 +73,24 @@ public void reconnectServer(@NonNull final UUID serverUuid) throws ServerAdditio
         final ServerContext serverCtx = serverMap.get(serverUuid);
         if (serverCtx != null) {
             final Server server = serverCtx.getServer();
-            serverManager.addServer(
-                    server.getHost(),
-                    server.getPort(),
-                    server.getCertificateAuthority());
+            final ServerConnectionEvent conEvent = new ServerConnectionEvent();
+            conEvent.begin();
+            try {
+                serverManager.addServer(
+                        server.getHost(),
+                        server.getPort(),
+                        server.getCertificateAuthority());
+            } finally {
+                conEvent.end();
+                if (conEvent.shouldCommit()) {
+                    conEvent.serverUuid = serverUuid.toString();
+                    conEvent.host = server.getHost();
+                    conEvent.port = server.getPort();
+                    conEvent.change = ServerConnectionEvent.CHANGE_RECONNECT;
+                    conEvent.details = String.valueOf(server.getStatus());
+                    conEvent.commit();
+                }
+            }
         }
     }
 
@@ -91,12 +109,42 @@ public Collection<ServerContext> getServerCtxList() {
         return serverMap.values();
     }
 
+    /**
+     * Gets all online servers which offer the given feature.
+     *
+     * @param featureFqi The fully qualified identifier of the feature.
+     * @return The UUIDs of the servers, ordered by their UUID.
+     */
+    public List<UUID> getOnlineServerUuids(@NonNull final String featureFqi) {
+        final List<UUID> serverUuids = new ArrayList<>();
+        for (final ServerContext serverCtx : serverMap.values()) {
+            if (!serverCtx.isOnline()) {
+                continue;
+            }
+            for (final FeatureContext featCtx : serverCtx.getFeatureCtxList()) {
+                if (featCtx.getFullyQualifiedIdentifier().equals(featureFqi)) {
+                    serverUuids.add(serverCtx.getServerUuid());
+                    break;
+                }
+            }
+        }
+        serverUuids.sort(Comparator.naturalOrder());
+        return serverUuids;
+    }
+
     public ServerManager getServerManager() {
         return serverManager;
     }
 
     public void scanNetwork() {
+        final DiscoveryScanEvent scanEvent = new DiscoveryScanEvent();
+        scanEvent.begin();
         serverManager.getDiscovery().scanNetwork();
+        scanEvent.end();
+        if (scanEvent.shouldCommit()) {
+            scanEvent.serverCount = serverManager.getServers().size();
+            scanEvent.commit();
+        }
     }
 
     public void setServerName(@NonNull final UUID serverUuid, @NonNull final String newServerName) {
@@ -139,6 +187,8 @@ public void onServerChange(UUID uuid, Server server) {
 
     @Override
     public void onServerAdded(UUID uuid, Server server) {
+        commitConnectionEvent(uuid, server.getHost(), server.getPort(),
+                ServerConnectionEvent.CHANGE_ADDED, null);
         final ServerContext serverCtx = serverMap.get(uuid);
         if (serverCtx != null) {
             serverCtx.getServer().setStatus(Server.Status.ONLINE);
@@ -150,6 +200,8 @@ public void onServerAdded(UUID uuid, Server server) {
 
     @Override
     public void onServerRemoved(UUID uuid, Server server) {
+        commitConnectionEvent(uuid, server.getHost(), server.getPort(),
+                ServerConnectionEvent.CHANGE_REMOVED, null);
         final ServerContext serverCtx = serverMap.get(uuid);
         if (serverCtx != null) {
             serverCtx.getServer().setStatus(Server.Status.OFFLINE);
@@ -160,6 +212,25 @@ public void onServerRemoved(UUID uuid, Server server) {
     @Override
     public void onServerAdditionFail(String host, int port, String reason) {
         // todo display error
+        commitConnectionEvent(null, host, port, ServerConnectionEvent.CHANGE_ADDITION_FAILED, reason);
+    }
+
+    private static void commitConnectionEvent(
+            final UUID serverUuid,
+            final String host,
+            int port,
+            final String change,
+            final String details
+    ) {
+        final ServerConnectionEvent conEvent = new ServerConnectionEvent();
+        if (conEvent.shouldCommit()) {
+            conEvent.serverUuid = (serverUuid != null) ? serverUuid.toString() : null;
+            conEvent.host = host;
+            conEvent.port = port;
+            conEvent.change = change;
+            conEvent.details = details;
+            conEvent.commit();
+        }
     }
 
     private static class ConnectionManagerHolder {
@@ -0,0 +1,74 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.util.Objects;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Identifies a SiLA command on a specific server for the metrics collection.
+ */
+public final class CommandKey implements Comparable<CommandKey> {
+
+    private final UUID serverUuid;
+    private final String featureId;
+    private final String commandId;
+
+    public CommandKey(
+            @NonNull final UUID serverUuid,
+            @NonNull final String featureId,
+            @NonNull final String commandId
+    ) {
+        this.serverUuid = serverUuid;
+        this.featureId = featureId;
+        this.commandId = commandId;
+    }
+
+    public UUID getServerUuid() {
+        return serverUuid;
+    }
+
+    public String getFeatureId() {
+        return featureId;
+    }
+
+    public String getCommandId() {
+        return commandId;
+    }
+
+    @Override
+    public int compareTo(final CommandKey other) {
+        int cmp = serverUuid.compareTo(other.serverUuid);
+        if (cmp != 0) {
+            return cmp;
+        }
+        cmp = featureId.compareTo(other.featureId);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return commandId.compareTo(other.commandId);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CommandKey)) {
+            return false;
+        }
+        final CommandKey other = (CommandKey) obj;
+        return serverUuid.equals(other.serverUuid)
+                && featureId.equals(other.featureId)
+                && commandId.equals(other.commandId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(serverUuid, featureId, commandId);
+    }
+
+    @Override
+    public String toString() {
+        return serverUuid + "/" + featureId + "/" + commandId;
+    }
+}
@@ -0,0 +1,106 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * Collects the runtime metrics of a single SiLA command: the latency distribution of all finished
+ * calls, the number of successful calls, the number of failed calls grouped by error type and the
+ * number of calls currently in flight. All methods are thread-safe and non-blocking.
+ *
+ * @see MetricsRegistry
+ */
+public final class CommandMetrics {
+
+    static final long NOT_SET = Long.MIN_VALUE;
+    private final CommandKey key;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder successCount = new LongAdder();
+    private final Map<String, LongAdder> errorCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong firstStartNanos = new AtomicLong(NOT_SET);
+    private final AtomicLong lastEndNanos = new AtomicLong(NOT_SET);
+
+    CommandMetrics(@NonNull final CommandKey key) {
+        this.key = key;
+    }
+
+    public CommandKey getKey() {
+        return key;
+    }
+
+    void callStarted(long startNanos) {
+        inFlight.incrementAndGet();
+        firstStartNanos.compareAndSet(NOT_SET, startNanos);
+    }
+
+    void callSucceeded(long startNanos, long endNanos) {
+        inFlight.decrementAndGet();
+        latencies.record(endNanos - startNanos);
+        successCount.increment();
+        lastEndNanos.accumulateAndGet(endNanos, Math::max);
+    }
+
+    void callFailed(@NonNull final String errorType, long startNanos, long endNanos) {
+        inFlight.decrementAndGet();
+        latencies.record(endNanos - startNanos);
+        errorCounts.computeIfAbsent(errorType, k -> new LongAdder()).increment();
+        lastEndNanos.accumulateAndGet(endNanos, Math::max);
+    }
+
+    public LatencyHistogram.Snapshot getLatencySnapshot() {
+        return latencies.snapshot();
+    }
+
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    /**
+     * Gets the number of failed calls grouped by the error type.
+     *
+     * @return A sorted copy of the current error counts.
+     */
+    public Map<String, Long> getErrorCounts() {
+        final TreeMap<String, Long> copy = new TreeMap<>();
+        errorCounts.forEach((type, cnt) -> copy.put(type, cnt.sum()));
+        return copy;
+    }
+
+    public long getErrorCount() {
+        long sum = 0;
+        for (final LongAdder cnt : errorCounts.values()) {
+            sum += cnt.sum();
+        }
+        return sum;
+    }
+
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the average number of finished calls per second, measured from the start of the first
+     * call to the end of the last finished call.
+     *
+     * @return The throughput in calls per second or 0 if not enough data is available.
+     */
+    public double getThroughput() {
+        return MetricsRegistry.calcRate(getSuccessCount() + getErrorCount(),
+                firstStartNanos.get(),
+                lastEndNanos.get());
+    }
+
+    void reset() {
+        latencies.reset();
+        successCount.reset();
+        errorCounts.clear();
+        firstStartNanos.set(NOT_SET);
+        lastEndNanos.set(NOT_SET);
+    }
+}
@@ -0,0 +1,160 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with logarithmic bucket layout similar to an HDR-histogram. Values
+ * below <code>2^SUB_BUCKET_BITS</code> are counted exactly, larger values are divided into
+ * <code>2^(SUB_BUCKET_BITS - 1)</code> linear sub-buckets per power of two. This keeps the relative
+ * error of the reported percentiles below 1/64 (~1.6 %) over the whole <code>long</code> range
+ * with a fixed memory footprint.
+ *
+ * Recording is wait-free and can be done concurrently from any number of threads. Reading is done
+ * via <code>snapshot()</code> and is only weakly consistent with concurrent recordings.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_BITS;
+    static final int BUCKET_COUNT = bucketIndexOf(Long.MAX_VALUE) + 1;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalSum = new LongAdder();
+    private final AtomicLong minValue = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxValue = new AtomicLong(0);
+
+    /**
+     * Records the given value. Negative values are treated as zero.
+     *
+     * @param value The value to record (e.g. a latency in nanoseconds).
+     */
+    public void record(long value) {
+        final long val = Math.max(0, value);
+        counts.incrementAndGet(bucketIndexOf(val));
+        totalCount.increment();
+        totalSum.add(val);
+        if (val < minValue.get()) {
+            minValue.accumulateAndGet(val, Math::min);
+        }
+        if (val > maxValue.get()) {
+            maxValue.accumulateAndGet(val, Math::max);
+        }
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalSum.reset();
+        minValue.set(Long.MAX_VALUE);
+        maxValue.set(0);
+    }
+
+    /**
+     * Takes a snapshot of the current histogram state which can be used to query percentiles.
+     *
+     * @return A snapshot of the histogram.
+     */
+    public Snapshot snapshot() {
+        final long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        final long min = (count > 0) ? minValue.get() : 0;
+        return new Snapshot(copy, count, totalSum.sum(), min, maxValue.get());
+    }
+
+    static int bucketIndexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_HALF_BITS;
+        return (shift << SUB_BUCKET_HALF_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * Gets the highest value which is counted in the bucket with the given index.
+     */
+    static long highestValueOf(int bucketIdx) {
+        if (bucketIdx < SUB_BUCKET_COUNT) {
+            return bucketIdx;
+        }
+        final int shift = (bucketIdx >>> SUB_BUCKET_HALF_BITS) - 1;
+        final long subBucket = bucketIdx - ((long) shift << SUB_BUCKET_HALF_BITS);
+        final long upper = ((subBucket + 1) << shift) - 1;
+        return (upper < 0) ? Long.MAX_VALUE : upper;
+    }
+
+    /**
+     * Immutable view on the state of a <code>LatencyHistogram</code>.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        private Snapshot(final long[] counts, long count, long sum, long min, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public double getMean() {
+            return (count > 0) ? (double) sum / count : 0.0;
+        }
+
+        /**
+         * Gets the value at the given percentile. The returned value is the upper bound of the
+         * bucket containing the percentile, clamped to the recorded range.
+         *
+         * @param percentile The percentile in the range of [0.0, 100.0].
+         * @return The value at the given percentile or 0 if nothing was recorded.
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            final double p = Math.min(Math.max(percentile, 0.0), 100.0);
+            final long rank = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+            long acc = 0;
+            for (int i = 0; i < counts.length; i++) {
+                acc += counts[i];
+                if (acc >= rank) {
+                    return Math.min(Math.max(highestValueOf(i), min), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package de.fau.clients.orchestrator.metrics;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import de.fau.clients.orchestrator.tasks.ResourceManager;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Renders the current metrics, queue progress, resource usage and server connection states in the
+ * Prometheus text exposition format or as JSON document.
+ *
+ * @see MetricsHttpServer
+ */
+final class MetricsExposition {
+
+    static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final String PREFIX = "sila_orchestrator_";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private MetricsExposition() {
+        throw new UnsupportedOperationException("Instantiation not allowed.");
+    }
+
+    /**
+     * Writes all values in the Prometheus text format.
+     *
+     * @param out The writer to write to.
+     * @param registry The command metrics.
+     * @param progress The progress of the queue run.
+     * @param serverStatus The connection status of the servers (<code>true</code> if online).
+     * @param resources The usage of the shared resources.
+     * @throws IOException on write errors.
+     */
+    static void writePrometheus(
+            final Writer out,
+            final MetricsRegistry registry,
+            final QueueProgress progress,
+            final Map<UUID, Boolean> serverStatus,
+            final ResourceManager resources
+    ) throws IOException {
+        final List<QueueProgress.TaskStatus> tasks = progress.getTaskStatusList();
+        writeHeader(out, "queue_tasks", "gauge", "Number of tasks in the current queue run.");
+        writeSample(out, "queue_tasks", "", tasks.size());
+        writeHeader(out, "queue_tasks_finished", "gauge", "Number of finished tasks in the current queue run.");
+        writeSample(out, "queue_tasks_finished", "", countFinished(tasks));
+        writeHeader(out, "queue_task_state", "gauge", "State of each task in the current queue run.");
+        for (final QueueProgress.TaskStatus task : tasks) {
+            writeSample(out, "queue_task_state", labels(
+                    "row", Integer.toString(task.getRowNr()),
+                    "task", task.getTaskName(),
+                    "state", task.getState().name()), 1);
+        }
+
+        writeHeader(out, "server_online", "gauge", "Connection status of the servers (1 = online).");
+        for (final Map.Entry<UUID, Boolean> entry : serverStatus.entrySet()) {
+            writeSample(out, "server_online",
+                    labels("server_uuid", entry.getKey().toString()),
+                    entry.getValue() ? 1 : 0);
+        }
+
+        final List<ResourceManager.ResourceStatus> resourceList = resources.getResourceStatusList();
+        writeHeader(out, "resource_permits_used", "gauge", "Permits of the shared resources in use.");
+        for (final ResourceManager.ResourceStatus resource : resourceList) {
+            writeSample(out, "resource_permits_used", labels("resource", resource.getName()),
+                    resource.getUsedPermits());
+        }
+        writeHeader(out, "resource_capacity", "gauge", "Number of permits of the shared resources.");
+        for (final ResourceManager.ResourceStatus resource : resourceList) {
+            writeSample(out, "resource_capacity", labels("resource", resource.getName()),
+                    resource.getCapacity());
+        }
+        writeHeader(out, "resource_queue_depth", "gauge", "Tasks waiting for the shared resources.");
+        for (final ResourceManager.ResourceStatus resource : resourceList) {
+            writeSample(out, "resource_queue_depth", labels("resource", resource.getName()),
+                    resource.getQueueDepth());
+        }
+        writeHeader(out, "resource_expected_wait_seconds", "gauge", "Estimated wait of a new task for the shared resources.");
+        for (final ResourceManager.ResourceStatus resource : resourceList) {
+            writeSample(out, "resource_expected_wait_seconds", labels("resource", resource.getName()),
+                    resource.getExpectedWaitInMs() / 1000.0);
+        }
+        writeHeader(out, "deadline_misses_total", "counter", "Tasks which finished after their deadline.");
+        writeSample(out, "deadline_misses_total", "", resources.getDeadlineMissCount());
+
+        final List<CommandMetrics> metricsList = registry.getAllCommandMetrics();
+        writeHeader(out, "command_latency_seconds", "summary", "Latency of the SiLA command calls.");
+        for (final CommandMetrics metrics : metricsList) {
+            final LatencyHistogram.Snapshot snap = metrics.getLatencySnapshot();
+            final String keyLabels = keyLabels(metrics.getKey());
+            for (final double q : QUANTILES) {
+                writeSample(out, "command_latency_seconds",
+                        keyLabels + ",quantile=\"" + q + "\"",
+                        toSeconds(snap.getValueAtPercentile(q * 100.0)));
+            }
+            writeSample(out, "command_latency_seconds_sum", keyLabels, toSeconds(snap.getSum()));
+            writeSample(out, "command_latency_seconds_count", keyLabels, snap.getCount());
+        }
+        writeHeader(out, "command_errors_total", "counter", "Failed SiLA command calls by error type.");
+        for (final CommandMetrics metrics : metricsList) {
+            final String keyLabels = keyLabels(metrics.getKey());
+            for (final Map.Entry<String, Long> entry : metrics.getErrorCounts().entrySet()) {
+                writeSample(out, "command_errors_total",
+                        keyLabels + "," + labels("error_type", entry.getKey()),
+                        entry.getValue());
+            }
+        }
+        writeHeader(out, "command_calls_in_flight", "gauge", "SiLA command calls currently in execution.");
+        for (final CommandMetrics metrics : metricsList) {
+            writeSample(out, "command_calls_in_flight", keyLabels(metrics.getKey()),
+                    metrics.getInFlightCount());
+        }
+        writeHeader(out, "command_throughput", "gauge", "Finished SiLA command calls per second.");
+        for (final CommandMetrics metrics : metricsList) {
+            writeSample(out, "command_throughput", keyLabels(metrics.getKey()),
+                    metrics.getThroughput());
+        }
+        writeHeader(out, "calls_total", "counter", "Finished SiLA command calls.");
+        writeSample(out, "calls_total", "", registry.getFinishedCallCount());
+        writeHeader(out, "throughput", "gauge", "Finished SiLA command calls per second over all commands.");
+        writeSample(out, "throughput", "", registry.getThroughput());
+        out.flush();
+    }
+
+    /**
+     * Writes all values as JSON document.
+     *
+     * @param out The writer to write to.
+     * @param registry The command metrics.
+     * @param progress The progress of the queue run.
+     * @param serverStatus The connection status of the servers (<code>true</code> if online).
+     * @param resources The usage of the shared resources.
+     * @throws IOException on write errors.
+     */
+    static void writeJson(
+            final Writer out,
+            final MetricsRegistry registry,
+            final QueueProgress progress,
+            final Map<UUID, Boolean> serverStatus,
+            final ResourceManager resources
+    ) throws IOException {
+        final List<QueueProgress.TaskStatus> tasks = progress.getTaskStatusList();
+        try (final JsonGenerator gen = jsonFactory.createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeObjectFieldStart("queue");
+            gen.writeNumberField("tasks", tasks.size());
+            gen.writeNumberField("finished", countFinished(tasks));
+            gen.writeArrayFieldStart("taskStates");
+            for (final QueueProgress.TaskStatus task : tasks) {
+                gen.writeStartObject();
+                gen.writeNumberField("row", task.getRowNr());
+                gen.writeStringField("task", task.getTaskName());
+                gen.writeStringField("state", task.getState().name());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+
+            gen.writeArrayFieldStart("servers");
+            for (final Map.Entry<UUID, Boolean> entry : serverStatus.entrySet()) {
+                gen.writeStartObject();
+                gen.writeStringField("serverUuid", entry.getKey().toString());
+                gen.writeBooleanField("online", entry.getValue());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+
+            gen.writeArrayFieldStart("resources");
+            for (final ResourceManager.ResourceStatus resource : resources.getResourceStatusList()) {
+                gen.writeStartObject();
+                gen.writeStringField("name", resource.getName());
+                gen.writeNumberField("capacity", resource.getCapacity());
+                gen.writeNumberField("usedPermits", resource.getUsedPermits());
+                gen.writeNumberField("queueDepth", resource.getQueueDepth());
+                gen.writeNumberField("expectedWaitMs", resource.getExpectedWaitInMs());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeNumberField("deadlineMisses", resources.getDeadlineMissCount());
+
+            gen.writeArrayFieldStart("commands");
+            for (final CommandMetrics metrics : registry.getAllCommandMetrics()) {
+                final LatencyHistogram.Snapshot snap = metrics.getLatencySnapshot();
+                final CommandKey key = metrics.getKey();
+                gen.writeStartObject();
+                gen.writeStringField("serverUuid", key.getServerUuid().toString());
+                gen.writeStringField("featureId", key.getFeatureId());
+                gen.writeStringField("commandId", key.getCommandId());
+                gen.writeNumberField("calls", snap.getCount());
+                gen.writeNumberField("inFlight", metrics.getInFlightCount());
+                gen.writeObjectFieldStart("errors");
+                for (final Map.Entry<String, Long> entry : metrics.getErrorCounts().entrySet()) {
+                    gen.writeNumberField(entry.getKey(), entry.getValue());
+                }
+                gen.writeEndObject();
+                gen.writeObjectFieldStart("latencyMs");
+                gen.writeNumberField("p50", MetricsRegistry.toMillis(snap.getValueAtPercentile(50.0)));
+                gen.writeNumberField("p90", MetricsRegistry.toMillis(snap.getValueAtPercentile(90.0)));
+                gen.writeNumberField("p99", MetricsRegistry.toMillis(snap.getValueAtPercentile(99.0)));
+                gen.writeNumberField("max", MetricsRegistry.toMillis(snap.getMax()));
+                gen.writeNumberField("mean", MetricsRegistry.toMillis(snap.getMean()));
+                gen.writeEndObject();
+                gen.writeNumberField("callsPerSec", metrics.getThroughput());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeNumberField("calls", registry.getFinishedCallCount());
+            gen.writeNumberField("callsPerSec", registry.getThroughput());
+            gen.writeEndObject();
+        }
+    }
+
+    private static long countFinished(final List<QueueProgress.TaskStatus> tasks) {
+        return tasks.stream().filter(QueueProgress.TaskStatus::isFinished).count();
+    }
+
+    private static double toSeconds(double nanos) {
+        return nanos / 1e9;
+    }
+
+    private static void writeHeader(
+            final Writer out,
+            final String name,
+            final String type,
+            final String help
+    ) throws IOException {
+        out.write("# HELP " + PREFIX + name + " " + help + "\n");
+        out.write("# TYPE " + PREFIX + name + " " + type + "\n");
+    }
+
+    private static void writeSample(
+            final Writer out,
+            final String name,
+            final String labels,
+            double value
+    ) throws IOException {
+        out.write(PREFIX);
+        out.write(name);
+        if (!labels.isEmpty()) {
+            out.write('{');
+            out.write(labels);
+            out.write('}');
+        }
+        out.write(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            out.write(Long.toString((long) value));
+        } else {
+            out.write(Double.toString(value));
+        }
+        out.write('\n');
+    }
+
+    private static String keyLabels(final CommandKey key) {
+        return labels("server_uuid", key.getServerUuid().toString(),
+                "feature", key.getFeatureId(),
+                "command", key.getCommandId());
+    }
+
+    /**
+     * Creates a label list from the given name/value pairs.
+     */
+    static String labels(final String... nameValuePairs) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i + 1 < nameValuePairs.length; i += 2) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(nameValuePairs[i]).append("=\"");
+            final String value = nameValuePairs[i + 1];
+            for (int j = 0; j < value.length(); j++) {
+                final char c = value.charAt(j);
+                switch (c) {
+                    case '\\':
+                        sb.append("\\\\");
+                        break;
+                    case '"':
+                        sb.append("\\\"");
+                        break;
+                    case '\n':
+                        sb.append("\\n");
+                        break;
+                    default:
+                        sb.append(c);
+                }
+            }
+            sb.append('"');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,136 @@
+package de.fau.clients.orchestrator.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.fau.clients.orchestrator.tasks.ResourceManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Minimal HTTP endpoint based on the HTTP server of the JDK which exposes the queue progress, the
+ * server connection states, the usage of the shared resources and the command metrics for
+ * monitoring tools. The data is only collected when a request arrives, so an idle endpoint causes
+ * no overhead on the queue execution.
+ * Requests are handled sequentially on a single daemon thread.
+ *
+ * Available paths:
+ * <ul>
+ * <li><code>/metrics</code>: Prometheus text format</li>
+ * <li><code>/metrics.json</code>: JSON document</li>
+ * </ul>
+ */
+@Slf4j
+public final class MetricsHttpServer implements AutoCloseable {
+
+    public static final String DEFAULT_HOST = "127.0.0.1";
+    private static final int STOP_DELAY_IN_SEC = 0;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final MetricsRegistry registry;
+    private final QueueProgress progress;
+    private final Supplier<Map<UUID, Boolean>> serverStatusSupplier;
+    private final ResourceManager resources = ResourceManager.getInstance();
+
+    /**
+     * Creates and starts the endpoint.
+     *
+     * @param address The address to bind to. Use port 0 to choose a free port.
+     * @param registry The command metrics to expose.
+     * @param progress The queue progress to expose.
+     * @param serverStatusSupplier Supplier of the current connection status of the servers.
+     * @throws IOException if the address cannot be bound.
+     */
+    public MetricsHttpServer(
+            @NonNull final InetSocketAddress address,
+            @NonNull final MetricsRegistry registry,
+            @NonNull final QueueProgress progress,
+            @NonNull final Supplier<Map<UUID, Boolean>> serverStatusSupplier
+    ) throws IOException {
+        this.registry = registry;
+        this.progress = progress;
+        this.serverStatusSupplier = serverStatusSupplier;
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handleRequest);
+        server.start();
+        log.info("Metrics endpoint listening on " + getAddress());
+    }
+
+    /**
+     * Gets the address the endpoint is bound to.
+     *
+     * @return The bound address.
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    private void handleRequest(final HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            final String path = exchange.getRequestURI().getPath();
+            final boolean isJson;
+            if (path.equals("/metrics")) {
+                isJson = false;
+            } else if (path.equals("/metrics.json")) {
+                isJson = true;
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (final Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8)) {
+                final Map<UUID, Boolean> serverStatus = serverStatusSupplier.get();
+                if (isJson) {
+                    MetricsExposition.writeJson(writer, registry, progress, serverStatus,
+                            resources);
+                } else {
+                    MetricsExposition.writePrometheus(writer, registry, progress, serverStatus,
+                            resources);
+                }
+            } catch (final RuntimeException ex) {
+                log.error("Failed to collect metrics", ex);
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", isJson
+                    ? MetricsExposition.JSON_CONTENT_TYPE
+                    : MetricsExposition.PROMETHEUS_CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, buffer.size());
+            try (final OutputStream os = exchange.getResponseBody()) {
+                buffer.writeTo(os);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_IN_SEC);
+        executor.shutdownNow();
+    }
+}
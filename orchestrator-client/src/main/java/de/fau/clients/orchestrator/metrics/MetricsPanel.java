@@ -0,0 +1,160 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import lombok.NonNull;
+
+/**
+ * Panel showing the current command statistics of a <code>MetricsRegistry</code> in a table. The
+ * view is refreshed periodically as long as the panel is displayed.
+ */
+@SuppressWarnings("serial")
+public class MetricsPanel extends JPanel {
+
+    private static final int REFRESH_INTERVAL_IN_MS = 1000;
+    private final MetricsRegistry registry;
+    private final MetricsTableModel tableModel = new MetricsTableModel();
+    private final JLabel totalLabel = new JLabel();
+    private final Timer refreshTimer = new Timer(REFRESH_INTERVAL_IN_MS, evt -> refresh());
+
+    public MetricsPanel(@NonNull final MetricsRegistry registry) {
+        super(new BorderLayout());
+        this.registry = registry;
+
+        final JTable table = new JTable(tableModel);
+        table.setAutoCreateRowSorter(true);
+        table.setFillsViewportHeight(true);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        final JButton resetBtn = new JButton("Reset");
+        resetBtn.setToolTipText("Clears all recorded statistics.");
+        resetBtn.addActionListener(evt -> {
+            registry.reset();
+            refresh();
+        });
+        final JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.LEADING));
+        bottomPanel.add(resetBtn);
+        bottomPanel.add(totalLabel);
+        add(bottomPanel, BorderLayout.PAGE_END);
+        refresh();
+    }
+
+    /**
+     * Updates the view with the current values of the registry.
+     */
+    public void refresh() {
+        tableModel.setRows(registry.getAllCommandMetrics());
+        totalLabel.setText(String.format("Total: %d calls, %.2f calls/s",
+                registry.getFinishedCallCount(),
+                registry.getThroughput()));
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refresh();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        super.removeNotify();
+    }
+
+    private static class MetricsTableModel extends AbstractTableModel {
+
+        private static final String[] COLUMN_NAMES = {
+            "Server UUID", "Feature", "Command", "Calls", "Errors", "In Flight",
+            "p50 [ms]", "p90 [ms]", "p99 [ms]", "Max [ms]", "Mean [ms]", "Calls/s"
+        };
+        private final List<Object[]> rows = new ArrayList<>();
+
+        void setRows(final List<CommandMetrics> metricsList) {
+            rows.clear();
+            for (final CommandMetrics metrics : metricsList) {
+                final LatencyHistogram.Snapshot snap = metrics.getLatencySnapshot();
+                final CommandKey key = metrics.getKey();
+                rows.add(new Object[]{
+                    key.getServerUuid().toString(),
+                    key.getFeatureId(),
+                    key.getCommandId(),
+                    snap.getCount(),
+                    formatErrors(metrics),
+                    metrics.getInFlightCount(),
+                    MetricsRegistry.toMillis(snap.getValueAtPercentile(50.0)),
+                    MetricsRegistry.toMillis(snap.getValueAtPercentile(90.0)),
+                    MetricsRegistry.toMillis(snap.getValueAtPercentile(99.0)),
+                    MetricsRegistry.toMillis(snap.getMax()),
+                    MetricsRegistry.toMillis(snap.getMean()),
+                    metrics.getThroughput()});
+            }
+            fireTableDataChanged();
+        }
+
+        private static String formatErrors(final CommandMetrics metrics) {
+            final Map<String, Long> errors = metrics.getErrorCounts();
+            if (errors.isEmpty()) {
+                return "0";
+            }
+            final StringBuilder sb = new StringBuilder();
+            sb.append(metrics.getErrorCount()).append(" (");
+            boolean isFirst = true;
+            for (final Map.Entry<String, Long> entry : errors.entrySet()) {
+                if (!isFirst) {
+                    sb.append(", ");
+                }
+                sb.append(entry.getKey()).append(": ").append(entry.getValue());
+                isFirst = false;
+            }
+            return sb.append(")").toString();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMN_NAMES.length;
+        }
+
+        @Override
+        public String getColumnName(int col) {
+            return COLUMN_NAMES[col];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int col) {
+            switch (col) {
+                case 0:
+                case 1:
+                case 2:
+                case 4:
+                    return String.class;
+                case 3:
+                    return Long.class;
+                case 5:
+                    return Integer.class;
+                default:
+                    return Double.class;
+            }
+        }
+
+        @Override
+        public Object getValueAt(int row, int col) {
+            return rows.get(row)[col];
+        }
+    }
+}
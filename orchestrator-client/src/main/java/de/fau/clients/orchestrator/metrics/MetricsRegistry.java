@@ -0,0 +1,198 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.NonNull;
+
+/**
+ * Singleton collecting the runtime metrics of all executed SiLA commands, grouped by server,
+ * feature and command. A call is tracked by requesting a <code>Call</code> handle before the
+ * execution and finishing it afterwards, e.g.<code>
+ * final MetricsRegistry.Call call = MetricsRegistry.getInstance().startCall(key);
+ * ...
+ * call.succeeded(); // or call.failed("ValidationError");
+ * </code>
+ *
+ * @see CommandMetrics
+ */
+public final class MetricsRegistry {
+
+    private final Map<CommandKey, CommandMetrics> commandMap = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final LongAdder finishedCalls = new LongAdder();
+    private final AtomicLong firstStartNanos = new AtomicLong(CommandMetrics.NOT_SET);
+    private final AtomicLong lastEndNanos = new AtomicLong(CommandMetrics.NOT_SET);
+
+    MetricsRegistry(@NonNull final LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public static MetricsRegistry getInstance() {
+        return MetricsRegistryHolder.INSTANCE;
+    }
+
+    /**
+     * Starts tracking a call of the given command.
+     *
+     * @param key The command to track.
+     * @return The handle used to finish the call.
+     */
+    public Call startCall(@NonNull final CommandKey key) {
+        final CommandMetrics metrics = commandMap.computeIfAbsent(key, CommandMetrics::new);
+        final long startNanos = nanoClock.getAsLong();
+        firstStartNanos.compareAndSet(CommandMetrics.NOT_SET, startNanos);
+        metrics.callStarted(startNanos);
+        return new Call(metrics, startNanos);
+    }
+
+    /**
+     * Gets the metrics of the given command.
+     *
+     * @param key The command to get the metrics for.
+     * @return The metrics or <code>null</code> if no call was tracked so far.
+     */
+    public CommandMetrics getCommandMetrics(@NonNull final CommandKey key) {
+        return commandMap.get(key);
+    }
+
+    /**
+     * Gets the metrics of all commands tracked so far.
+     *
+     * @return A list of all command metrics, sorted by server, feature and command.
+     */
+    public List<CommandMetrics> getAllCommandMetrics() {
+        final List<CommandMetrics> list = new ArrayList<>(commandMap.values());
+        Collections.sort(list, (a, b) -> a.getKey().compareTo(b.getKey()));
+        return list;
+    }
+
+    /**
+     * Gets the overall number of finished calls per second, measured from the start of the first
+     * call to the end of the last finished call.
+     *
+     * @return The throughput in calls per second or 0 if not enough data is available.
+     */
+    public double getThroughput() {
+        return calcRate(finishedCalls.sum(), firstStartNanos.get(), lastEndNanos.get());
+    }
+
+    public long getFinishedCallCount() {
+        return finishedCalls.sum();
+    }
+
+    /**
+     * Clears all recorded values. Calls which are currently in flight stay tracked.
+     */
+    public void reset() {
+        commandMap.values().forEach(CommandMetrics::reset);
+        finishedCalls.reset();
+        firstStartNanos.set(CommandMetrics.NOT_SET);
+        lastEndNanos.set(CommandMetrics.NOT_SET);
+    }
+
+    /**
+     * Creates a human readable summary of all recorded metrics. Latencies are given in
+     * milliseconds.
+     *
+     * @return The formatted summary table.
+     */
+    public String formatSummary() {
+        final List<CommandMetrics> list = getAllCommandMetrics();
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-40s %7s %7s %9s %9s %9s %9s %9s%n",
+                "Command", "Calls", "Errors", "p50[ms]", "p90[ms]", "p99[ms]", "max[ms]", "calls/s"));
+        for (final CommandMetrics metrics : list) {
+            final LatencyHistogram.Snapshot snap = metrics.getLatencySnapshot();
+            final CommandKey key = metrics.getKey();
+            sb.append(String.format("%-40s %7d %7d %9.3f %9.3f %9.3f %9.3f %9.2f%n",
+                    key.getFeatureId() + "/" + key.getCommandId(),
+                    snap.getCount(),
+                    metrics.getErrorCount(),
+                    toMillis(snap.getValueAtPercentile(50.0)),
+                    toMillis(snap.getValueAtPercentile(90.0)),
+                    toMillis(snap.getValueAtPercentile(99.0)),
+                    toMillis(snap.getMax()),
+                    metrics.getThroughput()));
+            sb.append("  @ ").append(key.getServerUuid()).append("\n");
+            metrics.getErrorCounts().forEach((type, cnt) -> {
+                sb.append("  ").append(type).append(": ").append(cnt).append("\n");
+            });
+        }
+        sb.append(String.format("Total: %d calls, %.2f calls/s%n",
+                getFinishedCallCount(),
+                getThroughput()));
+        return sb.toString();
+    }
+
+    static double toMillis(double nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    static double calcRate(long count, long startNanos, long endNanos) {
+        if (count == 0 || startNanos == CommandMetrics.NOT_SET || endNanos <= startNanos) {
+            return 0.0;
+        }
+        return count / ((endNanos - startNanos) / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void callFinished(long endNanos) {
+        finishedCalls.increment();
+        lastEndNanos.accumulateAndGet(endNanos, Math::max);
+    }
+
+    /**
+     * Handle of a single tracked call. Exactly one of the finishing methods has to be called;
+     * further calls are ignored.
+     */
+    public final class Call {
+
+        private final CommandMetrics metrics;
+        private final long startNanos;
+        private boolean isFinished = false;
+
+        private Call(final CommandMetrics metrics, long startNanos) {
+            this.metrics = metrics;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Finishes the call as successful.
+         */
+        public void succeeded() {
+            if (isFinished) {
+                return;
+            }
+            isFinished = true;
+            final long endNanos = nanoClock.getAsLong();
+            metrics.callSucceeded(startNanos, endNanos);
+            callFinished(endNanos);
+        }
+
+        /**
+         * Finishes the call as failed.
+         *
+         * @param errorType The type of the error (e.g. the SiLA error type).
+         */
+        public void failed(@NonNull final String errorType) {
+            if (isFinished) {
+                return;
+            }
+            isFinished = true;
+            final long endNanos = nanoClock.getAsLong();
+            metrics.callFailed(errorType, startNanos, endNanos);
+            callFinished(endNanos);
+        }
+    }
+
+    private static class MetricsRegistryHolder {
+
+        private static final MetricsRegistry INSTANCE = new MetricsRegistry(System::nanoTime);
+    }
+}
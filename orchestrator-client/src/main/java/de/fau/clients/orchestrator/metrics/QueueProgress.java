@@ -0,0 +1,100 @@
+package de.fau.clients.orchestrator.metrics;
+
+import de.fau.clients.orchestrator.tasks.TaskState;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.NonNull;
+
+/**
+ * Thread-safe record of the progress of a queue run. The executing thread updates the task states
+ * while other threads (e.g. the <code>MetricsHttpServer</code>) can read them at any time.
+ *
+ * @see MetricsHttpServer
+ */
+public final class QueueProgress {
+
+    private volatile Run run = new Run(new ArrayList<>());
+
+    /**
+     * Starts tracking a new queue run. All tasks are set to the <code>NEUTRAL</code> state.
+     *
+     * @param taskNames The names of the tasks in queue order.
+     */
+    public void start(@NonNull final List<String> taskNames) {
+        run = new Run(taskNames);
+    }
+
+    /**
+     * Sets the state of the task with the given index. Invalid indices are ignored.
+     *
+     * @param taskIdx The index of the task in the queue.
+     * @param state The new state.
+     */
+    public void setTaskState(int taskIdx, @NonNull final TaskState state) {
+        final Run current = run;
+        if (taskIdx >= 0 && taskIdx < current.states.length()) {
+            current.states.set(taskIdx, state);
+        }
+    }
+
+    /**
+     * Gets a consistent copy of the task names and states of the current run.
+     *
+     * @return A list of all tasks with their current state in queue order.
+     */
+    public List<TaskStatus> getTaskStatusList() {
+        final Run current = run;
+        final List<TaskStatus> list = new ArrayList<>(current.taskNames.size());
+        for (int i = 0; i < current.taskNames.size(); i++) {
+            list.add(new TaskStatus(i + 1, current.taskNames.get(i), current.states.get(i)));
+        }
+        return list;
+    }
+
+    /**
+     * Name and state of a single task.
+     */
+    public static final class TaskStatus {
+
+        private final int rowNr;
+        private final String taskName;
+        private final TaskState state;
+
+        private TaskStatus(int rowNr, final String taskName, final TaskState state) {
+            this.rowNr = rowNr;
+            this.taskName = taskName;
+            this.state = state;
+        }
+
+        public int getRowNr() {
+            return rowNr;
+        }
+
+        public String getTaskName() {
+            return taskName;
+        }
+
+        public TaskState getState() {
+            return state;
+        }
+
+        public boolean isFinished() {
+            return (state == TaskState.FINISHED_SUCCESS || state == TaskState.FINISHED_ERROR);
+        }
+    }
+
+    private static final class Run {
+
+        private final List<String> taskNames;
+        private final AtomicReferenceArray<TaskState> states;
+
+        private Run(final List<String> taskNames) {
+            this.taskNames = new ArrayList<>(taskNames);
+            this.states = new AtomicReferenceArray<>(taskNames.size());
+            for (int i = 0; i < taskNames.size(); i++) {
+                states.set(i, TaskState.NEUTRAL);
+            }
+        }
+    }
+}
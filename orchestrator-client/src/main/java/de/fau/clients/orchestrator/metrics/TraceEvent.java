@@ -0,0 +1,71 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An immutable, finished trace span as stored by the <code>TraceRecorder</code>.
+ *
+ * @see TraceRecorder
+ */
+public final class TraceEvent {
+
+    private final String category;
+    private final String name;
+    private final long startNanos;
+    private final long durationNanos;
+    private final long threadId;
+    private final String threadName;
+    private final Map<String, String> args;
+
+    TraceEvent(
+            final String category,
+            final String name,
+            long startNanos,
+            long durationNanos,
+            long threadId,
+            final String threadName,
+            final Map<String, String> args
+    ) {
+        this.category = category;
+        this.name = name;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+        this.threadId = threadId;
+        this.threadName = threadName;
+        this.args = (args != null) ? Collections.unmodifiableMap(args) : Collections.emptyMap();
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the start time relative to the start of the recorder.
+     *
+     * @return The start time in nanoseconds.
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public Map<String, String> getArgs() {
+        return args;
+    }
+}
@@ -0,0 +1,343 @@
+package de.fau.clients.orchestrator.metrics;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * Singleton recording lightweight trace spans of the task lifecycle phases and server calls. The
+ * finished spans are kept in a fixed-size ring buffer, so only the most recent spans are retained
+ * on long runs. The recording can be exported as trace-event JSON, which can be viewed as timeline
+ * in <code>chrome://tracing</code> or <a href="https://ui.perfetto.dev">Perfetto</a>.
+ *
+ * The recording is disabled by default. While disabled, <code>beginSpan</code> returns a shared
+ * no-op span, so instrumented code paths only pay for a single volatile read. Span names which have
+ * to be built (e.g. from a task or command name) are passed as <code>Supplier</code> and are only
+ * evaluated while recording. Example:<code>
+ * try (final TraceRecorder.Span span = TraceRecorder.getInstance().beginSpan("call", "Execute")) {
+ *     span.arg("command", commandId);
+ *     ...
+ * }
+ * </code>
+ *
+ * @see TraceEvent
+ */
+public final class TraceRecorder {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    public static final String CATEGORY_QUEUE = "queue";
+    public static final String CATEGORY_TASK = "task";
+    public static final String CATEGORY_CALL = "call";
+    public static final String CATEGORY_UI = "ui";
+    private static final JsonFactory jsonFactory = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    private static final int PROCESS_ID = 1;
+    private static final Span NOOP_SPAN = new Span(null, null, null, 0);
+
+    private final LongSupplier nanoClock;
+    private final long epochNanos;
+    private final Instant epochInstant;
+    private final AtomicReferenceArray<TraceEvent> ringBuffer;
+    private final AtomicLong writeCount = new AtomicLong();
+    private volatile boolean isEnabled = false;
+
+    TraceRecorder(@NonNull final LongSupplier nanoClock, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1.");
+        }
+        this.nanoClock = nanoClock;
+        this.epochNanos = nanoClock.getAsLong();
+        this.epochInstant = Instant.now();
+        this.ringBuffer = new AtomicReferenceArray<>(capacity);
+    }
+
+    public static TraceRecorder getInstance() {
+        return TraceRecorderHolder.INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Enables or disables the recording. Already recorded spans are kept.
+     *
+     * @param isEnabled <code>true</code> to start recording.
+     */
+    public void setEnabled(boolean isEnabled) {
+        this.isEnabled = isEnabled;
+    }
+
+    /**
+     * Gets the current time of the recorder clock. Useful to record spans of phases, which start
+     * before the code to instrument is reached (e.g. the waiting time of a task in the queue).
+     *
+     * @return The current time in nanoseconds.
+     * @see #recordSpan
+     */
+    public long now() {
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * Begins a new span on the current thread. The span is recorded when it gets closed.
+     *
+     * @param category The category of the span (e.g. <code>CATEGORY_CALL</code>).
+     * @param name The name of the span.
+     * @return The started span or a no-op span if the recording is disabled.
+     */
+    public Span beginSpan(final String category, final String name) {
+        if (!isEnabled) {
+            return NOOP_SPAN;
+        }
+        return new Span(this, category, name, nanoClock.getAsLong());
+    }
+
+    /**
+     * Begins a new span on the current thread with a computed name. The name is only built if the
+     * recording is enabled.
+     *
+     * @param category The category of the span (e.g. <code>CATEGORY_CALL</code>).
+     * @param nameSupplier The supplier of the span name.
+     * @return The started span or a no-op span if the recording is disabled.
+     */
+    public Span beginSpan(final String category, final Supplier<String> nameSupplier) {
+        if (!isEnabled) {
+            return NOOP_SPAN;
+        }
+        return new Span(this, category, nameSupplier.get(), nanoClock.getAsLong());
+    }
+
+    /**
+     * Records a span with a given start time, which ends now on the current thread.
+     *
+     * @param category The category of the span.
+     * @param name The name of the span.
+     * @param startNanos The start time as given by <code>now()</code>.
+     * @see #now
+     */
+    public void recordSpan(final String category, final String name, long startNanos) {
+        if (!isEnabled) {
+            return;
+        }
+        record(category, name, startNanos, nanoClock.getAsLong(), null);
+    }
+
+    /**
+     * Records a span with a given start time and a computed name, which ends now on the current
+     * thread. The name is only built if the recording is enabled.
+     *
+     * @param category The category of the span.
+     * @param nameSupplier The supplier of the span name.
+     * @param startNanos The start time as given by <code>now()</code>.
+     * @see #now
+     */
+    public void recordSpan(
+            final String category,
+            final Supplier<String> nameSupplier,
+            long startNanos
+    ) {
+        if (!isEnabled) {
+            return;
+        }
+        record(category, nameSupplier.get(), startNanos, nanoClock.getAsLong(), null);
+    }
+
+    private void record(
+            final String category,
+            final String name,
+            long startNanos,
+            long endNanos,
+            final Map<String, String> args
+    ) {
+        final Thread thread = Thread.currentThread();
+        final TraceEvent event = new TraceEvent(
+                category,
+                name,
+                startNanos - epochNanos,
+                Math.max(0, endNanos - startNanos),
+                thread.getId(),
+                thread.getName(),
+                args);
+        final long idx = writeCount.getAndIncrement();
+        ringBuffer.set((int) (idx % ringBuffer.length()), event);
+    }
+
+    public int getCapacity() {
+        return ringBuffer.length();
+    }
+
+    /**
+     * Gets the number of spans recorded so far, including the ones already overwritten in the ring
+     * buffer.
+     *
+     * @return The total number of recorded spans.
+     */
+    public long getRecordedCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * Gets a snapshot of all retained spans, sorted by their start time.
+     *
+     * @return The list of spans.
+     */
+    public List<TraceEvent> getEvents() {
+        final int capacity = ringBuffer.length();
+        final long count = writeCount.get();
+        final long first = Math.max(0, count - capacity);
+        final List<TraceEvent> events = new ArrayList<>((int) (count - first));
+        for (long i = first; i < count; i++) {
+            final TraceEvent event = ringBuffer.get((int) (i % capacity));
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        events.sort(Comparator.comparingLong(TraceEvent::getStartNanos));
+        return events;
+    }
+
+    /**
+     * Removes all recorded spans.
+     */
+    public void clear() {
+        for (int i = 0; i < ringBuffer.length(); i++) {
+            ringBuffer.set(i, null);
+        }
+        writeCount.set(0);
+    }
+
+    /**
+     * Writes all retained spans in the trace-event JSON format (as used by Chrome and Perfetto).
+     * Spans are written as complete events with timestamps in microseconds relative to the start of
+     * the recorder. The names of the involved threads are added as metadata events.
+     *
+     * @param out The writer to write to. The writer is not closed afterwards.
+     * @throws IOException on write errors.
+     */
+    public void writeTraceEvents(@NonNull final Writer out) throws IOException {
+        final List<TraceEvent> events = getEvents();
+        final Map<Long, String> threadNames = new TreeMap<>();
+        try (final JsonGenerator gen = jsonFactory.createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("traceEvents");
+            for (final TraceEvent event : events) {
+                threadNames.putIfAbsent(event.getThreadId(), event.getThreadName());
+                gen.writeStartObject();
+                gen.writeStringField("name", event.getName());
+                gen.writeStringField("cat", event.getCategory());
+                gen.writeStringField("ph", "X");
+                gen.writeNumberField("ts", toMicros(event.getStartNanos()));
+                gen.writeNumberField("dur", toMicros(event.getDurationNanos()));
+                gen.writeNumberField("pid", PROCESS_ID);
+                gen.writeNumberField("tid", event.getThreadId());
+                if (!event.getArgs().isEmpty()) {
+                    gen.writeObjectFieldStart("args");
+                    for (final Map.Entry<String, String> arg : event.getArgs().entrySet()) {
+                        gen.writeStringField(arg.getKey(), arg.getValue());
+                    }
+                    gen.writeEndObject();
+                }
+                gen.writeEndObject();
+            }
+            for (final Map.Entry<Long, String> thread : threadNames.entrySet()) {
+                gen.writeStartObject();
+                gen.writeStringField("name", "thread_name");
+                gen.writeStringField("ph", "M");
+                gen.writeNumberField("pid", PROCESS_ID);
+                gen.writeNumberField("tid", thread.getKey());
+                gen.writeObjectFieldStart("args");
+                gen.writeStringField("name", thread.getValue());
+                gen.writeEndObject();
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeStringField("displayTimeUnit", "ms");
+            gen.writeObjectFieldStart("otherData");
+            gen.writeStringField("recordingStart", epochInstant.toString());
+            gen.writeNumberField("droppedSpans", Math.max(0, getRecordedCount() - getCapacity()));
+            gen.writeEndObject();
+            gen.writeEndObject();
+        }
+    }
+
+    static double toMicros(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    /**
+     * A started span, which gets recorded on <code>close()</code>. A span must only be used by the
+     * thread which started it.
+     */
+    public static final class Span implements AutoCloseable {
+
+        private final TraceRecorder recorder;
+        private final String category;
+        private final String name;
+        private final long startNanos;
+        private Map<String, String> args = null;
+        private boolean isClosed = false;
+
+        private Span(
+                final TraceRecorder recorder,
+                final String category,
+                final String name,
+                long startNanos
+        ) {
+            this.recorder = recorder;
+            this.category = category;
+            this.name = name;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Adds an argument, which is shown in the details of the span.
+         *
+         * @param key The argument name.
+         * @param value The argument value.
+         * @return This span.
+         */
+        public Span arg(final String key, final Object value) {
+            if (recorder != null) {
+                if (args == null) {
+                    args = new LinkedHashMap<>();
+                }
+                args.put(key, String.valueOf(value));
+            }
+            return this;
+        }
+
+        /**
+         * Ends and records the span. Further calls are ignored.
+         */
+        @Override
+        public void close() {
+            if (recorder == null || isClosed) {
+                return;
+            }
+            isClosed = true;
+            recorder.record(category, name, startNanos, recorder.nanoClock.getAsLong(), args);
+        }
+    }
+
+    private static class TraceRecorderHolder {
+
+        private static final TraceRecorder INSTANCE = new TraceRecorder(System::nanoTime, DEFAULT_CAPACITY);
+    }
+}
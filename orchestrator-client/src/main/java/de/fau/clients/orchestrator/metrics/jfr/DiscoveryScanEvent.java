@@ -0,0 +1,24 @@
+package de.fau.clients.orchestrator.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event covering a network scan for discoverable SiLA servers.
+ */
+@Name(JfrEvents.NAME_PREFIX + "DiscoveryScan")
+@Label("Discovery Scan")
+@Category({JfrEvents.CATEGORY, "Connections"})
+@Description("Network scan for discoverable SiLA servers.")
+@StackTrace(false)
+@Threshold("0 ms")
+public class DiscoveryScanEvent extends jdk.jfr.Event {
+
+    @Label("Known Servers")
+    @Description("The number of known servers after the scan.")
+    public int serverCount;
+}
@@ -0,0 +1,31 @@
+package de.fau.clients.orchestrator.metrics.jfr;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Registry of the custom Java Flight Recorder (JFR) events emitted by the orchestrator. Each event
+ * comes with a threshold tuned for always-on recordings, so only the slow and therefore interesting
+ * operations are written to the recording. The thresholds can be overridden by the event settings
+ * of a custom <code>*.jfc</code>-file.
+ */
+public final class JfrEvents {
+
+    public static final String NAME_PREFIX = "de.fau.orchestrator.";
+    public static final String CATEGORY = "SiLA Orchestrator";
+
+    private JfrEvents() {
+        throw new UnsupportedOperationException("Instantiation not allowed.");
+    }
+
+    /**
+     * Registers all event types, so they show up in the recording settings (e.g. in JDK Mission
+     * Control) before they are emitted for the first time.
+     */
+    public static void register() {
+        FlightRecorder.register(TaskExecutionEvent.class);
+        FlightRecorder.register(ServerCallEvent.class);
+        FlightRecorder.register(DiscoveryScanEvent.class);
+        FlightRecorder.register(ServerConnectionEvent.class);
+        FlightRecorder.register(NodeBuildEvent.class);
+    }
+}
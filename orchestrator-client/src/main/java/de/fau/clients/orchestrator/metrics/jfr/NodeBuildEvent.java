@@ -0,0 +1,33 @@
+package de.fau.clients.orchestrator.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event covering the construction of the <code>SilaNode</code> tree of a parameter or
+ * response list by the <code>NodeFactory</code>.
+ *
+ * @see de.fau.clients.orchestrator.nodes.NodeFactory
+ */
+@Name(JfrEvents.NAME_PREFIX + "NodeBuild")
+@Label("Node Build")
+@Category({JfrEvents.CATEGORY, "Nodes"})
+@Description("Construction of a SilaNode tree from SiLA elements.")
+@StackTrace(false)
+@Threshold("1 ms")
+public class NodeBuildEvent extends jdk.jfr.Event {
+
+    @Label("Feature")
+    public String featureId;
+
+    @Label("Element Count")
+    public int elementCount;
+
+    @Label("From JSON")
+    @Description("Whether the node values were initialized from JSON.")
+    public boolean isFromJson;
+}
@@ -0,0 +1,83 @@
+package de.fau.clients.orchestrator.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event covering the round-trip of a SiLA call (command execution or property read) from
+ * submitting the call until the result is available or the call failed. The duration of this event
+ * is the device side latency including the network, whereas the time in between the server calls
+ * of a <code>TaskExecutionEvent</code> is the client overhead.
+ */
+@Name(JfrEvents.NAME_PREFIX + "ServerCall")
+@Label("SiLA Server Call")
+@Category({JfrEvents.CATEGORY, "Server Calls"})
+@Description("Round-trip of a SiLA command or property call.")
+@StackTrace(false)
+@Threshold("1 ms")
+public class ServerCallEvent extends jdk.jfr.Event {
+
+    @Label("Server UUID")
+    public String serverUuid;
+
+    @Label("Fully Qualified Identifier")
+    public String identifier;
+
+    @Label("Call Type")
+    public String callType;
+
+    @Label("Request Size")
+    @Description("Size of the JSON encoded call parameters.")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Size")
+    @Description("Size of the JSON encoded call result or error message.")
+    @DataAmount
+    public long responseBytes;
+
+    @Label("Successful")
+    public boolean isSuccessful;
+
+    @Label("Error Type")
+    public String errorType;
+
+    /**
+     * Gets the number of bytes of the given text in UTF-8 without encoding it. Shall only be
+     * called if the event is committed, since it iterates over the whole text.
+     *
+     * @param text The text or <code>null</code>.
+     * @return The UTF-8 encoded size in bytes.
+     */
+    public static long utf8Length(final String text) {
+        if (text == null) {
+            return 0;
+        }
+        long length = 0;
+        final int len = text.length();
+        for (int i = 0; i < len; i++) {
+            final char ch = text.charAt(i);
+            if (ch < 0x80) {
+                length++;
+            } else if (ch < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(ch) && i + 1 < len
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                // a surrogate pair encodes one code point with four bytes
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(ch)) {
+                // an unpaired surrogate is replaced by '?'
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
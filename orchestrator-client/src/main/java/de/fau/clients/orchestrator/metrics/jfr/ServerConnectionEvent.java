@@ -0,0 +1,41 @@
+package de.fau.clients.orchestrator.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event of a connection change of a SiLA server. Reconnects are recorded with their duration,
+ * all other changes are instant events.
+ */
+@Name(JfrEvents.NAME_PREFIX + "ServerConnection")
+@Label("Server Connection Change")
+@Category({JfrEvents.CATEGORY, "Connections"})
+@Description("Addition, removal or reconnect of a SiLA server.")
+@StackTrace(false)
+@Threshold("0 ms")
+public class ServerConnectionEvent extends jdk.jfr.Event {
+
+    public static final String CHANGE_ADDED = "Added";
+    public static final String CHANGE_ADDITION_FAILED = "Addition Failed";
+    public static final String CHANGE_REMOVED = "Removed";
+    public static final String CHANGE_RECONNECT = "Reconnect";
+
+    @Label("Server UUID")
+    public String serverUuid;
+
+    @Label("Host")
+    public String host;
+
+    @Label("Port")
+    public int port;
+
+    @Label("Change")
+    public String change;
+
+    @Label("Details")
+    public String details;
+}
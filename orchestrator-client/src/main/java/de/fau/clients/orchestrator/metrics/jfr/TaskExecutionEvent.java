@@ -0,0 +1,32 @@
+package de.fau.clients.orchestrator.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event covering the execution of a single queue task from start to end.
+ *
+ * @see de.fau.clients.orchestrator.tasks.QueueTask
+ */
+@Name(JfrEvents.NAME_PREFIX + "TaskExecution")
+@Label("Task Execution")
+@Category({JfrEvents.CATEGORY, "Tasks"})
+@Description("Execution of a queue task with the resulting task state.")
+@StackTrace(false)
+@Threshold("0 ms")
+public class TaskExecutionEvent extends jdk.jfr.Event {
+
+    @Label("Task Type")
+    public String taskType;
+
+    @Label("Task")
+    public String task;
+
+    @Label("State")
+    @Description("The task state after the execution.")
+    public String state;
+}
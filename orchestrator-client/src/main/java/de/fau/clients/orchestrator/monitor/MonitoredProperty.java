@@ -0,0 +1,111 @@
+package de.fau.clients.orchestrator.monitor;
+
+import de.fau.clients.orchestrator.ctx.PropertyContext;
+import java.util.concurrent.ScheduledFuture;
+import lombok.NonNull;
+
+/**
+ * A SiLA Property which is sampled periodically by the <code>PropertyMonitor</code>. The numeric
+ * samples are kept in a <code>SampleRingBuffer</code>, while only the last value is kept as text.
+ *
+ * @see PropertyMonitor
+ */
+public final class MonitoredProperty {
+
+    private final PropertyContext propCtx;
+    private final SampleRingBuffer history;
+    private volatile int intervalInMs;
+    private volatile String lastValueText = "";
+    private volatile String lastError = null;
+    private ScheduledFuture<?> samplingFuture = null;
+
+    MonitoredProperty(@NonNull final PropertyContext propCtx, int historySize, int intervalInMs) {
+        this.propCtx = propCtx;
+        this.history = new SampleRingBuffer(historySize);
+        this.intervalInMs = intervalInMs;
+    }
+
+    public PropertyContext getPropertyCtx() {
+        return propCtx;
+    }
+
+    public String getFullyQualifiedIdentifier() {
+        return propCtx.getFullyQualifiedIdentifier();
+    }
+
+    /**
+     * Gets the key of this property within the monitor. Identical servers expose the same fully
+     * qualified identifiers, so the key is made unique by the UUID of the server.
+     *
+     * @return The server UUID followed by the fully qualified identifier of the property.
+     */
+    public String getKey() {
+        return keyOf(propCtx);
+    }
+
+    static String keyOf(@NonNull final PropertyContext propCtx) {
+        return propCtx.getFeatureCtx().getServerUuid() + "/"
+                + propCtx.getFullyQualifiedIdentifier();
+    }
+
+    public SampleRingBuffer getHistory() {
+        return history;
+    }
+
+    public int getIntervalInMs() {
+        return intervalInMs;
+    }
+
+    /**
+     * Gets the last received value as text, which is also available for non-numeric properties.
+     *
+     * @return The last value or an empty string if no value was received so far.
+     */
+    public String getLastValueText() {
+        return lastValueText;
+    }
+
+    /**
+     * Gets the error message of the last sample.
+     *
+     * @return The error message or <code>null</code> if the last sample was successful.
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    void addSample(long timestampInMs, double value, @NonNull final String valueText) {
+        history.add(timestampInMs, value);
+        lastValueText = valueText;
+        lastError = null;
+    }
+
+    void addFailedSample(long timestampInMs, final String errMsg) {
+        // the gap in the history marks the failed sample
+        history.add(timestampInMs, Double.NaN);
+        lastError = (errMsg != null) ? errMsg : "Unknown error.";
+    }
+
+    void setIntervalInMs(int intervalInMs) {
+        this.intervalInMs = intervalInMs;
+    }
+
+    /**
+     * Sets the future of the periodic sampling. A previously set future gets cancelled.
+     *
+     * @param samplingFuture The new sampling future.
+     */
+    synchronized void setSamplingFuture(final ScheduledFuture<?> samplingFuture) {
+        if (this.samplingFuture != null) {
+            this.samplingFuture.cancel(false);
+        }
+        this.samplingFuture = samplingFuture;
+    }
+
+    synchronized void cancelSampling() {
+        if (samplingFuture != null) {
+            samplingFuture.cancel(false);
+            samplingFuture = null;
+        }
+    }
+}
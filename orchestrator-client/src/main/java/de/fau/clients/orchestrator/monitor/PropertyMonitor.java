@@ -0,0 +1,298 @@
+package de.fau.clients.orchestrator.monitor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fau.clients.orchestrator.ctx.PropertyContext;
+import de.fau.clients.orchestrator.tree.PropertyTreeNode;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Singleton which samples subscribed SiLA Properties in the background and keeps a bounded history
+ * of the values per property. Any number of properties across different servers can be watched at
+ * the same time, also the same property of several identical servers. Each property is sampled
+ * with a fixed delay between the calls, so a slow server does not pile up requests. The sampling
+ * runs in a dedicated thread pool and does not interfere with the execution of the task queue.
+ *
+ * @see MonitoredProperty
+ */
+@Slf4j
+public final class PropertyMonitor {
+
+    public static final int DEFAULT_HISTORY_SIZE = 600;
+    public static final int DEFAULT_INTERVAL_IN_MS = 1000;
+    private static final int MAX_SERVER_RESPONSE_TIME_IN_SEC = 3;
+    private static final int SAMPLING_THREAD_COUNT = 4;
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private final Map<String, MonitoredProperty> propertyMap = new ConcurrentHashMap<>();
+    private final List<SampleListener> sampleListeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService executor;
+
+    private PropertyMonitor() {
+        final AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(SAMPLING_THREAD_COUNT, runnable -> {
+            final Thread thread = new Thread(runnable,
+                    "property-monitor-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static PropertyMonitor getInstance() {
+        return PropertyMonitorHolder.INSTANCE;
+    }
+
+    /**
+     * Starts monitoring the given property with the default sampling interval.
+     *
+     * @param propCtx The context of the property to monitor.
+     * @return The monitored property.
+     * @see #subscribe(PropertyContext, int)
+     */
+    public MonitoredProperty subscribe(@NonNull final PropertyContext propCtx) {
+        return subscribe(propCtx, DEFAULT_INTERVAL_IN_MS);
+    }
+
+    /**
+     * Starts monitoring the given property. If the property is already monitored, the existing
+     * subscription is returned. Its sampling interval is shortened if the given interval is
+     * smaller, but never extended, so other users of the subscription do not lose samples.
+     *
+     * @param propCtx The context of the property to monitor.
+     * @param intervalInMs The delay in milliseconds between two samples.
+     * @return The monitored property.
+     */
+    public MonitoredProperty subscribe(@NonNull final PropertyContext propCtx, int intervalInMs) {
+        if (intervalInMs < 1) {
+            throw new IllegalArgumentException("Interval must be at least 1 ms.");
+        }
+        final String key = MonitoredProperty.keyOf(propCtx);
+        synchronized (propertyMap) {
+            MonitoredProperty monProp = propertyMap.get(key);
+            if (monProp == null) {
+                monProp = new MonitoredProperty(propCtx, DEFAULT_HISTORY_SIZE, intervalInMs);
+                propertyMap.put(key, monProp);
+                log.info("Started monitoring " + key);
+            } else if (intervalInMs < monProp.getIntervalInMs()) {
+                monProp.setIntervalInMs(intervalInMs);
+            } else {
+                return monProp;
+            }
+            scheduleSampling(monProp, 0);
+            return monProp;
+        }
+    }
+
+    /**
+     * Changes the sampling interval of the property with the given key. Unlike
+     * <code>subscribe()</code>, the interval may also be extended, e.g. to restore the interval
+     * after a temporarily shortened one.
+     *
+     * @param key The key of the monitored property.
+     * @param intervalInMs The new delay in milliseconds between two samples.
+     * @see MonitoredProperty#getKey()
+     */
+    public void setIntervalInMs(@NonNull final String key, int intervalInMs) {
+        if (intervalInMs < 1) {
+            throw new IllegalArgumentException("Interval must be at least 1 ms.");
+        }
+        synchronized (propertyMap) {
+            final MonitoredProperty monProp = propertyMap.get(key);
+            if (monProp == null || monProp.getIntervalInMs() == intervalInMs) {
+                return;
+            }
+            monProp.setIntervalInMs(intervalInMs);
+            scheduleSampling(monProp, intervalInMs);
+        }
+    }
+
+    private void scheduleSampling(final MonitoredProperty monProp, int initialDelayInMs) {
+        monProp.setSamplingFuture(executor.scheduleWithFixedDelay(() -> sample(monProp),
+                initialDelayInMs,
+                monProp.getIntervalInMs(),
+                TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Stops monitoring the given property. The recorded history is dropped.
+     *
+     * @param propCtx The context of the property.
+     */
+    public void unsubscribe(@NonNull final PropertyContext propCtx) {
+        unsubscribe(MonitoredProperty.keyOf(propCtx));
+    }
+
+    /**
+     * Stops monitoring the property with the given key. The recorded history is dropped.
+     *
+     * @param key The key of the monitored property.
+     * @see MonitoredProperty#getKey()
+     */
+    public void unsubscribe(@NonNull final String key) {
+        final MonitoredProperty monProp;
+        synchronized (propertyMap) {
+            monProp = propertyMap.remove(key);
+        }
+        if (monProp != null) {
+            monProp.cancelSampling();
+            log.info("Stopped monitoring " + key);
+        }
+    }
+
+    /**
+     * Stops monitoring all properties.
+     */
+    public void unsubscribeAll() {
+        synchronized (propertyMap) {
+            final Iterator<MonitoredProperty> iter = propertyMap.values().iterator();
+            while (iter.hasNext()) {
+                iter.next().cancelSampling();
+                iter.remove();
+            }
+        }
+    }
+
+    /**
+     * Adds a listener which gets notified about every sample of all monitored properties.
+     *
+     * @param listener The listener to add.
+     */
+    public void addSampleListener(@NonNull final SampleListener listener) {
+        sampleListeners.add(listener);
+    }
+
+    public void removeSampleListener(@NonNull final SampleListener listener) {
+        sampleListeners.remove(listener);
+    }
+
+    public boolean isSubscribed(@NonNull final PropertyContext propCtx) {
+        return propertyMap.containsKey(MonitoredProperty.keyOf(propCtx));
+    }
+
+    /**
+     * Gets the monitored property of the given context.
+     *
+     * @param propCtx The context of the property.
+     * @return The monitored property or <code>null</code> if the property is not monitored.
+     */
+    public MonitoredProperty getMonitoredProperty(@NonNull final PropertyContext propCtx) {
+        return propertyMap.get(MonitoredProperty.keyOf(propCtx));
+    }
+
+    /**
+     * Gets all monitored properties sorted by their fully qualified identifier and server.
+     *
+     * @return A snapshot of the monitored properties.
+     */
+    public List<MonitoredProperty> getMonitoredProperties() {
+        final List<MonitoredProperty> list = new ArrayList<>(propertyMap.values());
+        list.sort(Comparator.comparing(MonitoredProperty::getFullyQualifiedIdentifier)
+                .thenComparing(MonitoredProperty::getKey));
+        return list;
+    }
+
+    private void sample(final MonitoredProperty monProp) {
+        final PropertyContext propCtx = monProp.getPropertyCtx();
+        final String response;
+        try {
+            response = PropertyTreeNode.readProperty(propCtx, MAX_SERVER_RESPONSE_TIME_IN_SEC);
+        } catch (final IOException ex) {
+            final long timestamp = System.currentTimeMillis();
+            monProp.addFailedSample(timestamp, ex.getMessage());
+            notifySampleListeners(monProp, timestamp, Double.NaN);
+            return;
+        }
+        final long timestamp = System.currentTimeMillis();
+        double value = Double.NaN;
+        try {
+            final JsonNode valueNode = jsonMapper.readTree(response)
+                    .get(propCtx.getProperty().getIdentifier());
+            final JsonNode leafNode = findFirstValueNode(valueNode);
+            if (leafNode != null) {
+                value = toSampleValue(leafNode);
+                monProp.addSample(timestamp, value, leafNode.asText());
+            } else {
+                monProp.addSample(timestamp,
+                        value,
+                        (valueNode != null) ? valueNode.toString() : "");
+            }
+        } catch (final IOException ex) {
+            log.warn(ex.getMessage());
+            monProp.addFailedSample(timestamp, ex.getMessage());
+        }
+        notifySampleListeners(monProp, timestamp, value);
+    }
+
+    private void notifySampleListeners(
+            final MonitoredProperty monProp,
+            long timestamp,
+            double value
+    ) {
+        for (final SampleListener listener : sampleListeners) {
+            listener.onSample(monProp, timestamp, value);
+        }
+    }
+
+    /**
+     * Searches depth-first for the first value (i.e. a node without children) in the given JSON
+     * tree. For structures, this is the value of the first element.
+     *
+     * @param node The root node of the property response.
+     * @return The first value node or <code>null</code> if there is none.
+     */
+    static JsonNode findFirstValueNode(final JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        if (node.isValueNode()) {
+            return node;
+        }
+        for (final JsonNode child : node) {
+            final JsonNode valueNode = findFirstValueNode(child);
+            if (valueNode != null) {
+                return valueNode;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Converts the given value node to a sample value. Numbers are taken as they are, booleans
+     * are mapped to <code>1</code> and <code>0</code> and numeric strings (e.g. 64-bit integers)
+     * are parsed.
+     *
+     * @param valueNode The value node to convert.
+     * @return The sample value or <code>NaN</code> if the value is not numeric.
+     */
+    static double toSampleValue(@NonNull final JsonNode valueNode) {
+        if (valueNode.isNumber()) {
+            return valueNode.doubleValue();
+        } else if (valueNode.isBoolean()) {
+            return valueNode.booleanValue() ? 1.0 : 0.0;
+        } else if (valueNode.isTextual()) {
+            try {
+                return Double.parseDouble(valueNode.textValue());
+            } catch (final NumberFormatException ex) {
+                return Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static class PropertyMonitorHolder {
+
+        private static final PropertyMonitor INSTANCE = new PropertyMonitor();
+    }
+}
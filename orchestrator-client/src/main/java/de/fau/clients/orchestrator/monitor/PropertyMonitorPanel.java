@@ -0,0 +1,370 @@
+package de.fau.clients.orchestrator.monitor;
+
+import java.awt.BasicStroke;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.FlowLayout;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.JTable;
+import javax.swing.JToggleButton;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.Timer;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableCellRenderer;
+import lombok.NonNull;
+
+/**
+ * Panel showing the monitored properties of a <code>PropertyMonitor</code> in a table, including a
+ * sparkline of the recorded history. The view is refreshed with a fixed rate as long as the panel
+ * is displayed, independent of the sampling rate of the properties.
+ *
+ * @see PropertyMonitor
+ */
+@SuppressWarnings("serial")
+public class PropertyMonitorPanel extends JPanel {
+
+    private static final int REFRESH_INTERVAL_IN_MS = 500;
+    private static final int HISTORY_COLUMN = 7;
+    private static final FileNameExtensionFilter TELEMETRY_FILE_FILTER = new FileNameExtensionFilter(
+            "Telemetry Recording (*." + TelemetryWriter.FILE_EXTENSION + ")",
+            TelemetryWriter.FILE_EXTENSION);
+    private final PropertyMonitor monitor;
+    private final MonitorTableModel tableModel = new MonitorTableModel();
+    private final JTable table = new JTable(tableModel);
+    private final JLabel totalLabel = new JLabel();
+    private final Timer refreshTimer = new Timer(REFRESH_INTERVAL_IN_MS, evt -> refresh());
+    private final JToggleButton recordBtn = new JToggleButton("Record...");
+    private final JSpinner recordIntervalSpinner = new JSpinner(
+            new SpinnerNumberModel(PropertyMonitor.DEFAULT_INTERVAL_IN_MS, 10, 3_600_000, 100));
+    private TelemetryRecorder recorder = null;
+
+    public PropertyMonitorPanel(@NonNull final PropertyMonitor monitor) {
+        super(new BorderLayout());
+        this.monitor = monitor;
+
+        table.setFillsViewportHeight(true);
+        table.setRowHeight(Math.max(table.getRowHeight(), 24));
+        table.getColumnModel().getColumn(HISTORY_COLUMN).setCellRenderer(new SparklineRenderer());
+        table.getColumnModel().getColumn(HISTORY_COLUMN).setPreferredWidth(240);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        final JButton removeBtn = new JButton("Remove");
+        removeBtn.setToolTipText("Stops monitoring the selected properties.");
+        removeBtn.addActionListener(evt -> {
+            for (final int row : table.getSelectedRows()) {
+                monitor.unsubscribe(tableModel.getMonitoredProperty(row).getKey());
+            }
+            refresh();
+        });
+        final JButton removeAllBtn = new JButton("Remove All");
+        removeAllBtn.setToolTipText("Stops monitoring all properties.");
+        removeAllBtn.addActionListener(evt -> {
+            monitor.unsubscribeAll();
+            refresh();
+        });
+        recordBtn.setToolTipText("Records the samples of all monitored properties to a file.");
+        recordBtn.addActionListener(evt -> recordBtnActionPerformed());
+        recordIntervalSpinner.setToolTipText("Sampling interval in milliseconds while recording.");
+        final JButton exportCsvBtn = new JButton("Export CSV...");
+        exportCsvBtn.setToolTipText("Converts a recording to CSV.");
+        exportCsvBtn.addActionListener(evt -> exportCsvBtnActionPerformed());
+        final JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.LEADING));
+        bottomPanel.add(removeBtn);
+        bottomPanel.add(removeAllBtn);
+        bottomPanel.add(recordBtn);
+        bottomPanel.add(new JLabel("Interval [ms]:"));
+        bottomPanel.add(recordIntervalSpinner);
+        bottomPanel.add(exportCsvBtn);
+        bottomPanel.add(totalLabel);
+        add(bottomPanel, BorderLayout.PAGE_END);
+        refresh();
+    }
+
+    /**
+     * Updates the view with the current samples of the monitor. The selection is kept as long as
+     * the monitored properties do not change.
+     */
+    public void refresh() {
+        final List<MonitoredProperty> monProps = monitor.getMonitoredProperties();
+        if (tableModel.hasSameProperties(monProps)) {
+            tableModel.updateRows();
+        } else {
+            tableModel.setRows(monProps);
+        }
+        if (recorder != null) {
+            totalLabel.setText("Monitored properties: " + monProps.size()
+                    + ", recording (" + recorder.getDroppedSampleCount() + " dropped)");
+        } else {
+            totalLabel.setText("Monitored properties: " + monProps.size());
+        }
+    }
+
+    /**
+     * Starts or stops the recording of the monitored properties.
+     */
+    private void recordBtnActionPerformed() {
+        if (!recordBtn.isSelected()) {
+            stopRecording();
+            return;
+        }
+        final JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileFilter(TELEMETRY_FILE_FILTER);
+        fileChooser.setSelectedFile(new File("telemetry." + TelemetryWriter.FILE_EXTENSION));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            recordBtn.setSelected(false);
+            return;
+        }
+        try {
+            recorder = new TelemetryRecorder(monitor,
+                    fileChooser.getSelectedFile().toPath(),
+                    TelemetryRecorder.DEFAULT_FLUSH_INTERVAL_IN_MS);
+        } catch (final IOException ex) {
+            recordBtn.setSelected(false);
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Recording failed", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        final int intervalInMs = (Integer) recordIntervalSpinner.getValue();
+        for (final MonitoredProperty monProp : monitor.getMonitoredProperties()) {
+            recorder.record(monProp.getPropertyCtx(), intervalInMs);
+        }
+        recordIntervalSpinner.setEnabled(false);
+        refresh();
+    }
+
+    private void stopRecording() {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.close();
+        } catch (final IOException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Recording failed", JOptionPane.ERROR_MESSAGE);
+        }
+        recorder = null;
+        recordBtn.setSelected(false);
+        recordIntervalSpinner.setEnabled(true);
+        refresh();
+    }
+
+    /**
+     * Asks for a recording and the CSV file to write to and converts the recording.
+     */
+    private void exportCsvBtnActionPerformed() {
+        final JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileFilter(TELEMETRY_FILE_FILTER);
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        final File inFile = fileChooser.getSelectedFile();
+        fileChooser.resetChoosableFileFilters();
+        fileChooser.setFileFilter(new FileNameExtensionFilter("CSV (*.csv)", "csv"));
+        fileChooser.setSelectedFile(new File(inFile.getName().replaceFirst("\\.[^.]*$", "") + ".csv"));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try (final Writer out = Files.newBufferedWriter(fileChooser.getSelectedFile().toPath(),
+                StandardCharsets.UTF_8)) {
+            TelemetryReader.read(inFile.toPath()).writeCsv(out);
+        } catch (final IOException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Export failed", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refresh();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        super.removeNotify();
+    }
+
+    private static class MonitorTableModel extends AbstractTableModel {
+
+        private static final String[] COLUMN_NAMES = {
+            "Server UUID", "Feature", "Property", "Samples", "Last Value", "Min", "Max", "History"
+        };
+        private final List<MonitoredProperty> monProps = new ArrayList<>();
+        private final List<Object[]> rows = new ArrayList<>();
+
+        boolean hasSameProperties(final List<MonitoredProperty> other) {
+            return monProps.equals(other);
+        }
+
+        MonitoredProperty getMonitoredProperty(int row) {
+            return monProps.get(row);
+        }
+
+        void setRows(final List<MonitoredProperty> monPropList) {
+            monProps.clear();
+            monProps.addAll(monPropList);
+            rows.clear();
+            for (final MonitoredProperty monProp : monProps) {
+                rows.add(createRow(monProp));
+            }
+            fireTableDataChanged();
+        }
+
+        void updateRows() {
+            for (int i = 0; i < monProps.size(); i++) {
+                rows.set(i, createRow(monProps.get(i)));
+            }
+            if (!rows.isEmpty()) {
+                fireTableRowsUpdated(0, rows.size() - 1);
+            }
+        }
+
+        private static Object[] createRow(final MonitoredProperty monProp) {
+            final SampleRingBuffer history = monProp.getHistory();
+            final double[] values = history.copyValues();
+            double min = Double.NaN;
+            double max = Double.NaN;
+            for (final double value : values) {
+                if (!Double.isNaN(value)) {
+                    min = Double.isNaN(min) ? value : Math.min(min, value);
+                    max = Double.isNaN(max) ? value : Math.max(max, value);
+                }
+            }
+            final String lastError = monProp.getLastError();
+            return new Object[]{
+                monProp.getPropertyCtx().getFeatureCtx().getServerUuid().toString(),
+                monProp.getPropertyCtx().getFeatureCtx().getFeatureId(),
+                monProp.getPropertyCtx().getProperty().getIdentifier(),
+                history.getTotalCount(),
+                (lastError != null) ? "Error: " + lastError : monProp.getLastValueText(),
+                min,
+                max,
+                values};
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMN_NAMES.length;
+        }
+
+        @Override
+        public String getColumnName(int col) {
+            return COLUMN_NAMES[col];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int col) {
+            switch (col) {
+                case 3:
+                    return Long.class;
+                case 5:
+                case 6:
+                    return Double.class;
+                case HISTORY_COLUMN:
+                    return double[].class;
+                default:
+                    return String.class;
+            }
+        }
+
+        @Override
+        public Object getValueAt(int row, int col) {
+            return rows.get(row)[col];
+        }
+    }
+
+    /**
+     * Draws the sample history as a line scaled to the minimum and maximum of the values. Missing
+     * samples (<code>NaN</code>) interrupt the line.
+     */
+    private static class SparklineRenderer extends JComponent implements TableCellRenderer {
+
+        private static final int PADDING = 3;
+        private double[] values = new double[0];
+        private boolean isSelected = false;
+        private JTable table = null;
+
+        @Override
+        public Component getTableCellRendererComponent(
+                JTable table,
+                Object value,
+                boolean isSelected,
+                boolean hasFocus,
+                int row,
+                int column
+        ) {
+            this.values = (value instanceof double[]) ? (double[]) value : new double[0];
+            this.isSelected = isSelected;
+            this.table = table;
+            return this;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            final int width = getWidth();
+            final int height = getHeight();
+            if (table != null) {
+                g.setColor(isSelected ? table.getSelectionBackground() : table.getBackground());
+                g.fillRect(0, 0, width, height);
+            }
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (final double value : values) {
+                if (!Double.isNaN(value)) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+            if (values.length < 2 || min > max) {
+                return;
+            }
+            final double range = (max > min) ? (max - min) : 1.0;
+            final double xStep = (width - 2.0 * PADDING) / (values.length - 1);
+            final double yScale = (height - 2.0 * PADDING) / range;
+
+            final Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setStroke(new BasicStroke(1.5f));
+            g2.setColor(isSelected ? table.getSelectionForeground() : new Color(0x2060c0));
+            int lastX = -1;
+            int lastY = -1;
+            for (int i = 0; i < values.length; i++) {
+                if (Double.isNaN(values[i])) {
+                    lastX = -1;
+                    continue;
+                }
+                final int x = PADDING + (int) Math.round(i * xStep);
+                final int y = height - PADDING - (int) Math.round((values[i] - min) * yScale);
+                if (lastX >= 0) {
+                    g2.drawLine(lastX, lastY, x, y);
+                }
+                lastX = x;
+                lastY = y;
+            }
+            g2.dispose();
+        }
+    }
+}
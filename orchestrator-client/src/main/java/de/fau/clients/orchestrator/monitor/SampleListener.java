@@ -0,0 +1,19 @@
+package de.fau.clients.orchestrator.monitor;
+
+/**
+ * Listener for the samples taken by the <code>PropertyMonitor</code>.
+ *
+ * @see PropertyMonitor
+ */
+public interface SampleListener {
+
+    /**
+     * Method which gets invoked for every sample of a monitored property. The method is called by
+     * the sampling threads and must therefore return quickly.
+     *
+     * @param monProp The sampled property.
+     * @param timestampInMs The time of the sample in milliseconds since the epoch.
+     * @param value The sampled value or <code>NaN</code> if the sample failed or is not numeric.
+     */
+    void onSample(final MonitoredProperty monProp, long timestampInMs, double value);
+}
@@ -0,0 +1,128 @@
+package de.fau.clients.orchestrator.monitor;
+
+/**
+ * Fixed-size history of numeric samples stored in primitive arrays. When the buffer is full, the
+ * oldest sample gets overwritten, so the memory footprint stays constant no matter how long a
+ * property is monitored. Non-numeric samples are stored as <code>NaN</code>.
+ *
+ * All methods are thread-safe. Readers should use the <code>copy</code> methods to take a
+ * consistent snapshot instead of iterating over the single samples.
+ */
+public final class SampleRingBuffer {
+
+    private final long[] timestamps;
+    private final double[] values;
+    /**
+     * Index of the next sample to write.
+     */
+    private int head = 0;
+    private int size = 0;
+    private long totalCount = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The maximum number of samples to keep.
+     */
+    public SampleRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1.");
+        }
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Adds a sample and overwrites the oldest one if the buffer is full.
+     *
+     * @param timestampInMs The time of the sample in milliseconds since the epoch.
+     * @param value The sampled value.
+     */
+    public synchronized void add(long timestampInMs, double value) {
+        timestamps[head] = timestampInMs;
+        values[head] = value;
+        head = (head + 1) % values.length;
+        if (size < values.length) {
+            size++;
+        }
+        totalCount++;
+    }
+
+    public int getCapacity() {
+        return values.length;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of samples added so far, including the ones already overwritten.
+     *
+     * @return The total number of samples.
+     */
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Gets the most recent value.
+     *
+     * @return The last value or <code>NaN</code> if the buffer is empty.
+     */
+    public synchronized double getLastValue() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        return values[(head - 1 + values.length) % values.length];
+    }
+
+    /**
+     * Gets the timestamp of the most recent value.
+     *
+     * @return The last timestamp in milliseconds or <code>0</code> if the buffer is empty.
+     */
+    public synchronized long getLastTimestamp() {
+        if (size == 0) {
+            return 0;
+        }
+        return timestamps[(head - 1 + timestamps.length) % timestamps.length];
+    }
+
+    /**
+     * Copies the retained values in chronological order (oldest first).
+     *
+     * @return A new array with the values.
+     */
+    public synchronized double[] copyValues() {
+        final double[] copy = new double[size];
+        final int start = (head - size + values.length) % values.length;
+        final int firstPart = Math.min(size, values.length - start);
+        System.arraycopy(values, start, copy, 0, firstPart);
+        System.arraycopy(values, 0, copy, firstPart, size - firstPart);
+        return copy;
+    }
+
+    /**
+     * Copies the retained timestamps in chronological order (oldest first).
+     *
+     * @return A new array with the timestamps in milliseconds.
+     */
+    public synchronized long[] copyTimestamps() {
+        final long[] copy = new long[size];
+        final int start = (head - size + timestamps.length) % timestamps.length;
+        final int firstPart = Math.min(size, timestamps.length - start);
+        System.arraycopy(timestamps, start, copy, 0, firstPart);
+        System.arraycopy(timestamps, 0, copy, firstPart, size - firstPart);
+        return copy;
+    }
+
+    /**
+     * Removes all samples.
+     */
+    public synchronized void clear() {
+        head = 0;
+        size = 0;
+        totalCount = 0;
+    }
+}
@@ -0,0 +1,224 @@
+package de.fau.clients.orchestrator.monitor;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the time-series files written by the <code>TelemetryWriter</code> and converts them to
+ * CSV. A truncated last chunk, as left by an interrupted recording, is skipped.
+ *
+ * @see TelemetryWriter
+ */
+@Slf4j
+public final class TelemetryReader {
+
+    private static final char CSV_SEPARATOR = ';';
+    private final long startTimeInMs;
+    private final List<String> channelNames = new ArrayList<>();
+    private final List<long[]> channelTimestamps = new ArrayList<>();
+    private final List<double[]> channelValues = new ArrayList<>();
+    private final List<Integer> channelSizes = new ArrayList<>();
+
+    private TelemetryReader(long startTimeInMs) {
+        this.startTimeInMs = startTimeInMs;
+    }
+
+    /**
+     * Reads the given time-series file.
+     *
+     * @param file The file to read.
+     * @return The reader holding all samples of the file.
+     * @throws IOException if the file can not be read or has an invalid format.
+     */
+    public static TelemetryReader read(@NonNull final Path file) throws IOException {
+        try (final InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads a time-series recording from the given stream. The stream is not closed.
+     *
+     * @param in The stream to read from.
+     * @return The reader holding all samples of the stream.
+     * @throws IOException if the stream can not be read or has an invalid format.
+     */
+    public static TelemetryReader read(@NonNull final InputStream in) throws IOException {
+        final DataInputStream dataIn = new DataInputStream(new BufferedInputStream(in));
+        final byte[] magic = new byte[TelemetryWriter.MAGIC.length];
+        try {
+            dataIn.readFully(magic);
+        } catch (final EOFException ex) {
+            throw new IOException("Not a telemetry recording.");
+        }
+        if (!Arrays.equals(magic, TelemetryWriter.MAGIC)) {
+            throw new IOException("Not a telemetry recording.");
+        }
+        final TelemetryReader reader = new TelemetryReader(dataIn.readLong());
+        while (true) {
+            final int chunkType = dataIn.read();
+            if (chunkType == -1) {
+                break;
+            }
+            try {
+                if (chunkType == TelemetryWriter.CHANNEL_CHUNK) {
+                    reader.readChannelChunk(dataIn);
+                } else if (chunkType == TelemetryWriter.SAMPLE_CHUNK) {
+                    reader.readSampleChunk(dataIn);
+                } else {
+                    throw new IOException("Invalid chunk type " + chunkType);
+                }
+            } catch (final EOFException ex) {
+                log.warn("Recording ends with an incomplete chunk, which is skipped.");
+                break;
+            }
+        }
+        return reader;
+    }
+
+    private void readChannelChunk(final DataInputStream in) throws IOException {
+        final int channelId = in.readInt();
+        if (channelId != channelNames.size()) {
+            throw new IOException("Unexpected channel ID " + channelId);
+        }
+        final int nameLength = in.readInt();
+        if (nameLength < 0) {
+            throw new IOException("Invalid channel name length.");
+        }
+        final byte[] nameBytes = new byte[nameLength];
+        in.readFully(nameBytes);
+        channelNames.add(new String(nameBytes, StandardCharsets.UTF_8));
+        channelTimestamps.add(new long[0]);
+        channelValues.add(new double[0]);
+        channelSizes.add(0);
+    }
+
+    private void readSampleChunk(final DataInputStream in) throws IOException {
+        final int channelId = in.readInt();
+        if (channelId < 0 || channelId >= channelNames.size()) {
+            throw new IOException("Sample chunk of undefined channel " + channelId);
+        }
+        final int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid sample count.");
+        }
+        final long[] timestamps = new long[count];
+        final double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = in.readLong();
+        }
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readDouble();
+        }
+
+        // append the chunk only after it was read completely
+        final int size = channelSizes.get(channelId);
+        long[] allTimestamps = channelTimestamps.get(channelId);
+        double[] allValues = channelValues.get(channelId);
+        if (size + count > allValues.length) {
+            final int capacity = Math.max(size + count, allValues.length * 2);
+            allTimestamps = Arrays.copyOf(allTimestamps, capacity);
+            allValues = Arrays.copyOf(allValues, capacity);
+            channelTimestamps.set(channelId, allTimestamps);
+            channelValues.set(channelId, allValues);
+        }
+        System.arraycopy(timestamps, 0, allTimestamps, size, count);
+        System.arraycopy(values, 0, allValues, size, count);
+        channelSizes.set(channelId, size + count);
+    }
+
+    public long getStartTimeInMs() {
+        return startTimeInMs;
+    }
+
+    /**
+     * Gets the names of all channels in the order of their definition.
+     *
+     * @return The channel names.
+     */
+    public List<String> getChannelNames() {
+        return Collections.unmodifiableList(channelNames);
+    }
+
+    /**
+     * Gets the timestamps of the given channel.
+     *
+     * @param channelName The name of the channel.
+     * @return The timestamps in milliseconds since the epoch.
+     */
+    public long[] getTimestamps(@NonNull final String channelName) {
+        final int channelId = getChannelIdx(channelName);
+        return Arrays.copyOf(channelTimestamps.get(channelId), channelSizes.get(channelId));
+    }
+
+    /**
+     * Gets the values of the given channel.
+     *
+     * @param channelName The name of the channel.
+     * @return The sampled values.
+     */
+    public double[] getValues(@NonNull final String channelName) {
+        final int channelId = getChannelIdx(channelName);
+        return Arrays.copyOf(channelValues.get(channelId), channelSizes.get(channelId));
+    }
+
+    private int getChannelIdx(final String channelName) {
+        final int channelId = channelNames.indexOf(channelName);
+        if (channelId == -1) {
+            throw new IllegalArgumentException("Unknown channel " + channelName);
+        }
+        return channelId;
+    }
+
+    /**
+     * Writes all samples as CSV in chronological order, one sample per line. Failed or non-numeric
+     * samples are written with an empty value.
+     *
+     * @param out The writer to write to. The writer is not closed afterwards.
+     * @throws IOException on write errors.
+     */
+    public void writeCsv(@NonNull final Writer out) throws IOException {
+        out.write("Timestamp" + CSV_SEPARATOR + "Property" + CSV_SEPARATOR + "Value\n");
+        // merge the channels, which are sorted by time each
+        final PriorityQueue<int[]> cursors = new PriorityQueue<>((a, b) -> Long.compare(
+                channelTimestamps.get(a[0])[a[1]],
+                channelTimestamps.get(b[0])[b[1]]));
+        for (int channelId = 0; channelId < channelNames.size(); channelId++) {
+            if (channelSizes.get(channelId) > 0) {
+                cursors.add(new int[]{channelId, 0});
+            }
+        }
+        while (!cursors.isEmpty()) {
+            final int[] cursor = cursors.poll();
+            final int channelId = cursor[0];
+            final double value = channelValues.get(channelId)[cursor[1]];
+            out.write(Instant.ofEpochMilli(channelTimestamps.get(channelId)[cursor[1]]).toString());
+            out.write(CSV_SEPARATOR);
+            out.write(channelNames.get(channelId));
+            out.write(CSV_SEPARATOR);
+            if (!Double.isNaN(value)) {
+                out.write(Double.toString(value));
+            }
+            out.write('\n');
+            cursor[1]++;
+            if (cursor[1] < channelSizes.get(channelId)) {
+                cursors.add(cursor);
+            }
+        }
+    }
+}
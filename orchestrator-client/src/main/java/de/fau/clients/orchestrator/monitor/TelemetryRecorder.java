@@ -0,0 +1,204 @@
+package de.fau.clients.orchestrator.monitor;
+
+import de.fau.clients.orchestrator.ctx.PropertyContext;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records the samples of the <code>PropertyMonitor</code> to a time-series file. The sampling
+ * threads only hand the samples over to a bounded queue, while a dedicated writer thread takes
+ * care of the file I/O and flushes the file periodically. If the writer can not keep up, new
+ * samples are dropped instead of blocking the sampling.
+ *
+ * By default, the samples of all monitored properties are recorded, each property of each server in
+ * a channel named by the key of the monitored property. Properties added with <code>record()</code>
+ * are subscribed at the monitor for the time of the recording. Afterwards, they are unsubscribed or
+ * sampled with their previous interval again.
+ *
+ * @see TelemetryWriter
+ * @see TelemetryReader
+ */
+@Slf4j
+public final class TelemetryRecorder implements SampleListener, Closeable {
+
+    public static final int DEFAULT_FLUSH_INTERVAL_IN_MS = 1000;
+    private static final int QUEUE_CAPACITY = 1 << 14;
+    private final PropertyMonitor monitor;
+    private final TelemetryWriter writer;
+    private final int flushIntervalInMs;
+    private final BlockingQueue<Sample> sampleQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Set<String> subscribedKeys = new HashSet<>();
+    private final Map<String, Integer> previousIntervals = new HashMap<>();
+    private final AtomicLong droppedSampleCount = new AtomicLong();
+    private final Thread writerThread;
+    private volatile boolean isRunning = true;
+    private volatile IOException writeError = null;
+
+    /**
+     * Constructor. Creates the file and starts the recording.
+     *
+     * @param monitor The monitor providing the samples.
+     * @param file The file to write to. An existing file gets overwritten.
+     * @param flushIntervalInMs The interval in milliseconds to flush the samples to the file.
+     * @throws IOException if the file can not be created.
+     */
+    public TelemetryRecorder(
+            @NonNull final PropertyMonitor monitor,
+            @NonNull final Path file,
+            int flushIntervalInMs
+    ) throws IOException {
+        if (flushIntervalInMs < 1) {
+            throw new IllegalArgumentException("Flush interval must be at least 1 ms.");
+        }
+        this.monitor = monitor;
+        this.flushIntervalInMs = flushIntervalInMs;
+        this.writer = new TelemetryWriter(Files.newOutputStream(file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE), System.currentTimeMillis());
+        this.writerThread = new Thread(this::writeLoop, "telemetry-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        monitor.addSampleListener(this);
+        log.info("Started telemetry recording to " + file);
+    }
+
+    /**
+     * Subscribes the given property at the monitor for the time of the recording. If the property
+     * is already monitored with a longer interval, the interval is shortened until the recording
+     * stops.
+     *
+     * @param propCtx The context of the property to record.
+     * @param intervalInMs The delay in milliseconds between two samples.
+     */
+    public void record(@NonNull final PropertyContext propCtx, int intervalInMs) {
+        synchronized (subscribedKeys) {
+            final MonitoredProperty monProp = monitor.getMonitoredProperty(propCtx);
+            final String key = MonitoredProperty.keyOf(propCtx);
+            if (monProp == null) {
+                subscribedKeys.add(key);
+            } else if (intervalInMs < monProp.getIntervalInMs() && !subscribedKeys.contains(key)) {
+                previousIntervals.putIfAbsent(key, monProp.getIntervalInMs());
+            }
+            monitor.subscribe(propCtx, intervalInMs);
+        }
+    }
+
+    @Override
+    public void onSample(final MonitoredProperty monProp, long timestampInMs, double value) {
+        if (!isRunning) {
+            return;
+        }
+        if (!sampleQueue.offer(new Sample(monProp.getKey(), timestampInMs, value))) {
+            droppedSampleCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the number of samples which were dropped because the writer could not keep up.
+     *
+     * @return The number of dropped samples.
+     */
+    public long getDroppedSampleCount() {
+        return droppedSampleCount.get();
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    private void writeLoop() {
+        final List<Sample> batch = new ArrayList<>();
+        long nextFlushTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalInMs);
+        try {
+            while (isRunning || !sampleQueue.isEmpty()) {
+                final Sample first = sampleQueue.poll(flushIntervalInMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    sampleQueue.drainTo(batch);
+                    for (final Sample sample : batch) {
+                        writer.append(writer.getChannelId(sample.key), sample.timestampInMs, sample.value);
+                    }
+                    batch.clear();
+                }
+                final long now = System.nanoTime();
+                if (now - nextFlushTime >= 0) {
+                    writer.flush();
+                    nextFlushTime = now + TimeUnit.MILLISECONDS.toNanos(flushIntervalInMs);
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (final IOException ex) {
+            log.error("Telemetry recording failed: " + ex.getMessage());
+            writeError = ex;
+            isRunning = false;
+        } finally {
+            try {
+                writer.close();
+            } catch (final IOException ex) {
+                if (writeError == null) {
+                    writeError = ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the recording, writes the remaining samples and closes the file. Properties which were
+     * subscribed by this recorder are unsubscribed, the previous intervals of properties which were
+     * sampled faster for the recording are restored.
+     *
+     * @throws IOException if writing the recording failed.
+     */
+    @Override
+    public void close() throws IOException {
+        monitor.removeSampleListener(this);
+        isRunning = false;
+        synchronized (subscribedKeys) {
+            subscribedKeys.forEach(monitor::unsubscribe);
+            subscribedKeys.clear();
+            previousIntervals.forEach(monitor::setIntervalInMs);
+            previousIntervals.clear();
+        }
+        try {
+            writerThread.join();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Stopped telemetry recording ("
+                + writer.getWrittenSampleCount() + " samples, "
+                + droppedSampleCount.get() + " dropped)");
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+
+    private static final class Sample {
+
+        private final String key;
+        private final long timestampInMs;
+        private final double value;
+
+        private Sample(final String key, long timestampInMs, double value) {
+            this.key = key;
+            this.timestampInMs = timestampInMs;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package de.fau.clients.orchestrator.monitor;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+
+/**
+ * Writes time-series samples in a compact, append-only binary format. The samples are buffered in
+ * memory per channel and written as one chunk per channel on every <code>flush()</code>. Within a
+ * chunk, the samples are stored column-wise (first all timestamps, then all values).
+ *
+ * The file layout (all numbers in big-endian byte order):
+ * <pre>
+ * header:         magic "SILATSR1" (8 bytes), start time in ms since the epoch (long)
+ * channel chunk:  'C' (byte), channel ID (int), name length (int), name (UTF-8 bytes)
+ * sample chunk:   'S' (byte), channel ID (int), sample count n (int),
+ *                 n timestamps in ms (long), n values (double)
+ * </pre>
+ * A channel chunk is always written before the first sample chunk of the channel. Since the file
+ * only gets appended chunk by chunk, all samples up to the last flush can be read back even if the
+ * recording was not closed properly.
+ *
+ * This class is not thread-safe.
+ *
+ * @see TelemetryReader
+ */
+public final class TelemetryWriter implements Closeable {
+
+    public static final String FILE_EXTENSION = "tsr";
+    static final byte[] MAGIC = "SILATSR1".getBytes(StandardCharsets.US_ASCII);
+    static final byte CHANNEL_CHUNK = 'C';
+    static final byte SAMPLE_CHUNK = 'S';
+    private static final int INITIAL_CHANNEL_CAPACITY = 64;
+    private final DataOutputStream out;
+    private final Map<String, Integer> channelIds = new HashMap<>();
+    private final List<ChannelBuffer> channelBuffers = new ArrayList<>();
+    private long writtenSampleCount = 0;
+
+    /**
+     * Constructor. Writes the header to the given stream.
+     *
+     * @param out The stream to write to. The stream gets closed with this writer.
+     * @param startTimeInMs The start time of the recording in milliseconds since the epoch.
+     * @throws IOException on write errors.
+     */
+    public TelemetryWriter(@NonNull final OutputStream out, long startTimeInMs) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.write(MAGIC);
+        this.out.writeLong(startTimeInMs);
+    }
+
+    /**
+     * Gets the ID of the channel with the given name. The channel is defined if it does not exist
+     * yet.
+     *
+     * @param name The name of the channel (e.g. the server UUID and the fully qualified property
+     * identifier).
+     * @return The channel ID.
+     * @throws IOException on write errors.
+     */
+    public int getChannelId(@NonNull final String name) throws IOException {
+        final Integer channelId = channelIds.get(name);
+        if (channelId != null) {
+            return channelId;
+        }
+        final int newId = channelBuffers.size();
+        final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(CHANNEL_CHUNK);
+        out.writeInt(newId);
+        out.writeInt(nameBytes.length);
+        out.write(nameBytes);
+        channelIds.put(name, newId);
+        channelBuffers.add(new ChannelBuffer());
+        return newId;
+    }
+
+    /**
+     * Appends a sample to the buffer of the given channel. The sample is written on the next
+     * flush.
+     *
+     * @param channelId The ID of the channel as given by <code>getChannelId()</code>.
+     * @param timestampInMs The time of the sample in milliseconds since the epoch.
+     * @param value The sampled value.
+     */
+    public void append(int channelId, long timestampInMs, double value) {
+        if (channelId < 0 || channelId >= channelBuffers.size()) {
+            throw new IllegalArgumentException("Unknown channel ID " + channelId);
+        }
+        channelBuffers.get(channelId).add(timestampInMs, value);
+    }
+
+    /**
+     * Writes all buffered samples as chunks and flushes the underlying stream.
+     *
+     * @throws IOException on write errors.
+     */
+    public void flush() throws IOException {
+        for (int channelId = 0; channelId < channelBuffers.size(); channelId++) {
+            final ChannelBuffer buffer = channelBuffers.get(channelId);
+            if (buffer.count == 0) {
+                continue;
+            }
+            out.writeByte(SAMPLE_CHUNK);
+            out.writeInt(channelId);
+            out.writeInt(buffer.count);
+            for (int i = 0; i < buffer.count; i++) {
+                out.writeLong(buffer.timestamps[i]);
+            }
+            for (int i = 0; i < buffer.count; i++) {
+                out.writeDouble(buffer.values[i]);
+            }
+            writtenSampleCount += buffer.count;
+            buffer.count = 0;
+        }
+        out.flush();
+    }
+
+    /**
+     * Gets the number of samples written to the stream so far, excluding the buffered ones.
+     *
+     * @return The number of written samples.
+     */
+    public long getWrittenSampleCount() {
+        return writtenSampleCount;
+    }
+
+    /**
+     * Flushes the remaining samples and closes the underlying stream.
+     *
+     * @throws IOException on write errors.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private static final class ChannelBuffer {
+
+        private long[] timestamps = new long[INITIAL_CHANNEL_CAPACITY];
+        private double[] values = new double[INITIAL_CHANNEL_CAPACITY];
+        private int count = 0;
+
+        private void add(long timestamp, double value) {
+            if (count == values.length) {
+                timestamps = Arrays.copyOf(timestamps, count * 2);
+                values = Arrays.copyOf(values, count * 2);
+            }
+            timestamps[count] = timestamp;
+            values[count] = value;
+            count++;
+        }
+    }
+}
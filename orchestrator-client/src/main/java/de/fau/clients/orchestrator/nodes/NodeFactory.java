@@ -2,6 +2,7 @@
 
 import com.fasterxml.jackson.databind.JsonNode;
 import de.fau.clients.orchestrator.ctx.FeatureContext;
+import de.fau.clients.orchestrator.metrics.jfr.NodeBuildEvent;
 import java.util.List;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -29,7 +30,11 @@ public final static SilaNode createFromElements(
             @NonNull final FeatureContext featCtx,
             @NonNull final List<SiLAElement> elements
     ) {
-        return CompositNode.create(featCtx, elements);
+        final NodeBuildEvent buildEvent = new NodeBuildEvent();
+        buildEvent.begin();
+        final SilaNode node = CompositNode.create(featCtx, elements);
+        commitBuildEvent(buildEvent, featCtx, elements, false);
+        return node;
     }
 
     public final static SilaNode createFromElementsWithJson(
@@ -38,7 +43,26 @@ public final static SilaNode createFromElementsWithJson(
             @NonNull final JsonNode jsonNode,
             boolean isEditable
     ) {
-        return CompositNode.createFromJson(featCtx, elements, jsonNode, isEditable);
+        final NodeBuildEvent buildEvent = new NodeBuildEvent();
+        buildEvent.begin();
+        final SilaNode node = CompositNode.createFromJson(featCtx, elements, jsonNode, isEditable);
+        commitBuildEvent(buildEvent, featCtx, elements, true);
+        return node;
+    }
+
+    private static void commitBuildEvent(
+            final NodeBuildEvent buildEvent,
+            final FeatureContext featCtx,
+            final List<SiLAElement> elements,
+            boolean isFromJson
+    ) {
+        buildEvent.end();
+        if (buildEvent.shouldCommit()) {
+            buildEvent.featureId = featCtx.getFeatureId();
+            buildEvent.elementCount = elements.size();
+            buildEvent.isFromJson = isFromJson;
+            buildEvent.commit();
+        }
     }
 
     public final static SilaNode createFromDataType(
@@ -0,0 +1,99 @@
+package de.fau.clients.orchestrator.queue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import lombok.NonNull;
+
+/**
+ * Collects items submitted from arbitrary threads and hands them over in one batch to the Event
+ * Dispatch Thread (EDT). Multiple submissions of the same item within one frame are merged into a
+ * single entry, so a burst of changes results in only one update of the GUI.
+ *
+ * @param <T> The type of the submitted items. The items are compared by their
+ * <code>equals()</code>-method.
+ */
+final class CoalescingDispatcher<T> {
+
+    /**
+     * The default delay of roughly one frame at 60 Hz.
+     */
+    public static final int FRAME_DELAY_IN_MS = 16;
+    private final Set<T> pendingItems = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+    private final Consumer<List<T>> batchConsumer;
+    private final Timer flushTimer;
+
+    /**
+     * Constructor.
+     *
+     * @param delayInMs The time in milliseconds to collect items before the batch gets dispatched.
+     * @param batchConsumer The consumer of the batches, which is invoked on the EDT.
+     */
+    CoalescingDispatcher(int delayInMs, @NonNull final Consumer<List<T>> batchConsumer) {
+        if (delayInMs < 0) {
+            throw new IllegalArgumentException("Delay must not be negative.");
+        }
+        this.batchConsumer = batchConsumer;
+        this.flushTimer = new Timer(delayInMs, evt -> flush());
+        this.flushTimer.setRepeats(false);
+    }
+
+    /**
+     * Submits an item for the next batch. This method is thread-safe and does not block.
+     *
+     * @param item The item to dispatch.
+     */
+    public void submit(@NonNull final T item) {
+        pendingItems.add(item);
+        if (isScheduled.compareAndSet(false, true)) {
+            flushTimer.restart();
+        }
+    }
+
+    /**
+     * Gets the number of items waiting for the next batch.
+     *
+     * @return The number of pending items.
+     */
+    public int getPendingCount() {
+        return pendingItems.size();
+    }
+
+    /**
+     * Discards all pending items without dispatching them.
+     */
+    public void clear() {
+        pendingItems.clear();
+    }
+
+    /**
+     * Dispatches all pending items immediately. Has to be called on the EDT. Does nothing if no
+     * items are pending.
+     */
+    public void flush() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            throw new IllegalStateException("Flush has to be called on the EDT.");
+        }
+        flushTimer.stop();
+        // reset the flag first, so items submitted during the drain schedule a new batch
+        isScheduled.set(false);
+        if (pendingItems.isEmpty()) {
+            return;
+        }
+        final List<T> batch = new ArrayList<>(pendingItems.size());
+        final Iterator<T> iter = pendingItems.iterator();
+        while (iter.hasNext()) {
+            batch.add(iter.next());
+            iter.remove();
+        }
+        batchConsumer.accept(batch);
+    }
+}
@@ -0,0 +1,40 @@
+package de.fau.clients.orchestrator.queue;
+
+import java.nio.file.Path;
+
+/**
+ * Enum defining the available formats to export the contents of the task queue.
+ *
+ * @see TaskQueueTable#exportTableContents(java.io.Writer, QueueExportFormat)
+ */
+public enum QueueExportFormat {
+    /**
+     * Semicolon separated table with a header line.
+     */
+    CSV("csv"),
+    /**
+     * One JSON object per line (JSON Lines), using the column titles as keys.
+     */
+    JSONL("jsonl");
+
+    public final String fileExtension;
+
+    private QueueExportFormat(final String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Gets the format associated with the extension of the given file name. Unknown extensions
+     * fall back to CSV.
+     *
+     * @param file The file to get the format for.
+     * @return The format matching the file extension.
+     */
+    public static QueueExportFormat fromFileName(final Path file) {
+        final String fileName = file.getFileName().toString().toLowerCase();
+        if (fileName.endsWith("." + JSONL.fileExtension)) {
+            return JSONL;
+        }
+        return CSV;
+    }
+}
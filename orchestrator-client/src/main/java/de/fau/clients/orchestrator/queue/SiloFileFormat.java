@@ -0,0 +1,67 @@
+package de.fau.clients.orchestrator.queue;
+
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Enum defining the available encodings of a *.silo-file. Both encodings share the same data model
+ * and file version, only the representation on disk differs.
+ *
+ * @see TaskQueueData
+ */
+public enum SiloFileFormat {
+    /**
+     * Human readable, pretty-printed JSON. This is the default format.
+     */
+    JSON("silo"),
+    /**
+     * Binary <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> encoding
+     * of the JSON data model. The format is considerably more compact and faster to process, which
+     * is beneficial for large, machine-generated task queues.
+     */
+    SMILE("silob");
+
+    public final String fileExtension;
+
+    private SiloFileFormat(final String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Gets the format associated with the extension of the given file name. Unknown extensions
+     * fall back to the default JSON format.
+     *
+     * @param file The file to get the format for.
+     * @return The format matching the file extension.
+     */
+    public static SiloFileFormat fromFileName(final Path file) {
+        final String fileName = file.getFileName().toString().toLowerCase();
+        if (fileName.endsWith("." + SMILE.fileExtension)) {
+            return SMILE;
+        }
+        return JSON;
+    }
+
+    /**
+     * Detects the format by peeking at the header of the given stream. The stream has to support
+     * marking and is reset to its initial position afterwards.
+     *
+     * @param in The input stream to examine.
+     * @return The detected format.
+     * @throws IOException on read errors.
+     */
+    public static SiloFileFormat detect(final InputStream in) throws IOException {
+        in.mark(3);
+        final byte[] header = in.readNBytes(3);
+        in.reset();
+        if (header.length == 3
+                && header[0] == SmileConstants.HEADER_BYTE_1
+                && header[1] == SmileConstants.HEADER_BYTE_2
+                && header[2] == SmileConstants.HEADER_BYTE_3) {
+            return SMILE;
+        }
+        return JSON;
+    }
+}
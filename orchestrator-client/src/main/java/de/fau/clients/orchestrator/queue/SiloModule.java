@@ -0,0 +1,122 @@
+package de.fau.clients.orchestrator.queue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import de.fau.clients.orchestrator.tasks.IncludeTaskModel;
+import de.fau.clients.orchestrator.tasks.TaskEntry;
+import de.fau.clients.orchestrator.utils.VersionNumber;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * The immutable, parsed content of a *.silo file, which is included as module by other task
+ * queues. The task entries are kept as JSON trees and bound to new task entries for each
+ * execution, so the tasks of one run can not alter the module shared with other runs.
+ *
+ * @see SiloModuleCache
+ */
+public final class SiloModule {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ObjectReader taskEntryReader = mapper.readerFor(TaskEntry.class);
+    private final Path path;
+    private final VersionNumber version;
+    private final byte[] hash;
+    private final List<JsonNode> entryTrees;
+    private final List<String> includes;
+
+    /**
+     * Constructor.
+     *
+     * @param path The real path of the module file.
+     * @param version The format version of the module file.
+     * @param hash The hash of the file content.
+     * @param entries The parsed task entries of the module.
+     */
+    SiloModule(
+            @NonNull final Path path,
+            @NonNull final VersionNumber version,
+            @NonNull final byte[] hash,
+            @NonNull final List<TaskEntry> entries
+    ) {
+        this.path = path;
+        this.version = version;
+        this.hash = hash.clone();
+        final List<JsonNode> trees = new ArrayList<>(entries.size());
+        final List<String> includePaths = new ArrayList<>();
+        for (final TaskEntry entry : entries) {
+            trees.add(mapper.valueToTree(entry));
+            if (entry.getTaskModel() instanceof IncludeTaskModel) {
+                includePaths.add(((IncludeTaskModel) entry.getTaskModel()).getSiloFile());
+            }
+        }
+        this.entryTrees = Collections.unmodifiableList(trees);
+        this.includes = Collections.unmodifiableList(includePaths);
+    }
+
+    /**
+     * Gets the real path of the module file.
+     *
+     * @return The absolute path without symbolic links.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    public VersionNumber getVersion() {
+        return version;
+    }
+
+    byte[] getHash() {
+        return hash.clone();
+    }
+
+    public int getTaskCount() {
+        return entryTrees.size();
+    }
+
+    /**
+     * Gets the paths of the modules included by this module, as given in the include tasks.
+     *
+     * @return The unresolved paths of the included modules.
+     * @see #resolveInclude(java.lang.String)
+     */
+    public List<String> getIncludes() {
+        return includes;
+    }
+
+    /**
+     * Resolves the path of a module included by this module. Relative paths are resolved against
+     * the directory of this module.
+     *
+     * @param include The path of the included module.
+     * @return The resolved path.
+     */
+    public Path resolveInclude(@NonNull final String include) {
+        return path.resolveSibling(include);
+    }
+
+    /**
+     * Creates new task entries with their own task models from the content of the module.
+     *
+     * @return The task entries in file order.
+     * @throws IOException if an entry can not be bound.
+     */
+    public List<TaskEntry> createEntries() throws IOException {
+        final List<TaskEntry> entries = new ArrayList<>(entryTrees.size());
+        for (final JsonNode tree : entryTrees) {
+            entries.add(taskEntryReader.readValue(tree));
+        }
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return path + " (" + entryTrees.size() + " tasks)";
+    }
+}
@@ -0,0 +1,142 @@
+package de.fau.clients.orchestrator.queue;
+
+import de.fau.clients.orchestrator.tasks.TaskEntry;
+import de.fau.clients.orchestrator.utils.VersionNumber;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Singleton caching the parsed *.silo files which are included as modules. A module is only read
+ * again if the modification time or the size of its file changed, and only parsed again if the
+ * hash of the file content changed as well. So modules which are used by many runs or included
+ * several times are parsed once.
+ *
+ * @see SiloModule
+ * @see de.fau.clients.orchestrator.tasks.IncludeTask
+ */
+@Slf4j
+public final class SiloModuleCache {
+
+    private final Map<Path, CachedModule> cache = new HashMap<>();
+
+    SiloModuleCache() {
+    }
+
+    public static SiloModuleCache getInstance() {
+        return SiloModuleCacheHolder.INSTANCE;
+    }
+
+    /**
+     * Gets the module of the given *.silo file.
+     *
+     * @param siloFile The path to the *.silo file.
+     * @return The parsed module.
+     * @throws IllegalArgumentException if the file content is invalid.
+     * @throws IOException if the file can not be read.
+     */
+    public synchronized SiloModule getModule(@NonNull final Path siloFile) throws IOException {
+        final Path realPath = siloFile.toRealPath();
+        final BasicFileAttributes attrs = Files.readAttributes(realPath, BasicFileAttributes.class);
+        final CachedModule cached = cache.get(realPath);
+        if (cached != null && cached.isUpToDate(attrs)) {
+            return cached.module;
+        }
+
+        final byte[] content = Files.readAllBytes(realPath);
+        final byte[] hash = computeHash(content);
+        final SiloModule module;
+        if (cached != null && MessageDigest.isEqual(hash, cached.module.getHash())) {
+            log.debug("Module " + realPath + " was touched but not changed.");
+            module = cached.module;
+        } else {
+            final List<TaskEntry> entries = new ArrayList<>();
+            final VersionNumber version = TaskQueueData.readFromStream(
+                    new ByteArrayInputStream(content),
+                    entries::add);
+            module = new SiloModule(realPath, version, hash, entries);
+            log.info("Loaded module " + module);
+        }
+        cache.put(realPath, new CachedModule(module, attrs));
+        return module;
+    }
+
+    /**
+     * Checks that the given module does not include itself, neither directly nor via other
+     * modules. All modules in the include hierarchy are loaded into the cache on the way.
+     *
+     * @param siloFile The path to the *.silo file.
+     * @throws IllegalArgumentException if the include hierarchy contains a cycle or a module is
+     * invalid.
+     * @throws IOException if a module file can not be read.
+     */
+    public void checkIncludes(@NonNull final Path siloFile) throws IOException {
+        checkIncludes(siloFile, new ArrayDeque<>());
+    }
+
+    private void checkIncludes(
+            final Path siloFile,
+            final Deque<Path> includeStack
+    ) throws IOException {
+        final SiloModule module = getModule(siloFile);
+        if (includeStack.contains(module.getPath())) {
+            throw new IllegalArgumentException("Recursive include of " + module.getPath() + ".");
+        }
+        includeStack.push(module.getPath());
+        for (final String include : module.getIncludes()) {
+            checkIncludes(module.resolveInclude(include), includeStack);
+        }
+        includeStack.pop();
+    }
+
+    /**
+     * Removes all modules from the cache.
+     */
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    private static byte[] computeHash(final byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (final NoSuchAlgorithmException ex) {
+            // every Java platform has to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static class CachedModule {
+
+        private final SiloModule module;
+        private final FileTime lastModified;
+        private final long size;
+
+        private CachedModule(final SiloModule module, final BasicFileAttributes attrs) {
+            this.module = module;
+            this.lastModified = attrs.lastModifiedTime();
+            this.size = attrs.size();
+        }
+
+        private boolean isUpToDate(final BasicFileAttributes attrs) {
+            return lastModified.equals(attrs.lastModifiedTime()) && size == attrs.size();
+        }
+    }
+
+    private static class SiloModuleCacheHolder {
+
+        private static final SiloModuleCache INSTANCE = new SiloModuleCache();
+    }
+}
@@ -4,29 +4,42 @@
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import de.fau.clients.orchestrator.tasks.CommandTask;
-import de.fau.clients.orchestrator.tasks.CommandTaskModel;
-import de.fau.clients.orchestrator.tasks.DelayTask;
-import de.fau.clients.orchestrator.tasks.DelayTaskModel;
-import de.fau.clients.orchestrator.tasks.LocalExecTask;
-import de.fau.clients.orchestrator.tasks.LocalExecTaskModel;
+import de.fau.clients.orchestrator.tasks.ExecPolicy;
+import de.fau.clients.orchestrator.tasks.QueueTask;
 import de.fau.clients.orchestrator.tasks.TaskEntry;
+import de.fau.clients.orchestrator.tasks.TaskFactory;
 import de.fau.clients.orchestrator.tasks.TaskModel;
 import de.fau.clients.orchestrator.utils.VersionNumber;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.function.Consumer;
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Class responsible for importing and exporting the task-queue from/to a JSON-file.
+ * Class responsible for importing and exporting the task-queue from/to a JSON-file. Besides the
+ * default JSON encoding, the same data can also be stored in the binary Smile format.
  *
  * @see TaskEntry
+ * @see SiloFileFormat
  */
 @Slf4j
 @JsonPropertyOrder({"siloFileVersion", "tasks"})
@@ -34,11 +47,26 @@ public class TaskQueueData {
 
     /**
      * Save-file version identifier to allow managing compatibility with potential older or future
-     * releases.
+     * releases. Version 1.2.0 added the local exec timeout and worker settings, parameter bindings,
+     * server pools, the fan-out, sweep and include tasks, the retry policy and the resource,
+     * priority and deadline settings of the task entries.
      */
-    public static final VersionNumber SILO_FILE_VERSION = new VersionNumber(1, 1, 0);
+    public static final VersionNumber SILO_FILE_VERSION = new VersionNumber(1, 2, 0);
     private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ObjectReader taskEntryReader = mapper.readerFor(TaskEntry.class);
+    /**
+     * Mapper for the binary encoding. Repeated string values (e.g. server UUIDs and identifiers)
+     * are back-referenced instead of written out again.
+     */
+    private static final ObjectMapper smileMapper = new ObjectMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+    private static final ObjectReader smileTaskEntryReader = smileMapper.readerFor(TaskEntry.class);
     private VersionNumber loadedFile = null;
+    /**
+     * The directory of the loaded file, which relative module paths of include tasks refer to.
+     */
+    private Path loadedDir = null;
     private ArrayList<TaskEntry> tasks = null;
 
     /**
@@ -53,84 +81,257 @@ public static TaskQueueData createFromTaskQueue(final TaskQueueTable queue) {
         final TaskQueueData data = new TaskQueueData();
         data.tasks = new ArrayList<>(rows);
         for (int i = 0; i < rows; i++) {
-            data.tasks.add(new TaskEntry(queue.getTaskIdFromRow(i),
+            final ExecPolicy policy = queue.getTaskPolicyFromRow(i);
+            final TaskEntry entry = new TaskEntry(queue.getTaskIdFromRow(i),
                     queue.getTaskFromRow(i).getCurrentTaskModel(),
-                    queue.getTaskPolicyFromRow(i)));
+                    policy,
+                    (policy == ExecPolicy.RETRY) ? queue.getTaskRetryFromRow(i) : null);
+            entry.setTaskResources(new ArrayList<>(queue.getTaskResourcesFromRow(i)));
+            entry.setTaskPriority(queue.getTaskPriorityFromRow(i));
+            entry.setTaskDeadlineInMs(queue.getTaskDeadlineFromRow(i));
+            data.tasks.add(entry);
         }
         return data;
     }
 
     /**
-     * Writes the given queue data into the given file.
+     * Writes the given queue data into the given file. The encoding is chosen by the file
+     * extension (<code>*.silob</code> for the binary format, JSON otherwise).
      *
      * @param outFile The file to write out.
      * @param queueData The queue data to write.
      * @throws IOException
+     *
+     * @see SiloFileFormat#fromFileName(java.nio.file.Path)
      */
     public static void writeToFile(final Path outFile, final TaskQueueData queueData)
             throws IOException {
-        final BufferedWriter bw = Files.newBufferedWriter(outFile);
-        mapper.writerWithDefaultPrettyPrinter().writeValue(bw, queueData);
+        writeToFile(outFile, queueData, SiloFileFormat.fromFileName(outFile));
+    }
+
+    /**
+     * Writes the given queue data into the given file using the given encoding.
+     *
+     * @param outFile The file to write out.
+     * @param queueData The queue data to write.
+     * @param format The encoding of the file.
+     * @throws IOException
+     */
+    public static void writeToFile(
+            final Path outFile,
+            final TaskQueueData queueData,
+            @NonNull final SiloFileFormat format
+    ) throws IOException {
+        if (format == SiloFileFormat.SMILE) {
+            try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(outFile))) {
+                smileMapper.writeValue(out, queueData);
+            }
+        } else {
+            try (final BufferedWriter bw = Files.newBufferedWriter(outFile)) {
+                mapper.writerWithDefaultPrettyPrinter().writeValue(bw, queueData);
+            }
+        }
     }
 
     /**
      * Loads the given *.silo file and returns its content as <code>TaskQueueData</code> object for
-     * further processing.
+     * further processing. The file is read only once in a single, streaming pass.
      *
      * @param siloFile The path to the *.silo file.
      * @return The initialized <code>TaskQueueData</code> object containing the data from the file.
      * @throws IllegalArgumentException
      * @throws FileNotFoundException
      * @trhows IOException
+     *
+     * @see #readFromFile(java.lang.String, java.util.function.Consumer)
      */
     public static TaskQueueData createFromFile(final String siloFile)
             throws IllegalArgumentException, IOException {
+        final TaskQueueData tqd = new TaskQueueData();
+        tqd.tasks = new ArrayList<>();
+        tqd.loadedFile = readFromFile(siloFile, tqd.tasks::add);
+        tqd.loadedDir = getParentDir(siloFile);
+        return tqd;
+    }
+
+    /**
+     * Loads the given *.silo file and imports its tasks one by one into the given task queue,
+     * without holding the whole file content in memory.
+     *
+     * @param siloFile The path to the *.silo file.
+     * @param queue The task queue to import the tasks into.
+     * @return The format version of the loaded file.
+     * @throws IllegalArgumentException
+     * @throws FileNotFoundException
+     * @throws IOException
+     */
+    public static VersionNumber importFromFile(final String siloFile, final TaskQueueTable queue)
+            throws IllegalArgumentException, IOException {
+        final Path baseDir = getParentDir(siloFile);
+        final VersionNumber version = readFromFile(siloFile,
+                entry -> importEntry(entry, queue, baseDir));
+        queue.showColumn(Column.SERVER_UUID);
+        return version;
+    }
+
+    /**
+     * Reads the given *.silo file in a single pass and hands over every task entry to the given
+     * consumer as soon as it was parsed. The <code>siloFileVersion</code> header has to precede the
+     * <code>tasks</code> array, which is always the case for files written by this software, so
+     * the version compatibility can be checked before any entry is passed on. The encoding of the
+     * file is detected automatically.
+     *
+     * @param siloFile The path to the *.silo file.
+     * @param entryConsumer The consumer receiving the task entries in file order.
+     * @return The format version of the loaded file.
+     * @throws IllegalArgumentException if the version is missing, incompatible or the structure of
+     * the file is invalid. The message contains the line and column of the offending token.
+     * @throws FileNotFoundException
+     * @throws IOException
+     */
+    public static VersionNumber readFromFile(
+            final String siloFile,
+            @NonNull final Consumer<TaskEntry> entryConsumer
+    ) throws IllegalArgumentException, IOException {
         final Path filePath = Paths.get(siloFile);
         if (Files.notExists(filePath)) {
             throw new FileNotFoundException("Could not find file '" + filePath + "'.");
         }
 
         log.info("Opend file: " + filePath);
-        final String loadedVersionStr;
-        try {
-            loadedVersionStr = mapper.readTree(Files.newInputStream(filePath))
-                    .get("siloFileVersion")
-                    .asText();
-        } catch (final IOException ex) {
-            throw ex;
-        } catch (final Exception ex) {
-            throw new IllegalArgumentException("Could not query file version number: " + ex.getMessage() + ".");
+        try (final InputStream in = new BufferedInputStream(Files.newInputStream(filePath))) {
+            return readFromStream(in, entryConsumer);
         }
+    }
 
+    /**
+     * Reads the content of a *.silo file from the given stream and hands over every task entry to
+     * the given consumer as soon as it was parsed. The stream has to support marks for the
+     * detection of the encoding.
+     *
+     * @param in The stream to read from, which is closed afterwards.
+     * @param entryConsumer The consumer receiving the task entries in file order.
+     * @return The format version of the read content.
+     * @throws IllegalArgumentException if the version is missing, incompatible or the structure of
+     * the content is invalid.
+     * @throws IOException
+     *
+     * @see #readFromFile(java.lang.String, java.util.function.Consumer)
+     */
+    static VersionNumber readFromStream(
+            @NonNull final InputStream in,
+            @NonNull final Consumer<TaskEntry> entryConsumer
+    ) throws IllegalArgumentException, IOException {
+        final SiloFileFormat format = SiloFileFormat.detect(in);
+        log.info("Silo-file format: " + format);
+        if (format == SiloFileFormat.SMILE) {
+            try (final JsonParser parser = smileMapper.getFactory().createParser(in)) {
+                return readFromParser(parser, smileTaskEntryReader, entryConsumer);
+            }
+        }
+        try (final JsonParser parser = mapper.getFactory().createParser(in)) {
+            return readFromParser(parser, taskEntryReader, entryConsumer);
+        }
+    }
+
+    private static VersionNumber readFromParser(
+            final JsonParser parser,
+            final ObjectReader entryReader,
+            final Consumer<TaskEntry> entryConsumer
+    ) throws IllegalArgumentException, IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Could not query file version number: "
+                    + "Root element is not a JSON object" + formatLocation(parser) + ".");
+        }
+
+        VersionNumber loadedFile = null;
         boolean isMinorHigher = false;
-        final VersionNumber loadedFile = VersionNumber.parseVersionString(loadedVersionStr);
-        log.info("Silo-file version: " + loadedFile.toString());
-        if (loadedFile.getMajorNumber() > SILO_FILE_VERSION.getMajorNumber()) {
-            final String errMsg = "The opened file with its format version "
-                    + loadedFile.toString() + " is not compatible with this Sowftware."
-                    + "\nOnly file formats up to version " + SILO_FILE_VERSION.toString()
-                    + " are supported!";
-            throw new IllegalArgumentException(errMsg);
-        } else if (loadedFile.getMinorNumber() > SILO_FILE_VERSION.getMinorNumber()) {
-            // minor number is higher, import may fail
-            isMinorHigher = true;
-        }
-
-        final TaskQueueData tqd;
-        try {
-            tqd = mapper.readValue(Files.newInputStream(filePath), TaskQueueData.class);
-        } catch (final IOException ex) {
-            if (isMinorHigher) {
-                final String errMsg = "The opened file with its format version "
-                        + loadedFile.toString() + " is not compatible with this Sowftware."
-                        + "\nOnly file formats up to version " + SILO_FILE_VERSION.toString()
-                        + " are supported!";
-                throw new IllegalArgumentException(errMsg);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            if (fieldName.equals("siloFileVersion")) {
+                if (!parser.getCurrentToken().isScalarValue()) {
+                    throw new IllegalArgumentException("Could not query file version number: "
+                            + "Invalid value" + formatLocation(parser) + ".");
+                }
+                loadedFile = VersionNumber.parseVersionString(parser.getValueAsString());
+                log.info("Silo-file version: " + loadedFile.toString());
+                if (loadedFile.getMajorNumber() > SILO_FILE_VERSION.getMajorNumber()) {
+                    throw new IllegalArgumentException(createIncompatibleVersionMsg(loadedFile));
+                } else if (loadedFile.getMajorNumber() == SILO_FILE_VERSION.getMajorNumber()
+                        && loadedFile.getMinorNumber() > SILO_FILE_VERSION.getMinorNumber()) {
+                    // minor number is higher, import may fail
+                    isMinorHigher = true;
+                    log.warn("Silo-file version " + loadedFile.toString() + " is newer than the "
+                            + "supported version " + SILO_FILE_VERSION.toString()
+                            + ", unknown content is rejected.");
+                }
+            } else if (fieldName.equals("tasks")) {
+                if (loadedFile == null) {
+                    throw new IllegalArgumentException("Could not query file version number: "
+                            + "'siloFileVersion' has to precede 'tasks'" + formatLocation(parser) + ".");
+                }
+                try {
+                    readTasks(parser, entryReader, entryConsumer);
+                } catch (final IOException ex) {
+                    if (isMinorHigher) {
+                        throw new IllegalArgumentException(createIncompatibleVersionMsg(loadedFile));
+                    }
+                    throw ex;
+                }
             } else {
-                throw ex;
+                if (isMinorHigher) {
+                    throw new IllegalArgumentException(createIncompatibleVersionMsg(loadedFile));
+                }
+                throw UnrecognizedPropertyException.from(parser, TaskQueueData.class, fieldName, null);
             }
         }
-        return tqd;
+
+        if (loadedFile == null) {
+            throw new IllegalArgumentException("Could not query file version number: "
+                    + "'siloFileVersion' is missing" + formatLocation(parser) + ".");
+        }
+        return loadedFile;
+    }
+
+    private static void readTasks(
+            final JsonParser parser,
+            final ObjectReader entryReader,
+            final Consumer<TaskEntry> entryConsumer
+    ) throws IllegalArgumentException, IOException {
+        final JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return;
+        } else if (token != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected an array of tasks"
+                    + formatLocation(parser) + ".");
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            final TaskEntry entry = entryReader.readValue(parser);
+            entryConsumer.accept(entry);
+        }
+
+        if (parser.getCurrentToken() != JsonToken.END_ARRAY) {
+            throw new IllegalArgumentException("Expected a task object"
+                    + formatLocation(parser) + ".");
+        }
+    }
+
+    private static String createIncompatibleVersionMsg(final VersionNumber loadedFile) {
+        return "The opened file with its format version "
+                + loadedFile.toString() + " is not compatible with this Sowftware."
+                + "\nOnly file formats up to version " + SILO_FILE_VERSION.toString()
+                + " are supported!";
+    }
+
+    private static Path getParentDir(final String siloFile) {
+        return Paths.get(siloFile).toAbsolutePath().getParent();
+    }
+
+    private static String formatLocation(final JsonParser parser) {
+        final JsonLocation loc = parser.getTokenLocation();
+        return " (line " + loc.getLineNr() + ", column " + loc.getColumnNr() + ")";
     }
 
     /**
@@ -140,23 +341,48 @@ public static TaskQueueData createFromFile(final String siloFile)
      */
     public void importToTaskQueue(final TaskQueueTable queue) {
         for (final TaskEntry entry : this.tasks) {
-            final TaskModel taskModel = entry.getTaskModel();
-            if (taskModel instanceof CommandTaskModel) {
-                final CommandTaskModel ctm = (CommandTaskModel) taskModel;
-                queue.addCommandTaskWithId(entry.taskId, new CommandTask(ctm), entry.taskPolicy);
-            } else if (taskModel instanceof DelayTaskModel) {
-                final DelayTaskModel dtm = (DelayTaskModel) taskModel;
-                queue.addTaskWithId(entry.taskId, new DelayTask(dtm), entry.taskPolicy);
-            } else if (taskModel instanceof LocalExecTaskModel) {
-                final LocalExecTaskModel letm = (LocalExecTaskModel) taskModel;
-                queue.addTaskWithId(entry.taskId, new LocalExecTask(letm), entry.taskPolicy);
-            } else {
-                log.warn("Unknow TaskModel instance found. Task import omitted.");
-            }
+            importEntry(entry, queue, loadedDir);
         }
         queue.showColumn(Column.SERVER_UUID);
     }
 
+    /**
+     * Creates the queue task corresponding to the model of the given entry and adds it to the end
+     * of the given task queue.
+     *
+     * @param entry The task entry to import.
+     * @param queue The task queue to import the entry.
+     * @param baseDir The directory of the loaded file or <code>null</code>.
+     */
+    private static void importEntry(
+            final TaskEntry entry,
+            final TaskQueueTable queue,
+            final Path baseDir
+    ) {
+        final TaskModel taskModel = entry.getTaskModel();
+        final int rowCount = queue.getRowCount();
+        final QueueTask task;
+        try {
+            task = TaskFactory.createTask(taskModel, baseDir);
+        } catch (final IllegalArgumentException ex) {
+            log.warn("Unknow TaskModel instance found. Task import omitted.");
+            return;
+        }
+        if (task instanceof CommandTask) {
+            queue.addCommandTaskWithId(entry.taskId, (CommandTask) task, entry.taskPolicy);
+        } else {
+            queue.addTaskWithId(entry.taskId, task, entry.taskPolicy);
+        }
+        if (queue.getRowCount() > rowCount) {
+            if (entry.taskRetry != null) {
+                queue.setTaskRetryAtRow(rowCount, entry.taskRetry);
+            }
+            queue.setTaskResourcesAtRow(rowCount, entry.getTaskResources());
+            queue.setTaskPriorityAtRow(rowCount, entry.getTaskPriority());
+            queue.setTaskDeadlineAtRow(rowCount, entry.getTaskDeadlineInMs());
+        }
+    }
+
     public ArrayList<TaskEntry> getTasks() {
         return tasks;
     }
@@ -179,4 +405,15 @@ public void setSiloFileVersion(final String version) {
     public VersionNumber getLoadedSiloFileVersion() {
         return loadedFile;
     }
+
+    /**
+     * Gets the directory of the loaded file. Relative module paths of include tasks are resolved
+     * against it.
+     *
+     * @return The directory or <code>null</code> if the data was not loaded from a file.
+     */
+    @JsonIgnore
+    public Path getLoadedDir() {
+        return loadedDir;
+    }
 }
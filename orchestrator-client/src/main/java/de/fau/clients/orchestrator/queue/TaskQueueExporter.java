@@ -0,0 +1,170 @@
+package de.fau.clients.orchestrator.queue;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import java.io.IOException;
+import java.io.Writer;
+import javax.swing.table.TableModel;
+import lombok.NonNull;
+
+/**
+ * Writes the contents of the task queue row by row into a character stream. No intermediate
+ * representation of the whole table is built, so the memory footprint stays constant regardless
+ * of the queue size and the length of the results.
+ *
+ * @see QueueExportFormat
+ */
+final class TaskQueueExporter {
+
+    private static final char CSV_SEPARATOR = ';'; // use semicolon as separator
+    private static final char CSV_QUOTE = '"';
+    private static final JsonFactory jsonFactory = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    private final TableModel model;
+    private final int firstCol = Column.TASK_ID.ordinal();
+    private final int lastCol = Column.RESULT.ordinal();
+
+    TaskQueueExporter(@NonNull final TableModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Writes the table contents in the given format. The writer is flushed but not closed.
+     *
+     * @param out The writer to export to.
+     * @param format The export format.
+     * @throws IOException on write errors.
+     */
+    void export(@NonNull final Writer out, @NonNull final QueueExportFormat format)
+            throws IOException {
+        switch (format) {
+            case JSONL:
+                exportAsJsonLines(out);
+                break;
+            case CSV:
+            default:
+                exportAsCsv(out);
+                break;
+        }
+        out.flush();
+    }
+
+    private void exportAsCsv(final Writer out) throws IOException {
+        for (int j = firstCol; j <= lastCol; j++) {
+            writeCsvField(out, model.getColumnName(j));
+            out.write(CSV_SEPARATOR);
+        }
+        out.write('\n');
+
+        final int rowCount = model.getRowCount();
+        for (int i = 0; i < rowCount; i++) {
+            for (int j = firstCol; j < lastCol; j++) {
+                writeCsvField(out, cellToString(i, j));
+                out.write(CSV_SEPARATOR);
+            }
+            // the result is always quoted and chains of whitespace are reduced to a single blank
+            out.write(CSV_QUOTE);
+            writeCollapsed(out, cellToString(i, lastCol));
+            out.write(CSV_QUOTE);
+            out.write(CSV_SEPARATOR);
+            out.write('\n');
+        }
+    }
+
+    private void exportAsJsonLines(final Writer out) throws IOException {
+        final String[] keys = new String[lastCol + 1];
+        for (int j = firstCol; j <= lastCol; j++) {
+            keys[j] = model.getColumnName(j);
+        }
+
+        try (final JsonGenerator gen = jsonFactory.createGenerator(out)) {
+            gen.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            final int rowCount = model.getRowCount();
+            for (int i = 0; i < rowCount; i++) {
+                gen.writeStartObject();
+                for (int j = firstCol; j <= lastCol; j++) {
+                    gen.writeStringField(keys[j], cellToString(i, j));
+                }
+                gen.writeEndObject();
+            }
+            if (rowCount > 0) {
+                gen.writeRaw('\n');
+            }
+        }
+    }
+
+    private String cellToString(int row, int col) {
+        final Object obj = model.getValueAt(row, col);
+        return (obj != null) ? obj.toString() : "";
+    }
+
+    /**
+     * Writes the given value as CSV field. The value is only quoted if it contains a separator,
+     * quote or line break. Quotes within the value are escaped by doubling them.
+     */
+    private static void writeCsvField(final Writer out, final String value) throws IOException {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == CSV_SEPARATOR || c == CSV_QUOTE || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+
+        if (!needsQuotes) {
+            out.write(value);
+            return;
+        }
+        out.write(CSV_QUOTE);
+        writeEscaped(out, value, 0, value.length());
+        out.write(CSV_QUOTE);
+    }
+
+    /**
+     * Writes the given value with escaped quotes and each chain of two or more whitespace
+     * characters replaced by a single blank. Single whitespace characters are kept as they are.
+     */
+    static void writeCollapsed(final Writer out, final String value) throws IOException {
+        final int len = value.length();
+        int start = 0;
+        int i = 0;
+        while (i < len) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < len && Character.isWhitespace(value.charAt(end))) {
+                end++;
+            }
+            if (end - i >= 2) {
+                writeEscaped(out, value, start, i);
+                out.write(' ');
+                start = end;
+            }
+            i = end;
+        }
+        writeEscaped(out, value, start, len);
+    }
+
+    private static void writeEscaped(
+            final Writer out,
+            final String value,
+            int start,
+            int end
+    ) throws IOException {
+        int from = start;
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) == CSV_QUOTE) {
+                out.write(value, from, i + 1 - from);
+                out.write(CSV_QUOTE);
+                from = i + 1;
+            }
+        }
+        out.write(value, from, end - from);
+    }
+}
@@ -5,23 +5,38 @@
 import de.fau.clients.orchestrator.dnd.TaskImportTransferHandler;
 import de.fau.clients.orchestrator.tasks.CommandTask;
 import de.fau.clients.orchestrator.tasks.ConnectionStatus;
+import de.fau.clients.orchestrator.tasks.ErrorCategory;
 import de.fau.clients.orchestrator.tasks.ExecPolicy;
 import de.fau.clients.orchestrator.tasks.QueueTask;
+import de.fau.clients.orchestrator.tasks.ResourceClaim;
+import de.fau.clients.orchestrator.tasks.RetrySettings;
+import de.fau.clients.orchestrator.tasks.TaskPriority;
 import de.fau.clients.orchestrator.tasks.TaskState;
 import java.awt.Component;
+import java.awt.GridLayout;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import javax.swing.DefaultCellEditor;
 import javax.swing.DropMode;
+import javax.swing.JCheckBox;
 import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
+import javax.swing.SpinnerNumberModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumn;
@@ -36,6 +51,18 @@ public final class TaskQueueTable extends JTable implements ConnectionListener {
 
     public static final JLabel EMPTY_LABEL = new JLabel(" - ");
     private static final int INIT_TASK_ID = 1;
+    /**
+     * The upper limit of the backoff delays in the retry settings dialog (one day).
+     */
+    private static final Long MAX_BACKOFF_IN_MS = 86400000L;
+    /**
+     * The upper limit of the deadlines in the scheduling dialog (one week).
+     */
+    private static final long MAX_DEADLINE_IN_SEC = 604800L;
+    /**
+     * The entry of the priority selection to use the priority of the run.
+     */
+    private static final String RUN_PRIORITY_ITEM = "Run Priority";
     private static int genericTaskId = INIT_TASK_ID;
     private final TableColumnHider tch;
     private final JPopupMenu taskQueueHeaderPopupMenu = new JPopupMenu();
@@ -57,6 +84,8 @@ public final class TaskQueueTable extends JTable implements ConnectionListener {
      */
     private final HashSet<Integer> taskIdSet = new HashSet<>();
     private JScrollPane paramsPane = null;
+    private TaskPriority runPriority = TaskPriority.NORMAL;
+    private Long runDeadlineInMs = null;
 
     public TaskQueueTable() {
         super(new TaskQueueTableModel());
@@ -149,7 +178,7 @@ public void clearTable() {
             // abort editing before purging the entries
             getCellEditor().stopCellEditing();
         }
-        ((TaskQueueTableModel) dataModel).setRowCount(0);
+        ((TaskQueueTableModel) dataModel).clear();
         genericTaskId = INIT_TASK_ID;
         taskIdSet.clear();
     }
@@ -191,6 +220,239 @@ public ExecPolicy getTaskPolicyFromRow(int rowIdx) {
         return (ExecPolicy) dataModel.getValueAt(rowIdx, Column.EXEC_POLICY.ordinal());
     }
 
+    public RetrySettings getTaskRetryFromRow(int rowIdx) {
+        return ((TaskQueueTableModel) dataModel).getRetrySettings(rowIdx);
+    }
+
+    public void setTaskRetryAtRow(int rowIdx, final RetrySettings retry) {
+        ((TaskQueueTableModel) dataModel).setRetrySettings(rowIdx, retry);
+    }
+
+    public List<ResourceClaim> getTaskResourcesFromRow(int rowIdx) {
+        return ((TaskQueueTableModel) dataModel).getResources(rowIdx);
+    }
+
+    public void setTaskResourcesAtRow(int rowIdx, final List<ResourceClaim> resources) {
+        ((TaskQueueTableModel) dataModel).setResources(rowIdx, resources);
+    }
+
+    public TaskPriority getTaskPriorityFromRow(int rowIdx) {
+        return ((TaskQueueTableModel) dataModel).getPriority(rowIdx);
+    }
+
+    public void setTaskPriorityAtRow(int rowIdx, final TaskPriority priority) {
+        ((TaskQueueTableModel) dataModel).setPriority(rowIdx, priority);
+    }
+
+    public Long getTaskDeadlineFromRow(int rowIdx) {
+        return ((TaskQueueTableModel) dataModel).getDeadlineInMs(rowIdx);
+    }
+
+    public void setTaskDeadlineAtRow(int rowIdx, final Long deadlineInMs) {
+        ((TaskQueueTableModel) dataModel).setDeadlineInMs(rowIdx, deadlineInMs);
+    }
+
+    /**
+     * Shows a dialog to edit the retry settings of the given row. On confirmation, the execution
+     * policy of the row is set to <code>ExecPolicy.RETRY</code>.
+     *
+     * @param rowIdx The row index of the task.
+     */
+    public void editRetrySettings(int rowIdx) {
+        if (isEditing()) {
+            getCellEditor().stopCellEditing();
+        }
+        final RetrySettings retry = getTaskRetryFromRow(rowIdx);
+        final JSpinner attemptsSpinner = new JSpinner(new SpinnerNumberModel(
+                retry.getMaxAttempts(), 1, 1000, 1));
+        final JSpinner initialBackoffSpinner = new JSpinner(new SpinnerNumberModel(
+                Long.valueOf(retry.getInitialBackoffInMs()), Long.valueOf(0), MAX_BACKOFF_IN_MS,
+                Long.valueOf(100)));
+        final JSpinner multiplierSpinner = new JSpinner(new SpinnerNumberModel(
+                retry.getBackoffMultiplier(), 1.0, 100.0, 0.5));
+        final JSpinner maxBackoffSpinner = new JSpinner(new SpinnerNumberModel(
+                Long.valueOf(retry.getMaxBackoffInMs()), Long.valueOf(0), MAX_BACKOFF_IN_MS,
+                Long.valueOf(1000)));
+        final JSpinner jitterSpinner = new JSpinner(new SpinnerNumberModel(
+                (int) Math.round(retry.getJitter() * 100.0), 0, 100, 5));
+        final JPanel panel = new JPanel(new GridLayout(0, 2, 10, 5));
+        panel.add(new JLabel("Max. Attempts"));
+        panel.add(attemptsSpinner);
+        panel.add(new JLabel("Initial Backoff [ms]"));
+        panel.add(initialBackoffSpinner);
+        panel.add(new JLabel("Backoff Multiplier"));
+        panel.add(multiplierSpinner);
+        panel.add(new JLabel("Max. Backoff [ms]"));
+        panel.add(maxBackoffSpinner);
+        panel.add(new JLabel("Jitter [%]"));
+        panel.add(jitterSpinner);
+        final Map<ErrorCategory, JCheckBox> errorCheckBoxes = new EnumMap<>(ErrorCategory.class);
+        for (final ErrorCategory category : ErrorCategory.values()) {
+            final JCheckBox checkBox = new JCheckBox("Retry on " + category + " errors",
+                    retry.isRetryable(category));
+            errorCheckBoxes.put(category, checkBox);
+            panel.add(checkBox);
+        }
+
+        final int option = JOptionPane.showConfirmDialog(this,
+                panel,
+                "Retry Settings",
+                JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE);
+        if (option != JOptionPane.OK_OPTION) {
+            return;
+        }
+        final RetrySettings edited = new RetrySettings();
+        edited.setMaxAttempts((int) attemptsSpinner.getValue());
+        edited.setInitialBackoffInMs(((Number) initialBackoffSpinner.getValue()).longValue());
+        edited.setBackoffMultiplier(((Number) multiplierSpinner.getValue()).doubleValue());
+        edited.setMaxBackoffInMs(((Number) maxBackoffSpinner.getValue()).longValue());
+        edited.setJitter((int) jitterSpinner.getValue() / 100.0);
+        final HashSet<ErrorCategory> retryableErrors = new HashSet<>();
+        errorCheckBoxes.forEach((category, checkBox) -> {
+            if (checkBox.isSelected()) {
+                retryableErrors.add(category);
+            }
+        });
+        edited.setRetryableErrors(retryableErrors);
+        setTaskRetryAtRow(rowIdx, edited);
+        dataModel.setValueAt(ExecPolicy.RETRY, rowIdx, Column.EXEC_POLICY.ordinal());
+    }
+
+    /**
+     * Shows a dialog to edit the resources the task of the given row holds during its execution.
+     * The resources are entered as comma separated claims like <code>arm, incubator:2/4</code>.
+     *
+     * @param rowIdx The row index of the task.
+     * @see ResourceClaim
+     */
+    public void editResources(int rowIdx) {
+        if (isEditing()) {
+            getCellEditor().stopCellEditing();
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (final ResourceClaim claim : getTaskResourcesFromRow(rowIdx)) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(claim);
+        }
+        final Object input = JOptionPane.showInputDialog(this,
+                "<html>Resources held during the execution (comma separated),<br>"
+                + "e.g. <code>arm</code> or <code>incubator:2/4</code> for 2 of 4 slots:</html>",
+                "Resources",
+                JOptionPane.PLAIN_MESSAGE,
+                null,
+                null,
+                sb.toString());
+        if (input == null) {
+            return;
+        }
+        try {
+            setTaskResourcesAtRow(rowIdx, ResourceClaim.listFromString(input.toString()));
+        } catch (final IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this,
+                    ex.getMessage(),
+                    "Invalid Resources",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Gets the priority of the tasks of a queue run which have no priority of their own.
+     *
+     * @return The priority of queue runs.
+     */
+    public TaskPriority getRunPriority() {
+        return runPriority;
+    }
+
+    /**
+     * Gets the time in milliseconds from the start of a queue run until the run should be
+     * finished.
+     *
+     * @return The deadline of queue runs or <code>null</code> for no deadline.
+     */
+    public Long getRunDeadlineInMs() {
+        return runDeadlineInMs;
+    }
+
+    /**
+     * Shows a dialog to edit the dispatch priority and the deadline of the given row.
+     *
+     * @param rowIdx The row index of the task.
+     * @see de.fau.clients.orchestrator.tasks.ResourceManager
+     */
+    public void editScheduling(int rowIdx) {
+        if (isEditing()) {
+            getCellEditor().stopCellEditing();
+        }
+        final JComboBox<Object> priorityComboBox = new JComboBox<>();
+        priorityComboBox.addItem(RUN_PRIORITY_ITEM);
+        for (final TaskPriority priority : TaskPriority.values()) {
+            priorityComboBox.addItem(priority);
+        }
+        final TaskPriority priority = getTaskPriorityFromRow(rowIdx);
+        priorityComboBox.setSelectedItem((priority != null) ? priority : RUN_PRIORITY_ITEM);
+        final JSpinner deadlineSpinner = createDeadlineSpinner(getTaskDeadlineFromRow(rowIdx));
+        deadlineSpinner.setToolTipText("Time from the start of the run until the task should be "
+                + "finished (0 for no deadline).");
+        if (!showSchedulingDialog("Scheduling", priorityComboBox, deadlineSpinner)) {
+            return;
+        }
+        final Object selected = priorityComboBox.getSelectedItem();
+        setTaskPriorityAtRow(rowIdx, (selected instanceof TaskPriority)
+                ? (TaskPriority) selected
+                : null);
+        setTaskDeadlineAtRow(rowIdx, getDeadlineInMs(deadlineSpinner));
+    }
+
+    /**
+     * Shows a dialog to edit the priority and the deadline of the following queue runs.
+     */
+    public void editRunSettings() {
+        final JComboBox<Object> priorityComboBox = new JComboBox<>(TaskPriority.values());
+        priorityComboBox.setSelectedItem(runPriority);
+        final JSpinner deadlineSpinner = createDeadlineSpinner(runDeadlineInMs);
+        deadlineSpinner.setToolTipText("Time from the start of the run until all tasks should be "
+                + "finished (0 for no deadline).");
+        if (!showSchedulingDialog("Run Settings", priorityComboBox, deadlineSpinner)) {
+            return;
+        }
+        runPriority = (TaskPriority) priorityComboBox.getSelectedItem();
+        runDeadlineInMs = getDeadlineInMs(deadlineSpinner);
+    }
+
+    private boolean showSchedulingDialog(
+            final String title,
+            final JComboBox<Object> priorityComboBox,
+            final JSpinner deadlineSpinner
+    ) {
+        final JPanel panel = new JPanel(new GridLayout(0, 2, 10, 5));
+        panel.add(new JLabel("Priority"));
+        panel.add(priorityComboBox);
+        panel.add(new JLabel("Deadline [s]"));
+        panel.add(deadlineSpinner);
+        final int option = JOptionPane.showConfirmDialog(this,
+                panel,
+                title,
+                JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE);
+        return (option == JOptionPane.OK_OPTION);
+    }
+
+    private static JSpinner createDeadlineSpinner(final Long deadlineInMs) {
+        final long deadlineInSec = (deadlineInMs != null) ? (deadlineInMs + 999) / 1000 : 0;
+        return new JSpinner(new SpinnerNumberModel(
+                Long.valueOf(deadlineInSec), Long.valueOf(0), Long.valueOf(MAX_DEADLINE_IN_SEC),
+                Long.valueOf(10)));
+    }
+
+    private static Long getDeadlineInMs(final JSpinner deadlineSpinner) {
+        final long deadlineInSec = ((Number) deadlineSpinner.getValue()).longValue();
+        return (deadlineInSec > 0) ? deadlineInSec * 1000 : null;
+    }
+
     public boolean isEmpty() {
         return !(dataModel.getRowCount() > 0);
     }
@@ -356,30 +618,17 @@ public JPopupMenu getColumnHeaderPopupMenu() {
 
     /**
      * Exports the entire content of the current task queue table including runtime and state
-     * information as CSV-table.
+     * information in the given format. The rows are streamed into the writer one by one, so large
+     * queues can be written directly into a file without building the whole content in memory.
+     * The writer is flushed but not closed.
      *
-     * @param exportStr The StringBuilder instance to append the queue table contents.
+     * @param out The writer to export the queue table contents to.
+     * @param format The export format.
+     * @throws IOException on write errors.
      */
-    public void exportTableContentsAsCsv(final StringBuilder exportStr) {
-        final char sep = ';'; // use semicolon as separator
-        for (int i = Column.TASK_ID.ordinal(); i <= Column.RESULT.ordinal(); i++) {
-            exportStr.append(dataModel.getColumnName(i));
-            exportStr.append(sep);
-        }
-        exportStr.append("\n");
-
-        for (int i = 0; i < this.getRowCount(); i++) {
-            for (int j = Column.TASK_ID.ordinal(); j < Column.RESULT.ordinal(); j++) {
-                exportStr.append(dataModel.getValueAt(i, j).toString());
-                exportStr.append(sep);
-            }
-            exportStr.append("\"");
-            exportStr.append(dataModel.getValueAt(i, Column.RESULT.ordinal()).toString()
-                    .replaceAll("\\s{2,}", " "));  // remove whitespace chains in the result string
-            exportStr.append("\"");
-            exportStr.append(sep);
-            exportStr.append("\n");
-        }
+    public void exportTableContents(final Writer out, final QueueExportFormat format)
+            throws IOException {
+        new TaskQueueExporter(dataModel).export(out, format);
     }
 
     /**
@@ -526,11 +775,35 @@ public Component getTableCellRendererComponent(
                 int row,
                 int column
         ) {
-            if (value != null) {
+            if (value == null) {
+                return EMPTY_LABEL;
+            }
+            final TaskQueueTableModel model = (TaskQueueTableModel) table.getModel();
+            String toolTip = null;
+            if (value == ExecPolicy.RETRY) {
+                final RetrySettings retry = model.getRetrySettings(row);
+                comboBox.getModel().setSelectedItem(value + " (" + retry.getMaxAttempts() + "x)");
+                toolTip = "Up to " + retry.getMaxAttempts() + " attempts, backoff "
+                        + retry.getInitialBackoffInMs() + " ms x" + retry.getBackoffMultiplier()
+                        + ", retry on " + retry.getRetryableErrors();
+            } else {
                 comboBox.getModel().setSelectedItem(value.toString());
-                return comboBox;
             }
-            return EMPTY_LABEL;
+            final List<ResourceClaim> resources = model.getResources(row);
+            if (!resources.isEmpty()) {
+                toolTip = ((toolTip != null) ? toolTip + "; " : "") + "Requires " + resources;
+            }
+            final TaskPriority priority = model.getPriority(row);
+            if (priority != null) {
+                toolTip = ((toolTip != null) ? toolTip + "; " : "") + "Priority " + priority;
+            }
+            final Long deadlineInMs = model.getDeadlineInMs(row);
+            if (deadlineInMs != null) {
+                toolTip = ((toolTip != null) ? toolTip + "; " : "") + "Deadline "
+                        + (deadlineInMs / 1000) + " s after start";
+            }
+            comboBox.setToolTipText(toolTip);
+            return comboBox;
         }
     }
 
@@ -4,19 +4,62 @@
 import de.fau.clients.orchestrator.tasks.ConnectionStatus;
 import de.fau.clients.orchestrator.tasks.ExecPolicy;
 import de.fau.clients.orchestrator.tasks.QueueTask;
+import de.fau.clients.orchestrator.tasks.ResourceClaim;
+import de.fau.clients.orchestrator.tasks.RetrySettings;
+import de.fau.clients.orchestrator.tasks.TaskLookup;
+import de.fau.clients.orchestrator.tasks.TaskPriority;
 import de.fau.clients.orchestrator.tasks.TaskState;
 import java.beans.PropertyChangeEvent;
-import javax.swing.table.DefaultTableModel;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.table.AbstractTableModel;
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * This class represents the underlying data-model of the <code>TaskQueueTable</code>.
  *
+ * Only the data owned by the table (task ID, execution policy with its retry settings, deadline,
+ * connection status and the displayed task state) is stored per row. All other columns, including
+ * the required resources and the dispatch priority, are derived on demand from the task itself, so
+ * large queues do not hold copies of the timestamps and results and the task keeps its resources
+ * when executed from its panel. The row numbers are computed from the row index.
+ *
  * @see TaskQueueTable
  */
 @Slf4j
 @SuppressWarnings("serial")
-class TaskQueueTableModel extends DefaultTableModel {
+class TaskQueueTableModel extends AbstractTableModel implements TaskLookup {
+
+    private final List<TaskRow> rows = new ArrayList<>();
+    /**
+     * Index of the row of each task. Since inserting, removing and moving rows shifts the index of
+     * all following rows, the entries from <code>validIndexCount</code> on are outdated and get
+     * rebuilt lazily on the next lookup.
+     */
+    private final Map<QueueTask, Integer> rowIndex = new IdentityHashMap<>();
+    private int validIndexCount = 0;
+    /**
+     * Collects the tasks with changed states from the executing threads and applies the changes
+     * in one batch per frame on the EDT.
+     */
+    private final CoalescingDispatcher<QueueTask> stateUpdateDispatcher;
+
+    TaskQueueTableModel() {
+        this(CoalescingDispatcher.FRAME_DELAY_IN_MS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param updateDelayInMs The time in milliseconds to collect state changes of the tasks before
+     * they are applied to the table.
+     */
+    TaskQueueTableModel(int updateDelayInMs) {
+        stateUpdateDispatcher = new CoalescingDispatcher<>(updateDelayInMs, this::applyStateUpdates);
+    }
 
     /**
      * Adds the given command task at the end of the table and registers a change listener on the
@@ -34,20 +77,7 @@ protected void addCommandTask(
             final CommandTask cmdTask,
             final ExecPolicy policy
     ) {
-        final ExecPolicy pol = (policy != null) ? policy : ExecPolicy.HALT_AFTER_ERROR;
-        addRow(new Object[]{
-            getRowCount() + 1,
-            taskId,
-            cmdTask.getConnectionStatus(),
-            cmdTask,
-            cmdTask.getServerUuid(),
-            pol,
-            cmdTask.getState(),
-            cmdTask.getStartTimeStamp(),
-            cmdTask.getEndTimeStamp(),
-            cmdTask.getDuration(),
-            cmdTask.getLastExecResult()});
-        addStateListener(cmdTask);
+        insertTask(rows.size(), taskId, cmdTask, policy);
     }
 
     /**
@@ -70,21 +100,7 @@ protected void insertCommandTask(
             final CommandTask cmdTask,
             final ExecPolicy policy
     ) {
-        final ExecPolicy pol = (policy != null) ? policy : ExecPolicy.HALT_AFTER_ERROR;
-        insertRow(index,
-                new Object[]{
-                    index + 1,
-                    taskId,
-                    cmdTask.getConnectionStatus(),
-                    cmdTask,
-                    cmdTask.getServerUuid(),
-                    pol,
-                    cmdTask.getState(),
-                    cmdTask.getStartTimeStamp(),
-                    cmdTask.getEndTimeStamp(),
-                    cmdTask.getDuration(),
-                    cmdTask.getLastExecResult()});
-        addStateListener(cmdTask);
+        insertTask(index, taskId, cmdTask, policy);
     }
 
     protected void addTask(
@@ -92,20 +108,7 @@ protected void addTask(
             final QueueTask task,
             final ExecPolicy policy
     ) {
-        final ExecPolicy pol = (policy != null) ? policy : ExecPolicy.HALT_AFTER_ERROR;
-        addRow(new Object[]{
-            getRowCount() + 1,
-            taskId,
-            task.getConnectionStatus(),
-            task,
-            "",
-            pol,
-            task.getState(),
-            task.getStartTimeStamp(),
-            task.getEndTimeStamp(),
-            task.getDuration(),
-            task.getLastExecResult()});
-        addStateListener(task);
+        insertTask(rows.size(), taskId, task, policy);
     }
 
     protected void insertTask(
@@ -115,73 +118,167 @@ protected void insertTask(
             final ExecPolicy policy
     ) {
         final ExecPolicy pol = (policy != null) ? policy : ExecPolicy.HALT_AFTER_ERROR;
-        insertRow(index,
-                new Object[]{
-                    index + 1,
-                    taskId,
-                    task.getConnectionStatus(),
-                    task,
-                    "",
-                    pol,
-                    task.getState(),
-                    task.getStartTimeStamp(),
-                    task.getEndTimeStamp(),
-                    task.getDuration(),
-                    task.getLastExecResult()});
+        rows.add(index, new TaskRow(task, taskId, pol));
+        task.setTaskLookup(this);
+        if (index == validIndexCount) {
+            // appending keeps the index of all other rows
+            rowIndex.put(task, index);
+            validIndexCount++;
+        } else {
+            invalidateRowIndex(index);
+        }
         addStateListener(task);
+        fireTableRowsInserted(index, index);
+    }
+
+    public void removeRow(int row) {
+        final TaskRow removed = rows.remove(row);
+        removed.task.setTaskLookup(null);
+        rowIndex.remove(removed.task);
+        invalidateRowIndex(row);
+        fireTableRowsDeleted(row, row);
+    }
+
+    /**
+     * Moves one or more rows from the inclusive range <code>start</code> to <code>end</code> to
+     * the <code>to</code> position in the table. After the move, the row that was at index
+     * <code>start</code> will be at index <code>to</code>. The semantics are the same as in
+     * <code>DefaultTableModel.moveRow()</code>.
+     *
+     * @param start The starting row index to be moved.
+     * @param end The ending row index to be moved.
+     * @param to The destination of the rows to be moved.
+     */
+    public void moveRow(int start, int end, int to) {
+        if (start < 0 || end >= rows.size() || start > end || to < 0
+                || to + (end - start) >= rows.size()) {
+            throw new IndexOutOfBoundsException("Invalid row range to move.");
+        }
+        final List<TaskRow> moved = new ArrayList<>(rows.subList(start, end + 1));
+        rows.subList(start, end + 1).clear();
+        rows.addAll(to, moved);
+        final int firstRow = Math.min(start, to);
+        invalidateRowIndex(firstRow);
+        fireTableRowsUpdated(firstRow, Math.max(end, to + (end - start)));
+    }
+
+    /**
+     * Removes all rows from the table.
+     */
+    public void clear() {
+        final int rowCount = rows.size();
+        rows.forEach(taskRow -> taskRow.task.setTaskLookup(null));
+        rows.clear();
+        rowIndex.clear();
+        validIndexCount = 0;
+        stateUpdateDispatcher.clear();
+        if (rowCount > 0) {
+            fireTableRowsDeleted(0, rowCount - 1);
+        }
     }
 
     protected void resetTaskStates() {
-        for (int i = 0; i < getRowCount(); i++) {
-            setValueAt(TaskState.NEUTRAL, i, Column.STATE);
-            setValueAt("-", i, Column.DURATION);
-            setValueAt("-", i, Column.END_TIME);
-            setValueAt("-", i, Column.START_TIME);
-            setValueAt("", i, Column.RESULT);
+        // pending updates would overwrite the reset with the outdated states
+        stateUpdateDispatcher.clear();
+        for (final TaskRow row : rows) {
+            row.state = TaskState.NEUTRAL;
+        }
+        if (!rows.isEmpty()) {
+            fireTableRowsUpdated(0, rows.size() - 1);
         }
     }
 
     private void addStateListener(final QueueTask taskEntry) {
         taskEntry.addStatusChangeListener((PropertyChangeEvent pcEvt) -> {
             if (pcEvt.getPropertyName().equals(QueueTask.TASK_STATE_PROPERTY)) {
-                final TaskState state = (TaskState) pcEvt.getNewValue();
-                // Find the row of the changed entry. This has to be done dynamically, since 
-                // the order of rows might change during runtime.
-                int rowIdx = -1;
-                for (int i = 0; i < getRowCount(); i++) {
-                    if (getValueAt(i, Column.TASK_INSTANCE).equals(taskEntry)) {
-                        rowIdx = i;
-                        break;
-                    }
-                }
-
-                if (rowIdx == -1) {
-                    log.error("Could not find entry in table");
-                    return;
-                }
-                setValueAt(state, rowIdx, Column.STATE);
-                switch (state) {
-                    case RUNNING:
-                        setValueAt(taskEntry.getStartTimeStamp(), rowIdx, Column.START_TIME);
-                        setValueAt(taskEntry.getState(), rowIdx, Column.STATE);
-                        break;
-                    case FINISHED_SUCCESS:
-                    case FINISHED_ERROR:
-                        setValueAt(taskEntry.getState(), rowIdx, Column.STATE);
-                        setValueAt(taskEntry.getLastExecResult(), rowIdx, Column.RESULT);
-                        setValueAt(taskEntry.getEndTimeStamp(), rowIdx, Column.END_TIME);
-                        setValueAt(taskEntry.getDuration(), rowIdx, Column.DURATION);
-                        break;
-                    case NEUTRAL:
-                        setValueAt(taskEntry.getState(), rowIdx, Column.STATE);
-                        break;
-                    default:
-                        log.warn("Unhandled state change");
-                }
+                stateUpdateDispatcher.submit(taskEntry);
             }
         });
     }
 
+    /**
+     * Applies all pending state changes of the tasks immediately. Has to be called on the EDT.
+     */
+    protected void flushStateUpdates() {
+        stateUpdateDispatcher.flush();
+    }
+
+    /**
+     * Takes over the current state of the given tasks and notifies the listeners with one single
+     * update event covering all changed rows.
+     *
+     * @param tasks The tasks with changed states.
+     */
+    private void applyStateUpdates(final List<QueueTask> tasks) {
+        int firstRow = Integer.MAX_VALUE;
+        int lastRow = -1;
+        for (final QueueTask task : tasks) {
+            final int rowIdx = getRowIndex(task);
+            if (rowIdx == -1) {
+                // the task was removed from the table in the meantime
+                continue;
+            }
+            rows.get(rowIdx).state = task.getState();
+            firstRow = Math.min(firstRow, rowIdx);
+            lastRow = Math.max(lastRow, rowIdx);
+        }
+
+        if (lastRow != -1) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+
+    /**
+     * Gets the row index of the given task.
+     *
+     * @param task The task to look for.
+     * @return The row index or -1 if the task is not in the table.
+     */
+    protected int getRowIndex(final QueueTask task) {
+        Integer rowIdx = rowIndex.get(task);
+        if (rowIdx == null || rowIdx >= validIndexCount) {
+            rebuildRowIndex();
+            rowIdx = rowIndex.get(task);
+        }
+        if (rowIdx == null || rows.get(rowIdx).task != task) {
+            return -1;
+        }
+        return rowIdx;
+    }
+
+    private void invalidateRowIndex(int fromRow) {
+        validIndexCount = Math.min(validIndexCount, fromRow);
+    }
+
+    private void rebuildRowIndex() {
+        for (int i = validIndexCount; i < rows.size(); i++) {
+            rowIndex.put(rows.get(i).task, i);
+        }
+        validIndexCount = rows.size();
+    }
+
+    /**
+     * Gets the task with the given task ID. Since the IDs are unique within the queue, the first
+     * match is returned.
+     *
+     * @param taskId The task ID to look for.
+     * @return The task or <code>null</code> if no task with this ID exists.
+     */
+    @Override
+    public QueueTask getTaskById(int taskId) {
+        for (final TaskRow taskRow : rows) {
+            if (taskRow.taskId == taskId) {
+                return taskRow.task;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
     @Override
     public int getColumnCount() {
         return Column.size();
@@ -233,41 +330,159 @@ public boolean isCellEditable(int row, int col) {
         return false;
     }
 
+    @Override
+    public Object getValueAt(int row, int col) {
+        return getValueAt(row, Column.values()[col]);
+    }
+
     public Object getValueAt(int row, final Column col) {
-        return getValueAt(row, col.ordinal());
+        final TaskRow taskRow = rows.get(row);
+        final QueueTask task = taskRow.task;
+        switch (col) {
+            case ROW_NR:
+                return row + 1;
+            case TASK_ID:
+                return taskRow.taskId;
+            case CONNECTION_STATUS:
+                return taskRow.conStatus;
+            case TASK_INSTANCE:
+                return task;
+            case SERVER_UUID:
+                return (task instanceof CommandTask) ? ((CommandTask) task).getServerUuid() : "";
+            case EXEC_POLICY:
+                return taskRow.policy;
+            case STATE:
+                return taskRow.state;
+            case START_TIME:
+                return (taskRow.state != TaskState.NEUTRAL) ? task.getStartTimeStamp() : "-";
+            case END_TIME:
+                return taskRow.isFinished() ? task.getEndTimeStamp() : "-";
+            case DURATION:
+                return taskRow.isFinished() ? task.getDuration() : "-";
+            case RESULT:
+                return taskRow.isFinished() ? task.getLastExecResult() : "";
+            default:
+                return null;
+        }
     }
 
-    public void setValueAt(final Object obj, int row, final Column col) {
-        setValueAt(obj, row, col.ordinal());
+    /**
+     * Gets the retry settings of the given row, which are applied with
+     * <code>ExecPolicy.RETRY</code>.
+     *
+     * @param row The row index.
+     * @return The retry settings of the row.
+     */
+    public RetrySettings getRetrySettings(int row) {
+        return rows.get(row).retry;
+    }
+
+    public void setRetrySettings(int row, @NonNull final RetrySettings retry) {
+        rows.get(row).retry = retry;
+        fireTableCellUpdated(row, Column.EXEC_POLICY.ordinal());
     }
 
     /**
-     * Sets the current numbering on all row entries above the given start index. Use only after a
-     * row was inserted, deleted or moved.
+     * Gets the resources the task of the given row holds during its execution.
      *
-     * @param startIdx The row index to start the numbering update from.
+     * @param row The row index.
+     * @return The resource claims of the row, which are empty if no resources are required.
      */
-    private void setRowNumbering(int startIdx) {
-        for (int i = startIdx; i < getRowCount(); i++) {
-            setValueAt(i + 1, i, Column.ROW_NR);
-        }
+    public List<ResourceClaim> getResources(int row) {
+        return rows.get(row).task.getResourceClaims();
     }
 
-    @Override
-    public void fireTableRowsInserted(int firstRow, int lastRow) {
-        super.fireTableRowsInserted(firstRow, lastRow);
-        setRowNumbering(firstRow);
+    public void setResources(int row, @NonNull final List<ResourceClaim> resources) {
+        rows.get(row).task.setResourceClaims(resources);
+        fireTableCellUpdated(row, Column.EXEC_POLICY.ordinal());
     }
 
-    @Override
-    public void fireTableRowsDeleted(int firstRow, int lastRow) {
-        super.fireTableRowsDeleted(firstRow, lastRow);
-        setRowNumbering(firstRow);
+    /**
+     * Gets the dispatch priority of the task of the given row.
+     *
+     * @param row The row index.
+     * @return The priority or <code>null</code> to use the priority of the run.
+     */
+    public TaskPriority getPriority(int row) {
+        return rows.get(row).task.getPriority();
+    }
+
+    public void setPriority(int row, final TaskPriority priority) {
+        rows.get(row).task.setPriority(priority);
+        fireTableCellUpdated(row, Column.EXEC_POLICY.ordinal());
+    }
+
+    /**
+     * Gets the deadline of the task of the given row.
+     *
+     * @param row The row index.
+     * @return The time in milliseconds from the start of the run until the task should be finished
+     * or <code>null</code> for no deadline.
+     */
+    public Long getDeadlineInMs(int row) {
+        return rows.get(row).deadlineInMs;
+    }
+
+    public void setDeadlineInMs(int row, final Long deadlineInMs) {
+        rows.get(row).deadlineInMs = deadlineInMs;
+        fireTableCellUpdated(row, Column.EXEC_POLICY.ordinal());
     }
 
     @Override
-    public void fireTableRowsUpdated(int firstRow, int lastRow) {
-        super.fireTableRowsUpdated(firstRow, lastRow);
-        setRowNumbering(firstRow);
+    public void setValueAt(final Object obj, int row, int col) {
+        setValueAt(obj, row, Column.values()[col]);
+    }
+
+    public void setValueAt(final Object obj, int row, final Column col) {
+        final TaskRow taskRow = rows.get(row);
+        switch (col) {
+            case TASK_ID:
+                taskRow.taskId = (obj instanceof Integer)
+                        ? (Integer) obj
+                        : Integer.parseInt(obj.toString());
+                break;
+            case CONNECTION_STATUS:
+                taskRow.conStatus = (ConnectionStatus) obj;
+                break;
+            case EXEC_POLICY:
+                taskRow.policy = (ExecPolicy) obj;
+                break;
+            case STATE:
+                taskRow.state = (TaskState) obj;
+                break;
+            default:
+                // all other columns are derived from the task
+                return;
+        }
+        fireTableCellUpdated(row, col.ordinal());
+    }
+
+    /**
+     * The table owned data of a single row.
+     */
+    private static final class TaskRow {
+
+        private final QueueTask task;
+        private int taskId;
+        private ExecPolicy policy;
+        private RetrySettings retry = new RetrySettings();
+        private Long deadlineInMs = null;
+        private ConnectionStatus conStatus;
+        /**
+         * The displayed state, which follows the state of the task but can be reset independently.
+         */
+        private TaskState state;
+
+        private TaskRow(final QueueTask task, int taskId, final ExecPolicy policy) {
+            this.task = task;
+            this.taskId = taskId;
+            this.policy = policy;
+            this.conStatus = task.getConnectionStatus();
+            this.state = task.getState();
+        }
+
+        private boolean isFinished() {
+            return state == TaskState.FINISHED_SUCCESS || state == TaskState.FINISHED_ERROR;
+        }
     }
 }
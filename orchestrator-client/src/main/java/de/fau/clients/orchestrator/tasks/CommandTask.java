@@ -7,11 +7,18 @@
 import de.fau.clients.orchestrator.ctx.ConnectionManager;
 import de.fau.clients.orchestrator.ctx.FeatureContext;
 import de.fau.clients.orchestrator.ctx.ServerContext;
+import de.fau.clients.orchestrator.metrics.CommandKey;
+import de.fau.clients.orchestrator.metrics.MetricsRegistry;
+import de.fau.clients.orchestrator.metrics.TraceRecorder;
+import de.fau.clients.orchestrator.metrics.jfr.ServerCallEvent;
+import de.fau.clients.orchestrator.metrics.jfr.TaskExecutionEvent;
+import de.fau.clients.orchestrator.nodes.MaxDim;
 import de.fau.clients.orchestrator.nodes.NodeFactory;
 import de.fau.clients.orchestrator.nodes.SilaNode;
 import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
 import java.awt.event.ActionEvent;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
@@ -23,9 +30,13 @@
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
 import javax.swing.JComponent;
+import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import sila2.org.silastandard.SiLAFramework;
 import sila_java.library.core.models.SiLAElement;
 import sila_java.library.core.sila.errors.SiLAErrorException;
 import sila_java.library.manager.executor.ExecutableServerCall;
@@ -43,15 +54,34 @@ public class CommandTask extends QueueTask {
 
     private static final int MAX_SERVER_RESPONSE_TIME_IN_SEC = 3;
     private static final ConnectionManager manager = ConnectionManager.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final TraceRecorder tracer = TraceRecorder.getInstance();
+    private static final ServerBalancer balancer = ServerBalancer.getInstance();
+    private static final ResourceManager resourceManager = ResourceManager.getInstance();
     private static final ObjectMapper jsonMapper = new ObjectMapper();
     private final CommandTaskModel commandModel;
     private CommandContext cmdCtx = null;
     private boolean isCommandValid = false;
+    /**
+     * The server of the current call. This is the server of the model or the server chosen from
+     * the server pool, which is not stored in the model.
+     */
+    private UUID callServerUuid = null;
     private boolean isPanelBuilt = false;
     private JPanel panel = null;
     private JButton execBtn = null;
+    private JTextArea bindingsTextArea = null;
+    private JTextArea poolTextArea = null;
     private boolean isNodeBuilt = false;
     private SilaNode cmdNode = null;
+    /**
+     * The parsed result of the last execution, which is created on first access.
+     */
+    private JsonNode lastResultNode = null;
+    /**
+     * The result string <code>lastResultNode</code> was parsed from.
+     */
+    private String parsedResult = null;
 
     public CommandTask(@NonNull final CommandTaskModel commandModel) {
         this.commandModel = commandModel;
@@ -101,19 +131,27 @@ private boolean tryToSetServerInstance(final ServerContext serverCtx) {
             return false;
         }
 
-        final FeatureContext featCtx = serverCtx.getFeatureCtx(commandModel.getFeatureId());
-        if (featCtx != null) {
-            final CommandContext tmpCmdCtx = featCtx.getCommandCtx(commandModel.getCommandId());
-            if (tmpCmdCtx != null) {
-                this.cmdCtx = tmpCmdCtx;
-                return true;
-            }
+        final CommandContext tmpCmdCtx = findCommandCtx(serverCtx);
+        if (tmpCmdCtx != null) {
+            this.cmdCtx = tmpCmdCtx;
+            return true;
         }
         log.warn("Feature " + commandModel.getFeatureId() + " for " + commandModel.getCommandId()
                 + " not found on server.");
         return false;
     }
 
+    /**
+     * Gets the command of this task from the given server.
+     *
+     * @param serverCtx The server context to get the command from.
+     * @return The command context or <code>null</code> if the server does not provide the command.
+     */
+    private CommandContext findCommandCtx(@NonNull final ServerContext serverCtx) {
+        final FeatureContext featCtx = serverCtx.getFeatureCtx(commandModel.getFeatureId());
+        return (featCtx != null) ? featCtx.getCommandCtx(commandModel.getCommandId()) : null;
+    }
+
     /**
      * Gets the current <code>CommandTaskModel</code> by collecting the set parameters form the
      * presenter and stores them in the data-model.
@@ -126,6 +164,18 @@ public TaskModel getCurrentTaskModel() {
         if (cmdNode != null) {
             commandModel.setCommandParams(cmdNode.toJson());
         }
+        if (isPanelBuilt) {
+            try {
+                updateBindingsFromView();
+            } catch (final IllegalArgumentException ex) {
+                log.warn("Parameter bindings not updated: " + ex.getMessage());
+            }
+            try {
+                updatePoolFromView();
+            } catch (final IllegalArgumentException ex) {
+                log.warn("Server pool not updated: " + ex.getMessage());
+            }
+        }
         return commandModel;
     }
 
@@ -174,6 +224,42 @@ public JPanel getPresenter() {
                 panel.add(comp);
             }
 
+            panel.add(Box.createVerticalStrut(10));
+            final JLabel bindingsLabel = new JLabel("Parameter Bindings");
+            bindingsLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            panel.add(bindingsLabel);
+            bindingsTextArea = new JTextArea(3, 30);
+            bindingsTextArea.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            bindingsTextArea.setToolTipText("<html>One binding per line in the form "
+                    + "<code>&lt;target&gt; &lt;- #&lt;task ID&gt;&lt;source&gt;</code>, e.g.<br>"
+                    + "<code>/Temperature/value &lt;- #3/CurrentTemperature/value</code><br>"
+                    + "The bound values overwrite the parameters above on execution.</html>");
+            final StringBuilder sb = new StringBuilder();
+            for (final ParamBinding binding : commandModel.getParamBindings()) {
+                sb.append(binding).append('\n');
+            }
+            bindingsTextArea.setText(sb.toString());
+            final JScrollPane bindingsScrollPane = new JScrollPane(bindingsTextArea);
+            bindingsScrollPane.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            bindingsScrollPane.setMaximumSize(MaxDim.TEXT_FIELD_MULTI_LINE.getDim());
+            panel.add(bindingsScrollPane);
+            panel.add(Box.createVerticalStrut(10));
+            final JLabel poolLabel = new JLabel("Server Pool");
+            poolLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            panel.add(poolLabel);
+            poolTextArea = new JTextArea(2, 30);
+            poolTextArea.setToolTipText("<html>Either the UUIDs of equivalent servers, one per line, "
+                    + "or the fully qualified identifier of a feature, e.g.<br>"
+                    + "<code>" + cmdCtx.getFeatureCtx().getFullyQualifiedIdentifier() + "</code><br>"
+                    + "On execution, the command is dispatched to the least loaded server of the "
+                    + "pool.</html>");
+            if (commandModel.getServerPool() != null) {
+                poolTextArea.setText(commandModel.getServerPool().toString());
+            }
+            final JScrollPane poolScrollPane = new JScrollPane(poolTextArea);
+            poolScrollPane.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            poolScrollPane.setMaximumSize(MaxDim.TEXT_FIELD_MULTI_LINE.getDim());
+            panel.add(poolScrollPane);
             panel.add(Box.createVerticalStrut(10));
             execBtn = new JButton("Execute", EXECUTE_ICON);
             execBtn.addActionListener((ActionEvent evt) -> {
@@ -192,19 +278,8 @@ public JPanel getPresenter() {
      */
     public JComponent getResultPresenter() {
 
-        if (lastExecResult.isEmpty()) {
-            return null;
-        }
-
-        final JsonNode results;
-        try {
-            results = jsonMapper.readTree(lastExecResult);
-        } catch (final JsonProcessingException ex) {
-            log.error(ex.getMessage());
-            return null;
-        }
-
-        if (results.isEmpty()) {
+        final JsonNode results = getLastResultNode();
+        if (results == null || results.isEmpty()) {
             return null;
         }
 
@@ -219,6 +294,77 @@ public JComponent getResultPresenter() {
         return comp;
     }
 
+    /**
+     * Gets the result of the last execution as parsed JSON tree. The result is parsed only once and
+     * shared by all callers, so the returned tree must not be modified.
+     *
+     * @return The parsed result or <code>null</code> if no result was available or the result is
+     * not valid JSON (e.g. an error message).
+     */
+    @Override
+    public synchronized JsonNode getLastResultNode() {
+        final String result = lastExecResult;
+        // the identity suffices, since the result string gets replaced on each execution
+        if (result != parsedResult) {
+            parsedResult = result;
+            lastResultNode = null;
+            if (!result.isEmpty()) {
+                try {
+                    lastResultNode = jsonMapper.readTree(result);
+                } catch (final JsonProcessingException ex) {
+                    log.debug(ex.getMessage());
+                }
+            }
+        }
+        return lastResultNode;
+    }
+
+    /**
+     * Parses the bindings from the view and stores them in the model.
+     *
+     * @throws IllegalArgumentException if a binding is invalid.
+     */
+    private void updateBindingsFromView() {
+        final List<ParamBinding> bindings = new ArrayList<>();
+        for (final String line : bindingsTextArea.getText().split("\n")) {
+            if (!line.isBlank()) {
+                bindings.add(ParamBinding.fromString(line));
+            }
+        }
+        commandModel.setParamBindings(bindings);
+    }
+
+    /**
+     * Parses the server pool from the view and stores it in the model.
+     *
+     * @throws IllegalArgumentException if the server pool is invalid.
+     */
+    private void updatePoolFromView() {
+        commandModel.setServerPool(ServerPool.fromString(poolTextArea.getText()));
+    }
+
+    /**
+     * Builds the parameters of the call as JSON string. If the parameters are bound to results of
+     * other tasks, the bound values are inserted into the parameters of the view beforehand.
+     *
+     * @return The parameters or an empty string if the command has no parameters.
+     * @throws IllegalArgumentException if a binding can not be resolved.
+     * @see ParamBinding
+     */
+    private String buildJsonParams() {
+        final List<ParamBinding> bindings = commandModel.getParamBindings();
+        if (bindings.isEmpty()) {
+            return (cmdNode != null) ? cmdNode.toJsonString() : "";
+        }
+        final JsonNode params = (cmdNode != null) ? cmdNode.toJson() : jsonMapper.createObjectNode();
+        for (final ParamBinding binding : bindings) {
+            binding.apply(params, (taskLookup != null)
+                    ? taskLookup.getTaskById(binding.getSourceTaskId())
+                    : null);
+        }
+        return params.toString();
+    }
+
     /**
      * Builds up the <code>SilaNode</code>. This method shall only be called once an must be used
      * before proceeding any actions with the internal <code>cmdNode</code>.
@@ -255,7 +401,7 @@ private boolean buildNode() {
      */
     private void executeCommandBtnActionPerformed() {
         // instead of `this.run()`, start in new thread to avoid blocking the GUI
-        new Thread(this).start();
+        executeInBackground();
     }
 
     public UUID getServerUuid() {
@@ -289,6 +435,79 @@ public void changeServerByCtx(final ServerContext serverCtx) {
         isCommandValid = tryToSetServerInstance(serverCtx);
     }
 
+    /**
+     * Gets the online servers of the server pool of this task.
+     *
+     * @return A modifiable list of server UUIDs or <code>null</code> if no pool is set.
+     */
+    private List<UUID> getOnlinePoolServers() {
+        final ServerPool pool = commandModel.getServerPool();
+        if (pool == null) {
+            return null;
+        }
+        if (pool.getFeatureFqi() != null) {
+            return manager.getOnlineServerUuids(pool.getFeatureFqi());
+        }
+        final List<UUID> serverUuids = new ArrayList<>();
+        for (final UUID serverUuid : pool.getServerUuids()) {
+            if (isServerOnline(serverUuid)) {
+                serverUuids.add(serverUuid);
+            }
+        }
+        return serverUuids;
+    }
+
+    /**
+     * Selects a server of the pool with the <code>ServerBalancer</code> and uses it for the next
+     * call. The server of the model stays unchanged. Servers not providing the command are removed
+     * from the given list.
+     *
+     * @param poolServers The available servers of the pool.
+     * @return The lease of the selected server or <code>null</code> if no server is available.
+     */
+    private ServerBalancer.Lease acquirePoolServer(final List<UUID> poolServers) {
+        while (true) {
+            final ServerBalancer.Lease lease = balancer.acquire(
+                    poolServers,
+                    commandModel.getFeatureId(),
+                    commandModel.getCommandId());
+            if (lease == null) {
+                return null;
+            }
+            final ServerContext serverCtx = manager.getServerCtx(lease.getServerUuid());
+            if (serverCtx != null && serverCtx.isOnline()) {
+                final CommandContext poolCmdCtx = findCommandCtx(serverCtx);
+                if (poolCmdCtx != null) {
+                    if (!isCommandValid) {
+                        // the servers of the pool are equivalent, so any one defines the command
+                        cmdCtx = poolCmdCtx;
+                        isCommandValid = true;
+                    }
+                    callServerUuid = lease.getServerUuid();
+                    return lease;
+                }
+            }
+            lease.cancel();
+            poolServers.remove(lease.getServerUuid());
+        }
+    }
+
+    private static ErrorCategory getErrorCategory(final SiLAFramework.SiLAError silaError) {
+        if (silaError.hasValidationError()) {
+            return ErrorCategory.VALIDATION;
+        } else if (silaError.hasDefinedExecutionError()) {
+            return ErrorCategory.DEFINED;
+        } else if (silaError.hasFrameworkError()) {
+            return ErrorCategory.FRAMEWORK;
+        }
+        return ErrorCategory.UNDEFINED;
+    }
+
+    private static boolean isServerOnline(final UUID serverUuid) {
+        final ServerContext serverCtx = manager.getServerCtx(serverUuid);
+        return (serverCtx != null && serverCtx.isOnline());
+    }
+
     /**
      * The actual action which is performed on execution. The overwritten <code>Runnable</code>
      * interface allows the execution routine to be run in its own, dedicated thread without
@@ -301,15 +520,45 @@ public void changeServerByCtx(final ServerContext serverCtx) {
      */
     @Override
     public void run() {
+        final TaskExecutionEvent execEvent = new TaskExecutionEvent();
+        execEvent.begin();
         TaskState oldState = taskState;
+        final TraceRecorder.Span prepareSpan = tracer.beginSpan(
+                TraceRecorder.CATEGORY_TASK,
+                "Prepare parameters");
+        String poolError = null;
+        List<UUID> poolServers = null;
+        ServerBalancer.Lease lease = null;
+        callServerUuid = commandModel.getServerUuid();
+        lastErrorCategory = ErrorCategory.CONNECTION;
+        try {
+            if (isPanelBuilt) {
+                updatePoolFromView();
+            }
+        } catch (final IllegalArgumentException ex) {
+            poolError = "Error: Invalid server pool: " + ex.getMessage();
+            lastErrorCategory = ErrorCategory.VALIDATION;
+        }
+        if (poolError == null && commandModel.getServerPool() != null) {
+            poolServers = getOnlinePoolServers();
+            lease = acquirePoolServer(poolServers);
+            if (lease == null) {
+                poolError = "Error: No server of the pool is online.";
+            }
+        }
+
         if (!isNodeBuilt) {
             buildNode();
         }
 
-        if (!isCommandValid) {
-            lastExecResult = "Error: Offline or invalid server instance.";
+        if (poolError != null || !isCommandValid) {
+            prepareSpan.close();
+            lastExecResult = (poolError != null)
+                    ? poolError
+                    : "Error: Offline or invalid server instance.";
             taskState = TaskState.FINISHED_ERROR;
             stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+            commitExecutionEvent(execEvent);
             return;
         }
 
@@ -321,50 +570,181 @@ public void run() {
         taskState = TaskState.RUNNING;
         stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
         oldState = taskState;
+        final String jsonParams;
+        try {
+            if (isPanelBuilt) {
+                updateBindingsFromView();
+            }
+            jsonParams = buildJsonParams();
+        } catch (final IllegalArgumentException ex) {
+            if (lease != null) {
+                lease.cancel();
+            }
+            prepareSpan.close();
+            lastExecResult = "Error: Parameter binding failed: " + ex.getMessage();
+            lastErrorCategory = ErrorCategory.VALIDATION;
+            log.error(lastExecResult);
+            taskState = TaskState.FINISHED_ERROR;
+            endTimeStamp = OffsetDateTime.now();
+            stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+            if (isPanelBuilt) {
+                execBtn.setEnabled(true);
+            }
+            commitExecutionEvent(execEvent);
+            return;
+        }
+        prepareSpan.close();
+
+        boolean wasSuccessful = executeCall(jsonParams);
+        while (lease != null) {
+            final UUID serverUuid = lease.getServerUuid();
+            lease.release(wasSuccessful);
+            lease = null;
+            if (!wasSuccessful && !isServerOnline(serverUuid)) {
+                // fail over to the remaining servers of the pool
+                poolServers.remove(serverUuid);
+                lease = acquirePoolServer(poolServers);
+                if (lease != null) {
+                    log.warn("Server " + serverUuid + " went offline. Retrying "
+                            + commandModel.getCommandId() + " on " + lease.getServerUuid() + ".");
+                    wasSuccessful = executeCall(jsonParams);
+                }
+            }
+        }
+        endTimeStamp = OffsetDateTime.now();
+        final TraceRecorder.Span updateSpan = tracer.beginSpan(TraceRecorder.CATEGORY_UI, "State update");
+        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        updateSpan.close();
+
+        if (isPanelBuilt) {
+            execBtn.setEnabled(true);
+        }
+        commitExecutionEvent(execEvent);
+    }
+
+    /**
+     * Executes the command with the given parameters on the server of the call while holding a
+     * call slot of this server. If all slots are in use, the call waits and is dispatched by the
+     * priority and deadline of the executed task like any other resource request.
+     *
+     * @param jsonParams The parameters of the call or an empty string.
+     * @return <code>true</code> if the call was successful, otherwise <code>false</code>.
+     * @see ResourceClaim#forServer(UUID)
+     */
+    private boolean executeCall(final String jsonParams) {
+        final TaskPriority priority = resourceManager.getCurrentPriority();
+        final ResourceManager.Lease serverLease;
+        try {
+            serverLease = resourceManager.acquire(
+                    List.of(ResourceClaim.forServer(callServerUuid)),
+                    (priority != null) ? priority : TaskPriority.NORMAL,
+                    resourceManager.getCurrentDeadline());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return failCall("Error: Interrupted while waiting for server " + callServerUuid + ".");
+        } catch (final IllegalArgumentException | IllegalStateException ex) {
+            return failCall("Error: " + ex.getMessage());
+        }
+        try {
+            return callServer(jsonParams);
+        } finally {
+            serverLease.release();
+        }
+    }
+
+    private boolean failCall(final String errMsg) {
+        log.error(errMsg);
+        lastExecResult = errMsg;
+        lastErrorCategory = null;
+        taskState = TaskState.FINISHED_ERROR;
+        return false;
+    }
+
+    /**
+     * Executes the command with the given parameters on the server of the call and sets the task
+     * state and the result accordingly.
+     *
+     * @param jsonParams The parameters of the call or an empty string.
+     * @return <code>true</code> if the call was successful, otherwise <code>false</code>.
+     */
+    private boolean callServer(final String jsonParams) {
         final SiLACall.Type callType = cmdCtx.getCommand().getObservable().equalsIgnoreCase("yes")
                 ? SiLACall.Type.OBSERVABLE_COMMAND
                 : SiLACall.Type.UNOBSERVABLE_COMMAND;
         final SiLACall.Builder callBuilder = new SiLACall.Builder(
-                commandModel.getServerUuid(),
+                callServerUuid,
                 commandModel.getFeatureId(),
                 commandModel.getCommandId(),
                 callType
         );
-        if (cmdNode != null) {
-            String jsonParams = cmdNode.toJsonString();
-            if (!jsonParams.isEmpty()) {
-                callBuilder.withParameters(jsonParams);
-            }
+        if (!jsonParams.isEmpty()) {
+            callBuilder.withParameters(jsonParams);
         }
 
         taskState = TaskState.FINISHED_ERROR;
+        final MetricsRegistry.Call metricsCall = metrics.startCall(new CommandKey(
+                callServerUuid,
+                commandModel.getFeatureId(),
+                commandModel.getCommandId()));
+        final TraceRecorder.Span callSpan = tracer.beginSpan(
+                TraceRecorder.CATEGORY_CALL,
+                () -> commandModel.getFeatureId() + "/" + commandModel.getCommandId())
+                .arg("server", callServerUuid)
+                .arg("type", callType);
+        final ServerCallEvent callEvent = new ServerCallEvent();
+        callEvent.begin();
+        String errorType = null;
         try {
             final ExecutableServerCall executableServerCall = ExecutableServerCall.newBuilder(callBuilder.build()).build();
             final Future<String> futureCallResult = manager.getServerManager().getServerCallManager().runAsync(executableServerCall);
             lastExecResult = futureCallResult.get(MAX_SERVER_RESPONSE_TIME_IN_SEC, TimeUnit.SECONDS);
             taskState = TaskState.FINISHED_SUCCESS;
+            lastErrorCategory = null;
+            metricsCall.succeeded();
         } catch (final TimeoutException ex) {
+            errorType = "Timeout";
+            lastErrorCategory = ErrorCategory.CONNECTION;
+            metricsCall.failed(errorType);
             final String msg = "Timeout: Server did not responde within " + MAX_SERVER_RESPONSE_TIME_IN_SEC + " sec.";
             log.error(msg);
             lastExecResult = msg;
         } catch (final ExecutionException ex) {
             final String msg;
             if (ex.getCause() instanceof SiLAErrorException) {
-                msg = SilaBasicTypeUtils.formatSilaErrorToMsgString(((SiLAErrorException) ex.getCause()).getSiLAError());
+                final SiLAFramework.SiLAError silaError = ((SiLAErrorException) ex.getCause()).getSiLAError();
+                errorType = SilaBasicTypeUtils.getSilaErrorTypeName(silaError);
+                lastErrorCategory = getErrorCategory(silaError);
+                metricsCall.failed(errorType);
+                msg = SilaBasicTypeUtils.formatSilaErrorToMsgString(silaError);
             } else {
+                errorType = (ex.getCause() != null)
+                        ? ex.getCause().getClass().getSimpleName()
+                        : ex.getClass().getSimpleName();
+                lastErrorCategory = ErrorCategory.CONNECTION;
+                metricsCall.failed(errorType);
                 msg = ex.getMessage();
             }
             log.error(msg);
             lastExecResult = msg;
         } catch (final Exception ex) {
+            errorType = ex.getClass().getSimpleName();
+            lastErrorCategory = ErrorCategory.CONNECTION;
+            metricsCall.failed(errorType);
             log.error(ex.getMessage());
             lastExecResult = ex.getMessage();
         }
-        endTimeStamp = OffsetDateTime.now();
-        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
-
-        if (isPanelBuilt) {
-            execBtn.setEnabled(true);
+        callEvent.end();
+        if (callEvent.shouldCommit()) {
+            callEvent.serverUuid = callServerUuid.toString();
+            callEvent.identifier = cmdCtx.getFullyQualifiedIdentifier();
+            callEvent.callType = callType.toString();
+            callEvent.requestBytes = ServerCallEvent.utf8Length(jsonParams);
+            callEvent.responseBytes = ServerCallEvent.utf8Length(lastExecResult);
+            callEvent.isSuccessful = (errorType == null);
+            callEvent.errorType = errorType;
+            callEvent.commit();
         }
+        callSpan.arg("state", taskState).close();
+        return (errorType == null);
     }
 }
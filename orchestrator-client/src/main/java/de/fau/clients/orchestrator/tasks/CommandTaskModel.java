@@ -6,6 +6,8 @@
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -19,13 +21,17 @@
  */
 @Slf4j
 @JsonInclude(Include.NON_NULL)
-@JsonPropertyOrder({"serverUuid", "featureId", "commandId", "commandParams"})
+@JsonPropertyOrder({"serverUuid", "featureId", "commandId", "commandParams", "paramBindings",
+    "serverPool"})
 public class CommandTaskModel extends TaskModel {
 
     private UUID serverUuid;
     private final String featureId;
     private final String commandId;
     private JsonNode commandParams = null;
+    @JsonInclude(Include.NON_EMPTY)
+    private List<ParamBinding> paramBindings = new ArrayList<>();
+    private ServerPool serverPool = null;
 
     @JsonCreator
     public CommandTaskModel(
@@ -62,6 +68,45 @@ public void setCommandParams(@NonNull final JsonNode jsonNode) {
         this.commandParams = jsonNode;
     }
 
+    /**
+     * Gets the bindings of parameters to the results of other tasks in the queue. The bound values
+     * overwrite the values of <code>getCommandParams()</code> on execution.
+     *
+     * @return The list of bindings, which may be empty.
+     * @see ParamBinding
+     */
+    public List<ParamBinding> getParamBindings() {
+        return paramBindings;
+    }
+
+    /**
+     * Sets the bindings of parameters to the results of other tasks in the queue.
+     *
+     * @param paramBindings The list of bindings.
+     * @throws IllegalArgumentException if the targets of the bindings overlap.
+     * @see ParamBinding#checkTargets(List)
+     */
+    public void setParamBindings(@NonNull final List<ParamBinding> paramBindings) {
+        ParamBinding.checkTargets(paramBindings);
+        this.paramBindings = new ArrayList<>(paramBindings);
+    }
+
+    /**
+     * Gets the pool of equivalent servers the task is dispatched to. If set, the server is chosen
+     * on each execution. The chosen server is not stored, so <code>getServerUuid()</code> keeps
+     * the server the task was created for.
+     *
+     * @return The server pool or <code>null</code> if the task is bound to a single server.
+     * @see ServerBalancer
+     */
+    public ServerPool getServerPool() {
+        return serverPool;
+    }
+
+    public void setServerPool(final ServerPool serverPool) {
+        this.serverPool = serverPool;
+    }
+
     @Override
     public String toString() {
         return "(" + serverUuid + ", "
@@ -1,5 +1,6 @@
 package de.fau.clients.orchestrator.tasks;
 
+import de.fau.clients.orchestrator.metrics.jfr.TaskExecutionEvent;
 import de.fau.clients.orchestrator.nodes.MaxDim;
 import java.time.OffsetDateTime;
 import javax.swing.BorderFactory;
@@ -124,7 +125,7 @@ public JPanel getPresenter() {
             panel.add(Box.createVerticalStrut(20));
             execBtn = new JButton("Execute", EXECUTE_ICON);
             execBtn.addActionListener((evt) -> {
-                new Thread(this).start();
+                executeInBackground();
             });
             panel.add(execBtn);
             isPanelBuilt = true;
@@ -134,6 +135,8 @@ public JPanel getPresenter() {
 
     @Override
     public void run() {
+        final TaskExecutionEvent execEvent = new TaskExecutionEvent();
+        execEvent.begin();
         if (isPanelBuilt) {
             execBtn.setEnabled(false);
             int min = minModel.getNumber().intValue();
@@ -161,5 +164,6 @@ public void run() {
         if (isPanelBuilt) {
             execBtn.setEnabled(true);
         }
+        commitExecutionEvent(execEvent);
     }
 }
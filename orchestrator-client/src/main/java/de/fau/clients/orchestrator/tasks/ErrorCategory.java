@@ -0,0 +1,30 @@
+package de.fau.clients.orchestrator.tasks;
+
+/**
+ * The category of the error a task finished with. The categories follow the SiLA error types,
+ * extended by errors of the connection to the server.
+ *
+ * @see QueueTask#getLastErrorCategory()
+ */
+public enum ErrorCategory {
+    /**
+     * The parameters of the task were invalid.
+     */
+    VALIDATION,
+    /**
+     * The server reported an error defined in the feature description.
+     */
+    DEFINED,
+    /**
+     * The server reported an unexpected error or the task failed for an unspecified reason.
+     */
+    UNDEFINED,
+    /**
+     * The server rejected the call due to a violation of the SiLA framework.
+     */
+    FRAMEWORK,
+    /**
+     * The server was not reachable or did not respond in time.
+     */
+    CONNECTION
+}
@@ -12,5 +12,10 @@ public enum ExecPolicy {
     /**
      * Queue proceeds further with the next task even if the task finished with an error.
      */
-    PROCEED_AFTER_ERROR
+    PROCEED_AFTER_ERROR,
+    /**
+     * Task is executed again after a retryable error, as defined by its
+     * <code>RetrySettings</code>. Queue stops if the task still finished with an error.
+     */
+    RETRY
 }
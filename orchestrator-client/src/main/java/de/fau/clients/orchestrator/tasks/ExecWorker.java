@@ -0,0 +1,184 @@
+package de.fau.clients.orchestrator.tasks;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A long-lived worker process which handles requests of multiple <code>LocalExecTask</code>s, so
+ * the start-up costs of the program (e.g. an interpreter) only arise once.
+ *
+ * The communication uses a line-delimited protocol over the standard streams of the process. Each
+ * request is written as a single line to the stdin of the worker. The worker answers with a single
+ * line on its stdout, which starts with the integer return value, optionally followed by a space
+ * and the result text (e.g. <code>0 done</code>). The stderr of the worker is only used for
+ * diagnostics.
+ *
+ * @see ExecWorkerPool
+ */
+@Slf4j
+final class ExecWorker {
+
+    private static final int STDERR_TAIL_SIZE = 4 * 1024;
+    private final List<String> command;
+    private final Process proc;
+    private final BufferedWriter requestWriter;
+    private final BufferedReader responseReader;
+    private final OutputCapture stderrCapture;
+    private int useCount = 0;
+    private volatile boolean isKilled = false;
+
+    /**
+     * Constructor. Starts the worker process.
+     *
+     * @param command The command and arguments to start the worker.
+     * @throws IOException if the process can not be started.
+     */
+    ExecWorker(@NonNull final List<String> command) throws IOException {
+        this.command = List.copyOf(command);
+        this.proc = new ProcessBuilder(command).start();
+        this.requestWriter = new BufferedWriter(new OutputStreamWriter(proc.getOutputStream(),
+                StandardCharsets.UTF_8));
+        this.responseReader = new BufferedReader(new InputStreamReader(proc.getInputStream(),
+                StandardCharsets.UTF_8));
+        this.stderrCapture = new OutputCapture("exec-worker-stderr",
+                proc.getErrorStream(),
+                0,
+                STDERR_TAIL_SIZE,
+                null);
+        this.stderrCapture.start();
+        log.debug("Started exec worker " + proc.pid() + ": " + this.command);
+    }
+
+    List<String> getCommand() {
+        return command;
+    }
+
+    /**
+     * Gets the number of requests sent to this worker.
+     *
+     * @return The number of requests.
+     */
+    int getUseCount() {
+        return useCount;
+    }
+
+    boolean isAlive() {
+        return !isKilled && proc.isAlive();
+    }
+
+    /**
+     * Indicates whether the worker was killed by <code>kill()</code>, e.g. due to a timeout.
+     *
+     * @return <code>true</code> if the worker was killed.
+     */
+    boolean isKilled() {
+        return isKilled;
+    }
+
+    /**
+     * Sends a request to the worker and waits for the response. The call blocks until the worker
+     * answers, or the worker process terminates or gets killed. Interrupts are ignored while
+     * waiting, so the worker has to be killed to cancel the request.
+     *
+     * @param request The request line without line breaks.
+     * @return The response of the worker.
+     * @throws IOException if the worker terminated or answered with an invalid response.
+     */
+    Response request(@NonNull final String request) throws IOException {
+        if (request.indexOf('\n') >= 0 || request.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Request must not contain line breaks.");
+        }
+        useCount++;
+        final String line;
+        try {
+            requestWriter.write(request);
+            requestWriter.newLine();
+            requestWriter.flush();
+            line = responseReader.readLine();
+        } catch (final IOException ex) {
+            throw new IOException("Worker failed: " + ex.getMessage() + getStderrInfo(), ex);
+        }
+        if (line == null) {
+            throw new IOException("Worker terminated unexpectedly." + getStderrInfo());
+        }
+        return Response.parse(line);
+    }
+
+    private String getStderrInfo() {
+        if (stderrCapture.getTotalBytes() == 0) {
+            return "";
+        }
+        return "\n[stderr]\n" + stderrCapture.getText().strip();
+    }
+
+    /**
+     * Forcibly terminates the worker process and all its descendants. A pending request fails with
+     * an <code>IOException</code>.
+     */
+    void kill() {
+        isKilled = true;
+        proc.descendants().forEach(ProcessHandle::destroyForcibly);
+        proc.destroyForcibly();
+    }
+
+    /**
+     * Terminates the worker. The stdin of the worker gets closed first, so a well-behaved worker
+     * can exit on its own.
+     */
+    void destroy() {
+        try {
+            requestWriter.close();
+        } catch (final IOException ex) {
+            log.debug(ex.getMessage());
+        }
+        proc.destroy();
+        log.debug("Stopped exec worker " + proc.pid() + " after " + useCount + " requests");
+    }
+
+    /**
+     * The response of a worker to a single request.
+     */
+    static final class Response {
+
+        private final int retVal;
+        private final String text;
+
+        Response(int retVal, @NonNull final String text) {
+            this.retVal = retVal;
+            this.text = text;
+        }
+
+        /**
+         * Parses a response line of the form <code>&lt;return value&gt;[ &lt;text&gt;]</code>.
+         *
+         * @param line The response line.
+         * @return The parsed response.
+         * @throws IOException if the line does not start with an integer return value.
+         */
+        static Response parse(@NonNull final String line) throws IOException {
+            final int sepIdx = line.indexOf(' ');
+            final String retValStr = (sepIdx < 0) ? line : line.substring(0, sepIdx);
+            try {
+                final int retVal = Integer.parseInt(retValStr.strip());
+                return new Response(retVal, (sepIdx < 0) ? "" : line.substring(sepIdx + 1));
+            } catch (final NumberFormatException ex) {
+                throw new IOException("Invalid worker response: " + line);
+            }
+        }
+
+        int getRetVal() {
+            return retVal;
+        }
+
+        String getText() {
+            return text;
+        }
+    }
+}
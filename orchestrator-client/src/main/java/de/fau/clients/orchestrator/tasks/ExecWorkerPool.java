@@ -0,0 +1,234 @@
+package de.fau.clients.orchestrator.tasks;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Singleton pool of warm <code>ExecWorker</code>s, grouped by their start command. Tasks acquire
+ * an idle worker for a request and hand it back afterwards. Workers are recycled after a maximum
+ * number of uses or when a request failed. The number of running workers per command is limited,
+ * further tasks wait until a worker becomes available. All workers get terminated on shutdown of
+ * the JVM.
+ *
+ * @see ExecWorker
+ */
+@Slf4j
+final class ExecWorkerPool {
+
+    /**
+     * The maximum number of idle workers kept per command. Additional workers, which were started
+     * to serve concurrent tasks, are terminated on release.
+     */
+    static final int MAX_IDLE_WORKERS_PER_COMMAND = 4;
+    /**
+     * The default maximum number of running (idle and busy) workers per command.
+     */
+    static final int MAX_WORKERS_PER_COMMAND = 8;
+    /**
+     * The interval in which the watchdog checks whether the thread of a pending request was
+     * interrupted.
+     */
+    static final long INTERRUPT_CHECK_INTERVAL_IN_MS = 100;
+    private final Map<List<String>, Deque<ExecWorker>> idleWorkerMap = new HashMap<>();
+    private final Map<List<String>, Integer> workerCountMap = new HashMap<>();
+    private final int maxWorkersPerCommand;
+    private final ScheduledExecutorService watchdog;
+    private boolean isClosed = false;
+
+    /**
+     * Constructor. Pools which are not obtained by <code>getInstance()</code> have to be closed by
+     * the owner.
+     *
+     * @param maxWorkersPerCommand The maximum number of running workers per command.
+     */
+    ExecWorkerPool(int maxWorkersPerCommand) {
+        if (maxWorkersPerCommand < 1) {
+            throw new IllegalArgumentException("Max. workers per command must be positive.");
+        }
+        this.maxWorkersPerCommand = maxWorkersPerCommand;
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "exec-worker-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    static ExecWorkerPool getInstance() {
+        return ExecWorkerPoolHolder.INSTANCE;
+    }
+
+    /**
+     * Gets an idle worker for the given command or starts a new one, if none is available. Blocks
+     * while the maximum number of workers for this command is running and none of them is idle.
+     *
+     * @param command The command and arguments to start the worker.
+     * @return The worker for exclusive use until <code>release()</code> is called.
+     * @throws IOException if a new worker can not be started or the pool is closed.
+     * @throws InterruptedException if the thread was interrupted while waiting for a worker.
+     */
+    ExecWorker acquire(@NonNull final List<String> command)
+            throws IOException, InterruptedException {
+        synchronized (idleWorkerMap) {
+            while (true) {
+                if (isClosed) {
+                    throw new IOException("Worker pool is closed.");
+                }
+                final Deque<ExecWorker> idleWorkers = idleWorkerMap.get(command);
+                while (idleWorkers != null && !idleWorkers.isEmpty()) {
+                    final ExecWorker worker = idleWorkers.pollFirst();
+                    if (worker.isAlive()) {
+                        return worker;
+                    }
+                    worker.destroy();
+                    decrementWorkerCount(command);
+                }
+                if (getWorkerCount(command) < maxWorkersPerCommand) {
+                    // reserve the slot for the new worker
+                    workerCountMap.merge(command, 1, Integer::sum);
+                    break;
+                }
+                idleWorkerMap.wait();
+            }
+        }
+        // start the process outside of the lock, since this may take a while
+        try {
+            return new ExecWorker(command);
+        } catch (IOException | RuntimeException ex) {
+            synchronized (idleWorkerMap) {
+                decrementWorkerCount(command);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Hands a worker back to the pool. The worker gets terminated instead, if it is not reusable,
+     * has reached the maximum number of uses or the pool is full.
+     *
+     * @param worker The worker to release.
+     * @param isReusable <code>false</code> if the last request failed and the worker is in an
+     * unknown state.
+     * @param maxUses The maximum number of requests a worker may handle.
+     */
+    void release(@NonNull final ExecWorker worker, boolean isReusable, int maxUses) {
+        if (isReusable && worker.getUseCount() < maxUses && worker.isAlive()) {
+            synchronized (idleWorkerMap) {
+                if (!isClosed) {
+                    final Deque<ExecWorker> idleWorkers = idleWorkerMap.computeIfAbsent(
+                            worker.getCommand(), cmd -> new ArrayDeque<>());
+                    if (idleWorkers.size() < MAX_IDLE_WORKERS_PER_COMMAND) {
+                        // LIFO keeps the most recently used (hot) workers busy
+                        idleWorkers.offerFirst(worker);
+                        idleWorkerMap.notifyAll();
+                        return;
+                    }
+                }
+            }
+        }
+        worker.destroy();
+        synchronized (idleWorkerMap) {
+            decrementWorkerCount(worker.getCommand());
+        }
+    }
+
+    /**
+     * Kills the given worker when the timeout expires. The returned future must be canceled, if
+     * the request finished in time.
+     *
+     * @param worker The worker to watch.
+     * @param timeoutInSec The timeout in seconds.
+     * @return The future of the scheduled kill.
+     */
+    ScheduledFuture<?> scheduleKill(@NonNull final ExecWorker worker, long timeoutInSec) {
+        return watchdog.schedule(worker::kill, timeoutInSec, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Kills the given worker as soon as the requesting thread gets interrupted. This is needed to
+     * cancel a request, since a blocked read of the response does not react to interrupts. The
+     * returned future must be canceled, when the request finished.
+     *
+     * @param worker The worker to watch.
+     * @param requester The thread waiting for the response of the worker.
+     * @return The future of the periodic check.
+     */
+    ScheduledFuture<?> scheduleInterruptCheck(
+            @NonNull final ExecWorker worker,
+            @NonNull final Thread requester
+    ) {
+        return watchdog.scheduleWithFixedDelay(() -> {
+            if (requester.isInterrupted()) {
+                worker.kill();
+            }
+        }, INTERRUPT_CHECK_INTERVAL_IN_MS, INTERRUPT_CHECK_INTERVAL_IN_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the number of idle workers for the given command.
+     *
+     * @param command The command and arguments of the worker.
+     * @return The number of idle workers.
+     */
+    int getIdleWorkerCount(@NonNull final List<String> command) {
+        synchronized (idleWorkerMap) {
+            final Deque<ExecWorker> idleWorkers = idleWorkerMap.get(command);
+            return (idleWorkers != null) ? idleWorkers.size() : 0;
+        }
+    }
+
+    /**
+     * Gets the number of running (idle and busy) workers for the given command.
+     *
+     * @param command The command and arguments of the worker.
+     * @return The number of running workers.
+     */
+    int getWorkerCount(@NonNull final List<String> command) {
+        synchronized (idleWorkerMap) {
+            return workerCountMap.getOrDefault(command, 0);
+        }
+    }
+
+    /**
+     * Terminates all idle workers and rejects further requests. Busy workers are terminated on
+     * release.
+     */
+    void close() {
+        final List<ExecWorker> workers = new ArrayList<>();
+        synchronized (idleWorkerMap) {
+            isClosed = true;
+            idleWorkerMap.values().forEach(workers::addAll);
+            idleWorkerMap.clear();
+            // wake up waiting tasks, so they fail instead of blocking forever
+            idleWorkerMap.notifyAll();
+        }
+        workers.forEach(ExecWorker::destroy);
+        watchdog.shutdownNow();
+    }
+
+    private void decrementWorkerCount(final List<String> command) {
+        workerCountMap.computeIfPresent(command, (cmd, count) -> (count > 1) ? count - 1 : null);
+        idleWorkerMap.notifyAll();
+    }
+
+    private static class ExecWorkerPoolHolder {
+
+        private static final ExecWorkerPool INSTANCE = createInstance();
+
+        private static ExecWorkerPool createInstance() {
+            final ExecWorkerPool pool = new ExecWorkerPool(MAX_WORKERS_PER_COMMAND);
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "exec-worker-shutdown"));
+            return pool;
+        }
+    }
+}
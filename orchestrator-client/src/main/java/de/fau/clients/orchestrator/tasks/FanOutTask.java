@@ -0,0 +1,385 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.fau.clients.orchestrator.ctx.CommandContext;
+import de.fau.clients.orchestrator.ctx.ConnectionManager;
+import de.fau.clients.orchestrator.ctx.FeatureContext;
+import de.fau.clients.orchestrator.metrics.jfr.TaskExecutionEvent;
+import de.fau.clients.orchestrator.nodes.MaxDim;
+import de.fau.clients.orchestrator.nodes.NodeFactory;
+import de.fau.clients.orchestrator.utils.IconProvider;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.BorderFactory;
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.JTextArea;
+import javax.swing.SpinnerNumberModel;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Task which executes the same SiLA command on multiple equivalent servers at the same time. The
+ * target servers are either given explicitly or are all online servers offering the feature of the
+ * command. The calls are executed in parallel, limited by the maximum concurrency of the model, and
+ * their results and states are combined into one result.
+ *
+ * The result is a JSON object with an entry per server UUID, holding the <code>state</code> and
+ * the <code>result</code> of the call on this server. The task finishes successfully only if the
+ * calls on all servers succeeded.
+ *
+ * @see FanOutTaskModel
+ */
+@Slf4j
+public class FanOutTask extends QueueTask {
+
+    private static final ConnectionManager manager = ConnectionManager.getInstance();
+    private static final ResourceManager resourceManager = ResourceManager.getInstance();
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private final FanOutTaskModel fanOutModel;
+    private volatile JsonNode lastResultNode = null;
+    private boolean isPanelBuilt = false;
+    private JPanel panel = null;
+    private JButton execBtn = null;
+    private JTextArea serversTextArea = null;
+    private JSpinner concurrencySpinner = null;
+    private JTextArea paramsTextArea = null;
+    private JLabel validationLabel = null;
+
+    public FanOutTask(@NonNull final FanOutTaskModel fanOutModel) {
+        this.fanOutModel = fanOutModel;
+    }
+
+    /**
+     * Creates a fan-out task for the given command, which targets all servers offering its
+     * feature. The parameters are initialized with the default values of the command.
+     *
+     * @param commandCtx The command to execute.
+     */
+    public FanOutTask(@NonNull final CommandContext commandCtx) {
+        final FeatureContext featCtx = commandCtx.getFeatureCtx();
+        this.fanOutModel = new FanOutTaskModel(
+                featCtx.getFullyQualifiedIdentifier(),
+                commandCtx.getCommand().getIdentifier());
+        if (!commandCtx.getCommand().getParameter().isEmpty()) {
+            fanOutModel.setCommandParams(NodeFactory.createFromElements(
+                    featCtx,
+                    commandCtx.getCommand().getParameter()).toJson());
+        }
+    }
+
+    @Override
+    public TaskModel getCurrentTaskModel() {
+        if (isPanelBuilt) {
+            validateView();
+        }
+        return fanOutModel;
+    }
+
+    /**
+     * Stores the settings of the view in the model and shows the error in the panel, if the
+     * settings are invalid. The model keeps its previous settings in this case.
+     *
+     * @return <code>true</code> if the settings are valid.
+     */
+    private boolean validateView() {
+        try {
+            updateModelFromView();
+            validationLabel.setVisible(false);
+            return true;
+        } catch (final IllegalArgumentException ex) {
+            log.warn("Fan-out settings not updated: " + ex.getMessage());
+            validationLabel.setText(ex.getMessage());
+            validationLabel.setVisible(true);
+            return false;
+        }
+    }
+
+    /**
+     * Stores the settings of the view in the model.
+     *
+     * @throws IllegalArgumentException if a server UUID or the parameters are invalid.
+     */
+    private void updateModelFromView() {
+        final List<UUID> serverUuids = new ArrayList<>();
+        for (final String line : serversTextArea.getText().split("\n")) {
+            if (!line.isBlank()) {
+                try {
+                    serverUuids.add(UUID.fromString(line.strip()));
+                } catch (final IllegalArgumentException ex) {
+                    throw new IllegalArgumentException("Invalid server UUID '" + line.strip()
+                            + "'.");
+                }
+            }
+        }
+        final String params = paramsTextArea.getText();
+        final JsonNode paramsNode;
+        try {
+            paramsNode = params.isBlank() ? null : jsonMapper.readTree(params);
+        } catch (final JsonProcessingException ex) {
+            throw new IllegalArgumentException("Invalid parameters: " + ex.getOriginalMessage());
+        }
+        // only modify the model if all settings are valid
+        fanOutModel.setServerUuids(serverUuids);
+        fanOutModel.setMaxConcurrency((int) concurrencySpinner.getValue());
+        fanOutModel.setCommandParams(paramsNode);
+    }
+
+    /**
+     * Determines the servers to call. These are either the servers set in the model, or all
+     * online servers offering the feature of the command, ordered by their UUID.
+     *
+     * @return The UUIDs of the target servers.
+     */
+    private List<UUID> resolveTargetServers() {
+        if (!fanOutModel.getServerUuids().isEmpty()) {
+            return fanOutModel.getServerUuids();
+        }
+        return manager.getOnlineServerUuids(fanOutModel.getFeatureFqi());
+    }
+
+    @Override
+    public JsonNode getLastResultNode() {
+        return lastResultNode;
+    }
+
+    @Override
+    public String toString() {
+        return fanOutModel.getCommandId() + " (Fan-Out)";
+    }
+
+    @Override
+    public JPanel getPresenter() {
+        if (!isPanelBuilt) {
+            panel = new JPanel();
+            panel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+            panel.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createTitledBorder(this.toString()),
+                    BorderFactory.createEmptyBorder(10, 10, 10, 10)));
+            panel.setFocusCycleRoot(true);
+
+            final Box vBox = Box.createVerticalBox();
+            vBox.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            final JLabel cmdLabel = new JLabel("<html>Command: <b>" + fanOutModel.getFeatureFqi()
+                    + "/Command/" + fanOutModel.getCommandId() + "</b></html>");
+            cmdLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(cmdLabel);
+            vBox.add(Box.createVerticalStrut(10));
+            final JLabel serversLabel = new JLabel("Server UUIDs (one per line, empty for all "
+                    + "servers offering the feature)");
+            serversLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(serversLabel);
+            final StringBuilder sb = new StringBuilder();
+            for (final UUID serverUuid : fanOutModel.getServerUuids()) {
+                sb.append(serverUuid).append('\n');
+            }
+            serversTextArea = new JTextArea(sb.toString(), 4, 36);
+            final JScrollPane serversScrollPane = new JScrollPane(serversTextArea);
+            serversScrollPane.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            serversScrollPane.setMaximumSize(MaxDim.TEXT_FIELD_MULTI_LINE.getDim());
+            vBox.add(serversScrollPane);
+            vBox.add(Box.createVerticalStrut(10));
+            final JLabel concurrencyLabel = new JLabel("Max. Concurrent Calls");
+            concurrencyLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(concurrencyLabel);
+            concurrencySpinner = new JSpinner(new SpinnerNumberModel(
+                    fanOutModel.getMaxConcurrency(), 1, 256, 1));
+            concurrencySpinner.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            concurrencySpinner.setMaximumSize(MaxDim.NUMERIC_SPINNER.getDim());
+            vBox.add(concurrencySpinner);
+            vBox.add(Box.createVerticalStrut(10));
+            final JLabel paramsLabel = new JLabel("Parameters (JSON)");
+            paramsLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(paramsLabel);
+            paramsTextArea = new JTextArea(6, 36);
+            final JsonNode params = fanOutModel.getCommandParams();
+            if (params != null) {
+                try {
+                    paramsTextArea.setText(jsonMapper.writerWithDefaultPrettyPrinter()
+                            .writeValueAsString(params));
+                } catch (final JsonProcessingException ex) {
+                    log.error(ex.getMessage());
+                }
+            }
+            final JScrollPane paramsScrollPane = new JScrollPane(paramsTextArea);
+            paramsScrollPane.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            paramsScrollPane.setMaximumSize(MaxDim.TEXT_FIELD_MULTI_LINE.getDim());
+            vBox.add(paramsScrollPane);
+            validationLabel = new JLabel(IconProvider.STATUS_WARNING.getIcon());
+            validationLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            validationLabel.setVisible(false);
+            vBox.add(validationLabel);
+            // validate after focus was lost
+            final FocusAdapter validationListener = new FocusAdapter() {
+                @Override
+                public void focusLost(FocusEvent evt) {
+                    validateView();
+                }
+            };
+            serversTextArea.addFocusListener(validationListener);
+            paramsTextArea.addFocusListener(validationListener);
+            panel.add(vBox);
+            panel.add(Box.createVerticalStrut(20));
+            execBtn = new JButton("Execute", EXECUTE_ICON);
+            execBtn.addActionListener((evt) -> {
+                executeInBackground();
+            });
+            panel.add(execBtn);
+            isPanelBuilt = true;
+        }
+        return panel;
+    }
+
+    @Override
+    public void run() {
+        final TaskExecutionEvent execEvent = new TaskExecutionEvent();
+        execEvent.begin();
+        if (isPanelBuilt) {
+            execBtn.setEnabled(false);
+        }
+
+        startTimeStamp = OffsetDateTime.now();
+        lastResultNode = null;
+        TaskState oldState = taskState;
+        taskState = TaskState.RUNNING;
+        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        oldState = taskState;
+
+        String errMsg = null;
+        List<UUID> targets = List.of();
+        if (isPanelBuilt && !validateView()) {
+            errMsg = "Error: " + validationLabel.getText();
+        } else {
+            targets = resolveTargetServers();
+            if (targets.isEmpty()) {
+                errMsg = "Error: No server offering " + fanOutModel.getFeatureFqi() + " found.";
+            }
+        }
+
+        if (errMsg == null) {
+            taskState = executeOnServers(targets);
+        } else {
+            log.error(errMsg);
+            lastExecResult = errMsg;
+            taskState = TaskState.FINISHED_ERROR;
+        }
+        endTimeStamp = OffsetDateTime.now();
+        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        if (isPanelBuilt) {
+            execBtn.setEnabled(true);
+        }
+        commitExecutionEvent(execEvent);
+    }
+
+    /**
+     * Executes the command on the given servers in parallel and combines the results.
+     *
+     * @param targets The UUIDs of the servers to call.
+     * @return The combined state of all calls.
+     */
+    private TaskState executeOnServers(final List<UUID> targets) {
+        final List<CommandTask> subTasks = new ArrayList<>(targets.size());
+        for (final UUID serverUuid : targets) {
+            final CommandTaskModel cmdModel = new CommandTaskModel(
+                    serverUuid,
+                    fanOutModel.getFeatureId(),
+                    fanOutModel.getCommandId());
+            if (fanOutModel.getCommandParams() != null) {
+                // the parameters are only read, so all calls can share them
+                cmdModel.setCommandParams(fanOutModel.getCommandParams());
+            }
+            subTasks.add(new CommandTask(cmdModel));
+        }
+
+        final int threadCount = Math.min(fanOutModel.getMaxConcurrency(), subTasks.size());
+        final AtomicInteger threadIdx = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            final Thread thread = new Thread(runnable, "fan-out-" + threadIdx.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // the calls are covered by the resources held by this task and inherit its dispatch order
+        final TaskPriority priority = resourceManager.getCurrentPriority();
+        final Instant deadline = resourceManager.getCurrentDeadline();
+        // the error of a call which failed with an exception instead of a task state
+        final String[] callErrors = new String[subTasks.size()];
+        boolean wasInterrupted = false;
+        try {
+            final List<Future<?>> futures = new ArrayList<>(subTasks.size());
+            for (final CommandTask subTask : subTasks) {
+                futures.add(executor.submit(() -> resourceManager.execute(subTask,
+                        List.of(),
+                        priority,
+                        deadline)));
+            }
+            // wait for every call, so a failed call does not abort the others
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (final ExecutionException ex) {
+                    final Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+                    callErrors[i] = "Error: " + cause.getClass().getSimpleName() + ": "
+                            + cause.getMessage();
+                    log.error(callErrors[i]);
+                }
+            }
+        } catch (final InterruptedException ex) {
+            wasInterrupted = true;
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final ObjectNode results = jsonMapper.createObjectNode();
+        int successCount = 0;
+        for (int i = 0; i < subTasks.size(); i++) {
+            final CommandTask subTask = subTasks.get(i);
+            final ObjectNode entry = results.putObject(targets.get(i).toString());
+            if (callErrors[i] != null) {
+                entry.put("state", TaskState.FINISHED_ERROR.toString());
+                entry.put("result", callErrors[i]);
+                continue;
+            }
+            entry.put("state", subTask.getState().toString());
+            final JsonNode resultNode = (subTask.getState() == TaskState.FINISHED_SUCCESS)
+                    ? subTask.getLastResultNode()
+                    : null;
+            if (resultNode != null) {
+                entry.set("result", resultNode);
+            } else {
+                entry.put("result", subTask.getLastExecResult());
+            }
+            if (subTask.getState() == TaskState.FINISHED_SUCCESS) {
+                successCount++;
+            }
+        }
+        lastExecResult = results.toString();
+        lastResultNode = results;
+        log.info("Fan-out of " + fanOutModel.getCommandId() + " succeeded on " + successCount
+                + " of " + subTasks.size() + " servers"
+                + (wasInterrupted ? " (interrupted)" : ""));
+        return (!wasInterrupted && successCount == subTasks.size())
+                ? TaskState.FINISHED_SUCCESS
+                : TaskState.FINISHED_ERROR;
+    }
+}
@@ -0,0 +1,117 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * The data model of a <code>FanOutTask</code>, which executes the same command on multiple
+ * servers. The command is identified by the fully qualified identifier of its feature (e.g.
+ * <code>org.silastandard/examples/Thermostat/v1</code>) and the command identifier, so it is
+ * independent of a single server instance.
+ *
+ * @see FanOutTask
+ */
+@JsonInclude(Include.NON_NULL)
+@JsonPropertyOrder({"featureFqi", "commandId", "serverUuids", "maxConcurrency", "commandParams"})
+public class FanOutTaskModel extends TaskModel {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+    private final String featureFqi;
+    private final String commandId;
+    /**
+     * The target servers. If empty, all online servers offering the feature are targeted.
+     */
+    @JsonInclude(Include.NON_EMPTY)
+    private List<UUID> serverUuids = new ArrayList<>();
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private JsonNode commandParams = null;
+
+    /**
+     * Constructor.
+     *
+     * @param featureFqi The fully qualified identifier of the feature in the form
+     * <code>originator/category/identifier/version</code>.
+     * @param commandId The identifier of the command.
+     * @throws IllegalArgumentException if the feature identifier is malformed.
+     */
+    @JsonCreator
+    public FanOutTaskModel(
+            @JsonProperty("featureFqi") @NonNull final String featureFqi,
+            @JsonProperty("commandId") @NonNull final String commandId
+    ) {
+        if (featureFqi.split("/").length != 4) {
+            throw new IllegalArgumentException("Invalid fully qualified feature identifier: "
+                    + featureFqi);
+        }
+        this.featureFqi = featureFqi;
+        this.commandId = commandId;
+    }
+
+    public String getFeatureFqi() {
+        return featureFqi;
+    }
+
+    /**
+     * Gets the identifier of the feature without originator, category and version.
+     *
+     * @return The feature identifier.
+     */
+    @JsonIgnore
+    public String getFeatureId() {
+        return featureFqi.split("/")[2];
+    }
+
+    public String getCommandId() {
+        return commandId;
+    }
+
+    public List<UUID> getServerUuids() {
+        return serverUuids;
+    }
+
+    public void setServerUuids(@NonNull final List<UUID> serverUuids) {
+        this.serverUuids = new ArrayList<>(serverUuids);
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of servers which are called at the same time.
+     *
+     * @param maxConcurrency The maximum number of parallel calls.
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("value must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public JsonNode getCommandParams() {
+        return commandParams;
+    }
+
+    public void setCommandParams(final JsonNode commandParams) {
+        this.commandParams = commandParams;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + featureFqi + ", "
+                + commandId + ", "
+                + serverUuids + ", "
+                + maxConcurrency + ", "
+                + commandParams + ")";
+    }
+}
@@ -0,0 +1,267 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.fau.clients.orchestrator.metrics.jfr.TaskExecutionEvent;
+import de.fau.clients.orchestrator.nodes.MaxDim;
+import de.fau.clients.orchestrator.queue.SiloModule;
+import de.fau.clients.orchestrator.queue.SiloModuleCache;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.BorderFactory;
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Task which executes the tasks of another *.silo file inline, so shared sequences (e.g. washing
+ * or calibrating a plate) can be maintained in one file and reused by many task queues. The file
+ * is loaded through the <code>SiloModuleCache</code>, so it is only parsed again if it changed.
+ * Includes which lead back to an including module are rejected before any task is executed.
+ *
+ * The tasks of the module are executed one after another in the thread of this task, following
+ * their execution policies and holding their resources. Tasks without a priority of their own take
+ * the priority of this task, and their deadlines are relative to its start. Parameter bindings
+ * refer to the task IDs within the module. The result is a JSON object with the number of
+ * <code>executed</code> and <code>succeeded</code> tasks and the IDs of the failed tasks in
+ * <code>failedTaskIds</code>. The task finishes successfully only if all tasks of the module
+ * succeeded.
+ *
+ * @see IncludeTaskModel
+ * @see SiloModule
+ */
+@Slf4j
+public class IncludeTask extends QueueTask {
+
+    private static final SiloModuleCache moduleCache = SiloModuleCache.getInstance();
+    private static final ResourceManager resourceManager = ResourceManager.getInstance();
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private final IncludeTaskModel includeModel;
+    /**
+     * The directory relative module paths are resolved against or <code>null</code> for the
+     * working directory.
+     */
+    private final Path baseDir;
+    private volatile JsonNode lastResultNode = null;
+    private boolean isPanelBuilt = false;
+    private JPanel panel = null;
+    private JButton execBtn = null;
+    private JTextField siloFileTextField = null;
+
+    public IncludeTask() {
+        this(new IncludeTaskModel());
+    }
+
+    public IncludeTask(@NonNull final IncludeTaskModel includeModel) {
+        this(includeModel, null);
+    }
+
+    /**
+     * Creates a task including a module with a path relative to the given directory.
+     *
+     * @param includeModel The model of the task.
+     * @param baseDir The directory of the including *.silo file or <code>null</code> for the
+     * working directory.
+     */
+    IncludeTask(@NonNull final IncludeTaskModel includeModel, final Path baseDir) {
+        this.includeModel = includeModel;
+        this.baseDir = baseDir;
+    }
+
+    @Override
+    public TaskModel getCurrentTaskModel() {
+        if (isPanelBuilt) {
+            includeModel.setSiloFile(siloFileTextField.getText().strip());
+        }
+        return includeModel;
+    }
+
+    @Override
+    public JsonNode getLastResultNode() {
+        return lastResultNode;
+    }
+
+    @Override
+    public String toString() {
+        return includeModel.getSiloFile().isEmpty()
+                ? "Include"
+                : includeModel.getSiloFile() + " (Include)";
+    }
+
+    @Override
+    public JPanel getPresenter() {
+        if (!isPanelBuilt) {
+            panel = new JPanel();
+            panel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+            panel.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createTitledBorder("Include"),
+                    BorderFactory.createEmptyBorder(10, 10, 10, 10)));
+            panel.setFocusCycleRoot(true);
+
+            final Box vBox = Box.createVerticalBox();
+            vBox.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            final JLabel siloFileLabel = new JLabel("Module File (*.silo)");
+            siloFileLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(siloFileLabel);
+            siloFileTextField = new JTextField(includeModel.getSiloFile());
+            siloFileTextField.setToolTipText("<html>The tasks of this file are executed in place "
+                    + "of this task.<br>"
+                    + "Relative paths are resolved against the directory of the *.silo file this "
+                    + "task was loaded from,<br>"
+                    + "or against the working directory for a task added via the menu.<br>"
+                    + "Includes within a module are resolved against the directory of the "
+                    + "module.<br>"
+                    + "Current base: "
+                    + ((baseDir != null) ? baseDir : "working directory")
+                    + "</html>");
+            siloFileTextField.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            siloFileTextField.setMaximumSize(MaxDim.TEXT_FIELD.getDim());
+            vBox.add(siloFileTextField);
+            panel.add(vBox);
+            panel.add(Box.createVerticalStrut(20));
+            execBtn = new JButton("Execute", EXECUTE_ICON);
+            execBtn.addActionListener((evt) -> {
+                executeInBackground();
+            });
+            panel.add(execBtn);
+            isPanelBuilt = true;
+        }
+        return panel;
+    }
+
+    @Override
+    public void run() {
+        final TaskExecutionEvent execEvent = new TaskExecutionEvent();
+        execEvent.begin();
+        if (isPanelBuilt) {
+            execBtn.setEnabled(false);
+            includeModel.setSiloFile(siloFileTextField.getText().strip());
+        }
+
+        startTimeStamp = OffsetDateTime.now();
+        lastResultNode = null;
+        TaskState oldState = taskState;
+        taskState = TaskState.RUNNING;
+        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        oldState = taskState;
+
+        String errMsg = null;
+        try {
+            if (includeModel.getSiloFile().isBlank()) {
+                throw new IllegalArgumentException("No module file given.");
+            }
+            Path siloFile = Path.of(includeModel.getSiloFile());
+            if (baseDir != null) {
+                siloFile = baseDir.resolve(siloFile);
+            }
+            moduleCache.checkIncludes(siloFile);
+            taskState = executeModule(moduleCache.getModule(siloFile));
+        } catch (final IOException ex) {
+            errMsg = "Error: Could not load module: " + ex.getMessage();
+        } catch (final IllegalArgumentException ex) {
+            errMsg = "Error: " + ex.getMessage();
+        }
+
+        if (errMsg != null) {
+            log.error(errMsg);
+            lastExecResult = errMsg;
+            taskState = TaskState.FINISHED_ERROR;
+        }
+        endTimeStamp = OffsetDateTime.now();
+        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        if (isPanelBuilt) {
+            execBtn.setEnabled(true);
+        }
+        commitExecutionEvent(execEvent);
+    }
+
+    /**
+     * Executes the tasks of the given module in order. Like in a queue run, the execution stops
+     * after a failed task unless its policy is <code>ExecPolicy.PROCEED_AFTER_ERROR</code>, and
+     * when this thread gets interrupted.
+     *
+     * @param module The module to execute.
+     * @return The combined state of the executed tasks.
+     * @throws IOException if the tasks of the module can not be created.
+     * @throws IllegalArgumentException if the module contains an unknown task type.
+     */
+    private TaskState executeModule(final SiloModule module) throws IOException {
+        final List<TaskEntry> entries = module.createEntries();
+        final Map<Integer, QueueTask> taskMap = new HashMap<>();
+        final List<QueueTask> tasks = new ArrayList<>(entries.size());
+        for (final TaskEntry entry : entries) {
+            final TaskModel taskModel = entry.getTaskModel();
+            final QueueTask task = TaskFactory.createTask(taskModel, module.getPath().getParent());
+            task.setTaskLookup(taskMap::get);
+            taskMap.put(entry.getTaskId(), task);
+            tasks.add(task);
+        }
+
+        // tasks without own priority inherit the one of this task, deadlines start now
+        final RunSchedule schedule = new RunSchedule(null, null);
+        int executedCount = 0;
+        int successCount = 0;
+        boolean isHalted = false;
+        final ArrayNode failedTaskIds = jsonMapper.createArrayNode();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                isHalted = true;
+                break;
+            }
+            final TaskEntry entry = entries.get(i);
+            final QueueTask task = tasks.get(i);
+            final TaskPriority priority = schedule.getPriority(entry.getTaskPriority());
+            final Instant deadline = schedule.getDeadline(entry.getTaskDeadlineInMs());
+            final Runnable attempt = () -> resourceManager.execute(task,
+                    entry.getTaskResources(),
+                    priority,
+                    deadline);
+            attempt.run();
+            if (entry.getTaskPolicy() == ExecPolicy.RETRY) {
+                final RetrySettings retry = (entry.getTaskRetry() != null)
+                        ? entry.getTaskRetry()
+                        : new RetrySettings();
+                retry.retry(task, attempt, () -> Thread.currentThread().isInterrupted());
+            }
+            executedCount++;
+            if (task.getState() == TaskState.FINISHED_SUCCESS) {
+                successCount++;
+            } else {
+                failedTaskIds.add(entry.getTaskId());
+                if (entry.getTaskPolicy() != ExecPolicy.PROCEED_AFTER_ERROR) {
+                    isHalted = true;
+                    break;
+                }
+            }
+        }
+
+        final ObjectNode summary = jsonMapper.createObjectNode();
+        summary.put("module", module.getPath().toString());
+        summary.put("tasks", tasks.size());
+        summary.put("executed", executedCount);
+        summary.put("succeeded", successCount);
+        summary.set("failedTaskIds", failedTaskIds);
+        lastExecResult = summary.toString();
+        lastResultNode = summary;
+        log.info("Module " + module.getPath() + ": " + successCount + " of " + tasks.size()
+                + " tasks succeeded" + (isHalted ? " (halted)" : ""));
+        return (!isHalted && successCount == tasks.size())
+                ? TaskState.FINISHED_SUCCESS
+                : TaskState.FINISHED_ERROR;
+    }
+}
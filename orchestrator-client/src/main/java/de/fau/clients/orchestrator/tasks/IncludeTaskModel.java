@@ -0,0 +1,39 @@
+package de.fau.clients.orchestrator.tasks;
+
+import lombok.NonNull;
+
+/**
+ * The data model of an <code>IncludeTask</code>, which executes the tasks of another *.silo file
+ * as reusable module.
+ *
+ * @see IncludeTask
+ */
+public class IncludeTaskModel extends TaskModel {
+
+    /**
+     * The path to the included *.silo file. A relative path is resolved against the directory of
+     * the including module, or against the working directory if the task is part of the task
+     * queue.
+     */
+    private String siloFile = "";
+
+    public IncludeTaskModel() {
+    }
+
+    public IncludeTaskModel(@NonNull final String siloFile) {
+        this.siloFile = siloFile;
+    }
+
+    public String getSiloFile() {
+        return siloFile;
+    }
+
+    public void setSiloFile(@NonNull final String siloFile) {
+        this.siloFile = siloFile;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + siloFile + ")";
+    }
+}
@@ -1,20 +1,33 @@
 package de.fau.clients.orchestrator.tasks;
 
+import de.fau.clients.orchestrator.metrics.jfr.TaskExecutionEvent;
 import de.fau.clients.orchestrator.nodes.MaxDim;
 import static de.fau.clients.orchestrator.tasks.QueueTask.TASK_STATE_PROPERTY;
+import java.awt.event.ActionListener;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.time.OffsetDateTime;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComponent;
 import javax.swing.JFormattedTextField;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JSpinner;
 import javax.swing.JTextField;
+import javax.swing.SpinnerNumberModel;
 import javax.swing.text.NumberFormatter;
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -23,12 +36,22 @@
 @Slf4j
 public class LocalExecTask extends QueueTask {
 
+    /**
+     * The time to wait for the remaining output after the process has terminated.
+     */
+    private static final long DRAIN_TIMEOUT_IN_MS = 2000;
     private final LocalExecTaskModel execTaskModel;
     private int exitValue = -1;
+    private ExecWorkerPool workerPool = null;
     private boolean isPanelBuilt = false;
     private JPanel panel = null;
     private JTextField execTextField = null;
     private JFormattedTextField expRetValTextField = null;
+    private JSpinner timeoutSpinner = null;
+    private JTextField outputFileTextField = null;
+    private JCheckBox workerModeCheckBox = null;
+    private JTextField workerRequestTextField = null;
+    private JSpinner workerMaxUsesSpinner = null;
     private JButton execBtn = null;
 
     public LocalExecTask() {
@@ -48,21 +71,41 @@ public LocalExecTask(final LocalExecTaskModel execTaskModel) {
         this.execTaskModel = execTaskModel;
     }
 
+    /**
+     * Sets the pool which provides the workers in worker mode. The shared instance is used by
+     * default.
+     *
+     * @param workerPool The worker pool.
+     */
+    void setWorkerPool(@NonNull final ExecWorkerPool workerPool) {
+        this.workerPool = workerPool;
+    }
+
     @Override
     public TaskModel getCurrentTaskModel() {
         if (isPanelBuilt) {
-            execTaskModel.setExec(execTextField.getText());
-            execTaskModel.setExpRetVal((int) expRetValTextField.getValue());
+            updateModelFromView();
         }
         return execTaskModel;
     }
 
+    private void updateModelFromView() {
+        execTaskModel.setExec(execTextField.getText());
+        execTaskModel.setExpRetVal((int) expRetValTextField.getValue());
+        execTaskModel.setTimeoutInSec(((Number) timeoutSpinner.getValue()).longValue());
+        execTaskModel.setOutputFile(outputFileTextField.getText());
+        execTaskModel.setWorkerMode(workerModeCheckBox.isSelected());
+        execTaskModel.setWorkerRequest(workerRequestTextField.getText());
+        execTaskModel.setWorkerMaxUses((int) workerMaxUsesSpinner.getValue());
+    }
+
     @Override
     public void run() {
+        final TaskExecutionEvent execEvent = new TaskExecutionEvent();
+        execEvent.begin();
         if (isPanelBuilt) {
             execBtn.setEnabled(false);
-            execTaskModel.setExec(execTextField.getText());
-            execTaskModel.setExpRetVal((int) expRetValTextField.getValue());
+            updateModelFromView();
         }
 
         startTimeStamp = OffsetDateTime.now();
@@ -71,25 +114,207 @@ public void run() {
         stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
         oldState = taskState;
 
+        exitValue = -1;
+        final boolean isAborted = execTaskModel.isWorkerMode()
+                ? execWorkerRequest()
+                : execProcess();
+        log.info("Local exec returned with: " + exitValue);
+        taskState = (!isAborted && exitValue == execTaskModel.getExpRetVal())
+                ? TaskState.FINISHED_SUCCESS
+                : TaskState.FINISHED_ERROR;
+        endTimeStamp = OffsetDateTime.now();
+        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        if (isPanelBuilt) {
+            execBtn.setEnabled(true);
+        }
+        commitExecutionEvent(execEvent);
+    }
+
+    /**
+     * Starts a new process for the command and waits for its termination.
+     *
+     * @return <code>true</code> if the process was killed due to a timeout or an interrupt.
+     */
+    private boolean execProcess() {
         final ProcessBuilder pb = new ProcessBuilder(execTaskModel.getExecWithArgsAsList());
+        final long timeoutInSec = execTaskModel.getTimeoutInSec();
+        boolean isTimedOut = false;
+        boolean wasCanceled = false;
+        String errMsg = null;
+        OutputCapture stdoutCapture = null;
+        OutputCapture stderrCapture = null;
+        OutputStream spillOut = null;
+        Process proc = null;
         try {
-            Process proc = pb.start();
+            if (!execTaskModel.getOutputFile().isEmpty()) {
+                spillOut = new BufferedOutputStream(Files.newOutputStream(
+                        Paths.get(execTaskModel.getOutputFile())));
+            }
+            proc = pb.start();
+            // the process has no input, so it must not wait for it
+            proc.getOutputStream().close();
+            stdoutCapture = new OutputCapture("local-exec-stdout",
+                    proc.getInputStream(),
+                    OutputCapture.DEFAULT_HEAD_SIZE,
+                    OutputCapture.DEFAULT_TAIL_SIZE,
+                    spillOut);
+            stderrCapture = new OutputCapture("local-exec-stderr",
+                    proc.getErrorStream(),
+                    OutputCapture.DEFAULT_HEAD_SIZE,
+                    OutputCapture.DEFAULT_TAIL_SIZE,
+                    spillOut);
+            stdoutCapture.start();
+            stderrCapture.start();
+            if (timeoutInSec > 0) {
+                if (!proc.waitFor(timeoutInSec, TimeUnit.SECONDS)) {
+                    isTimedOut = true;
+                    killProcessTree(proc);
+                }
+            }
             exitValue = proc.waitFor();
-        } catch (IOException ex) {
+        } catch (IOException | InvalidPathException ex) {
             log.error(ex.getMessage());
+            errMsg = ex.getMessage();
             exitValue = 2;
         } catch (InterruptedException ex) {
+            killProcessTree(proc);
+            wasCanceled = true;
+            errMsg = "Execution was interrupted.";
             Thread.currentThread().interrupt();
         }
-        log.info("Local exec returned with: " + exitValue);
-        taskState = (exitValue == execTaskModel.getExpRetVal())
-                ? TaskState.FINISHED_SUCCESS
-                : TaskState.FINISHED_ERROR;
-        endTimeStamp = OffsetDateTime.now();
-        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
-        if (isPanelBuilt) {
-            execBtn.setEnabled(true);
+
+        try {
+            // collect the remaining output, unless an orphaned child process keeps the pipe open
+            if (stdoutCapture != null && !stdoutCapture.await(DRAIN_TIMEOUT_IN_MS)) {
+                log.warn("Output of local exec was not closed in time.");
+            }
+            if (stderrCapture != null && !stderrCapture.await(DRAIN_TIMEOUT_IN_MS)) {
+                log.warn("Error output of local exec was not closed in time.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (spillOut != null) {
+            try {
+                synchronized (spillOut) {
+                    spillOut.close();
+                }
+            } catch (IOException ex) {
+                log.error(ex.getMessage());
+            }
+        }
+        if (isTimedOut) {
+            errMsg = "Timeout: Process killed after " + timeoutInSec + " sec.";
+            log.warn(errMsg);
+        }
+        lastExecResult = formatResult(errMsg, stdoutCapture, stderrCapture);
+        return isTimedOut || wasCanceled;
+    }
+
+    /**
+     * Sends the request to a warm worker of the <code>ExecWorkerPool</code> and waits for the
+     * response. The worker is handed back to the pool afterwards, unless the request failed.
+     *
+     * @return <code>true</code> if the worker was killed due to a timeout or the task was
+     * interrupted while waiting for a worker or its response.
+     */
+    private boolean execWorkerRequest() {
+        final ExecWorkerPool pool = (workerPool != null)
+                ? workerPool
+                : ExecWorkerPool.getInstance();
+        final long timeoutInSec = execTaskModel.getTimeoutInSec();
+        ExecWorker worker = null;
+        ScheduledFuture<?> killFuture = null;
+        ScheduledFuture<?> interruptCheckFuture = null;
+        boolean isReusable = false;
+        boolean isTimedOut = false;
+        boolean wasCanceled = false;
+        try {
+            worker = pool.acquire(execTaskModel.getExecWithArgsAsList());
+            if (timeoutInSec > 0) {
+                killFuture = pool.scheduleKill(worker, timeoutInSec);
+            }
+            interruptCheckFuture = pool.scheduleInterruptCheck(worker, Thread.currentThread());
+            final ExecWorker.Response response = worker.request(execTaskModel.getWorkerRequest());
+            exitValue = response.getRetVal();
+            lastExecResult = response.getText();
+            isReusable = true;
+            if (!execTaskModel.getOutputFile().isEmpty()) {
+                Files.writeString(Paths.get(execTaskModel.getOutputFile()), lastExecResult + "\n");
+            }
+        } catch (IOException | InvalidPathException ex) {
+            exitValue = 2;
+            lastExecResult = ex.getMessage();
+            if (worker != null && worker.isKilled()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    wasCanceled = true;
+                    lastExecResult = "Execution was interrupted.";
+                } else {
+                    isTimedOut = true;
+                    lastExecResult = "Timeout: Worker killed after " + timeoutInSec + " sec.";
+                }
+            }
+            log.error(lastExecResult);
+        } catch (InterruptedException ex) {
+            wasCanceled = true;
+            lastExecResult = "Execution was interrupted while waiting for a worker.";
+            Thread.currentThread().interrupt();
+        } finally {
+            if (killFuture != null) {
+                killFuture.cancel(false);
+            }
+            if (interruptCheckFuture != null) {
+                interruptCheckFuture.cancel(false);
+            }
+            if (worker != null) {
+                pool.release(worker,
+                        isReusable && !worker.isKilled(),
+                        execTaskModel.getWorkerMaxUses());
+            }
         }
+        return isTimedOut || wasCanceled;
+    }
+
+    /**
+     * Forcibly terminates the given process including all its descendants.
+     *
+     * @param proc The process to kill or <code>null</code>.
+     */
+    private static void killProcessTree(final Process proc) {
+        if (proc == null) {
+            return;
+        }
+        proc.descendants().forEach(ProcessHandle::destroyForcibly);
+        proc.destroyForcibly();
+    }
+
+    /**
+     * Combines the captured output of the process to the result text.
+     *
+     * @param errMsg An error message to put in front or <code>null</code>.
+     * @param stdoutCapture The captured standard output or <code>null</code>.
+     * @param stderrCapture The captured error output or <code>null</code>.
+     * @return The result text.
+     */
+    private static String formatResult(
+            final String errMsg,
+            final OutputCapture stdoutCapture,
+            final OutputCapture stderrCapture
+    ) {
+        final StringBuilder sb = new StringBuilder();
+        if (errMsg != null) {
+            sb.append(errMsg).append('\n');
+        }
+        if (stdoutCapture != null) {
+            sb.append(stdoutCapture.getText());
+        }
+        if (stderrCapture != null && stderrCapture.getTotalBytes() > 0) {
+            if (sb.length() > 0 && sb.charAt(sb.length() - 1) != '\n') {
+                sb.append('\n');
+            }
+            sb.append("[stderr]\n").append(stderrCapture.getText());
+        }
+        return sb.toString().strip();
     }
 
     @Override
@@ -131,11 +356,64 @@ public JPanel getPresenter() {
             expRetValTextField.setMaximumSize(MaxDim.NUMERIC_SPINNER.getDim());
             expRetValTextField.setValue(execTaskModel.getExpRetVal());
             vBox.add(expRetValTextField);
+            vBox.add(Box.createVerticalStrut(10));
+            final JLabel timeoutLabel = new JLabel("Timeout in Seconds (0 = none)");
+            timeoutLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(timeoutLabel);
+            timeoutSpinner = new JSpinner(new SpinnerNumberModel(
+                    Long.valueOf(execTaskModel.getTimeoutInSec()),
+                    Long.valueOf(0),
+                    Long.valueOf(Long.MAX_VALUE),
+                    Long.valueOf(1)));
+            timeoutSpinner.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            timeoutSpinner.setMaximumSize(MaxDim.NUMERIC_SPINNER.getDim());
+            vBox.add(timeoutSpinner);
+            vBox.add(Box.createVerticalStrut(10));
+            final JLabel outputFileLabel = new JLabel("Output File (optional)");
+            outputFileLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(outputFileLabel);
+            outputFileTextField = new JTextField(execTaskModel.getOutputFile());
+            outputFileTextField.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            outputFileTextField.setMaximumSize(MaxDim.TEXT_FIELD.getDim());
+            outputFileTextField.setToolTipText(
+                    "Writes the complete output of the process to this file.");
+            vBox.add(outputFileTextField);
+            vBox.add(Box.createVerticalStrut(10));
+            workerModeCheckBox = new JCheckBox("Worker Mode", execTaskModel.isWorkerMode());
+            workerModeCheckBox.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            workerModeCheckBox.setToolTipText("<html>Keeps the started process alive and sends "
+                    + "the request as line to its stdin.<br>"
+                    + "The process must answer with a line like \"0 result text\" on its "
+                    + "stdout.</html>");
+            vBox.add(workerModeCheckBox);
+            final JLabel workerRequestLabel = new JLabel("Worker Request");
+            workerRequestLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(workerRequestLabel);
+            workerRequestTextField = new JTextField(execTaskModel.getWorkerRequest());
+            workerRequestTextField.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            workerRequestTextField.setMaximumSize(MaxDim.TEXT_FIELD.getDim());
+            vBox.add(workerRequestTextField);
+            vBox.add(Box.createVerticalStrut(10));
+            final JLabel workerMaxUsesLabel = new JLabel("Max. Requests per Worker");
+            workerMaxUsesLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(workerMaxUsesLabel);
+            workerMaxUsesSpinner = new JSpinner(new SpinnerNumberModel(
+                    execTaskModel.getWorkerMaxUses(), 1, Integer.MAX_VALUE, 1));
+            workerMaxUsesSpinner.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            workerMaxUsesSpinner.setMaximumSize(MaxDim.NUMERIC_SPINNER.getDim());
+            vBox.add(workerMaxUsesSpinner);
+            final ActionListener workerModeListener = (evt) -> {
+                final boolean isWorkerMode = workerModeCheckBox.isSelected();
+                workerRequestTextField.setEnabled(isWorkerMode);
+                workerMaxUsesSpinner.setEnabled(isWorkerMode);
+            };
+            workerModeCheckBox.addActionListener(workerModeListener);
+            workerModeListener.actionPerformed(null);
             panel.add(vBox);
             panel.add(Box.createVerticalStrut(20));
             execBtn = new JButton("Execute", EXECUTE_ICON);
             execBtn.addActionListener((evt) -> {
-                new Thread(this).start();
+                executeInBackground();
             });
             panel.add(execBtn);
             isPanelBuilt = true;
@@ -11,8 +11,26 @@
  */
 public class LocalExecTaskModel extends TaskModel {
 
+    public static final int DEFAULT_WORKER_MAX_USES = 100;
     private String exec = "";
     private int expRetVal = 0;
+    /**
+     * The maximum execution time in seconds or <code>0</code> for no limit.
+     */
+    private long timeoutInSec = 0;
+    /**
+     * The file to write the complete output to or an empty string to keep only the captured part.
+     */
+    private String outputFile = "";
+    /**
+     * Whether the command starts a long-lived worker from the <code>ExecWorkerPool</code>.
+     */
+    private boolean workerMode = false;
+    /**
+     * The request line sent to the worker.
+     */
+    private String workerRequest = "";
+    private int workerMaxUses = DEFAULT_WORKER_MAX_USES;
 
     public LocalExecTaskModel() {
     }
@@ -69,4 +87,88 @@ public int getExpRetVal() {
     public void setExpRetVal(int expRetVal) {
         this.expRetVal = expRetVal;
     }
+
+    public long getTimeoutInSec() {
+        return timeoutInSec;
+    }
+
+    /**
+     * Sets the maximum execution time. The process and all its child processes get killed when the
+     * time is exceeded.
+     *
+     * @param timeoutInSec The timeout in seconds or <code>0</code> for no limit.
+     */
+    public void setTimeoutInSec(long timeoutInSec) {
+        if (timeoutInSec < 0) {
+            throw new IllegalArgumentException("value must not be negative");
+        }
+        this.timeoutInSec = timeoutInSec;
+    }
+
+    public String getOutputFile() {
+        return outputFile;
+    }
+
+    /**
+     * Sets the file to write the complete output (stdout and stderr) of the process to. An existing
+     * file gets overwritten on each execution.
+     *
+     * @param outputFile The file path or an empty string to disable the output file.
+     */
+    public void setOutputFile(final String outputFile) {
+        this.outputFile = (outputFile != null) ? outputFile.strip() : "";
+    }
+
+    public boolean isWorkerMode() {
+        return workerMode;
+    }
+
+    /**
+     * Enables the worker mode. Instead of starting a new process on each execution, the command
+     * starts a long-lived worker process, which is reused by all tasks with the same command. The
+     * worker receives the request line on its stdin and has to answer with a single line on its
+     * stdout, containing the return value and optionally the result text (e.g. <code>0 done</code>).
+     *
+     * @param workerMode <code>true</code> to enable the worker mode.
+     * @see ExecWorker
+     */
+    public void setWorkerMode(boolean workerMode) {
+        this.workerMode = workerMode;
+    }
+
+    public String getWorkerRequest() {
+        return workerRequest;
+    }
+
+    /**
+     * Sets the request sent to the worker in worker mode.
+     *
+     * @param workerRequest The request line. Line breaks are not allowed.
+     */
+    public void setWorkerRequest(final String workerRequest) {
+        if (workerRequest == null) {
+            this.workerRequest = "";
+            return;
+        }
+        if (workerRequest.indexOf('\n') >= 0 || workerRequest.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("request must not contain line breaks");
+        }
+        this.workerRequest = workerRequest;
+    }
+
+    public int getWorkerMaxUses() {
+        return workerMaxUses;
+    }
+
+    /**
+     * Sets the number of requests after which a worker gets replaced by a fresh process.
+     *
+     * @param workerMaxUses The maximum number of requests per worker.
+     */
+    public void setWorkerMaxUses(int workerMaxUses) {
+        if (workerMaxUses < 1) {
+            throw new IllegalArgumentException("value must be at least 1");
+        }
+        this.workerMaxUses = workerMaxUses;
+    }
 }
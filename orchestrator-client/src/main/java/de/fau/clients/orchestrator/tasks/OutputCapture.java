@@ -0,0 +1,150 @@
+package de.fau.clients.orchestrator.tasks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains an output stream of a process in a dedicated thread, so the process never blocks on a
+ * full pipe. Only the beginning (head) and the end (tail) of the output are kept in memory, the
+ * part in between is dropped. Optionally, the complete output gets copied to a spill stream (e.g.
+ * a log file), which may be shared between multiple captures.
+ */
+@Slf4j
+final class OutputCapture {
+
+    public static final int DEFAULT_HEAD_SIZE = 8 * 1024;
+    public static final int DEFAULT_TAIL_SIZE = 24 * 1024;
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+    private final InputStream in;
+    private final OutputStream spillOut;
+    private final byte[] head;
+    private final byte[] tail;
+    private int headLength = 0;
+    /**
+     * The next write position in the tail ring buffer.
+     */
+    private int tailPos = 0;
+    private long totalBytes = 0;
+    private final Thread drainThread;
+
+    /**
+     * Constructor.
+     *
+     * @param name The name of the drain thread.
+     * @param in The stream to drain.
+     * @param headSize The number of bytes to keep from the beginning of the output.
+     * @param tailSize The number of bytes to keep from the end of the output.
+     * @param spillOut The stream to copy the complete output to or <code>null</code>. Writes to
+     * the stream are synchronized on the stream itself.
+     */
+    OutputCapture(
+            @NonNull final String name,
+            @NonNull final InputStream in,
+            int headSize,
+            int tailSize,
+            final OutputStream spillOut
+    ) {
+        if (headSize < 0 || tailSize < 0) {
+            throw new IllegalArgumentException("Buffer sizes must not be negative.");
+        }
+        this.in = in;
+        this.spillOut = spillOut;
+        this.head = new byte[headSize];
+        this.tail = new byte[tailSize];
+        this.drainThread = new Thread(this::drain, name);
+        this.drainThread.setDaemon(true);
+    }
+
+    /**
+     * Starts draining the stream.
+     */
+    void start() {
+        drainThread.start();
+    }
+
+    /**
+     * Waits until the end of the stream is reached.
+     *
+     * @param timeoutInMs The maximum time to wait in milliseconds.
+     * @return <code>true</code> if the stream was drained completely.
+     * @throws InterruptedException if the waiting thread was interrupted.
+     */
+    boolean await(long timeoutInMs) throws InterruptedException {
+        drainThread.join(timeoutInMs);
+        return !drainThread.isAlive();
+    }
+
+    private void drain() {
+        final byte[] buffer = new byte[READ_BUFFER_SIZE];
+        try {
+            int len;
+            while ((len = in.read(buffer)) != -1) {
+                append(buffer, len);
+                if (spillOut != null) {
+                    synchronized (spillOut) {
+                        spillOut.write(buffer, 0, len);
+                    }
+                }
+            }
+        } catch (final IOException ex) {
+            // the stream gets closed when the process is killed
+            log.debug(ex.getMessage());
+        }
+    }
+
+    private synchronized void append(final byte[] buffer, int len) {
+        int offset = 0;
+        if (headLength < head.length) {
+            final int toHead = Math.min(len, head.length - headLength);
+            System.arraycopy(buffer, 0, head, headLength, toHead);
+            headLength += toHead;
+            offset = toHead;
+        }
+        if (tail.length > 0) {
+            // only the last bytes of the chunk can end up in the tail
+            for (int i = Math.max(offset, len - tail.length); i < len; i++) {
+                tail[tailPos] = buffer[i];
+                tailPos = (tailPos + 1) % tail.length;
+            }
+        }
+        totalBytes += len;
+    }
+
+    /**
+     * Gets the total number of bytes read so far, including the dropped ones.
+     *
+     * @return The number of bytes.
+     */
+    synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Gets the captured output as text. If parts of the output were dropped, the head and tail are
+     * separated by a line stating the number of omitted bytes.
+     *
+     * @return The captured output decoded as UTF-8.
+     */
+    synchronized String getText() {
+        final long tailBytes = Math.min(totalBytes - headLength, tail.length);
+        final long omittedBytes = totalBytes - headLength - tailBytes;
+        final StringBuilder sb = new StringBuilder();
+        sb.append(new String(head, 0, headLength, StandardCharsets.UTF_8));
+        if (omittedBytes > 0) {
+            sb.append("\n[... ").append(omittedBytes).append(" bytes omitted ...]\n");
+        }
+        if (tailBytes > 0) {
+            final byte[] tailCopy = new byte[(int) tailBytes];
+            final int start = (int) ((tailPos - tailBytes + tail.length) % tail.length);
+            for (int i = 0; i < tailBytes; i++) {
+                tailCopy[i] = tail[(start + i) % tail.length];
+            }
+            sb.append(new String(tailCopy, StandardCharsets.UTF_8));
+        }
+        return sb.toString();
+    }
+}
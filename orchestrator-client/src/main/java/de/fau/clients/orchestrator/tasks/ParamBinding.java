@@ -0,0 +1,190 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * Binds a parameter of a <code>CommandTask</code> to a value in the response of an earlier task in
+ * the queue. Both sides are addressed by JSON pointers (RFC 6901), e.g. the target
+ * <code>/Temperature/value</code> in the command parameters and the source
+ * <code>/CurrentTemperature/value</code> in the response of the task with the given ID.
+ *
+ * The binding is resolved at execution time from the already parsed response of the source task.
+ * The referenced node is inserted into the parameters as it is, so the response does not have to
+ * be serialized again. Therefore, the targets of the bindings of a task must not overlap, since a
+ * binding into an already bound subtree would modify the cached response of the source task.
+ *
+ * @see CommandTaskModel#getParamBindings()
+ */
+@JsonPropertyOrder({"target", "sourceTaskId", "source"})
+public final class ParamBinding {
+
+    private final JsonPointer target;
+    private final int sourceTaskId;
+    private final JsonPointer source;
+
+    /**
+     * Constructor.
+     *
+     * @param target The JSON pointer to the parameter value to set.
+     * @param sourceTaskId The task ID of the task providing the value.
+     * @param source The JSON pointer to the value in the response of the source task. An empty
+     * string refers to the whole response.
+     * @throws IllegalArgumentException if a pointer is invalid or the target points to the root.
+     */
+    @JsonCreator
+    public ParamBinding(
+            @JsonProperty("target") @NonNull final String target,
+            @JsonProperty("sourceTaskId") int sourceTaskId,
+            @JsonProperty("source") @NonNull final String source
+    ) {
+        this.target = JsonPointer.compile(target);
+        if (this.target.matches()) {
+            throw new IllegalArgumentException(
+                    "Binding target must not be the root of the parameters.");
+        }
+        this.sourceTaskId = sourceTaskId;
+        this.source = JsonPointer.compile(source);
+    }
+
+    /**
+     * Parses a binding from its string representation
+     * <code>&lt;target&gt; &lt;- #&lt;task ID&gt;&lt;source&gt;</code>, e.g.
+     * <code>/Temperature/value &lt;- #3/CurrentTemperature/value</code>.
+     *
+     * @param str The string to parse.
+     * @return The parsed binding.
+     * @throws IllegalArgumentException if the string is not a valid binding.
+     * @see #toString()
+     */
+    public static ParamBinding fromString(@NonNull final String str) {
+        final int arrowIdx = str.indexOf("<-");
+        final String src = (arrowIdx >= 0) ? str.substring(arrowIdx + 2).strip() : "";
+        int idEnd = 1;
+        while (idEnd < src.length() && Character.isDigit(src.charAt(idEnd))) {
+            idEnd++;
+        }
+        if (!src.startsWith("#") || idEnd == 1) {
+            throw new IllegalArgumentException("Invalid binding '" + str
+                    + "', expected '<target> <- #<task ID><source>'.");
+        }
+        return new ParamBinding(str.substring(0, arrowIdx).strip(),
+                Integer.parseInt(src.substring(1, idEnd)),
+                src.substring(idEnd));
+    }
+
+    /**
+     * Checks that none of the targets is equal to or nested in the target of another binding.
+     *
+     * @param bindings The bindings of a single task.
+     * @throws IllegalArgumentException if two targets overlap.
+     */
+    public static void checkTargets(@NonNull final List<ParamBinding> bindings) {
+        for (int i = 0; i < bindings.size(); i++) {
+            final String target = bindings.get(i).getTarget();
+            for (int j = i + 1; j < bindings.size(); j++) {
+                final String other = bindings.get(j).getTarget();
+                if (target.equals(other) || other.startsWith(target + "/")
+                        || target.startsWith(other + "/")) {
+                    throw new IllegalArgumentException("Binding targets '" + target + "' and '"
+                            + other + "' overlap.");
+                }
+            }
+        }
+    }
+
+    public String getTarget() {
+        return target.toString();
+    }
+
+    public int getSourceTaskId() {
+        return sourceTaskId;
+    }
+
+    public String getSource() {
+        return source.toString();
+    }
+
+    /**
+     * Resolves the binding against the given task and sets the value in the given parameters.
+     * Missing objects along the target path are created.
+     *
+     * @param params The command parameters to modify.
+     * @param sourceTask The task with the ID of <code>getSourceTaskId()</code> or <code>null</code>
+     * if no such task exists.
+     * @throws IllegalArgumentException if the binding can not be resolved.
+     */
+    public void apply(@NonNull final JsonNode params, final QueueTask sourceTask) {
+        if (sourceTask == null) {
+            throw new IllegalArgumentException("Task with ID " + sourceTaskId + " not found.");
+        }
+        if (sourceTask.getState() != TaskState.FINISHED_SUCCESS) {
+            throw new IllegalArgumentException("Task with ID " + sourceTaskId
+                    + " has no successful result.");
+        }
+        final JsonNode result = sourceTask.getLastResultNode();
+        final JsonNode value = (result != null) ? result.at(source) : null;
+        if (value == null || value.isMissingNode()) {
+            throw new IllegalArgumentException("No value at '" + source
+                    + "' in the result of task with ID " + sourceTaskId + ".");
+        }
+        insert(params, target, value);
+    }
+
+    /**
+     * Sets the value at the given pointer. Missing objects along the path are created.
+     *
+     * @param parent The node to modify.
+     * @param ptr The pointer relative to the given node.
+     * @param value The value to set.
+     * @throws IllegalArgumentException if the path can not be created.
+     */
+    static void insert(final JsonNode parent, final JsonPointer ptr, final JsonNode value) {
+        final JsonPointer next = ptr.tail();
+        if (parent.isArray() && ptr.mayMatchElement()) {
+            final ArrayNode arrayNode = (ArrayNode) parent;
+            final int idx = ptr.getMatchingIndex();
+            if (idx >= arrayNode.size()) {
+                throw new IllegalArgumentException("Index " + idx + " out of bounds.");
+            }
+            if (next.matches()) {
+                arrayNode.set(idx, value);
+            } else {
+                insert(arrayNode.get(idx), next, value);
+            }
+        } else if (parent.isObject()) {
+            final ObjectNode objNode = (ObjectNode) parent;
+            final String name = ptr.getMatchingProperty();
+            if (next.matches()) {
+                objNode.set(name, value);
+            } else {
+                JsonNode child = objNode.get(name);
+                if (child == null) {
+                    child = objNode.putObject(name);
+                }
+                insert(child, next, value);
+            }
+        } else {
+            throw new IllegalArgumentException("Can not set '" + ptr + "' in a value of type "
+                    + parent.getNodeType() + ".");
+        }
+    }
+
+    /**
+     * Gets the string representation of the binding, which can be parsed by
+     * <code>fromString()</code>.
+     *
+     * @return The binding as string.
+     */
+    @Override
+    public String toString() {
+        return target + " <- #" + sourceTaskId + source;
+    }
+}
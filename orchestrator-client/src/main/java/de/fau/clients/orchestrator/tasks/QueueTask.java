@@ -1,13 +1,18 @@
 package de.fau.clients.orchestrator.tasks;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 import de.fau.clients.orchestrator.Presentable;
+import de.fau.clients.orchestrator.metrics.jfr.TaskExecutionEvent;
 import de.fau.clients.orchestrator.utils.IconProvider;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import javax.swing.ImageIcon;
+import lombok.NonNull;
 
 /**
  * The abstract class each task has to extend to become manageable by the task-queue table.
@@ -31,6 +36,22 @@ public abstract class QueueTask implements Runnable, Presentable {
     protected String lastExecResult = "";
     protected ConnectionStatus conStatus = ConnectionStatus.NEUTRAL;
     protected TaskState taskState = TaskState.NEUTRAL;
+    /**
+     * The category of the last error or <code>null</code> if unknown.
+     */
+    protected ErrorCategory lastErrorCategory = null;
+    /**
+     * Access to the other tasks of the queue or <code>null</code> if the task is not in a queue.
+     */
+    protected TaskLookup taskLookup = null;
+    /**
+     * The resources the task holds during its execution.
+     */
+    private volatile List<ResourceClaim> resourceClaims = List.of();
+    /**
+     * The dispatch priority or <code>null</code> to use the priority of the run.
+     */
+    private volatile TaskPriority priority = null;
 
     /**
      * Gets the current <code>TaskModel</code> by collecting the set parameters form the view and
@@ -98,6 +119,67 @@ public String getLastExecResult() {
         return lastExecResult;
     }
 
+    /**
+     * Gets the result of the last execution as JSON tree, e.g. to be referenced by a
+     * <code>ParamBinding</code>. By default, the result is provided as text node. Tasks with
+     * structured results return the parsed result instead.
+     *
+     * @return The result or <code>null</code> if no result was available.
+     */
+    public JsonNode getLastResultNode() {
+        return lastExecResult.isEmpty() ? null : TextNode.valueOf(lastExecResult);
+    }
+
+    /**
+     * Sets the access to the other tasks of the queue. This is done by the queue when the task gets
+     * inserted.
+     *
+     * @param taskLookup The task lookup of the queue or <code>null</code>.
+     */
+    public void setTaskLookup(final TaskLookup taskLookup) {
+        this.taskLookup = taskLookup;
+    }
+
+    /**
+     * Gets the resources the task holds during its execution, regardless of whether it is
+     * executed by a queue run or from its panel.
+     *
+     * @return The resource claims, which are empty if no resources are required.
+     * @see ResourceManager
+     */
+    public List<ResourceClaim> getResourceClaims() {
+        return resourceClaims;
+    }
+
+    public void setResourceClaims(@NonNull final List<ResourceClaim> resourceClaims) {
+        this.resourceClaims = List.copyOf(resourceClaims);
+    }
+
+    /**
+     * Gets the dispatch priority of the task.
+     *
+     * @return The priority or <code>null</code> to use the priority of the run.
+     */
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(final TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Executes this task in a new thread, e.g. when started from its panel. Like in a queue run,
+     * the task is executed by the <code>ResourceManager</code> while holding its resources, so it
+     * does not use a device at the same time as other tasks.
+     */
+    protected void executeInBackground() {
+        new Thread(() -> ResourceManager.getInstance().execute(this,
+                resourceClaims,
+                priority,
+                null)).start();
+    }
+
     /**
      * Gets the current connection status to the corresponding server. If the task has no server
      * requirement, the default NEUTRAL state is returned.
@@ -126,6 +208,54 @@ public TaskState getState() {
         return taskState;
     }
 
+    /**
+     * Gets the category of the error the last execution finished with, e.g. to decide whether the
+     * task shall be retried. Tasks which do not categorize their errors report
+     * <code>ErrorCategory.UNDEFINED</code>.
+     *
+     * @return The error category or <code>null</code> if the task did not finish with an error.
+     * @see RetrySettings
+     */
+    public ErrorCategory getLastErrorCategory() {
+        if (taskState != TaskState.FINISHED_ERROR) {
+            return null;
+        }
+        return (lastErrorCategory != null) ? lastErrorCategory : ErrorCategory.UNDEFINED;
+    }
+
+    /**
+     * Finishes this task with the given error without executing it, e.g. when the resources
+     * required by the task could not be acquired.
+     *
+     * @param errMsg The error message, which becomes the result of the task.
+     * @see ResourceManager
+     */
+    public void finishWithError(final String errMsg) {
+        final TaskState oldState = taskState;
+        startTimeStamp = OffsetDateTime.now();
+        endTimeStamp = startTimeStamp;
+        lastExecResult = errMsg;
+        lastErrorCategory = null;
+        taskState = TaskState.FINISHED_ERROR;
+        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+    }
+
+    /**
+     * Ends the given JFR event, which was started at the begin of the concrete <code>run()</code>
+     * method, and commits it with the current task state if it exceeds the recording threshold.
+     *
+     * @param execEvent The started event.
+     */
+    protected void commitExecutionEvent(final TaskExecutionEvent execEvent) {
+        execEvent.end();
+        if (execEvent.shouldCommit()) {
+            execEvent.taskType = getClass().getSimpleName();
+            execEvent.task = toString();
+            execEvent.state = taskState.toString();
+            execEvent.commit();
+        }
+    }
+
     /**
      * Adds a Listener which gets notified when the <code>TaskState</code> changes. Therefore the
      * signaled in the implementation of the <code>run()</code> method by firing the changed state
@@ -0,0 +1,176 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.NonNull;
+
+/**
+ * A claim on a shared resource (e.g. a robotic arm), which a task holds during its execution. A
+ * resource has a fixed number of permits, its capacity. With the default capacity of 1, the
+ * resource is an exclusive lock, otherwise a counting semaphore (e.g. an incubator with 4 slots).
+ *
+ * The string representation is <code>&lt;name&gt;[:&lt;permits&gt;][/&lt;capacity&gt;]</code>,
+ * e.g. <code>arm</code> for the exclusive use of the arm or <code>incubator:2/4</code> for 2 of
+ * the 4 slots of the incubator.
+ *
+ * Each server is an implicit resource with <code>SERVER_CAPACITY</code> call slots, which every
+ * command call claims one of. Names starting with <code>SERVER_PREFIX</code> are therefore
+ * reserved and can not be parsed from a string.
+ *
+ * @see ResourceManager
+ */
+public final class ResourceClaim {
+
+    /**
+     * The prefix of the names of the implicit server resources, which is followed by the server
+     * UUID.
+     */
+    public static final String SERVER_PREFIX = "server.";
+    /**
+     * The number of calls a server executes at the same time. Further calls wait for a free slot
+     * and are dispatched by the priority and deadline of their task.
+     */
+    public static final int SERVER_CAPACITY = 8;
+    private static final Pattern CLAIM_PATTERN = Pattern.compile(
+            "([\\w.-]+)(?::(\\d+))?(?:/(\\d+))?");
+    private final String name;
+    private final int permits;
+    private final int capacity;
+
+    /**
+     * Constructor.
+     *
+     * @param name The name of the resource, consisting of letters, digits, '_', '.' and '-'.
+     * @param permits The number of claimed permits.
+     * @param capacity The total number of permits of the resource.
+     * @throws IllegalArgumentException if the name is invalid or the permits exceed the capacity.
+     */
+    public ResourceClaim(@NonNull final String name, int permits, int capacity) {
+        if (!name.matches("[\\w.-]+")) {
+            throw new IllegalArgumentException("Invalid resource name '" + name + "'.");
+        }
+        if (permits < 1) {
+            throw new IllegalArgumentException("value must be at least 1");
+        }
+        if (capacity < permits) {
+            throw new IllegalArgumentException("Resource " + name + " has only " + capacity
+                    + " permits, but " + permits + " are claimed.");
+        }
+        this.name = name;
+        this.permits = permits;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates an exclusive claim on the given resource.
+     *
+     * @param name The name of the resource.
+     */
+    public ResourceClaim(@NonNull final String name) {
+        this(name, 1, 1);
+    }
+
+    /**
+     * Creates the claim of a single call on the given server.
+     *
+     * @param serverUuid The UUID of the server.
+     * @return The claim of one call slot of the server.
+     */
+    public static ResourceClaim forServer(@NonNull final UUID serverUuid) {
+        return new ResourceClaim(SERVER_PREFIX + serverUuid, 1, SERVER_CAPACITY);
+    }
+
+    /**
+     * Parses a claim from its string representation.
+     *
+     * @param str The string to parse.
+     * @return The parsed claim.
+     * @throws IllegalArgumentException if the string is not a valid claim or the name is reserved
+     * for a server.
+     * @see #toString()
+     */
+    @JsonCreator
+    public static ResourceClaim fromString(@NonNull final String str) {
+        final Matcher matcher = CLAIM_PATTERN.matcher(str.strip());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid resource claim '" + str
+                    + "', expected '<name>[:<permits>][/<capacity>]'.");
+        }
+        if (matcher.group(1).startsWith(SERVER_PREFIX)) {
+            throw new IllegalArgumentException("Resource names starting with '" + SERVER_PREFIX
+                    + "' are reserved for the servers.");
+        }
+        try {
+            final int permits = (matcher.group(2) != null) ? Integer.parseInt(matcher.group(2)) : 1;
+            final int capacity = (matcher.group(3) != null) ? Integer.parseInt(matcher.group(3)) : 1;
+            return new ResourceClaim(matcher.group(1), permits, capacity);
+        } catch (final NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid number in resource claim '" + str + "'.");
+        }
+    }
+
+    /**
+     * Parses a list of claims separated by commas.
+     *
+     * @param str The string to parse.
+     * @return The parsed claims, which are empty if the string is blank.
+     * @throws IllegalArgumentException if a claim is invalid.
+     */
+    public static List<ResourceClaim> listFromString(@NonNull final String str) {
+        final List<ResourceClaim> claims = new ArrayList<>();
+        for (final String token : str.split(",")) {
+            if (!token.isBlank()) {
+                claims.add(fromString(token));
+            }
+        }
+        return claims;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @JsonValue
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(name);
+        if (permits != 1) {
+            sb.append(':').append(permits);
+        }
+        if (capacity != 1) {
+            sb.append('/').append(capacity);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ResourceClaim)) {
+            return false;
+        }
+        final ResourceClaim other = (ResourceClaim) obj;
+        return name.equals(other.name) && permits == other.permits && capacity == other.capacity;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, permits, capacity);
+    }
+}
@@ -0,0 +1,596 @@
+package de.fau.clients.orchestrator.tasks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Singleton managing the shared resources claimed by tasks, so tasks running concurrently (e.g. a
+ * queue run and a single task executed from its panel, or the tasks of included modules) do not
+ * use the same device at the same time. The claims of a task are acquired all at once before and
+ * released after its execution. The calls a fan-out or sweep task executes in other threads are
+ * covered by the claims of their task and inherit its priority and deadline. In addition, each
+ * command call claims a call slot of its server for the time of the call, so the calls on a busy
+ * server are dispatched per server (see <code>ResourceClaim.forServer()</code>).
+ *
+ * The manager is local to the JVM. It only serializes the tasks of one orchestrator process; tasks
+ * of other processes (e.g. a second GUI instance or a parallel CLI run) are not coordinated and
+ * may use the same device at the same time. Coordinating several processes is deliberately not
+ * supported, since a dispatch order across processes would need a shared scheduler; a device
+ * shared by several processes has to be driven by a single orchestrator process instead.
+ *
+ * Waiting requests are dispatched earliest deadline first. A request without an explicit deadline
+ * gets an implicit one, which is its arrival time plus the aging steps of its priority times the
+ * aging interval. So urgent requests overtake routine ones, but a waiting request ages and is
+ * eventually served before any later arriving request. A request never overtakes a request
+ * ordered before it claiming the same resource. Claims are reentrant per thread, so the tasks of
+ * an included module can claim a resource already held by the include task. A request which would
+ * wait for a thread that waits, directly or indirectly, for the requesting thread is rejected as
+ * deadlock instead of blocking forever. Like the locks, this order only applies to the requests of
+ * the current process.
+ *
+ * @see ResourceClaim
+ * @see TaskPriority
+ */
+@Slf4j
+public final class ResourceManager {
+
+    /**
+     * The default time after which a waiting request advances by one priority level.
+     */
+    public static final long DEFAULT_AGING_INTERVAL_IN_MS = 60000;
+    /**
+     * The weight of the latest hold time in the moving average of the hold times.
+     */
+    private static final double HOLD_TIME_WEIGHT = 0.2;
+    private final long agingIntervalInMs;
+    private final Map<String, Resource> resources = new HashMap<>();
+    /**
+     * The usage statistics of all resources claimed so far.
+     */
+    private final Map<String, ResourceStats> statsMap = new HashMap<>();
+    /**
+     * The waiting requests in their order of arrival.
+     */
+    private final List<Request> waitingRequests = new ArrayList<>();
+    /**
+     * The priority and deadline of the task executed by the current thread, which are inherited by
+     * nested tasks.
+     */
+    private final ThreadLocal<Dispatch> currentDispatch = new ThreadLocal<>();
+    private long requestCount = 0;
+    private long deadlineMissCount = 0;
+
+    ResourceManager() {
+        this(DEFAULT_AGING_INTERVAL_IN_MS);
+    }
+
+    ResourceManager(long agingIntervalInMs) {
+        this.agingIntervalInMs = agingIntervalInMs;
+    }
+
+    public static ResourceManager getInstance() {
+        return ResourceManagerHolder.INSTANCE;
+    }
+
+    /**
+     * Executes the given task while holding the given resources with the priority and deadline of
+     * the enclosing task or <code>TaskPriority.NORMAL</code> without deadline.
+     *
+     * @param task The task to execute.
+     * @param claims The resources required by the task.
+     * @see #execute(QueueTask, List, TaskPriority, Instant)
+     */
+    public void execute(@NonNull final QueueTask task, @NonNull final List<ResourceClaim> claims) {
+        execute(task, claims, null, null);
+    }
+
+    /**
+     * Executes the given task while holding the given resources. If the resources can not be
+     * acquired, the task is not executed but finished with an error. Tasks executed inline by the
+     * given task (e.g. the tasks of an included module) inherit its priority and deadline.
+     *
+     * @param task The task to execute.
+     * @param claims The resources required by the task.
+     * @param priority The dispatch priority or <code>null</code> to inherit the priority of the
+     * enclosing task.
+     * @param deadline The time the task should be finished or <code>null</code> for no deadline.
+     */
+    public void execute(
+            @NonNull final QueueTask task,
+            @NonNull final List<ResourceClaim> claims,
+            TaskPriority priority,
+            Instant deadline
+    ) {
+        final Dispatch enclosing = currentDispatch.get();
+        if (enclosing != null) {
+            if (priority == null) {
+                priority = enclosing.priority;
+            }
+            deadline = RunSchedule.earliest(deadline, enclosing.deadline);
+        }
+        if (priority == null) {
+            priority = TaskPriority.NORMAL;
+        }
+
+        Lease lease = null;
+        if (!claims.isEmpty()) {
+            try {
+                lease = acquire(claims, priority, deadline);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                task.finishWithError("Error: Interrupted while waiting for " + claims + ".");
+                return;
+            } catch (final IllegalArgumentException | IllegalStateException ex) {
+                log.error(ex.getMessage());
+                task.finishWithError("Error: " + ex.getMessage());
+                return;
+            }
+        }
+        currentDispatch.set(new Dispatch(priority, deadline));
+        try {
+            task.run();
+        } finally {
+            if (enclosing != null) {
+                currentDispatch.set(enclosing);
+            } else {
+                currentDispatch.remove();
+            }
+            if (lease != null) {
+                lease.release();
+            }
+        }
+        if (deadline != null && Instant.now().isAfter(deadline)) {
+            synchronized (this) {
+                deadlineMissCount++;
+            }
+            log.warn("Task " + task + " missed its deadline " + deadline + ".");
+        }
+    }
+
+    /**
+     * Gets the priority of the task executed by the current thread, e.g. to pass it on to the
+     * calls the task executes in other threads.
+     *
+     * @return The priority or <code>null</code> if the current thread executes no task.
+     */
+    public TaskPriority getCurrentPriority() {
+        final Dispatch current = currentDispatch.get();
+        return (current != null) ? current.priority : null;
+    }
+
+    /**
+     * Gets the deadline of the task executed by the current thread.
+     *
+     * @return The deadline or <code>null</code> if the task has no deadline or the current thread
+     * executes no task.
+     * @see #getCurrentPriority()
+     */
+    public Instant getCurrentDeadline() {
+        final Dispatch current = currentDispatch.get();
+        return (current != null) ? current.deadline : null;
+    }
+
+    /**
+     * Acquires the given resources for the current thread with <code>TaskPriority.NORMAL</code>
+     * and without deadline.
+     *
+     * @param claims The resources to acquire.
+     * @return The lease, which has to be released after the use of the resources.
+     * @throws InterruptedException if the thread gets interrupted while waiting.
+     * @see #acquire(List, TaskPriority, Instant)
+     */
+    public Lease acquire(@NonNull final List<ResourceClaim> claims) throws InterruptedException {
+        return acquire(claims, TaskPriority.NORMAL, null);
+    }
+
+    /**
+     * Acquires the given resources for the current thread, waiting until all of them are
+     * available. Resources already held by the current thread are not acquired again.
+     *
+     * @param claims The resources to acquire.
+     * @param priority The dispatch priority.
+     * @param deadline The time the task using the resources should be finished or
+     * <code>null</code> for no deadline.
+     * @return The lease, which has to be released after the use of the resources.
+     * @throws InterruptedException if the thread gets interrupted while waiting.
+     * @throws IllegalArgumentException if a claim conflicts with the capacity of a resource in
+     * use.
+     * @throws IllegalStateException if waiting for the resources would cause a deadlock.
+     */
+    public synchronized Lease acquire(
+            @NonNull final List<ResourceClaim> claims,
+            @NonNull final TaskPriority priority,
+            final Instant deadline
+    ) throws InterruptedException {
+        final Thread thread = Thread.currentThread();
+        final Map<String, ResourceClaim> merged = new LinkedHashMap<>();
+        for (final ResourceClaim claim : claims) {
+            final Resource resource = resources.get(claim.getName());
+            if (resource != null && resource.capacity != claim.getCapacity()) {
+                throw new IllegalArgumentException("Resource " + claim.getName() + " is in use "
+                        + "with a capacity of " + resource.capacity + ", but "
+                        + claim.getCapacity() + " is claimed.");
+            }
+            if (resource != null && resource.holders.containsKey(thread)) {
+                // reentrant claim
+                continue;
+            }
+            merged.merge(claim.getName(), claim, (c1, c2) -> {
+                if (c1.getCapacity() != c2.getCapacity()) {
+                    throw new IllegalArgumentException("Conflicting capacities of resource "
+                            + c1.getName() + ".");
+                }
+                return new ResourceClaim(c1.getName(),
+                        c1.getPermits() + c2.getPermits(),
+                        c1.getCapacity());
+            });
+        }
+
+        final Instant arrival = Instant.now();
+        final Instant implicitDeadline = arrival.plusMillis(
+                priority.getAgingSteps() * agingIntervalInMs);
+        final Request request = new Request(thread,
+                new ArrayList<>(merged.values()),
+                RunSchedule.earliest(implicitDeadline, deadline).toEpochMilli(),
+                requestCount++);
+        for (final ResourceClaim claim : request.claims) {
+            statsMap.computeIfAbsent(claim.getName(), name -> new ResourceStats())
+                    .capacity = claim.getCapacity();
+        }
+        if (!isGrantable(request)) {
+            if (isDeadlocked(request)) {
+                throw new IllegalStateException("Deadlock: waiting for " + request.claims
+                        + " would never end.");
+            }
+            log.info("Waiting for resources " + request.claims + " with priority " + priority
+                    + ((deadline != null) ? " and deadline " + deadline : "") + ".");
+            waitingRequests.add(request);
+            try {
+                while (!isGrantable(request)) {
+                    wait();
+                }
+            } finally {
+                waitingRequests.remove(request);
+                // later requests may have been blocked by this one
+                notifyAll();
+            }
+        }
+        for (final ResourceClaim claim : request.claims) {
+            final Resource resource = resources.computeIfAbsent(claim.getName(),
+                    name -> new Resource(claim.getCapacity()));
+            resource.usedPermits += claim.getPermits();
+            resource.holders.merge(thread, claim.getPermits(), Integer::sum);
+        }
+        return new Lease(request);
+    }
+
+    /**
+     * Gets the number of permits of the given resource which are currently in use.
+     *
+     * @param name The name of the resource.
+     * @return The number of used permits.
+     */
+    public synchronized int getUsedPermits(@NonNull final String name) {
+        final Resource resource = resources.get(name);
+        return (resource != null) ? resource.usedPermits : 0;
+    }
+
+    /**
+     * Gets the number of requests waiting for resources.
+     *
+     * @return The number of waiting requests.
+     */
+    public synchronized int getWaitingCount() {
+        return waitingRequests.size();
+    }
+
+    /**
+     * Gets the number of tasks which finished after their deadline.
+     *
+     * @return The number of missed deadlines.
+     */
+    public synchronized long getDeadlineMissCount() {
+        return deadlineMissCount;
+    }
+
+    /**
+     * Gets the current status of all resources claimed so far.
+     *
+     * @return The status list, sorted by the resource names.
+     */
+    public synchronized List<ResourceStatus> getResourceStatusList() {
+        final List<ResourceStatus> list = new ArrayList<>(statsMap.size());
+        for (final String name : new TreeSet<>(statsMap.keySet())) {
+            final ResourceStats stats = statsMap.get(name);
+            final int usedPermits = getUsedPermits(name);
+            int queueDepth = 0;
+            int waitingPermits = 0;
+            for (final Request waiting : waitingRequests) {
+                for (final ResourceClaim claim : waiting.claims) {
+                    if (claim.getName().equals(name)) {
+                        queueDepth++;
+                        waitingPermits += claim.getPermits();
+                    }
+                }
+            }
+            // a rough estimate for a new request of one permit, queued behind all waiting ones
+            final long expectedWaitInMs = (queueDepth == 0 && usedPermits < stats.capacity)
+                    ? 0
+                    : Math.round(Math.max(stats.meanHoldTimeInMs, 0)
+                            * (waitingPermits + 1) / stats.capacity);
+            list.add(new ResourceStatus(name,
+                    stats.capacity,
+                    usedPermits,
+                    queueDepth,
+                    expectedWaitInMs));
+        }
+        return list;
+    }
+
+    /**
+     * Checks whether request <code>a</code> is dispatched before request <code>b</code>.
+     */
+    private static boolean isOrderedBefore(final Request a, final Request b) {
+        return a.dispatchKey < b.dispatchKey
+                || (a.dispatchKey == b.dispatchKey && a.sequenceNr < b.sequenceNr);
+    }
+
+    /**
+     * Checks whether the given request can be granted now. This is the case if all claimed
+     * resources have enough free permits and no waiting request ordered before claims one of
+     * them.
+     */
+    private boolean isGrantable(final Request request) {
+        final Set<String> blockedNames = new HashSet<>();
+        for (final Request waiting : waitingRequests) {
+            if (waiting != request && isOrderedBefore(waiting, request)) {
+                for (final ResourceClaim claim : waiting.claims) {
+                    blockedNames.add(claim.getName());
+                }
+            }
+        }
+        for (final ResourceClaim claim : request.claims) {
+            if (blockedNames.contains(claim.getName()) || !isAvailable(claim)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isAvailable(final ResourceClaim claim) {
+        final Resource resource = resources.get(claim.getName());
+        return resource == null
+                || resource.usedPermits + claim.getPermits() <= resource.capacity;
+    }
+
+    /**
+     * Gets the threads the given request has to wait for. These are the holders of the claimed
+     * resources without enough free permits and the threads of the waiting requests ordered before
+     * claiming the same resources.
+     */
+    private Set<Thread> getBlockingThreads(final Request request) {
+        final Set<Thread> threads = new HashSet<>();
+        final Set<String> names = new HashSet<>();
+        for (final ResourceClaim claim : request.claims) {
+            names.add(claim.getName());
+            if (!isAvailable(claim)) {
+                threads.addAll(resources.get(claim.getName()).holders.keySet());
+            }
+        }
+        for (final Request waiting : waitingRequests) {
+            if (waiting == request || !isOrderedBefore(waiting, request)) {
+                continue;
+            }
+            for (final ResourceClaim claim : waiting.claims) {
+                if (names.contains(claim.getName())) {
+                    threads.add(waiting.thread);
+                    break;
+                }
+            }
+        }
+        return threads;
+    }
+
+    /**
+     * Checks whether the given request would wait, directly or via other waiting requests, for
+     * its own thread.
+     */
+    private boolean isDeadlocked(final Request request) {
+        final Set<Thread> visited = new HashSet<>();
+        final List<Request> pending = new ArrayList<>();
+        pending.add(request);
+        while (!pending.isEmpty()) {
+            final Request current = pending.remove(pending.size() - 1);
+            for (final Thread blocker : getBlockingThreads(current)) {
+                if (blocker == request.thread) {
+                    return true;
+                }
+                if (visited.add(blocker)) {
+                    for (final Request waiting : waitingRequests) {
+                        if (waiting.thread == blocker) {
+                            pending.add(waiting);
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private synchronized void release(final Request request, long holdTimeInMs) {
+        for (final ResourceClaim claim : request.claims) {
+            final Resource resource = resources.get(claim.getName());
+            resource.usedPermits -= claim.getPermits();
+            resource.holders.computeIfPresent(request.thread,
+                    (k, v) -> (v > claim.getPermits()) ? v - claim.getPermits() : null);
+            if (resource.usedPermits == 0) {
+                // allows to use the resource with another capacity later on
+                resources.remove(claim.getName());
+            }
+            final ResourceStats stats = statsMap.get(claim.getName());
+            stats.meanHoldTimeInMs = (stats.meanHoldTimeInMs < 0)
+                    ? holdTimeInMs
+                    : stats.meanHoldTimeInMs
+                    + HOLD_TIME_WEIGHT * (holdTimeInMs - stats.meanHoldTimeInMs);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Handle of acquired resources. Releasing the lease more than once has no effect.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Request request;
+        private final long acquireNanos = System.nanoTime();
+        private boolean isReleased = false;
+
+        private Lease(final Request request) {
+            this.request = request;
+        }
+
+        public void release() {
+            synchronized (ResourceManager.this) {
+                if (isReleased) {
+                    return;
+                }
+                isReleased = true;
+                ResourceManager.this.release(request,
+                        (System.nanoTime() - acquireNanos) / 1000000);
+            }
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+
+    /**
+     * Snapshot of the usage of a single resource.
+     */
+    public static final class ResourceStatus {
+
+        private final String name;
+        private final int capacity;
+        private final int usedPermits;
+        private final int queueDepth;
+        private final long expectedWaitInMs;
+
+        private ResourceStatus(
+                final String name,
+                int capacity,
+                int usedPermits,
+                int queueDepth,
+                long expectedWaitInMs
+        ) {
+            this.name = name;
+            this.capacity = capacity;
+            this.usedPermits = usedPermits;
+            this.queueDepth = queueDepth;
+            this.expectedWaitInMs = expectedWaitInMs;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public int getUsedPermits() {
+            return usedPermits;
+        }
+
+        /**
+         * Gets the number of requests waiting for the resource.
+         *
+         * @return The number of waiting requests.
+         */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        /**
+         * Gets the estimated time a new request would wait for the resource, based on the mean
+         * time the resource was held so far.
+         *
+         * @return The expected wait time in milliseconds.
+         */
+        public long getExpectedWaitInMs() {
+            return expectedWaitInMs;
+        }
+    }
+
+    private static class Resource {
+
+        private final int capacity;
+        private int usedPermits = 0;
+        /**
+         * The threads holding permits of the resource with their number of permits.
+         */
+        private final Map<Thread, Integer> holders = new HashMap<>();
+
+        private Resource(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    private static class ResourceStats {
+
+        private int capacity = 1;
+        /**
+         * The moving average of the hold times or a negative value if unknown.
+         */
+        private double meanHoldTimeInMs = -1;
+    }
+
+    private static class Request {
+
+        private final Thread thread;
+        private final List<ResourceClaim> claims;
+        /**
+         * The effective deadline in epoch milliseconds, which defines the dispatch order.
+         */
+        private final long dispatchKey;
+        private final long sequenceNr;
+
+        private Request(
+                final Thread thread,
+                final List<ResourceClaim> claims,
+                long dispatchKey,
+                long sequenceNr
+        ) {
+            this.thread = thread;
+            this.claims = claims;
+            this.dispatchKey = dispatchKey;
+            this.sequenceNr = sequenceNr;
+        }
+    }
+
+    private static class Dispatch {
+
+        private final TaskPriority priority;
+        private final Instant deadline;
+
+        private Dispatch(final TaskPriority priority, final Instant deadline) {
+            this.priority = priority;
+            this.deadline = deadline;
+        }
+    }
+
+    private static class ResourceManagerHolder {
+
+        private static final ResourceManager INSTANCE = new ResourceManager();
+    }
+}
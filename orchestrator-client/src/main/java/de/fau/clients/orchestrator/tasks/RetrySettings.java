@@ -0,0 +1,216 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The settings of a task with the execution policy <code>ExecPolicy.RETRY</code>. A task which
+ * finished with a retryable error is executed again after a backoff delay, which grows
+ * exponentially with each attempt. To prevent multiple failed tasks from retrying in lockstep
+ * (e.g. on a shared, busy device), the delay is randomly varied by the jitter.
+ *
+ * @see ExecPolicy#RETRY
+ */
+@Slf4j
+@JsonPropertyOrder({"maxAttempts", "initialBackoffInMs", "backoffMultiplier", "maxBackoffInMs",
+    "jitter", "retryableErrors"})
+public class RetrySettings {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_INITIAL_BACKOFF_IN_MS = 1000;
+    public static final double DEFAULT_BACKOFF_MULTIPLIER = 2.0;
+    public static final long DEFAULT_MAX_BACKOFF_IN_MS = 60000;
+    public static final double DEFAULT_JITTER = 0.2;
+    /**
+     * The interval in which a waiting retry checks for cancellation.
+     */
+    private static final long CANCEL_POLL_INTERVAL_IN_MS = 100;
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private long initialBackoffInMs = DEFAULT_INITIAL_BACKOFF_IN_MS;
+    private double backoffMultiplier = DEFAULT_BACKOFF_MULTIPLIER;
+    private long maxBackoffInMs = DEFAULT_MAX_BACKOFF_IN_MS;
+    private double jitter = DEFAULT_JITTER;
+    private EnumSet<ErrorCategory> retryableErrors = EnumSet.of(
+            ErrorCategory.UNDEFINED,
+            ErrorCategory.FRAMEWORK,
+            ErrorCategory.CONNECTION);
+
+    /**
+     * Gets the maximum number of executions, including the first one.
+     *
+     * @return The maximum number of attempts.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("value must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getInitialBackoffInMs() {
+        return initialBackoffInMs;
+    }
+
+    public void setInitialBackoffInMs(long initialBackoffInMs) {
+        if (initialBackoffInMs < 0) {
+            throw new IllegalArgumentException("value must not be negative");
+        }
+        this.initialBackoffInMs = initialBackoffInMs;
+    }
+
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    public void setBackoffMultiplier(double backoffMultiplier) {
+        if (!(backoffMultiplier >= 1.0)) {
+            throw new IllegalArgumentException("value must be at least 1");
+        }
+        this.backoffMultiplier = backoffMultiplier;
+    }
+
+    public long getMaxBackoffInMs() {
+        return maxBackoffInMs;
+    }
+
+    public void setMaxBackoffInMs(long maxBackoffInMs) {
+        if (maxBackoffInMs < 0) {
+            throw new IllegalArgumentException("value must not be negative");
+        }
+        this.maxBackoffInMs = maxBackoffInMs;
+    }
+
+    /**
+     * Gets the maximum relative deviation of the backoff delay, e.g. 0.2 for ±20 %.
+     *
+     * @return The jitter between 0 and 1.
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(double jitter) {
+        if (!(jitter >= 0.0 && jitter <= 1.0)) {
+            throw new IllegalArgumentException("value must be between 0 and 1");
+        }
+        this.jitter = jitter;
+    }
+
+    public Set<ErrorCategory> getRetryableErrors() {
+        return EnumSet.copyOf(retryableErrors);
+    }
+
+    public void setRetryableErrors(@NonNull final Collection<ErrorCategory> retryableErrors) {
+        final EnumSet<ErrorCategory> errors = EnumSet.noneOf(ErrorCategory.class);
+        errors.addAll(retryableErrors);
+        this.retryableErrors = errors;
+    }
+
+    /**
+     * Checks whether a task which finished with the given error shall be executed again.
+     *
+     * @param errorCategory The category of the error or <code>null</code>.
+     * @return <code>true</code> if the error is retryable, otherwise <code>false</code>.
+     */
+    public boolean isRetryable(final ErrorCategory errorCategory) {
+        return errorCategory != null && retryableErrors.contains(errorCategory);
+    }
+
+    /**
+     * Gets the randomized delay before the given retry.
+     *
+     * @param retry The number of the retry, starting with 1.
+     * @return The delay in milliseconds.
+     */
+    public long getBackoffInMs(int retry) {
+        return getBackoffInMs(retry, ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Gets the delay before the given retry.
+     *
+     * @param retry The number of the retry, starting with 1.
+     * @param random A random value between 0 (inclusive) and 1 (exclusive) to apply the jitter.
+     * @return The delay in milliseconds.
+     */
+    long getBackoffInMs(int retry, double random) {
+        final double backoff = Math.min(
+                maxBackoffInMs,
+                initialBackoffInMs * Math.pow(backoffMultiplier, Math.max(0, retry - 1)));
+        return Math.round(backoff * (1.0 + jitter * (2.0 * random - 1.0)));
+    }
+
+    /**
+     * Executes the given, already failed task again until it succeeds, finishes with an error
+     * which is not retryable or the maximum number of attempts is reached.
+     *
+     * @param task The task to retry.
+     * @param attempt The routine executing the task once and returning after its completion.
+     * @param isCancelled Signals the abortion of further retries, e.g. when the queue run is
+     * stopped.
+     */
+    public void retry(
+            @NonNull final QueueTask task,
+            @NonNull final Runnable attempt,
+            @NonNull final BooleanSupplier isCancelled
+    ) {
+        for (int retry = 1; retry < maxAttempts; retry++) {
+            if (task.getState() != TaskState.FINISHED_ERROR
+                    || !isRetryable(task.getLastErrorCategory())) {
+                return;
+            }
+            final long backoffInMs = getBackoffInMs(retry);
+            log.info("Retrying " + task + " after " + task.getLastErrorCategory() + " error in "
+                    + backoffInMs + " ms (attempt " + (retry + 1) + " of " + maxAttempts + ").");
+            if (!waitForBackoff(backoffInMs, isCancelled)) {
+                return;
+            }
+            attempt.run();
+        }
+    }
+
+    /**
+     * Waits for the given time unless cancelled.
+     *
+     * @param backoffInMs The time to wait in milliseconds.
+     * @param isCancelled Signals the cancellation.
+     * @return <code>true</code> if the time elapsed, <code>false</code> if cancelled.
+     */
+    private static boolean waitForBackoff(long backoffInMs, final BooleanSupplier isCancelled) {
+        final long deadline = System.nanoTime() + backoffInMs * 1000000L;
+        long remainingInMs = backoffInMs;
+        while (!isCancelled.getAsBoolean()) {
+            if (remainingInMs <= 0) {
+                return true;
+            }
+            try {
+                Thread.sleep(Math.min(remainingInMs, CANCEL_POLL_INTERVAL_IN_MS));
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            remainingInMs = (deadline - System.nanoTime()) / 1000000L;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + maxAttempts + ", "
+                + initialBackoffInMs + ", "
+                + backoffMultiplier + ", "
+                + maxBackoffInMs + ", "
+                + jitter + ", "
+                + retryableErrors + ")";
+    }
+}
@@ -0,0 +1,72 @@
+package de.fau.clients.orchestrator.tasks;
+
+import java.time.Instant;
+
+/**
+ * The priority and deadline of a queue run, from which the dispatch priority and deadline of each
+ * task of the run are derived. Tasks without a priority of their own take the priority of the run.
+ * Deadlines of tasks are relative to the start of the run and are capped by the deadline of the
+ * run.
+ *
+ * @see ResourceManager
+ */
+public final class RunSchedule {
+
+    private final TaskPriority priority;
+    private final Instant start;
+    private final Instant deadline;
+
+    /**
+     * Creates the schedule of a run starting now.
+     *
+     * @param priority The priority of the run or <code>null</code> to inherit the priority of the
+     * enclosing task (e.g. for the tasks of an included module).
+     * @param deadlineInMs The time in milliseconds from now until the run should be finished or
+     * <code>null</code> for no deadline.
+     */
+    public RunSchedule(final TaskPriority priority, final Long deadlineInMs) {
+        this.priority = priority;
+        this.start = Instant.now();
+        this.deadline = (deadlineInMs != null) ? start.plusMillis(deadlineInMs) : null;
+    }
+
+    /**
+     * Gets the dispatch priority of a task of this run.
+     *
+     * @param taskPriority The priority of the task or <code>null</code> if the task has none.
+     * @return The priority of the task if set, otherwise the one of the run.
+     */
+    public TaskPriority getPriority(final TaskPriority taskPriority) {
+        return (taskPriority != null) ? taskPriority : priority;
+    }
+
+    /**
+     * Gets the dispatch deadline of a task of this run.
+     *
+     * @param taskDeadlineInMs The deadline of the task relative to the start of the run or
+     * <code>null</code> if the task has none.
+     * @return The earlier one of the task and run deadline or <code>null</code> if none is set.
+     */
+    public Instant getDeadline(final Long taskDeadlineInMs) {
+        if (taskDeadlineInMs == null) {
+            return deadline;
+        }
+        return earliest(start.plusMillis(taskDeadlineInMs), deadline);
+    }
+
+    /**
+     * Gets the earlier one of the given deadlines.
+     *
+     * @param a The first deadline or <code>null</code>.
+     * @param b The second deadline or <code>null</code>.
+     * @return The earlier deadline or <code>null</code> if both are <code>null</code>.
+     */
+    public static Instant earliest(final Instant a, final Instant b) {
+        if (a == null) {
+            return b;
+        } else if (b == null) {
+            return a;
+        }
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,176 @@
+package de.fau.clients.orchestrator.tasks;
+
+import de.fau.clients.orchestrator.metrics.CommandKey;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import lombok.NonNull;
+
+/**
+ * Singleton distributing command calls across a pool of equivalent servers. For each server, the
+ * number of calls in flight and a moving average of the recent call latencies of each command are
+ * tracked. A new call is dispatched to the server which is expected to finish it first, i.e. with
+ * the lowest product of pending calls and average latency. A call is tracked by acquiring a
+ * <code>Lease</code> before the execution and releasing it afterwards, e.g.<code>
+ * final ServerBalancer.Lease lease = ServerBalancer.getInstance().acquire(pool, feature, command);
+ * ...
+ * lease.release(wasSuccessful);
+ * </code>
+ *
+ * @see ServerPool
+ */
+public final class ServerBalancer {
+
+    /**
+     * The weight of the latest latency in the moving average.
+     */
+    static final double LATENCY_SMOOTHING = 0.3;
+    private final Map<UUID, Integer> inFlightMap = new HashMap<>();
+    private final Map<CommandKey, Double> latencyMap = new HashMap<>();
+    private final LongSupplier nanoClock;
+
+    ServerBalancer(@NonNull final LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public static ServerBalancer getInstance() {
+        return ServerBalancerHolder.INSTANCE;
+    }
+
+    /**
+     * Selects the server for the next call of the given command and registers the call as in
+     * flight. Servers without latency records are assumed to be as fast as the average of the
+     * others, so new servers are taken into account right away. On a tie, the server with less
+     * calls in flight and then the one listed first is selected.
+     *
+     * @param candidates The available servers of the pool.
+     * @param featureId The feature identifier of the command.
+     * @param commandId The command identifier.
+     * @return The lease of the selected server or <code>null</code> if no candidate was given.
+     */
+    public synchronized Lease acquire(
+            @NonNull final List<UUID> candidates,
+            @NonNull final String featureId,
+            @NonNull final String commandId
+    ) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        double latencySum = 0.0;
+        int latencyCount = 0;
+        for (final UUID serverUuid : candidates) {
+            final Double latency = latencyMap.get(new CommandKey(serverUuid, featureId, commandId));
+            if (latency != null) {
+                latencySum += latency;
+                latencyCount++;
+            }
+        }
+        final double defaultLatency = (latencyCount > 0) ? latencySum / latencyCount : 1.0;
+
+        UUID selected = null;
+        double selectedScore = Double.MAX_VALUE;
+        int selectedInFlight = Integer.MAX_VALUE;
+        for (final UUID serverUuid : candidates) {
+            final int inFlight = getInFlightCount(serverUuid);
+            final double score = (inFlight + 1) * latencyMap.getOrDefault(
+                    new CommandKey(serverUuid, featureId, commandId),
+                    defaultLatency);
+            if (score < selectedScore || (score == selectedScore && inFlight < selectedInFlight)) {
+                selected = serverUuid;
+                selectedScore = score;
+                selectedInFlight = inFlight;
+            }
+        }
+        inFlightMap.merge(selected, 1, Integer::sum);
+        return new Lease(new CommandKey(selected, featureId, commandId), nanoClock.getAsLong());
+    }
+
+    /**
+     * Gets the number of calls currently dispatched to the given server.
+     *
+     * @param serverUuid The UUID of the server.
+     * @return The number of calls in flight.
+     */
+    public synchronized int getInFlightCount(@NonNull final UUID serverUuid) {
+        return inFlightMap.getOrDefault(serverUuid, 0);
+    }
+
+    /**
+     * Gets the moving average of the latencies of the given command.
+     *
+     * @param key The command on a specific server.
+     * @return The average latency in nanoseconds or <code>NaN</code> if no call was finished so
+     * far.
+     */
+    public synchronized double getLatencyEstimate(@NonNull final CommandKey key) {
+        return latencyMap.getOrDefault(key, Double.NaN);
+    }
+
+    private synchronized void finish(final CommandKey key) {
+        inFlightMap.computeIfPresent(key.getServerUuid(), (k, v) -> (v > 1) ? v - 1 : null);
+    }
+
+    private synchronized void finish(final CommandKey key, long durationNanos, boolean isSuccessful) {
+        finish(key);
+        final Double avg = latencyMap.get(key);
+        double latest = durationNanos;
+        if (!isSuccessful) {
+            latest = 2.0 * Math.max(latest, (avg != null) ? avg : 0.0);
+        }
+        latencyMap.put(key, (avg != null)
+                ? (1.0 - LATENCY_SMOOTHING) * avg + LATENCY_SMOOTHING * latest
+                : latest);
+    }
+
+    /**
+     * Handle of a single dispatched call. Exactly one of the finishing methods has to be called;
+     * further calls are ignored.
+     */
+    public final class Lease {
+
+        private final CommandKey key;
+        private final long startNanos;
+        private boolean isFinished = false;
+
+        private Lease(final CommandKey key, long startNanos) {
+            this.key = key;
+            this.startNanos = startNanos;
+        }
+
+        public UUID getServerUuid() {
+            return key.getServerUuid();
+        }
+
+        /**
+         * Finishes the call and records its latency. A failed call is recorded with at least twice the
+         * current average latency, so servers which fail fast do not attract more calls.
+         *
+         * @param isSuccessful Whether the call was successful.
+         */
+        public void release(boolean isSuccessful) {
+            if (isFinished) {
+                return;
+            }
+            isFinished = true;
+            finish(key, Math.max(1, nanoClock.getAsLong() - startNanos), isSuccessful);
+        }
+
+        /**
+         * Finishes the call without recording its latency, e.g. if the call was never started.
+         */
+        public void cancel() {
+            if (isFinished) {
+                return;
+            }
+            isFinished = true;
+            finish(key);
+        }
+    }
+
+    private static class ServerBalancerHolder {
+
+        private static final ServerBalancer INSTANCE = new ServerBalancer(System::nanoTime);
+    }
+}
@@ -0,0 +1,113 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * A pool of equivalent servers a command task can be dispatched to. The pool is either defined by
+ * an explicit set of server UUIDs or by the fully qualified identifier of a feature, in which case
+ * all online servers offering this feature belong to the pool.
+ *
+ * @see ServerBalancer
+ */
+@JsonInclude(Include.NON_EMPTY)
+@JsonPropertyOrder({"serverUuids", "featureFqi"})
+public class ServerPool {
+
+    private final List<UUID> serverUuids;
+    private final String featureFqi;
+
+    /**
+     * Constructor. Exactly one of both arguments has to be given.
+     *
+     * @param serverUuids The UUIDs of the servers in the pool or <code>null</code>.
+     * @param featureFqi The fully qualified identifier of the feature the pool servers have to
+     * offer or <code>null</code>.
+     * @throws IllegalArgumentException if none or both arguments are given or the feature
+     * identifier is malformed.
+     */
+    @JsonCreator
+    public ServerPool(
+            @JsonProperty("serverUuids") final List<UUID> serverUuids,
+            @JsonProperty("featureFqi") final String featureFqi
+    ) {
+        final boolean hasServers = (serverUuids != null && !serverUuids.isEmpty());
+        if (hasServers == (featureFqi != null)) {
+            throw new IllegalArgumentException("Either server UUIDs or a feature identifier "
+                    + "must be given");
+        }
+        if (featureFqi != null && featureFqi.split("/").length != 4) {
+            throw new IllegalArgumentException("Invalid fully qualified feature identifier: "
+                    + featureFqi);
+        }
+        this.serverUuids = hasServers
+                ? Collections.unmodifiableList(new ArrayList<>(serverUuids))
+                : List.of();
+        this.featureFqi = featureFqi;
+    }
+
+    /**
+     * Parses a server pool from its string representation, which is either a fully qualified
+     * feature identifier or a list of server UUIDs separated by line breaks, commas or spaces.
+     *
+     * @param str The string to parse.
+     * @return The parsed server pool or <code>null</code> if the string is blank.
+     * @throws IllegalArgumentException if the string is malformed.
+     * @see #toString()
+     */
+    public static ServerPool fromString(@NonNull final String str) {
+        final String stripped = str.strip();
+        if (stripped.isEmpty()) {
+            return null;
+        }
+        if (stripped.contains("/")) {
+            return new ServerPool(null, stripped);
+        }
+        final List<UUID> uuids = new ArrayList<>();
+        for (final String token : stripped.split("[\\s,]+")) {
+            uuids.add(UUID.fromString(token));
+        }
+        return new ServerPool(uuids, null);
+    }
+
+    /**
+     * Gets the explicitly given server UUIDs.
+     *
+     * @return The server UUIDs or an empty list if the pool is defined by a feature.
+     */
+    public List<UUID> getServerUuids() {
+        return serverUuids;
+    }
+
+    /**
+     * Gets the fully qualified identifier of the feature defining the pool.
+     *
+     * @return The feature identifier or <code>null</code> if the pool is defined by server UUIDs.
+     */
+    public String getFeatureFqi() {
+        return featureFqi;
+    }
+
+    @Override
+    public String toString() {
+        if (featureFqi != null) {
+            return featureFqi;
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (final UUID serverUuid : serverUuids) {
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            sb.append(serverUuid);
+        }
+        return sb.toString();
+    }
+}
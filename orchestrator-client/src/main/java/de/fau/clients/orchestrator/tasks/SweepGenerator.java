@@ -0,0 +1,200 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * Generates the parameters of the calls of a sweep one by one. The parameters are the cartesian
+ * product of the rows of the optional CSV file and the values of the sweep variables, where the
+ * last variable changes fastest. The CSV file is read line by line, so neither the file nor the
+ * generated parameters are held in memory as a whole.
+ *
+ * The header row of the CSV file holds the JSON pointers of the parameters. Fields are separated
+ * by semicolons, or by commas if the header contains no semicolon, and may be enclosed in double
+ * quotes.
+ */
+class SweepGenerator implements Closeable {
+
+    private final JsonNode template;
+    private final List<SweepVariable> variables;
+    private final int[] indices;
+    private final BufferedReader csvReader;
+    private final List<JsonPointer> csvPointers = new ArrayList<>();
+    private char csvSeparator = ';';
+    private List<String> csvRow = null;
+    private int csvLineNumber = 0;
+    private boolean isStarted = false;
+    private boolean isExhausted = false;
+
+    /**
+     * Constructor.
+     *
+     * @param template The parameters shared by all calls or <code>null</code>.
+     * @param variables The sweep variables.
+     * @param csvFile The CSV file providing parameter values or <code>null</code>.
+     * @throws IOException if the CSV file can not be opened or read.
+     * @throws IllegalArgumentException if the CSV header is invalid.
+     */
+    SweepGenerator(
+            final JsonNode template,
+            @NonNull final List<SweepVariable> variables,
+            final Path csvFile
+    ) throws IOException {
+        this.template = (template != null) ? template : JsonNodeFactory.instance.objectNode();
+        this.variables = new ArrayList<>(variables);
+        this.indices = new int[variables.size()];
+        if (csvFile == null) {
+            csvReader = null;
+            return;
+        }
+        csvReader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+        try {
+            readHeader();
+        } catch (final IOException | RuntimeException ex) {
+            csvReader.close();
+            throw ex;
+        }
+    }
+
+    private void readHeader() throws IOException {
+        final String header = readNonBlankLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty.");
+        }
+        if (header.indexOf(';') < 0) {
+            csvSeparator = ',';
+        }
+        for (final String field : parseCsvLine(header, csvSeparator)) {
+            final JsonPointer ptr = JsonPointer.compile(field.strip());
+            if (ptr.matches()) {
+                throw new IllegalArgumentException("CSV column must not target the root of the "
+                        + "parameters.");
+            }
+            csvPointers.add(ptr);
+        }
+    }
+
+    private String readNonBlankLine() throws IOException {
+        String line;
+        do {
+            line = csvReader.readLine();
+            csvLineNumber++;
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    /**
+     * Reads the next data row of the CSV file.
+     *
+     * @return <code>true</code> if a row was read, <code>false</code> at the end of the file.
+     */
+    private boolean readCsvRow() throws IOException {
+        final String line = readNonBlankLine();
+        if (line == null) {
+            csvRow = null;
+            return false;
+        }
+        csvRow = parseCsvLine(line, csvSeparator);
+        if (csvRow.size() != csvPointers.size()) {
+            throw new IllegalArgumentException("CSV line " + csvLineNumber + " has "
+                    + csvRow.size() + " fields, expected " + csvPointers.size() + ".");
+        }
+        return true;
+    }
+
+    /**
+     * Gets the parameters of the next call.
+     *
+     * @return A new parameter tree or <code>null</code> if all calls were generated.
+     * @throws IOException if the CSV file can not be read.
+     * @throws IllegalArgumentException if a CSV row or a parameter target is invalid.
+     */
+    JsonNode next() throws IOException {
+        if (!isStarted) {
+            isStarted = true;
+            if (csvReader != null && !readCsvRow()) {
+                isExhausted = true;
+            }
+        }
+        if (isExhausted) {
+            return null;
+        }
+        final JsonNode params = template.deepCopy();
+        if (csvRow != null) {
+            for (int i = 0; i < csvPointers.size(); i++) {
+                ParamBinding.insert(params, csvPointers.get(i), TextNode.valueOf(csvRow.get(i)));
+            }
+        }
+        for (int i = 0; i < indices.length; i++) {
+            variables.get(i).apply(params, indices[i]);
+        }
+        advance();
+        return params;
+    }
+
+    private void advance() throws IOException {
+        for (int i = indices.length - 1; i >= 0; i--) {
+            if (++indices[i] < variables.get(i).size()) {
+                return;
+            }
+            indices[i] = 0;
+        }
+        if (csvReader == null || !readCsvRow()) {
+            isExhausted = true;
+        }
+    }
+
+    /**
+     * Splits a CSV line into its fields. Fields enclosed in double quotes may contain the
+     * separator and escaped quotes (<code>""</code>).
+     *
+     * @param line The line to split.
+     * @param separator The field separator.
+     * @return The fields of the line.
+     */
+    static List<String> parseCsvLine(@NonNull final String line, char separator) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder sb = new StringBuilder();
+        boolean isQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (isQuoted) {
+                if (c != '"') {
+                    sb.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    sb.append('"');
+                    i++;
+                } else {
+                    isQuoted = false;
+                }
+            } else if (c == '"') {
+                isQuoted = true;
+            } else if (c == separator) {
+                fields.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        fields.add(sb.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (csvReader != null) {
+            csvReader.close();
+        }
+    }
+}
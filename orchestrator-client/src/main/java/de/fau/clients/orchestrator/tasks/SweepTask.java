@@ -0,0 +1,424 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.fau.clients.orchestrator.ctx.CommandContext;
+import de.fau.clients.orchestrator.ctx.FeatureContext;
+import de.fau.clients.orchestrator.metrics.jfr.TaskExecutionEvent;
+import de.fau.clients.orchestrator.nodes.MaxDim;
+import de.fau.clients.orchestrator.nodes.NodeFactory;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.BorderFactory;
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.SpinnerNumberModel;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Task which executes a SiLA command repeatedly with varying parameters, e.g. once for each well of
+ * a plate. The parameters of the calls are generated lazily from the sweep variables and the CSV
+ * file of the model while the sweep is running, so neither the task queue nor the memory grow with
+ * the number of calls. The calls are executed in parallel, limited by the maximum concurrency of
+ * the model, and are distributed to the server pool if one is set.
+ *
+ * Since the results of the single calls are not kept, the result of the sweep is a JSON object
+ * summarizing the number of <code>calls</code>, how many of them <code>succeeded</code> and
+ * <code>failed</code>, and the parameters and messages of the first <code>errors</code>. If the
+ * parameters of a call can not be generated, the sweep stops and the summary of the calls so far
+ * additionally holds the generation <code>error</code>. The task finishes successfully only if all
+ * calls succeeded.
+ *
+ * @see SweepTaskModel
+ */
+@Slf4j
+public class SweepTask extends QueueTask {
+
+    /**
+     * The maximum number of failed calls listed in the result.
+     */
+    static final int MAX_REPORTED_ERRORS = 10;
+    private static final ResourceManager resourceManager = ResourceManager.getInstance();
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private final SweepTaskModel sweepModel;
+    private volatile JsonNode lastResultNode = null;
+    private boolean isPanelBuilt = false;
+    private JPanel panel = null;
+    private JButton execBtn = null;
+    private JTextArea variablesTextArea = null;
+    private JTextField csvFileField = null;
+    private JTextArea poolTextArea = null;
+    private JSpinner concurrencySpinner = null;
+    private JCheckBox stopOnErrorCheckBox = null;
+    private JTextArea paramsTextArea = null;
+
+    public SweepTask(@NonNull final SweepTaskModel sweepModel) {
+        this.sweepModel = sweepModel;
+    }
+
+    /**
+     * Creates a sweep task for the given command without any sweep variables. The parameters are
+     * initialized with the default values of the command.
+     *
+     * @param commandCtx The command to execute.
+     */
+    public SweepTask(@NonNull final CommandContext commandCtx) {
+        final FeatureContext featCtx = commandCtx.getFeatureCtx();
+        this.sweepModel = new SweepTaskModel(
+                featCtx.getServerUuid(),
+                featCtx.getFeatureId(),
+                commandCtx.getCommand().getIdentifier());
+        if (!commandCtx.getCommand().getParameter().isEmpty()) {
+            sweepModel.setCommandParams(NodeFactory.createFromElements(
+                    featCtx,
+                    commandCtx.getCommand().getParameter()).toJson());
+        }
+    }
+
+    @Override
+    public TaskModel getCurrentTaskModel() {
+        if (isPanelBuilt) {
+            try {
+                updateModelFromView();
+            } catch (final IllegalArgumentException ex) {
+                log.warn("Sweep settings not updated: " + ex.getMessage());
+            }
+        }
+        return sweepModel;
+    }
+
+    /**
+     * Stores the settings of the view in the model.
+     *
+     * @throws IllegalArgumentException if a variable, the server pool or the parameters are
+     * invalid.
+     */
+    private void updateModelFromView() {
+        final List<SweepVariable> variables = new ArrayList<>();
+        for (final String line : variablesTextArea.getText().split("\n")) {
+            if (!line.isBlank()) {
+                variables.add(SweepVariable.fromString(line));
+            }
+        }
+        sweepModel.setVariables(variables);
+        final String csvFile = csvFileField.getText().strip();
+        sweepModel.setCsvFile(csvFile.isEmpty() ? null : csvFile);
+        sweepModel.setServerPool(ServerPool.fromString(poolTextArea.getText()));
+        sweepModel.setMaxConcurrency((int) concurrencySpinner.getValue());
+        sweepModel.setStopOnError(stopOnErrorCheckBox.isSelected());
+        final String params = paramsTextArea.getText();
+        try {
+            sweepModel.setCommandParams(params.isBlank() ? null : jsonMapper.readTree(params));
+        } catch (final JsonProcessingException ex) {
+            throw new IllegalArgumentException("Invalid parameters: " + ex.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public JsonNode getLastResultNode() {
+        return lastResultNode;
+    }
+
+    @Override
+    public String toString() {
+        return sweepModel.getCommandId() + " (Sweep)";
+    }
+
+    @Override
+    public JPanel getPresenter() {
+        if (!isPanelBuilt) {
+            panel = new JPanel();
+            panel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+            panel.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createTitledBorder(this.toString()),
+                    BorderFactory.createEmptyBorder(10, 10, 10, 10)));
+            panel.setFocusCycleRoot(true);
+
+            final Box vBox = Box.createVerticalBox();
+            vBox.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            final JLabel cmdLabel = new JLabel("<html>Command: <b>" + sweepModel.getFeatureId()
+                    + "/" + sweepModel.getCommandId() + "</b> on " + sweepModel.getServerUuid()
+                    + "</html>");
+            cmdLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(cmdLabel);
+            vBox.add(Box.createVerticalStrut(10));
+            final JLabel variablesLabel = new JLabel("Sweep Variables");
+            variablesLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(variablesLabel);
+            final StringBuilder sb = new StringBuilder();
+            for (final SweepVariable variable : sweepModel.getVariables()) {
+                sb.append(variable).append('\n');
+            }
+            variablesTextArea = new JTextArea(sb.toString(), 4, 36);
+            variablesTextArea.setToolTipText("<html>One variable per line, either with a list of "
+                    + "values or a numeric range, e.g.<br>"
+                    + "<code>/Well/value = A1, A2, A3</code><br>"
+                    + "<code>/Volume/value = 10..100:10</code><br>"
+                    + "The command is called for each combination of values.</html>");
+            final JScrollPane variablesScrollPane = new JScrollPane(variablesTextArea);
+            variablesScrollPane.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            variablesScrollPane.setMaximumSize(MaxDim.TEXT_FIELD_MULTI_LINE.getDim());
+            vBox.add(variablesScrollPane);
+            vBox.add(Box.createVerticalStrut(10));
+            final JLabel csvFileLabel = new JLabel("CSV File");
+            csvFileLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(csvFileLabel);
+            csvFileField = new JTextField((sweepModel.getCsvFile() != null)
+                    ? sweepModel.getCsvFile()
+                    : "");
+            csvFileField.setToolTipText("<html>Optional file with one call per row. The header row "
+                    + "holds the targets of the columns, e.g.<br>"
+                    + "<code>/Well/value;/Volume/value</code></html>");
+            csvFileField.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            csvFileField.setMaximumSize(MaxDim.TEXT_FIELD.getDim());
+            vBox.add(csvFileField);
+            vBox.add(Box.createVerticalStrut(10));
+            final JLabel poolLabel = new JLabel("Server Pool");
+            poolLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(poolLabel);
+            poolTextArea = new JTextArea(2, 36);
+            poolTextArea.setToolTipText("<html>Either the UUIDs of equivalent servers, "
+                    + "one per line, or the fully qualified identifier of a feature.<br>"
+                    + "If set, the calls are distributed to the servers of the pool.</html>");
+            if (sweepModel.getServerPool() != null) {
+                poolTextArea.setText(sweepModel.getServerPool().toString());
+            }
+            final JScrollPane poolScrollPane = new JScrollPane(poolTextArea);
+            poolScrollPane.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            poolScrollPane.setMaximumSize(MaxDim.TEXT_FIELD_MULTI_LINE.getDim());
+            vBox.add(poolScrollPane);
+            vBox.add(Box.createVerticalStrut(10));
+            final JLabel concurrencyLabel = new JLabel("Max. Concurrent Calls");
+            concurrencyLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(concurrencyLabel);
+            concurrencySpinner = new JSpinner(new SpinnerNumberModel(
+                    sweepModel.getMaxConcurrency(), 1, 256, 1));
+            concurrencySpinner.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            concurrencySpinner.setMaximumSize(MaxDim.NUMERIC_SPINNER.getDim());
+            vBox.add(concurrencySpinner);
+            vBox.add(Box.createVerticalStrut(10));
+            stopOnErrorCheckBox = new JCheckBox("Stop on Error", sweepModel.isStopOnError());
+            stopOnErrorCheckBox.setToolTipText("Starts no further calls after a call failed");
+            stopOnErrorCheckBox.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(stopOnErrorCheckBox);
+            vBox.add(Box.createVerticalStrut(10));
+            final JLabel paramsLabel = new JLabel("Parameters (JSON)");
+            paramsLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            vBox.add(paramsLabel);
+            paramsTextArea = new JTextArea(6, 36);
+            final JsonNode params = sweepModel.getCommandParams();
+            if (params != null) {
+                try {
+                    paramsTextArea.setText(jsonMapper.writerWithDefaultPrettyPrinter()
+                            .writeValueAsString(params));
+                } catch (final JsonProcessingException ex) {
+                    log.error(ex.getMessage());
+                }
+            }
+            final JScrollPane paramsScrollPane = new JScrollPane(paramsTextArea);
+            paramsScrollPane.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            paramsScrollPane.setMaximumSize(MaxDim.TEXT_FIELD_MULTI_LINE.getDim());
+            vBox.add(paramsScrollPane);
+            panel.add(vBox);
+            panel.add(Box.createVerticalStrut(20));
+            execBtn = new JButton("Execute", EXECUTE_ICON);
+            execBtn.addActionListener((evt) -> {
+                executeInBackground();
+            });
+            panel.add(execBtn);
+            isPanelBuilt = true;
+        }
+        return panel;
+    }
+
+    @Override
+    public void run() {
+        final TaskExecutionEvent execEvent = new TaskExecutionEvent();
+        execEvent.begin();
+        if (isPanelBuilt) {
+            execBtn.setEnabled(false);
+        }
+
+        startTimeStamp = OffsetDateTime.now();
+        lastResultNode = null;
+        TaskState oldState = taskState;
+        taskState = TaskState.RUNNING;
+        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        oldState = taskState;
+
+        String errMsg = null;
+        try {
+            if (isPanelBuilt) {
+                updateModelFromView();
+            }
+            final Path csvPath = (sweepModel.getCsvFile() != null)
+                    ? Path.of(sweepModel.getCsvFile())
+                    : null;
+            try (final SweepGenerator generator = new SweepGenerator(
+                    sweepModel.getCommandParams(),
+                    sweepModel.getVariables(),
+                    csvPath)) {
+                taskState = executeSweep(generator);
+            }
+        } catch (final IOException ex) {
+            errMsg = "Error: Could not read CSV file: " + ex.getMessage();
+        } catch (final IllegalArgumentException ex) {
+            errMsg = "Error: " + ex.getMessage();
+        }
+
+        if (errMsg != null) {
+            log.error(errMsg);
+            lastExecResult = errMsg;
+            taskState = TaskState.FINISHED_ERROR;
+        }
+        endTimeStamp = OffsetDateTime.now();
+        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        if (isPanelBuilt) {
+            execBtn.setEnabled(true);
+        }
+        commitExecutionEvent(execEvent);
+    }
+
+    /**
+     * Executes the calls of the sweep in parallel. New parameters are only generated when a worker
+     * is free, so at most as many calls as allowed by the maximum concurrency exist at a time. If
+     * the parameters can not be generated, no further calls are started, the calls in flight are
+     * awaited and the error is added to the summary.
+     *
+     * @param generator The generator of the call parameters.
+     * @return The combined state of all calls.
+     */
+    private TaskState executeSweep(final SweepGenerator generator) {
+        final int maxConcurrency = sweepModel.getMaxConcurrency();
+        final Semaphore freeWorkers = new Semaphore(maxConcurrency);
+        final AtomicInteger successCount = new AtomicInteger();
+        final AtomicInteger failureCount = new AtomicInteger();
+        final ArrayNode errors = jsonMapper.createArrayNode();
+        final AtomicInteger threadIdx = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            final Thread thread = new Thread(runnable, "sweep-" + threadIdx.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // the calls are covered by the resources held by this task and inherit its dispatch order
+        final TaskPriority priority = resourceManager.getCurrentPriority();
+        final Instant deadline = resourceManager.getCurrentDeadline();
+        int callCount = 0;
+        String genErrMsg = null;
+        boolean wasInterrupted = false;
+        try {
+            while (!(sweepModel.isStopOnError() && failureCount.get() > 0)) {
+                final JsonNode params;
+                try {
+                    params = generator.next();
+                } catch (final IOException ex) {
+                    genErrMsg = "Could not read CSV file: " + ex.getMessage();
+                    break;
+                } catch (final IllegalArgumentException ex) {
+                    genErrMsg = ex.getMessage();
+                    break;
+                }
+                if (params == null) {
+                    break;
+                }
+                freeWorkers.acquire();
+                final int callIdx = callCount++;
+                final JsonNode callParams = params;
+                executor.execute(() -> {
+                    try {
+                        final CommandTask subTask = createCall(callParams);
+                        resourceManager.execute(subTask, List.of(), priority, deadline);
+                        if (subTask.getState() == TaskState.FINISHED_SUCCESS) {
+                            successCount.incrementAndGet();
+                        } else {
+                            failureCount.incrementAndGet();
+                            synchronized (errors) {
+                                if (errors.size() < MAX_REPORTED_ERRORS) {
+                                    final ObjectNode error = errors.addObject();
+                                    error.put("call", callIdx);
+                                    error.set("params", callParams);
+                                    error.put("result", subTask.getLastExecResult());
+                                }
+                            }
+                        }
+                    } finally {
+                        freeWorkers.release();
+                    }
+                });
+            }
+            // wait for the calls in flight
+            freeWorkers.acquire(maxConcurrency);
+        } catch (final InterruptedException ex) {
+            wasInterrupted = true;
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        if (wasInterrupted) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        final ObjectNode summary = jsonMapper.createObjectNode();
+        summary.put("calls", callCount);
+        summary.put("succeeded", successCount.get());
+        summary.put("failed", failureCount.get());
+        synchronized (errors) {
+            summary.set("errors", errors.deepCopy());
+        }
+        if (genErrMsg != null) {
+            summary.put("error", genErrMsg);
+            log.error("Sweep of " + sweepModel.getCommandId() + " stopped after " + callCount
+                    + " calls: " + genErrMsg);
+        }
+        lastExecResult = summary.toString();
+        lastResultNode = summary;
+        log.info("Sweep of " + sweepModel.getCommandId() + " succeeded for " + successCount.get()
+                + " of " + callCount + " calls" + (wasInterrupted ? " (interrupted)" : ""));
+        return (!wasInterrupted && genErrMsg == null && successCount.get() == callCount)
+                ? TaskState.FINISHED_SUCCESS
+                : TaskState.FINISHED_ERROR;
+    }
+
+    /**
+     * Creates the command task of a single call of the sweep.
+     *
+     * @param params The parameters of the call.
+     * @return The command task, which is not part of the task queue.
+     */
+    private CommandTask createCall(final JsonNode params) {
+        final CommandTaskModel cmdModel = new CommandTaskModel(
+                sweepModel.getServerUuid(),
+                sweepModel.getFeatureId(),
+                sweepModel.getCommandId());
+        cmdModel.setCommandParams(params);
+        cmdModel.setServerPool(sweepModel.getServerPool());
+        return new CommandTask(cmdModel);
+    }
+}
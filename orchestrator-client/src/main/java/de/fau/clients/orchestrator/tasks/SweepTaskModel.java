@@ -0,0 +1,151 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * The data model of a <code>SweepTask</code>, which executes a command once for each combination
+ * of the values of its sweep variables and the rows of an optional CSV file. Only the command
+ * template and the value definitions are stored, so the size of the model is independent of the
+ * number of calls.
+ *
+ * @see SweepTask
+ */
+@JsonInclude(Include.NON_NULL)
+@JsonPropertyOrder({"serverUuid", "featureId", "commandId", "commandParams", "serverPool",
+    "variables", "csvFile", "maxConcurrency", "stopOnError"})
+public class SweepTaskModel extends TaskModel {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 1;
+    private final UUID serverUuid;
+    private final String featureId;
+    private final String commandId;
+    private JsonNode commandParams = null;
+    private ServerPool serverPool = null;
+    @JsonInclude(Include.NON_EMPTY)
+    private List<SweepVariable> variables = new ArrayList<>();
+    private String csvFile = null;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private boolean stopOnError = true;
+
+    @JsonCreator
+    public SweepTaskModel(
+            @JsonProperty("serverUuid") @NonNull final UUID serverUuid,
+            @JsonProperty("featureId") @NonNull final String featureId,
+            @JsonProperty("commandId") @NonNull final String commandId
+    ) {
+        this.serverUuid = serverUuid;
+        this.featureId = featureId;
+        this.commandId = commandId;
+    }
+
+    public UUID getServerUuid() {
+        return serverUuid;
+    }
+
+    public String getFeatureId() {
+        return featureId;
+    }
+
+    public String getCommandId() {
+        return commandId;
+    }
+
+    /**
+     * Gets the parameters shared by all calls, which are overwritten by the values of the sweep.
+     *
+     * @return The parameter template or <code>null</code>.
+     */
+    public JsonNode getCommandParams() {
+        return commandParams;
+    }
+
+    public void setCommandParams(final JsonNode commandParams) {
+        this.commandParams = commandParams;
+    }
+
+    public ServerPool getServerPool() {
+        return serverPool;
+    }
+
+    /**
+     * Sets the pool of equivalent servers the calls are distributed to.
+     *
+     * @param serverPool The server pool or <code>null</code> to call the server of the model only.
+     */
+    public void setServerPool(final ServerPool serverPool) {
+        this.serverPool = serverPool;
+    }
+
+    public List<SweepVariable> getVariables() {
+        return variables;
+    }
+
+    public void setVariables(@NonNull final List<SweepVariable> variables) {
+        this.variables = new ArrayList<>(variables);
+    }
+
+    public String getCsvFile() {
+        return csvFile;
+    }
+
+    /**
+     * Sets the CSV file providing parameter values. The header row holds the JSON pointers of the
+     * parameters, each further row the values of one call.
+     *
+     * @param csvFile The path to the CSV file or <code>null</code>.
+     */
+    public void setCsvFile(final String csvFile) {
+        this.csvFile = csvFile;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of calls which are executed at the same time.
+     *
+     * @param maxConcurrency The maximum number of parallel calls.
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("value must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public boolean isStopOnError() {
+        return stopOnError;
+    }
+
+    /**
+     * Sets whether the sweep stops starting new calls after the first failed call.
+     *
+     * @param stopOnError <code>true</code> to stop on the first error.
+     */
+    public void setStopOnError(boolean stopOnError) {
+        this.stopOnError = stopOnError;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + serverUuid + ", "
+                + featureId + ", "
+                + commandId + ", "
+                + commandParams + ", "
+                + serverPool + ", "
+                + variables + ", "
+                + csvFile + ", "
+                + maxConcurrency + ", "
+                + stopOnError + ")";
+    }
+}
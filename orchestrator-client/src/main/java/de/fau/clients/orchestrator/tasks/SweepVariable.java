@@ -0,0 +1,234 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.NonNull;
+
+/**
+ * A parameter varied by a <code>SweepTask</code>. The parameter value is addressed by a JSON
+ * pointer (RFC 6901), e.g. <code>/Volume/value</code>, and takes either the values of an explicit
+ * list or of a numeric range. The values of a range are computed on demand, so large ranges do not
+ * occupy any memory.
+ *
+ * @see SweepTaskModel
+ */
+@JsonInclude(Include.NON_NULL)
+@JsonPropertyOrder({"target", "values", "start", "end", "step"})
+public final class SweepVariable {
+
+    private static final String NUMBER_REGEX = "([-+]?\\d+(?:\\.\\d+)?)";
+    private static final Pattern RANGE_PATTERN = Pattern.compile(
+            NUMBER_REGEX + "\\.\\." + NUMBER_REGEX + "(?::" + NUMBER_REGEX + ")?");
+    private final JsonPointer target;
+    private final List<String> values;
+    private final BigDecimal start;
+    private final BigDecimal end;
+    private final BigDecimal step;
+    private final int size;
+
+    /**
+     * Constructor. Either the values or the start and end of a range have to be given.
+     *
+     * @param target The JSON pointer to the parameter value to vary.
+     * @param values The list of values or <code>null</code> for a range.
+     * @param start The first value of the range or <code>null</code>.
+     * @param end The inclusive limit of the range or <code>null</code>.
+     * @param step The step width of the range or <code>null</code> for 1.
+     * @throws IllegalArgumentException if the pointer or the values are invalid.
+     */
+    @JsonCreator
+    public SweepVariable(
+            @JsonProperty("target") @NonNull final String target,
+            @JsonProperty("values") final List<String> values,
+            @JsonProperty("start") final BigDecimal start,
+            @JsonProperty("end") final BigDecimal end,
+            @JsonProperty("step") final BigDecimal step
+    ) {
+        this.target = JsonPointer.compile(target);
+        if (this.target.matches()) {
+            throw new IllegalArgumentException("Sweep target must not be the root of the parameters.");
+        }
+        if (values != null) {
+            if (values.isEmpty() || start != null || end != null || step != null) {
+                throw new IllegalArgumentException("Either a non-empty list of values or a range "
+                        + "must be given for " + target + ".");
+            }
+            this.values = Collections.unmodifiableList(new ArrayList<>(values));
+            this.start = null;
+            this.end = null;
+            this.step = null;
+            this.size = values.size();
+            return;
+        }
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Either a non-empty list of values or a range "
+                    + "must be given for " + target + ".");
+        }
+        this.values = null;
+        this.start = start;
+        this.end = end;
+        this.step = (step != null) ? step : BigDecimal.ONE;
+        if (this.step.signum() == 0 || (end.compareTo(start) != 0
+                && end.subtract(start).signum() != this.step.signum())) {
+            throw new IllegalArgumentException("Step " + this.step.toPlainString()
+                    + " does not lead from " + start.toPlainString() + " to "
+                    + end.toPlainString() + ".");
+        }
+        final BigDecimal count = end.subtract(start)
+                .divide(this.step, 0, RoundingMode.FLOOR)
+                .add(BigDecimal.ONE);
+        if (count.compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) > 0) {
+            throw new IllegalArgumentException("Range of " + target + " is too large.");
+        }
+        this.size = count.intValue();
+    }
+
+    /**
+     * Creates a variable taking the given values.
+     *
+     * @param target The JSON pointer to the parameter value to vary.
+     * @param values The values.
+     * @return The variable.
+     */
+    public static SweepVariable ofValues(@NonNull final String target, @NonNull final List<String> values) {
+        return new SweepVariable(target, values, null, null, null);
+    }
+
+    /**
+     * Creates a variable taking the values of the given range.
+     *
+     * @param target The JSON pointer to the parameter value to vary.
+     * @param start The first value.
+     * @param end The inclusive limit.
+     * @param step The step width.
+     * @return The variable.
+     */
+    public static SweepVariable ofRange(
+            @NonNull final String target,
+            @NonNull final BigDecimal start,
+            @NonNull final BigDecimal end,
+            @NonNull final BigDecimal step
+    ) {
+        return new SweepVariable(target, null, start, end, step);
+    }
+
+    /**
+     * Parses a variable from its string representation <code>&lt;target&gt; = &lt;values&gt;</code>,
+     * where the values are either a comma separated list (e.g. <code>/Well/value = A1, A2</code>) or
+     * a range in the form <code>start..end[:step]</code> (e.g.
+     * <code>/Volume/value = 10..100:10</code>).
+     *
+     * @param str The string to parse.
+     * @return The parsed variable.
+     * @throws IllegalArgumentException if the string is not a valid variable.
+     * @see #toString()
+     */
+    public static SweepVariable fromString(@NonNull final String str) {
+        final int eqIdx = str.indexOf('=');
+        if (eqIdx < 0) {
+            throw new IllegalArgumentException("Invalid sweep variable '" + str
+                    + "', expected '<target> = <values>'.");
+        }
+        final String target = str.substring(0, eqIdx).strip();
+        final String valueStr = str.substring(eqIdx + 1).strip();
+        final Matcher matcher = RANGE_PATTERN.matcher(valueStr);
+        if (matcher.matches()) {
+            return new SweepVariable(target,
+                    null,
+                    new BigDecimal(matcher.group(1)),
+                    new BigDecimal(matcher.group(2)),
+                    (matcher.group(3) != null) ? new BigDecimal(matcher.group(3)) : null);
+        }
+        final List<String> values = new ArrayList<>();
+        for (final String value : valueStr.split(",")) {
+            values.add(value.strip());
+        }
+        return new SweepVariable(target, values, null, null, null);
+    }
+
+    public String getTarget() {
+        return target.toString();
+    }
+
+    public List<String> getValues() {
+        return values;
+    }
+
+    public BigDecimal getStart() {
+        return start;
+    }
+
+    public BigDecimal getEnd() {
+        return end;
+    }
+
+    public BigDecimal getStep() {
+        return step;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return The number of values, at least 1.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the value with the given index.
+     *
+     * @param idx The index of the value.
+     * @return The value as string.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public String getValue(int idx) {
+        if (idx < 0 || idx >= size) {
+            throw new IndexOutOfBoundsException("Index " + idx + " out of bounds.");
+        }
+        if (values != null) {
+            return values.get(idx);
+        }
+        return start.add(step.multiply(BigDecimal.valueOf(idx))).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Sets the value with the given index in the given parameters. Missing objects along the target
+     * path are created.
+     *
+     * @param params The command parameters to modify.
+     * @param idx The index of the value.
+     * @throws IllegalArgumentException if the target can not be set.
+     */
+    public void apply(@NonNull final JsonNode params, int idx) {
+        ParamBinding.insert(params, target, TextNode.valueOf(getValue(idx)));
+    }
+
+    /**
+     * Gets the string representation of the variable, which can be parsed by
+     * <code>fromString()</code>.
+     *
+     * @return The variable as string.
+     */
+    @Override
+    public String toString() {
+        if (values != null) {
+            return target + " = " + String.join(", ", values);
+        }
+        return target + " = " + start.toPlainString() + ".." + end.toPlainString() + ":"
+                + step.toPlainString();
+    }
+}
@@ -1,27 +1,55 @@
 package de.fau.clients.orchestrator.tasks;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Class to wrap an task-entry from the queue into a format for de-/serialization.
  */
-@JsonPropertyOrder({"taskId", "taskModel", "taskPolicy"})
+@JsonPropertyOrder({"taskId", "taskModel", "taskPolicy", "taskRetry", "taskResources",
+    "taskPriority", "taskDeadlineInMs"})
 public final class TaskEntry {
 
     public int taskId;
     public final TaskModel taskModel;
     public ExecPolicy taskPolicy;
+    /**
+     * The retry settings, which are only used with <code>ExecPolicy.RETRY</code>.
+     */
+    @JsonInclude(Include.NON_NULL)
+    public RetrySettings taskRetry;
+    /**
+     * The resources the task holds during its execution.
+     */
+    @JsonInclude(Include.NON_EMPTY)
+    public List<ResourceClaim> taskResources = new ArrayList<>();
+    /**
+     * The dispatch priority or <code>null</code> to use the priority of the run.
+     */
+    @JsonInclude(Include.NON_NULL)
+    public TaskPriority taskPriority;
+    /**
+     * The time in milliseconds from the start of the run until the task should be finished or
+     * <code>null</code> for no deadline.
+     */
+    @JsonInclude(Include.NON_NULL)
+    public Long taskDeadlineInMs;
 
     @JsonCreator
     public TaskEntry(
             @JsonProperty("taskId") int taskId,
             @JsonProperty("taskModel") final TaskModel taskModel,
-            @JsonProperty("taskPolicy") final ExecPolicy taskPolicy) {
+            @JsonProperty("taskPolicy") final ExecPolicy taskPolicy,
+            @JsonProperty("taskRetry") final RetrySettings taskRetry) {
         this.taskId = taskId;
         this.taskModel = taskModel;
         this.taskPolicy = taskPolicy;
+        this.taskRetry = taskRetry;
     }
 
     public int getTaskId() {
@@ -43,4 +71,36 @@ public ExecPolicy getTaskPolicy() {
     public void setTaskPolicy(ExecPolicy policy) {
         this.taskPolicy = policy;
     }
+
+    public RetrySettings getTaskRetry() {
+        return taskRetry;
+    }
+
+    public void setTaskRetry(RetrySettings retry) {
+        this.taskRetry = retry;
+    }
+
+    public List<ResourceClaim> getTaskResources() {
+        return taskResources;
+    }
+
+    public void setTaskResources(List<ResourceClaim> resources) {
+        this.taskResources = (resources != null) ? resources : new ArrayList<>();
+    }
+
+    public TaskPriority getTaskPriority() {
+        return taskPriority;
+    }
+
+    public void setTaskPriority(TaskPriority priority) {
+        this.taskPriority = priority;
+    }
+
+    public Long getTaskDeadlineInMs() {
+        return taskDeadlineInMs;
+    }
+
+    public void setTaskDeadlineInMs(Long deadlineInMs) {
+        this.taskDeadlineInMs = deadlineInMs;
+    }
 }
@@ -0,0 +1,58 @@
+package de.fau.clients.orchestrator.tasks;
+
+import java.nio.file.Path;
+import lombok.NonNull;
+
+/**
+ * Factory creating the queue tasks of deserialized task models, e.g. when a *.silo file is
+ * imported into the task queue or an included module is executed.
+ *
+ * @see TaskModel
+ */
+public final class TaskFactory {
+
+    private TaskFactory() {
+        throw new UnsupportedOperationException("Instantiation not allowed.");
+    }
+
+    /**
+     * Creates the task corresponding to the given model. The task operates directly on the given
+     * model instance.
+     *
+     * @param taskModel The task model.
+     * @return The new task.
+     * @throws IllegalArgumentException if the model type is unknown.
+     */
+    public static QueueTask createTask(@NonNull final TaskModel taskModel) {
+        return createTask(taskModel, null);
+    }
+
+    /**
+     * Creates the task corresponding to the given model. Relative module paths of include tasks
+     * are resolved against the given directory, which is usually the directory of the *.silo file
+     * the model was loaded from.
+     *
+     * @param taskModel The task model.
+     * @param baseDir The directory for relative module paths or <code>null</code> for the working
+     * directory.
+     * @return The new task.
+     * @throws IllegalArgumentException if the model type is unknown.
+     */
+    public static QueueTask createTask(@NonNull final TaskModel taskModel, final Path baseDir) {
+        if (taskModel instanceof CommandTaskModel) {
+            return new CommandTask((CommandTaskModel) taskModel);
+        } else if (taskModel instanceof DelayTaskModel) {
+            return new DelayTask((DelayTaskModel) taskModel);
+        } else if (taskModel instanceof LocalExecTaskModel) {
+            return new LocalExecTask((LocalExecTaskModel) taskModel);
+        } else if (taskModel instanceof FanOutTaskModel) {
+            return new FanOutTask((FanOutTaskModel) taskModel);
+        } else if (taskModel instanceof SweepTaskModel) {
+            return new SweepTask((SweepTaskModel) taskModel);
+        } else if (taskModel instanceof IncludeTaskModel) {
+            return new IncludeTask((IncludeTaskModel) taskModel, baseDir);
+        }
+        throw new IllegalArgumentException("Unknown task model: "
+                + taskModel.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,19 @@
+package de.fau.clients.orchestrator.tasks;
+
+/**
+ * Provides access to the other tasks of a queue by their task ID, e.g. to resolve the
+ * <code>ParamBinding</code>s of a <code>CommandTask</code> at execution time.
+ *
+ * @see ParamBinding
+ */
+@FunctionalInterface
+public interface TaskLookup {
+
+    /**
+     * Gets the task with the given ID.
+     *
+     * @param taskId The ID of the task.
+     * @return The task or <code>null</code> if there is no task with this ID.
+     */
+    QueueTask getTaskById(int taskId);
+}
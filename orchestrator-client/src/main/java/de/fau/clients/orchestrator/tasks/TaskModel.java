@@ -8,15 +8,19 @@
  * added, simply extend from this class and ensure all containing properties can be handled properly
  * by Jackson (e.g. by using annotations). Furthermore a new <code>@JsonSubTypes.Type</code>
  * annotation with the new introduced subclass has to be added to the <code>@JsonSubTypes</code>
- * list. Also the import routines in the <code>TaskQueueData</code> class, as well as the supported
- * <code>SILO_FILE_VERSION</code> may require adjustments.
+ * list. Also the <code>TaskFactory</code>, which creates the tasks of imported models, as well as
+ * the supported <code>SILO_FILE_VERSION</code> may require adjustments.
  *
+ * @see TaskFactory
  * @see de.fau.clients.orchestrator.queue.TaskQueueData
  */
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.WRAPPER_OBJECT)
 @JsonSubTypes({
     @JsonSubTypes.Type(value = CommandTaskModel.class, name = "command"),
     @JsonSubTypes.Type(value = DelayTaskModel.class, name = "delay"),
-    @JsonSubTypes.Type(value = LocalExecTaskModel.class, name = "localExec")})
+    @JsonSubTypes.Type(value = LocalExecTaskModel.class, name = "localExec"),
+    @JsonSubTypes.Type(value = FanOutTaskModel.class, name = "fanOut"),
+    @JsonSubTypes.Type(value = SweepTaskModel.class, name = "sweep"),
+    @JsonSubTypes.Type(value = IncludeTaskModel.class, name = "include")})
 public abstract class TaskModel {
 }
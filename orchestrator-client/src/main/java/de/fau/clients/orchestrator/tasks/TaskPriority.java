@@ -0,0 +1,44 @@
+package de.fau.clients.orchestrator.tasks;
+
+/**
+ * The priority of a task when it waits for resources used by other tasks. Each level grants a
+ * fixed waiting time, after which the task is served before any later arriving task. Thus a
+ * waiting task ages: A routine task is served after at most three aging intervals, even if urgent
+ * tasks keep arriving. Only tasks of the same orchestrator process are ordered by their priority.
+ *
+ * @see ResourceManager
+ */
+public enum TaskPriority {
+    /**
+     * Served before later tasks after three aging intervals.
+     */
+    LOW(3),
+    /**
+     * Served before later tasks after two aging intervals.
+     */
+    NORMAL(2),
+    /**
+     * Served before later tasks after one aging interval.
+     */
+    HIGH(1),
+    /**
+     * Served before all tasks which arrived later.
+     */
+    URGENT(0);
+
+    private final int agingSteps;
+
+    private TaskPriority(int agingSteps) {
+        this.agingSteps = agingSteps;
+    }
+
+    /**
+     * Gets the number of aging intervals a task of this priority may wait before it is served
+     * ahead of all later arriving tasks.
+     *
+     * @return The number of aging intervals.
+     */
+    public int getAgingSteps() {
+        return agingSteps;
+    }
+}
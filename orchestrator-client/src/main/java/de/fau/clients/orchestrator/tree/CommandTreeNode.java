@@ -2,6 +2,8 @@
 
 import de.fau.clients.orchestrator.ctx.CommandContext;
 import de.fau.clients.orchestrator.tasks.CommandTask;
+import de.fau.clients.orchestrator.tasks.FanOutTask;
+import de.fau.clients.orchestrator.tasks.SweepTask;
 import de.fau.clients.orchestrator.utils.IconProvider;
 import java.awt.BorderLayout;
 import javax.swing.Box;
@@ -48,6 +50,26 @@ public CommandTask createTableEntry() {
         return new CommandTask(commandCtx);
     }
 
+    /**
+     * Creates a fan-out task, which executes the command of this node on all servers offering the
+     * corresponding feature.
+     *
+     * @return The fan-out task used for the task queue table.
+     */
+    public FanOutTask createFanOutTableEntry() {
+        return new FanOutTask(commandCtx);
+    }
+
+    /**
+     * Creates a sweep task, which executes the command of this node repeatedly with varying
+     * parameters.
+     *
+     * @return The sweep task used for the task queue table.
+     */
+    public SweepTask createSweepTableEntry() {
+        return new SweepTask(commandCtx);
+    }
+
     @Override
     public String toString() {
         return commandCtx.getCommand().getDisplayName();
@@ -48,6 +48,12 @@ public class FeatureInfoTreeNode extends DefaultMutableTreeNode implements Prese
     }
 
     private final Feature feature;
+    /**
+     * The context used to build the child nodes on demand or <code>null</code> if the node has no
+     * context.
+     */
+    private final FeatureContext featureCtx;
+    private boolean areChildrenLoaded;
     /**
      * Fully Qualified Feature Identifier string
      */
@@ -56,6 +62,8 @@ public class FeatureInfoTreeNode extends DefaultMutableTreeNode implements Prese
 
     public FeatureInfoTreeNode(final Feature feature) {
         this.feature = feature;
+        this.featureCtx = null;
+        this.areChildrenLoaded = true;
         final VersionNumber featVer = VersionNumber.parseVersionString(this.feature.getFeatureVersion());
         this.fqfi = this.feature.getOriginator()
                 + "/" + this.feature.getCategory()
@@ -63,9 +71,45 @@ public FeatureInfoTreeNode(final Feature feature) {
                 + "/v" + featVer.getMajorNumber();
     }
     
-     public FeatureInfoTreeNode(final FeatureContext featureCtx) {
+    /**
+     * Constructor. The child nodes of the properties and commands are not built until
+     * <code>setChildrenLoaded()</code> is called, which is usually done right before the node gets
+     * expanded for the first time.
+     *
+     * @param featureCtx The context of the feature.
+     */
+    public FeatureInfoTreeNode(final FeatureContext featureCtx) {
         this.feature = featureCtx.getFeature();
         this.fqfi = featureCtx.getFullyQualifiedIdentifier();
+        this.featureCtx = featureCtx;
+        this.areChildrenLoaded = false;
+    }
+
+    public FeatureContext getFeatureCtx() {
+        return featureCtx;
+    }
+
+    public boolean areChildrenLoaded() {
+        return areChildrenLoaded;
+    }
+
+    public void setChildrenLoaded() {
+        areChildrenLoaded = true;
+    }
+
+    /**
+     * Reports the node as expandable as long as the children are not loaded, but the feature has
+     * properties or commands to show.
+     *
+     * @return <code>true</code> if the node has no (loadable) children.
+     */
+    @Override
+    public boolean isLeaf() {
+        if (!areChildrenLoaded) {
+            return featureCtx.getPropertyCtxList().isEmpty()
+                    && featureCtx.getCommandCtxList().isEmpty();
+        }
+        return super.isLeaf();
     }
 
     @Override
@@ -5,12 +5,17 @@
 import de.fau.clients.orchestrator.Presentable;
 import de.fau.clients.orchestrator.ctx.FeatureContext;
 import de.fau.clients.orchestrator.ctx.PropertyContext;
+import de.fau.clients.orchestrator.metrics.TraceRecorder;
+import de.fau.clients.orchestrator.metrics.jfr.ServerCallEvent;
+import de.fau.clients.orchestrator.monitor.PropertyMonitor;
 import de.fau.clients.orchestrator.nodes.NodeFactory;
 import de.fau.clients.orchestrator.nodes.SilaNode;
 import de.fau.clients.orchestrator.utils.IconProvider;
 import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
+import java.awt.Component;
 import java.awt.event.ActionEvent;
 import java.io.IOException;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -21,6 +26,8 @@
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JToggleButton;
+import javax.swing.SwingWorker;
 import javax.swing.tree.DefaultMutableTreeNode;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -42,12 +49,18 @@ public class PropertyTreeNode extends DefaultMutableTreeNode implements Presenta
      */
     private static final int CONTENT_COMPONENT_IDX = 0;
     private static final int MAX_SERVER_RESPONSE_TIME_IN_SEC = 3;
+    private static final String LOADING_STR = "Loading...";
     private static final ObjectMapper jsonMapper = new ObjectMapper();
     private final PropertyContext propCtx;
     private JPanel panel;
     private JButton refreshBtn;
+    private JToggleButton monitorBtn;
     private SilaNode node;
     private String lastResult = "";
+    /**
+     * The worker of the property request in progress or <code>null</code> if there is none.
+     */
+    private SwingWorker<String, Void> requestWorker = null;
 
     /**
      * Constructor.
@@ -75,11 +88,19 @@ public JPanel getPresenter() {
             refreshBtn.addActionListener((ActionEvent evt) -> {
                 refreshBtnActionPerformed();
             });
+            monitorBtn = new JToggleButton("Monitor");
+            monitorBtn.setToolTipText("Samples the property periodically and shows the history in "
+                    + "the property monitor.");
+            monitorBtn.addActionListener((ActionEvent evt) -> {
+                monitorBtnActionPerformed();
+            });
         } else {
             panel.removeAll();
         }
 
-        if (node != null) {
+        if (requestWorker != null) {
+            panel.add(new JLabel(LOADING_STR), CONTENT_COMPONENT_IDX);
+        } else if (node != null) {
             panel.add(node.getComponent(), CONTENT_COMPONENT_IDX);
         } else {
             // node is null -> show exception message
@@ -87,14 +108,105 @@ public JPanel getPresenter() {
         }
         panel.add(Box.createVerticalStrut(10));
         panel.add(refreshBtn);
+        panel.add(Box.createVerticalStrut(5));
+        monitorBtn.setSelected(PropertyMonitor.getInstance().isSubscribed(propCtx));
+        panel.add(monitorBtn);
         return panel;
     }
 
     /**
      * Request the current SiLA Property data form the server and updates the internal
-     * <code>SilaNode</code>.
+     * <code>SilaNode</code>. This call blocks until the server responds or the request times out
+     * and shall therefore not be used in the GUI thread.
+     *
+     * @see #requestPropertyDataAsync()
      */
     public void requestPropertyData() {
+        try {
+            lastResult = readProperty();
+        } catch (final IOException ex) {
+            lastResult = ex.getMessage();
+            node = null;
+            return;
+        }
+        updateSilaNode();
+    }
+
+    /**
+     * Requests the current SiLA Property data in a background thread and updates the view of the
+     * panel with the result in the GUI thread. Until the response arrives, a loading placeholder
+     * is shown. A request which is still in progress gets cancelled. This function shall only be
+     * called in the GUI thread.
+     */
+    public void requestPropertyDataAsync() {
+        cancelPropertyRequest();
+        if (panel == null) {
+            getPresenter();
+        }
+        showContent(new JLabel(LOADING_STR));
+        refreshBtn.setEnabled(false);
+
+        final SwingWorker<String, Void> worker = new SwingWorker<>() {
+            @Override
+            protected String doInBackground() throws IOException {
+                return readProperty();
+            }
+
+            @Override
+            protected void done() {
+                if (requestWorker != this) {
+                    // superseded by a newer request or cancelled
+                    return;
+                }
+                requestWorker = null;
+                try {
+                    lastResult = get();
+                    updateSilaNode();
+                } catch (final ExecutionException ex) {
+                    lastResult = ex.getCause().getMessage();
+                    node = null;
+                } catch (final InterruptedException | CancellationException ex) {
+                    return;
+                }
+                showPropertyData();
+            }
+        };
+        requestWorker = worker;
+        worker.execute();
+    }
+
+    /**
+     * Cancels the property request which is currently in progress, if any. The view of the panel
+     * is restored to the last known property data. This function shall only be called in the GUI
+     * thread.
+     */
+    public void cancelPropertyRequest() {
+        if (requestWorker == null) {
+            return;
+        }
+        final SwingWorker<String, Void> worker = requestWorker;
+        requestWorker = null;
+        worker.cancel(true);
+        showPropertyData();
+    }
+
+    private String readProperty() throws IOException {
+        return readProperty(propCtx, MAX_SERVER_RESPONSE_TIME_IN_SEC);
+    }
+
+    /**
+     * Executes the call of the given SiLA Property on the server and waits for the response.
+     *
+     * @param propCtx The context of the property to read.
+     * @param timeoutInSec The maximum time in seconds to wait for the response.
+     * @return The response of the server as JSON string.
+     * @throws IOException if the call fails, times out or gets interrupted. The message of the
+     * exception is meant to be shown to the user.
+     */
+    public static String readProperty(
+            @NonNull final PropertyContext propCtx,
+            int timeoutInSec
+    ) throws IOException {
         final FeatureContext featCtx = propCtx.getFeatureCtx();
         final Feature.Property property = propCtx.getProperty();
         final SiLACall.Type callType = property.getObservable().equalsIgnoreCase("yes")
@@ -107,35 +219,65 @@ public void requestPropertyData() {
                 callType
         );
 
-        boolean wasSuccessful = false;
+        String result = null;
+        String errMsg = null;
+        final TraceRecorder.Span span = TraceRecorder.getInstance().beginSpan(
+                TraceRecorder.CATEGORY_CALL,
+                () -> featCtx.getFeatureId() + "/" + property.getIdentifier())
+                .arg("server", featCtx.getServerUuid())
+                .arg("type", callType);
+        final ServerCallEvent callEvent = new ServerCallEvent();
+        callEvent.begin();
+        Future<String> futureCallResult = null;
         try {
             final ExecutableServerCall executableServerCall = ExecutableServerCall.newBuilder(callBuilder.build()).build();
-            final Future<String> futureCallResult = ServerManager.getInstance().getServerCallManager().runAsync(executableServerCall);
-            lastResult = futureCallResult.get(MAX_SERVER_RESPONSE_TIME_IN_SEC, TimeUnit.SECONDS);
-            wasSuccessful = true;
+            futureCallResult = ServerManager.getInstance().getServerCallManager().runAsync(executableServerCall);
+            result = futureCallResult.get(timeoutInSec, TimeUnit.SECONDS);
         } catch (final TimeoutException ex) {
-            final String msg = "Timeout: Server did not responde within " + MAX_SERVER_RESPONSE_TIME_IN_SEC + " sec.";
-            log.error(msg);
-            lastResult = msg;
+            futureCallResult.cancel(true);
+            errMsg = "Timeout: Server did not responde within " + timeoutInSec + " sec.";
+            log.error(errMsg);
+        } catch (final InterruptedException ex) {
+            if (futureCallResult != null) {
+                futureCallResult.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            errMsg = "Property request was cancelled.";
+            log.info(errMsg);
         } catch (final ExecutionException ex) {
-            final String msg;
             if (ex.getCause() instanceof SiLAErrorException) {
-                msg = SilaBasicTypeUtils.formatSilaErrorToMsgString(((SiLAErrorException) ex.getCause()).getSiLAError());
+                errMsg = SilaBasicTypeUtils.formatSilaErrorToMsgString(((SiLAErrorException) ex.getCause()).getSiLAError());
             } else {
-                msg = ex.getMessage();
+                errMsg = ex.getMessage();
             }
-            log.error(msg);
-            lastResult = msg;
+            log.error(errMsg);
         } catch (final Exception ex) {
-            log.error(ex.getMessage());
-            lastResult = ex.getMessage();
+            errMsg = ex.getMessage();
+            log.error(errMsg);
         }
+        final boolean wasSuccessful = (errMsg == null);
+        callEvent.end();
+        if (callEvent.shouldCommit()) {
+            callEvent.serverUuid = featCtx.getServerUuid().toString();
+            callEvent.identifier = propCtx.getFullyQualifiedIdentifier();
+            callEvent.callType = callType.toString();
+            callEvent.responseBytes = ServerCallEvent.utf8Length(result);
+            callEvent.isSuccessful = wasSuccessful;
+            callEvent.commit();
+        }
+        span.arg("success", wasSuccessful).close();
 
         if (!wasSuccessful) {
-            node = null;
-            return;
+            throw new IOException(errMsg);
         }
+        return result;
+    }
 
+    /**
+     * Builds the internal <code>SilaNode</code> from the last result of the server. The node is
+     * left untouched if the result can not be parsed.
+     */
+    private void updateSilaNode() {
         final JsonNode rootNode;
         try {
             rootNode = jsonMapper.readTree(lastResult);
@@ -144,8 +286,9 @@ public void requestPropertyData() {
             return;
         }
 
+        final Feature.Property property = propCtx.getProperty();
         node = NodeFactory.createFromJson(
-                featCtx,
+                propCtx.getFeatureCtx(),
                 property.getDataType(),
                 rootNode.get(property.getIdentifier()),
                 false);
@@ -157,17 +300,43 @@ public String toString() {
     }
 
     /**
-     * Requests the current state of the SiLA Property form the server and updates the view of the
-     * GUI components. The internal panel has to be constructed before using this function.
+     * Requests the current state of the SiLA Property form the server without blocking the GUI.
+     * The internal panel has to be constructed before using this function.
      */
     private void refreshBtnActionPerformed() {
-        requestPropertyData();
-        panel.remove(CONTENT_COMPONENT_IDX);
+        requestPropertyDataAsync();
+    }
+
+    /**
+     * Adds the property to or removes it from the <code>PropertyMonitor</code>.
+     */
+    private void monitorBtnActionPerformed() {
+        if (monitorBtn.isSelected()) {
+            PropertyMonitor.getInstance().subscribe(propCtx);
+        } else {
+            PropertyMonitor.getInstance().unsubscribe(propCtx);
+        }
+    }
+
+    /**
+     * Shows the last received property data or the error message in the panel, if the panel is
+     * already constructed.
+     */
+    private void showPropertyData() {
+        if (panel == null) {
+            return;
+        }
         if (node != null) {
-            panel.add(node.getComponent(), CONTENT_COMPONENT_IDX);
+            showContent(node.getComponent());
         } else {
-            panel.add(new JLabel(lastResult), CONTENT_COMPONENT_IDX);
+            showContent(new JLabel(lastResult));
         }
+        refreshBtn.setEnabled(true);
+    }
+
+    private void showContent(final Component content) {
+        panel.remove(CONTENT_COMPONENT_IDX);
+        panel.add(content, CONTENT_COMPONENT_IDX);
         panel.revalidate();
         panel.repaint();
     }
@@ -17,9 +17,14 @@
 import javax.swing.JPanel;
 import javax.swing.JToolTip;
 import javax.swing.JTree;
+import javax.swing.SwingUtilities;
 import javax.swing.ToolTipManager;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeSelectionEvent;
+import javax.swing.event.TreeWillExpandListener;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
 import javax.swing.tree.TreeSelectionModel;
 import lombok.NonNull;
 import sila_java.library.core.models.Feature;
@@ -48,13 +53,43 @@ public ServerFeatureTree() {
         this.setEnabled(false);
         this.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 0));
         ToolTipManager.sharedInstance().registerComponent(this);
+        this.addTreeWillExpandListener(new TreeWillExpandListener() {
+            @Override
+            public void treeWillExpand(final TreeExpansionEvent evt) {
+                final Object node = evt.getPath().getLastPathComponent();
+                if (node instanceof FeatureInfoTreeNode) {
+                    final FeatureInfoTreeNode featureNode = (FeatureInfoTreeNode) node;
+                    if (!featureNode.areChildrenLoaded()) {
+                        loadFeatureNode(featureNode);
+                        // expand the property and command groups once the feature is expanded
+                        SwingUtilities.invokeLater(() -> {
+                            for (int i = 0; i < featureNode.getChildCount(); i++) {
+                                expandPath(evt.getPath().pathByAddingChild(featureNode.getChildAt(i)));
+                            }
+                        });
+                    }
+                }
+            }
+
+            @Override
+            public void treeWillCollapse(final TreeExpansionEvent evt) {
+            }
+        });
+        this.addTreeSelectionListener((TreeSelectionEvent evt) -> {
+            // stop waiting for a property which is no longer in view
+            final TreePath oldPath = evt.getOldLeadSelectionPath();
+            if (oldPath != null && oldPath.getLastPathComponent() instanceof PropertyTreeNode
+                    && !oldPath.equals(evt.getNewLeadSelectionPath())) {
+                ((PropertyTreeNode) oldPath.getLastPathComponent()).cancelPropertyRequest();
+            }
+        });
     }
 
     /**
-     * Adds the given server and all its features to the server tree. If the server is already in
-     * the tree, the label gets updated. The model has to be reloaded after this operation to take
-     * effect in the visual representation. This can be achieved with the following command:
-     * <code>((DefaultTreeModel) myTree.getModel()).reload();</code>
+     * Adds the given server and its features to the server tree. If the server is already in the
+     * tree, the label gets updated. The nodes of the properties and commands are built lazily when
+     * the corresponding feature node gets expanded for the first time. This function shall only be
+     * called in the GUI thread.
      *
      * @param serverCtx The server to add to the tree.
      */
@@ -66,6 +101,7 @@ public void putServerToTree(@NonNull final ServerContext serverCtx) {
             final ServerTreeNode stn = serverMap.get(serverUuid);
             final TreeNodeType tnt = (TreeNodeType) stn.getUserObject();
             tnt.setDisplayName(stn.getServerLabel());
+            model.nodeChanged(stn);
             return;
         }
 
@@ -73,63 +109,93 @@ public void putServerToTree(@NonNull final ServerContext serverCtx) {
         serverMap.put(serverUuid, serverNode);
         serverNode.setUserObject(new TreeNodeType(serverNode));
 
-        final DefaultMutableTreeNode rootNode = (DefaultMutableTreeNode) model.getRoot();
-        rootNode.add(serverNode);
-
         for (final FeatureContext featCtx : serverCtx.getFeatureCtxSortedList()) {
             final Feature feature = featCtx.getFeature();
             final FeatureInfoTreeNode featureNode = new FeatureInfoTreeNode(featCtx);
             featureNode.setUserObject(new TreeNodeType(feature, featCtx.isCoreFeature()));
             serverNode.add(featureNode);
+        }
 
-            final List<PropertyContext> propCtxList = featCtx.getPropertyCtxSortedList();
-            if (!propCtxList.isEmpty()) {
-                final DefaultMutableTreeNode propertyNode = new DefaultMutableTreeNode("Properties");
-                featureNode.add(propertyNode);
-                for (final PropertyContext propCtx : propCtxList) {
-                    final PropertyTreeNode ptn = new PropertyTreeNode(propCtx);
-                    ptn.setUserObject(new TreeNodeType(propCtx.getProperty()));
-                    propertyNode.add(ptn);
-                }
+        final DefaultMutableTreeNode rootNode = (DefaultMutableTreeNode) model.getRoot();
+        rootNode.add(serverNode);
+        model.nodesWereInserted(rootNode, new int[]{rootNode.getIndex(serverNode)});
+        updateTreeView();
+        // show the features of the new server without touching the other nodes
+        expandPath(new TreePath(serverNode.getPath()));
+    }
+
+    /**
+     * Builds the nodes of the properties and commands of the given feature node, if not done
+     * already.
+     *
+     * @param featureNode The feature node to load.
+     */
+    private void loadFeatureNode(@NonNull final FeatureInfoTreeNode featureNode) {
+        if (featureNode.areChildrenLoaded()) {
+            return;
+        }
+        featureNode.setChildrenLoaded();
+        final FeatureContext featCtx = featureNode.getFeatureCtx();
+        final List<PropertyContext> propCtxList = featCtx.getPropertyCtxSortedList();
+        if (!propCtxList.isEmpty()) {
+            final DefaultMutableTreeNode propertyNode = new DefaultMutableTreeNode("Properties");
+            featureNode.add(propertyNode);
+            for (final PropertyContext propCtx : propCtxList) {
+                final PropertyTreeNode ptn = new PropertyTreeNode(propCtx);
+                ptn.setUserObject(new TreeNodeType(propCtx.getProperty()));
+                propertyNode.add(ptn);
             }
+        }
 
-            final List<CommandContext> cmdCtxList = featCtx.getCommandCtxSortedList();
-            if (!cmdCtxList.isEmpty()) {
-                final DefaultMutableTreeNode commandNode = new DefaultMutableTreeNode("Commands");
-                featureNode.add(commandNode);
-                for (final CommandContext cmdCtx : cmdCtxList) {
-                    final CommandTreeNode ctn = new CommandTreeNode(cmdCtx);
-                    ctn.setUserObject(new TreeNodeType(cmdCtx.getCommand()));
-                    commandNode.add(ctn);
-                }
+        final List<CommandContext> cmdCtxList = featCtx.getCommandCtxSortedList();
+        if (!cmdCtxList.isEmpty()) {
+            final DefaultMutableTreeNode commandNode = new DefaultMutableTreeNode("Commands");
+            featureNode.add(commandNode);
+            for (final CommandContext cmdCtx : cmdCtxList) {
+                final CommandTreeNode ctn = new CommandTreeNode(cmdCtx);
+                ctn.setUserObject(new TreeNodeType(cmdCtx.getCommand()));
+                commandNode.add(ctn);
             }
         }
+
+        final int childCount = featureNode.getChildCount();
+        if (childCount > 0) {
+            final int[] childIndices = new int[childCount];
+            for (int i = 0; i < childCount; i++) {
+                childIndices[i] = i;
+            }
+            ((DefaultTreeModel) this.treeModel).nodesWereInserted(featureNode, childIndices);
+        }
     }
 
     /**
-     * Removes the given server from the server tree.
+     * Removes the given server from the server tree. This function shall only be called in the GUI
+     * thread.
      *
      * @param serverCtx The context of the server to remove.
      */
     public void removeServerFromTree(@NonNull final ServerContext serverCtx) {
         final ServerTreeNode stn = serverMap.remove(serverCtx.getServerUuid());
+        if (stn == null) {
+            return;
+        }
         final DefaultTreeModel model = (DefaultTreeModel) this.treeModel;
         model.removeNodeFromParent(stn);
+        updateTreeView();
     }
 
     /**
-     * Refreshes the view of the tree elements. This function shall only be called in the GUI
-     * thread.
+     * Refreshes the visibility of the root node and the enabled state of the tree. The tree model
+     * is not reloaded, since all changes of the servers are propagated by the individual model
+     * events. Hence the expansion state of the nodes is retained. This function shall only be
+     * called in the GUI thread.
      */
     public void updateTreeView() {
-        ((DefaultTreeModel) this.treeModel).reload();
         final boolean isTreeRootVisible = serverMap.isEmpty();
-        setRootVisible(isTreeRootVisible);
-        setEnabled(!isTreeRootVisible);
-        // Expand all nodes in the tree.
-        for (int i = 0; i < getRowCount(); i++) {
-            expandRow(i);
+        if (isRootVisible() != isTreeRootVisible) {
+            setRootVisible(isTreeRootVisible);
         }
+        setEnabled(!isTreeRootVisible);
     }
 
     /**
@@ -149,8 +215,8 @@ public JPanel getPresenter() {
             presenter = CommandTreeNode.COMMAND_USAGE_PANEL;
         } else if (node instanceof PropertyTreeNode) {
             final PropertyTreeNode propNode = (PropertyTreeNode) node;
-            propNode.requestPropertyData();
             presenter = propNode.getPresenter();
+            propNode.requestPropertyDataAsync();
         } else if (node instanceof FeatureInfoTreeNode) {
             final FeatureInfoTreeNode featNode = (FeatureInfoTreeNode) node;
             presenter = featNode.getPresenter();
@@ -168,7 +234,7 @@ public JPanel getPresenter() {
      */
     @Override
     public void onServerConnectionAdded(final ServerContext serverCtx) {
-        putServerToTree(serverCtx);
+        SwingUtilities.invokeLater(() -> putServerToTree(serverCtx));
     }
 
     /**
@@ -179,21 +245,23 @@ public void onServerConnectionAdded(final ServerContext serverCtx) {
      */
     @Override
     public void onServerConnectionChanged(final ServerContext serverCtx) {
-        final ServerTreeNode serverNode = serverMap.get(serverCtx.getServerUuid());
-        if (serverNode != null) {
-            final Object obj = serverNode.getUserObject();
-            if (!(obj instanceof TreeNodeType)) {
-                return;
-            }
-            final TreeNodeType ftt = (TreeNodeType) obj;
-            if (serverCtx.isOnline()) {
-                ftt.setTreeRenderSymbol(TreeRenderSymbol.SERVER_ONLINE);
-            } else {
-                ftt.setTreeRenderSymbol(TreeRenderSymbol.SERVER_OFFLINE);
+        SwingUtilities.invokeLater(() -> {
+            final ServerTreeNode serverNode = serverMap.get(serverCtx.getServerUuid());
+            if (serverNode != null) {
+                final Object obj = serverNode.getUserObject();
+                if (!(obj instanceof TreeNodeType)) {
+                    return;
+                }
+                final TreeNodeType ftt = (TreeNodeType) obj;
+                if (serverCtx.isOnline()) {
+                    ftt.setTreeRenderSymbol(TreeRenderSymbol.SERVER_ONLINE);
+                } else {
+                    ftt.setTreeRenderSymbol(TreeRenderSymbol.SERVER_OFFLINE);
+                }
+                ftt.setDescription(serverNode.getDescription());
+                ((DefaultTreeModel) this.treeModel).nodeChanged(serverNode);
             }
-            ftt.setDescription(serverNode.getDescription());
-            this.repaint();
-        }
+        });
     }
 
     @Override
@@ -211,6 +211,26 @@ public static String toHexString(byte[] hexValues) {
         return hexString.toString();
     }
 
+    /**
+     * Gets the name of the error type of a `SiLAError` (e.g. "ValidationError").
+     *
+     * @param silaError The `SiLAError` to get the type from.
+     * @return The name of the error type or "Error" for unknown types.
+     */
+    public static String getSilaErrorTypeName(final SiLAFramework.SiLAError silaError) {
+        if (silaError.hasValidationError()) {
+            return "ValidationError";
+        } else if (silaError.hasFrameworkError()) {
+            return "FrameworkError";
+        } else if (silaError.hasDefinedExecutionError()) {
+            return "DefinedExecutionError";
+        } else if (silaError.hasUndefinedExecutionError()) {
+            return "UndefinedExecutionError";
+        } else {
+            return "Error";
+        }
+    }
+
     /**
      * Extracts the contents from a `SiLAError`-type and formats it to a human readable error
      * message.
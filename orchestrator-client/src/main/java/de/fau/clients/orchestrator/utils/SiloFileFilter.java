@@ -1,14 +1,44 @@
 package de.fau.clients.orchestrator.utils;
 
+import de.fau.clients.orchestrator.queue.SiloFileFormat;
 import java.io.File;
 import javax.swing.filechooser.FileFilter;
 
 /**
- * A file filter used in file selection dialogues to load/save only *.silo-files.
+ * A file filter used in file selection dialogues to load/save only *.silo-files (in JSON or binary
+ * encoding). In save dialogues, a filter can be bound to an encoding, so the user may choose the
+ * encoding independent of the file extension.
  */
 public final class SiloFileFilter extends FileFilter {
 
     private final static String SILO_SUFFIX = "silo";
+    private final static String SILO_BINARY_SUFFIX = "silob";
+    private final SiloFileFormat format;
+
+    /**
+     * Creates a filter for *.silo-files of any encoding.
+     */
+    public SiloFileFilter() {
+        this(null);
+    }
+
+    /**
+     * Creates a filter for saving *.silo-files in the given encoding.
+     *
+     * @param format The encoding chosen by this filter or <code>null</code> for any encoding.
+     */
+    public SiloFileFilter(final SiloFileFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * Gets the encoding chosen by this filter.
+     *
+     * @return The encoding or <code>null</code> if the filter is not bound to an encoding.
+     */
+    public SiloFileFormat getFormat() {
+        return format;
+    }
 
     /*
      * Get the extension of a file.
@@ -25,7 +55,7 @@ private static String getExtension(final File file) {
     }
 
     /**
-     * Accept all directories and all *.silo files.
+     * Accept all directories and all *.silo/*.silob files.
      *
      * @param file The file to check.
      * @return <code>true</code> if file filter matches, otherwise <code>false</code>.
@@ -38,7 +68,7 @@ public boolean accept(File file) {
 
         final String ext = getExtension(file);
         if (ext != null) {
-            if (ext.equals(SILO_SUFFIX)) {
+            if (ext.equals(SILO_SUFFIX) || ext.equals(SILO_BINARY_SUFFIX)) {
                 return true;
             }
         }
@@ -51,6 +81,11 @@ public boolean accept(File file) {
      */
     @Override
     public String getDescription() {
-        return "SiLA Orchestrator File (*.silo)";
+        if (format == SiloFileFormat.JSON) {
+            return "SiLA Orchestrator File (JSON)";
+        } else if (format == SiloFileFormat.SMILE) {
+            return "SiLA Orchestrator File (compact binary)";
+        }
+        return "SiLA Orchestrator File (*.silo, *.silob)";
     }
 }
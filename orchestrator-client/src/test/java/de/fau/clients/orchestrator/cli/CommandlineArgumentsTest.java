@@ -5,6 +5,7 @@
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import de.fau.clients.orchestrator.tasks.TaskPriority;
 import org.junit.jupiter.api.Test;
 import static de.fau.clients.orchestrator.cli.CommandlineArguments.isHostAndPortStrValid;
 
@@ -212,4 +213,69 @@ public void isHostAndPortStrValid_invalid() {
         assertFalse(isHostAndPortStrValid(":50052"));
     }
 
+
+    @Test
+    public void createFromArgs_metricsEndpoint() {
+        CommandlineArguments result = CommandlineArguments.createFromArgs(new String[]{"-m", "9100"});
+        assertTrue(result.isMetricsEndpointToStart());
+        assertEquals("9100", result.metricsEndpoint);
+
+        result = CommandlineArguments.createFromArgs(new String[]{"--metrics-endpoint", "0.0.0.0:9100"});
+        assertEquals("0.0.0.0:9100", result.metricsEndpoint);
+
+        assertFalse(new CommandlineArguments().isMetricsEndpointToStart());
+        assertThrows(IllegalArgumentException.class,
+                () -> CommandlineArguments.createFromArgs(new String[]{"-m"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> CommandlineArguments.createFromArgs(new String[]{"--metrics-endpoint", "host:"}));
+    }
+
+    @Test
+    public void createFromArgs_trace() {
+        CommandlineArguments result = CommandlineArguments.createFromArgs(new String[]{"-t", "trace.json"});
+        assertTrue(result.isTraceToWrite());
+        assertEquals("trace.json", result.traceFilePath);
+
+        result = CommandlineArguments.createFromArgs(new String[]{"-x", "run.silo", "--trace", "out/run.json"});
+        assertEquals("out/run.json", result.traceFilePath);
+        assertEquals("run.silo", result.siloFilePathForExec);
+
+        assertFalse(new CommandlineArguments().isTraceToWrite());
+        assertThrows(IllegalArgumentException.class,
+                () -> CommandlineArguments.createFromArgs(new String[]{"-t"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> CommandlineArguments.createFromArgs(new String[]{"--trace"}));
+    }
+
+    @Test
+    public void createFromArgs_scheduling() {
+        CommandlineArguments result = CommandlineArguments.createFromArgs(
+                new String[]{"-x", "run.silo", "-p", "urgent", "-d", "90"});
+        assertEquals(TaskPriority.URGENT, result.runPriority);
+        assertEquals(90000L, result.runDeadlineInMs);
+
+        result = CommandlineArguments.createFromArgs(
+                new String[]{"--priority", "LOW", "--deadline", "5"});
+        assertEquals(TaskPriority.LOW, result.runPriority);
+        assertEquals(5000L, result.runDeadlineInMs);
+
+        result = new CommandlineArguments();
+        assertEquals(TaskPriority.NORMAL, result.runPriority);
+        assertNull(result.runDeadlineInMs);
+
+        Throwable exception = assertThrows(IllegalArgumentException.class,
+                () -> CommandlineArguments.createFromArgs(new String[]{"-p"}));
+        assertEquals(CommandlineArguments.ERROR_PRIORITY_ARG_MSG, exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class,
+                () -> CommandlineArguments.createFromArgs(new String[]{"--priority", "asap"}));
+        assertEquals(CommandlineArguments.ERROR_PRIORITY_INVALID_MSG, exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class,
+                () -> CommandlineArguments.createFromArgs(new String[]{"--deadline"}));
+        assertEquals(CommandlineArguments.ERROR_DEADLINE_ARG_MSG, exception.getMessage());
+        for (final String deadline : new String[]{"0", "-5", "1.5", "1234567890"}) {
+            exception = assertThrows(IllegalArgumentException.class,
+                    () -> CommandlineArguments.createFromArgs(new String[]{"-d", deadline}));
+            assertEquals(CommandlineArguments.ERROR_DEADLINE_INVALID_MSG, exception.getMessage());
+        }
+    }
 }
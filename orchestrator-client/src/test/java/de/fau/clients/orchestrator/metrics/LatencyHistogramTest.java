@@ -0,0 +1,82 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketLayout() {
+        long prevHighest = -1;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            final long highest = LatencyHistogram.highestValueOf(i);
+            assertTrue(highest > prevHighest);
+            assertEquals(i, LatencyHistogram.bucketIndexOf(highest));
+            assertEquals(i, LatencyHistogram.bucketIndexOf(prevHighest + 1));
+            prevHighest = highest;
+        }
+        assertEquals(Long.MAX_VALUE, prevHighest);
+    }
+
+    @Test
+    public void percentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000);
+        }
+        final LatencyHistogram.Snapshot snap = histogram.snapshot();
+        assertEquals(10_000, snap.getCount());
+        assertEquals(1000, snap.getMin());
+        assertEquals(10_000_000, snap.getMax());
+        assertEquals(5_000_500.0, snap.getMean(), 0.001);
+        assertWithinRelativeError(5_000_000, snap.getValueAtPercentile(50.0));
+        assertWithinRelativeError(9_900_000, snap.getValueAtPercentile(99.0));
+        assertEquals(10_000_000, snap.getValueAtPercentile(100.0));
+        assertWithinRelativeError(1000, snap.getValueAtPercentile(0.0));
+    }
+
+    @Test
+    public void emptyAndReset() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getValueAtPercentile(50.0));
+        histogram.record(42);
+        histogram.record(-1);
+        assertEquals(0, histogram.snapshot().getMin());
+        histogram.reset();
+        final LatencyHistogram.Snapshot snap = histogram.snapshot();
+        assertEquals(0, snap.getCount());
+        assertEquals(0, snap.getMax());
+        assertEquals(0.0, snap.getMean());
+    }
+
+    @Test
+    public void concurrentRecording() throws InterruptedException {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final int numOfThreads = 4;
+        final int numOfValues = 100_000;
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < numOfThreads; t++) {
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < numOfValues; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        final LatencyHistogram.Snapshot snap = histogram.snapshot();
+        assertEquals(numOfThreads * numOfValues, snap.getCount());
+        assertEquals(numOfValues - 1, snap.getMax());
+    }
+
+    private static void assertWithinRelativeError(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 64,
+                "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,82 @@
+package de.fau.clients.orchestrator.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fau.clients.orchestrator.tasks.TaskState;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class MetricsHttpServerTest {
+
+    private static final UUID SERVER_UUID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Test
+    public void serveMetrics() throws IOException {
+        final AtomicLong clock = new AtomicLong(0);
+        final MetricsRegistry registry = new MetricsRegistry(clock::get);
+        final MetricsRegistry.Call call = registry.startCall(new CommandKey(SERVER_UUID, "Feat", "Cmd"));
+        clock.addAndGet(2_000_000);
+        call.failed("Timeout");
+        final QueueProgress progress = new QueueProgress();
+        progress.start(List.of("Cmd", "Delay \"1\""));
+        progress.setTaskState(0, TaskState.FINISHED_ERROR);
+        progress.setTaskState(1, TaskState.RUNNING);
+
+        try (final MetricsHttpServer server = new MetricsHttpServer(
+                new InetSocketAddress(MetricsHttpServer.DEFAULT_HOST, 0),
+                registry,
+                progress,
+                () -> Map.of(SERVER_UUID, true))) {
+            final String base = "http://" + MetricsHttpServer.DEFAULT_HOST + ":" + server.getAddress().getPort();
+
+            final String text = get(base + "/metrics", 200);
+            assertTrue(text.contains("sila_orchestrator_queue_tasks 2\n"));
+            assertTrue(text.contains("sila_orchestrator_queue_tasks_finished 1\n"));
+            assertTrue(text.contains("sila_orchestrator_queue_task_state{row=\"2\",task=\"Delay \\\"1\\\"\",state=\"RUNNING\"} 1\n"));
+            assertTrue(text.contains("sila_orchestrator_server_online{server_uuid=\"" + SERVER_UUID + "\"} 1\n"));
+            assertTrue(text.contains("sila_orchestrator_command_errors_total{server_uuid=\"" + SERVER_UUID
+                    + "\",feature=\"Feat\",command=\"Cmd\",error_type=\"Timeout\"} 1\n"));
+            assertTrue(text.contains("sila_orchestrator_command_latency_seconds_count{server_uuid=\"" + SERVER_UUID
+                    + "\",feature=\"Feat\",command=\"Cmd\"} 1\n"));
+            assertTrue(text.contains("# TYPE sila_orchestrator_resource_queue_depth gauge\n"));
+            assertTrue(text.contains("\nsila_orchestrator_deadline_misses_total "));
+
+            final JsonNode json = new ObjectMapper().readTree(get(base + "/metrics.json", 200));
+            assertEquals(2, json.get("queue").get("tasks").asInt());
+            assertEquals("FINISHED_ERROR", json.get("queue").get("taskStates").get(0).get("state").asText());
+            assertTrue(json.get("servers").get(0).get("online").asBoolean());
+            assertEquals(1, json.get("commands").get(0).get("errors").get("Timeout").asInt());
+            assertTrue(json.get("resources").isArray());
+            assertTrue(json.get("deadlineMisses").isNumber());
+            assertEquals(2.0, json.get("commands").get(0).get("latencyMs").get("max").asDouble(), 0.001);
+
+            get(base + "/unknown", 404);
+        }
+    }
+
+    private static String get(final String url, int expectedStatus) throws IOException {
+        final HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            assertEquals(expectedStatus, con.getResponseCode());
+            if (expectedStatus != 200) {
+                return "";
+            }
+            try (final InputStream in = con.getInputStream()) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        } finally {
+            con.disconnect();
+        }
+    }
+}
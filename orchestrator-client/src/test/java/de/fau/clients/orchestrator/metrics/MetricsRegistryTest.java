@@ -0,0 +1,63 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class MetricsRegistryTest {
+
+    private static final UUID SERVER_UUID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final CommandKey SET_KEY = new CommandKey(SERVER_UUID, "TemperatureController", "SetTemp");
+    private static final CommandKey GET_KEY = new CommandKey(SERVER_UUID, "TemperatureController", "GetTemp");
+
+    @Test
+    public void recordCalls() {
+        final AtomicLong clock = new AtomicLong(0);
+        final MetricsRegistry registry = new MetricsRegistry(clock::get);
+        assertNull(registry.getCommandMetrics(SET_KEY));
+
+        for (int i = 0; i < 4; i++) {
+            final MetricsRegistry.Call call = registry.startCall(SET_KEY);
+            assertEquals(1, registry.getCommandMetrics(SET_KEY).getInFlightCount());
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+            if (i < 3) {
+                call.succeeded();
+            } else {
+                call.failed("ValidationError");
+                call.succeeded(); // ignored
+            }
+        }
+        final MetricsRegistry.Call call = registry.startCall(GET_KEY);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        call.failed("Timeout");
+
+        final CommandMetrics setMetrics = registry.getCommandMetrics(SET_KEY);
+        assertEquals(0, setMetrics.getInFlightCount());
+        assertEquals(3, setMetrics.getSuccessCount());
+        assertEquals(1, setMetrics.getErrorCount());
+        assertEquals(Map.of("ValidationError", 1L), setMetrics.getErrorCounts());
+        assertEquals(4, setMetrics.getLatencySnapshot().getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(250), setMetrics.getLatencySnapshot().getMax());
+        assertEquals(4.0, setMetrics.getThroughput(), 0.001);
+
+        assertEquals(5, registry.getFinishedCallCount());
+        assertEquals(2.5, registry.getThroughput(), 0.001);
+        assertEquals(GET_KEY, registry.getAllCommandMetrics().get(0).getKey());
+
+        final String summary = registry.formatSummary();
+        assertTrue(summary.contains("TemperatureController/SetTemp"));
+        assertTrue(summary.contains("ValidationError: 1"));
+        assertTrue(summary.contains("Timeout: 1"));
+        assertTrue(summary.contains("Total: 5 calls"));
+
+        registry.reset();
+        assertEquals(0, registry.getFinishedCallCount());
+        assertEquals(0.0, registry.getThroughput());
+        assertEquals(0, setMetrics.getLatencySnapshot().getCount());
+    }
+}
@@ -0,0 +1,125 @@
+package de.fau.clients.orchestrator.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class TraceRecorderTest {
+
+    @Test
+    public void disabledRecordsNothing() {
+        final TraceRecorder recorder = new TraceRecorder(new AtomicLong(0)::get, 8);
+        assertFalse(recorder.isEnabled());
+        recorder.beginSpan(TraceRecorder.CATEGORY_CALL, "Call").arg("key", "value").close();
+        recorder.recordSpan(TraceRecorder.CATEGORY_QUEUE, "Queued", 0);
+        assertEquals(0, recorder.getRecordedCount());
+        assertTrue(recorder.getEvents().isEmpty());
+    }
+
+    @Test
+    public void spanNamesBuiltOnlyWhileEnabled() {
+        final TraceRecorder recorder = new TraceRecorder(new AtomicLong(0)::get, 8);
+        final AtomicInteger buildCount = new AtomicInteger();
+        final Supplier<String> name = () -> "#" + buildCount.incrementAndGet();
+        recorder.beginSpan(TraceRecorder.CATEGORY_TASK, name).close();
+        recorder.recordSpan(TraceRecorder.CATEGORY_QUEUE, name, 0);
+        assertEquals(0, buildCount.get());
+
+        recorder.setEnabled(true);
+        recorder.beginSpan(TraceRecorder.CATEGORY_TASK, name).close();
+        recorder.recordSpan(TraceRecorder.CATEGORY_QUEUE, name, 0);
+        assertEquals(2, buildCount.get());
+        assertEquals("#1", recorder.getEvents().get(0).getName());
+        assertEquals("#2", recorder.getEvents().get(1).getName());
+    }
+
+    @Test
+    public void recordSpans() {
+        final AtomicLong clock = new AtomicLong(1000);
+        final TraceRecorder recorder = new TraceRecorder(clock::get, 8);
+        recorder.setEnabled(true);
+
+        final long queueStart = recorder.now();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+        recorder.recordSpan(TraceRecorder.CATEGORY_QUEUE, "Queued", queueStart);
+        final TraceRecorder.Span span = recorder.beginSpan(TraceRecorder.CATEGORY_CALL, "Feature/Cmd");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+        span.arg("state", "FINISHED_SUCCESS").close();
+        span.close(); // ignored
+
+        final List<TraceEvent> events = recorder.getEvents();
+        assertEquals(2, events.size());
+        assertEquals("Queued", events.get(0).getName());
+        assertEquals(0, events.get(0).getStartNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), events.get(0).getDurationNanos());
+        assertEquals("Feature/Cmd", events.get(1).getName());
+        assertEquals(TraceRecorder.CATEGORY_CALL, events.get(1).getCategory());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), events.get(1).getStartNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), events.get(1).getDurationNanos());
+        assertEquals("FINISHED_SUCCESS", events.get(1).getArgs().get("state"));
+        assertEquals(Thread.currentThread().getId(), events.get(1).getThreadId());
+    }
+
+    @Test
+    public void ringBufferKeepsLatest() {
+        final AtomicLong clock = new AtomicLong(0);
+        final TraceRecorder recorder = new TraceRecorder(clock::get, 4);
+        recorder.setEnabled(true);
+        for (int i = 0; i < 10; i++) {
+            clock.incrementAndGet();
+            recorder.beginSpan(TraceRecorder.CATEGORY_TASK, "Task " + i).close();
+        }
+        assertEquals(10, recorder.getRecordedCount());
+        final List<TraceEvent> events = recorder.getEvents();
+        assertEquals(4, events.size());
+        assertEquals("Task 6", events.get(0).getName());
+        assertEquals("Task 9", events.get(3).getName());
+
+        recorder.clear();
+        assertEquals(0, recorder.getRecordedCount());
+        assertTrue(recorder.getEvents().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new TraceRecorder(clock::get, 0));
+    }
+
+    @Test
+    public void writeTraceEvents() throws IOException {
+        final AtomicLong clock = new AtomicLong(0);
+        final TraceRecorder recorder = new TraceRecorder(clock::get, 4);
+        recorder.setEnabled(true);
+        clock.set(TimeUnit.MICROSECONDS.toNanos(1500));
+        final TraceRecorder.Span span = recorder.beginSpan(TraceRecorder.CATEGORY_CALL, "Feature/Cmd");
+        clock.addAndGet(TimeUnit.MICROSECONDS.toNanos(250));
+        span.arg("server", "local").close();
+
+        final StringWriter out = new StringWriter();
+        recorder.writeTraceEvents(out);
+        final JsonNode root = new ObjectMapper().readTree(out.toString());
+        final JsonNode traceEvents = root.get("traceEvents");
+        assertEquals(2, traceEvents.size());
+
+        final JsonNode event = traceEvents.get(0);
+        assertEquals("Feature/Cmd", event.get("name").asText());
+        assertEquals("call", event.get("cat").asText());
+        assertEquals("X", event.get("ph").asText());
+        assertEquals(1500.0, event.get("ts").asDouble(), 1e-9);
+        assertEquals(250.0, event.get("dur").asDouble(), 1e-9);
+        assertEquals(Thread.currentThread().getId(), event.get("tid").asLong());
+        assertEquals("local", event.get("args").get("server").asText());
+
+        final JsonNode threadMeta = traceEvents.get(1);
+        assertEquals("M", threadMeta.get("ph").asText());
+        assertEquals(Thread.currentThread().getName(), threadMeta.get("args").get("name").asText());
+        assertEquals(0, root.get("otherData").get("droppedSpans").asLong());
+    }
+}
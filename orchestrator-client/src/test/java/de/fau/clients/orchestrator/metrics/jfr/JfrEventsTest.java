@@ -0,0 +1,71 @@
+package de.fau.clients.orchestrator.metrics.jfr;
+
+import de.fau.clients.orchestrator.tasks.DelayTask;
+import de.fau.clients.orchestrator.tasks.DelayTaskModel;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void register() {
+        JfrEvents.register();
+        final Set<String> names = FlightRecorder.getFlightRecorder().getEventTypes().stream()
+                .map(EventType::getName)
+                .collect(Collectors.toSet());
+        assertTrue(names.contains(JfrEvents.NAME_PREFIX + "TaskExecution"));
+        assertTrue(names.contains(JfrEvents.NAME_PREFIX + "ServerCall"));
+        assertTrue(names.contains(JfrEvents.NAME_PREFIX + "NodeBuild"));
+        assertTrue(names.contains(JfrEvents.NAME_PREFIX + "DiscoveryScan"));
+        assertTrue(names.contains(JfrEvents.NAME_PREFIX + "ServerConnection"));
+    }
+
+    @Test
+    public void utf8Length() {
+        for (final String text : List.of("", "{\"value\":\"abc\"}", "Temperatur 21 \u00b0C",
+                "\u6e29\u5ea6", "\ud83e\uddea sample", "broken \ud83e")) {
+            assertEquals(text.getBytes(StandardCharsets.UTF_8).length,
+                    ServerCallEvent.utf8Length(text), text);
+        }
+        assertEquals(0, ServerCallEvent.utf8Length(null));
+    }
+
+    @Test
+    public void recordTaskExecution() throws IOException {
+        final Path jfrFile = tempDir.resolve("task.jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable(TaskExecutionEvent.class);
+            recording.start();
+            new DelayTask(new DelayTaskModel(5)).run();
+            recording.stop();
+            recording.dump(jfrFile);
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(jfrFile).stream()
+                .filter(event -> event.getEventType().getName().equals(JfrEvents.NAME_PREFIX + "TaskExecution"))
+                .collect(Collectors.toList());
+        assertEquals(1, events.size());
+        final RecordedEvent event = events.get(0);
+        assertEquals("DelayTask", event.getString("taskType"));
+        assertEquals("FINISHED_SUCCESS", event.getString("state"));
+        assertTrue(event.getDuration().toMillis() >= 5);
+        Files.delete(jfrFile);
+    }
+}
@@ -0,0 +1,124 @@
+package de.fau.clients.orchestrator.monitor;
+
+import de.fau.clients.orchestrator.ctx.ConnectionManager;
+import de.fau.clients.orchestrator.ctx.PropertyContext;
+import de.fau.clients.orchestrator.mock.MockSilaServer;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sila_java.library.manager.ServerAdditionException;
+
+public class PropertyMonitorTest {
+
+    private static final String PROPERTY_ID = "CallCount";
+    private static final long TIMEOUT_IN_MS = 5000;
+
+    @Test
+    public void identicalServersAreMonitoredSeparately() throws IOException,
+            ServerAdditionException {
+        final ConnectionManager conManager = ConnectionManager.getInstance();
+        final PropertyMonitor monitor = PropertyMonitor.getInstance();
+        try (final MockSilaServer server1 = MockSilaServer.Builder.newBuilder().start();
+                final MockSilaServer server2 = MockSilaServer.Builder.newBuilder().start()) {
+            final UUID serverUuid1 = connect(server1);
+            final UUID serverUuid2 = connect(server2);
+            final PropertyContext propCtx1 = getPropertyCtx(serverUuid1);
+            final PropertyContext propCtx2 = getPropertyCtx(serverUuid2);
+            try {
+                assertEquals(propCtx1.getFullyQualifiedIdentifier(),
+                        propCtx2.getFullyQualifiedIdentifier());
+
+                final MonitoredProperty monProp1 = monitor.subscribe(propCtx1);
+                final MonitoredProperty monProp2 = monitor.subscribe(propCtx2);
+                assertNotSame(monProp1, monProp2);
+                assertSame(propCtx2, monProp2.getPropertyCtx());
+                assertSame(monProp1.getHistory(), monitor.subscribe(propCtx1).getHistory());
+                assertNotEquals(monProp1.getKey(), monProp2.getKey());
+                assertTrue(monitor.getMonitoredProperties().contains(monProp1));
+                assertTrue(monitor.getMonitoredProperties().contains(monProp2));
+
+                // unsubscribing one server keeps the other one monitored
+                monitor.unsubscribe(propCtx1);
+                assertFalse(monitor.isSubscribed(propCtx1));
+                assertTrue(monitor.isSubscribed(propCtx2));
+                assertFalse(monitor.getMonitoredProperties().contains(monProp1));
+                assertTrue(monitor.getMonitoredProperties().contains(monProp2));
+            } finally {
+                monitor.unsubscribe(propCtx1);
+                monitor.unsubscribe(propCtx2);
+                conManager.removeServer(serverUuid1);
+                conManager.removeServer(serverUuid2);
+            }
+        }
+    }
+
+    @Test
+    public void recordIdenticalServers(@TempDir final Path tempDir) throws Exception {
+        final ConnectionManager conManager = ConnectionManager.getInstance();
+        final PropertyMonitor monitor = PropertyMonitor.getInstance();
+        try (final MockSilaServer server1 = MockSilaServer.Builder.newBuilder().start();
+                final MockSilaServer server2 = MockSilaServer.Builder.newBuilder().start()) {
+            final UUID serverUuid1 = connect(server1);
+            final UUID serverUuid2 = connect(server2);
+            final PropertyContext propCtx1 = getPropertyCtx(serverUuid1);
+            final PropertyContext propCtx2 = getPropertyCtx(serverUuid2);
+            final Path file = tempDir.resolve("recording.tsr");
+            try {
+                final MonitoredProperty monProp1 = monitor.subscribe(propCtx1, 2000);
+                try (final TelemetryRecorder recorder = new TelemetryRecorder(monitor, file, 10)) {
+                    recorder.record(propCtx1, 20);
+                    recorder.record(propCtx2, 20);
+                    assertEquals(20, monProp1.getIntervalInMs());
+                    final long deadline = System.currentTimeMillis() + TIMEOUT_IN_MS;
+                    while (monProp1.getHistory().getTotalCount() < 3
+                            || monitor.getMonitoredProperty(propCtx2).getHistory()
+                                    .getTotalCount() < 3) {
+                        assertTrue(System.currentTimeMillis() < deadline, "timeout");
+                        Thread.sleep(10);
+                    }
+                }
+                // the live monitor keeps its own interval, the recorded property is released
+                assertEquals(2000, monProp1.getIntervalInMs());
+                assertFalse(monitor.isSubscribed(propCtx2));
+
+                final TelemetryReader reader = TelemetryReader.read(file);
+                assertEquals(Set.of(monProp1.getKey(), MonitoredProperty.keyOf(propCtx2)),
+                        Set.copyOf(reader.getChannelNames()));
+            } finally {
+                monitor.unsubscribe(propCtx1);
+                monitor.unsubscribe(propCtx2);
+                conManager.removeServer(serverUuid1);
+                conManager.removeServer(serverUuid2);
+            }
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static UUID connect(final MockSilaServer server) throws ServerAdditionException {
+        final UUID serverUuid = ConnectionManager.getInstance()
+                .addServer(MockSilaServer.HOST, server.getPort());
+        assertNotNull(serverUuid);
+        return serverUuid;
+    }
+
+    private static PropertyContext getPropertyCtx(final UUID serverUuid) {
+        return ConnectionManager.getInstance()
+                .getServerCtx(serverUuid)
+                .getFeatureCtx(MockSilaServer.FEATURE_ID_PREFIX)
+                .getPropertyCtxList()
+                .stream()
+                .filter(propCtx -> propCtx.getProperty().getIdentifier().equals(PROPERTY_ID))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,47 @@
+package de.fau.clients.orchestrator.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class SampleRingBufferTest {
+
+    @Test
+    public void addAndCopy() {
+        final SampleRingBuffer buffer = new SampleRingBuffer(4);
+        assertEquals(0, buffer.size());
+        assertTrue(Double.isNaN(buffer.getLastValue()));
+        assertArrayEquals(new double[0], buffer.copyValues());
+
+        buffer.add(10, 1.0);
+        buffer.add(20, 2.0);
+        assertEquals(2, buffer.size());
+        assertEquals(2.0, buffer.getLastValue());
+        assertEquals(20, buffer.getLastTimestamp());
+        assertArrayEquals(new double[]{1.0, 2.0}, buffer.copyValues());
+        assertArrayEquals(new long[]{10, 20}, buffer.copyTimestamps());
+    }
+
+    @Test
+    public void overwriteOldest() {
+        final SampleRingBuffer buffer = new SampleRingBuffer(3);
+        for (int i = 1; i <= 7; i++) {
+            buffer.add(i * 100, i);
+        }
+        assertEquals(3, buffer.size());
+        assertEquals(7, buffer.getTotalCount());
+        assertArrayEquals(new double[]{5.0, 6.0, 7.0}, buffer.copyValues());
+        assertArrayEquals(new long[]{500, 600, 700}, buffer.copyTimestamps());
+
+        buffer.add(800, Double.NaN);
+        assertTrue(Double.isNaN(buffer.getLastValue()));
+        assertEquals(6.0, buffer.copyValues()[0]);
+
+        buffer.clear();
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.getTotalCount());
+        assertThrows(IllegalArgumentException.class, () -> new SampleRingBuffer(0));
+    }
+}
@@ -0,0 +1,90 @@
+package de.fau.clients.orchestrator.monitor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class TelemetryReaderTest {
+
+    private static final String TEMP_FQI = "org.silastandard/examples/Thermostat/v1/Property/Temperature";
+    private static final String DOOR_FQI = "org.silastandard/examples/Incubator/v1/Property/DoorOpen";
+
+    @Test
+    public void writeAndRead() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final TelemetryWriter writer = new TelemetryWriter(bytes, 1000);
+        final int tempId = writer.getChannelId(TEMP_FQI);
+        final int doorId = writer.getChannelId(DOOR_FQI);
+        assertEquals(tempId, writer.getChannelId(TEMP_FQI));
+        // more samples than the initial buffer capacity of a channel
+        for (int i = 0; i < 100; i++) {
+            writer.append(tempId, 1000 + i * 100, 20.0 + i);
+        }
+        writer.append(doorId, 1050, 0.0);
+        writer.flush();
+        writer.append(doorId, 1150, 1.0);
+        writer.append(tempId, 11000, Double.NaN);
+        writer.close();
+        assertEquals(103, writer.getWrittenSampleCount());
+
+        final TelemetryReader reader = TelemetryReader.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(1000, reader.getStartTimeInMs());
+        assertEquals(List.of(TEMP_FQI, DOOR_FQI), reader.getChannelNames());
+        final double[] temps = reader.getValues(TEMP_FQI);
+        assertEquals(101, temps.length);
+        assertEquals(20.0, temps[0]);
+        assertEquals(119.0, temps[99]);
+        assertEquals(Double.NaN, temps[100]);
+        assertEquals(11000, reader.getTimestamps(TEMP_FQI)[100]);
+        assertArrayEquals(new double[]{0.0, 1.0}, reader.getValues(DOOR_FQI));
+        assertArrayEquals(new long[]{1050, 1150}, reader.getTimestamps(DOOR_FQI));
+        assertThrows(IllegalArgumentException.class, () -> reader.getValues("unknown"));
+    }
+
+    @Test
+    public void writeCsv() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final TelemetryWriter writer = new TelemetryWriter(bytes, 0)) {
+            final int tempId = writer.getChannelId(TEMP_FQI);
+            final int doorId = writer.getChannelId(DOOR_FQI);
+            writer.append(tempId, 0, 21.5);
+            writer.append(tempId, 2000, Double.NaN);
+            writer.append(doorId, 1000, 1.0);
+        }
+        final StringWriter out = new StringWriter();
+        TelemetryReader.read(new ByteArrayInputStream(bytes.toByteArray())).writeCsv(out);
+        final String expected = "Timestamp;Property;Value\n"
+                + "1970-01-01T00:00:00Z;" + TEMP_FQI + ";21.5\n"
+                + "1970-01-01T00:00:01Z;" + DOOR_FQI + ";1.0\n"
+                + "1970-01-01T00:00:02Z;" + TEMP_FQI + ";\n";
+        assertEquals(expected, out.toString());
+    }
+
+    @Test
+    public void readTruncated() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final TelemetryWriter writer = new TelemetryWriter(bytes, 0);
+        final int tempId = writer.getChannelId(TEMP_FQI);
+        writer.append(tempId, 0, 1.0);
+        writer.flush();
+        writer.append(tempId, 100, 2.0);
+        writer.append(tempId, 200, 3.0);
+        writer.close();
+
+        // cut off the last value of the second chunk
+        final byte[] data = bytes.toByteArray();
+        final byte[] truncated = Arrays.copyOf(data, data.length - Double.BYTES);
+        final TelemetryReader reader = TelemetryReader.read(new ByteArrayInputStream(truncated));
+        assertArrayEquals(new double[]{1.0}, reader.getValues(TEMP_FQI));
+
+        assertThrows(IOException.class,
+                () -> TelemetryReader.read(new ByteArrayInputStream(new byte[]{1, 2, 3})));
+    }
+}
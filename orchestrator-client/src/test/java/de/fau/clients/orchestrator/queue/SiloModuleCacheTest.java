@@ -0,0 +1,106 @@
+package de.fau.clients.orchestrator.queue;
+
+import de.fau.clients.orchestrator.tasks.DelayTaskModel;
+import de.fau.clients.orchestrator.tasks.IncludeTaskModel;
+import de.fau.clients.orchestrator.tasks.TaskEntry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SiloModuleCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeModule(final String fileName, final String... taskModels) throws IOException {
+        final StringBuilder sb = new StringBuilder("{\"siloFileVersion\":\"1.1.0\",\"tasks\":[");
+        for (int i = 0; i < taskModels.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"taskId\":").append(i + 1)
+                    .append(",\"taskModel\":").append(taskModels[i])
+                    .append(",\"taskPolicy\":\"HALT_AFTER_ERROR\"}");
+        }
+        sb.append("]}");
+        final Path file = tempDir.resolve(fileName);
+        Files.writeString(file, sb.toString());
+        return file;
+    }
+
+    private static String delay(long delayInMillisec) {
+        return "{\"delay\":{\"delayInMillisec\":" + delayInMillisec + "}}";
+    }
+
+    private static String include(final String siloFile) {
+        return "{\"include\":{\"siloFile\":\"" + siloFile + "\"}}";
+    }
+
+    @Test
+    public void getModule() throws IOException {
+        final SiloModuleCache cache = new SiloModuleCache();
+        final Path file = writeModule("wash.silo", delay(100), delay(200));
+        final SiloModule module = cache.getModule(file);
+        assertEquals(2, module.getTaskCount());
+        assertEquals(file.toRealPath(), module.getPath());
+        assertSame(module, cache.getModule(file));
+
+        // touching the file without changing its content keeps the parsed module
+        final FileTime lastModified = Files.getLastModifiedTime(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified.toMillis() + 2000));
+        assertSame(module, cache.getModule(file));
+
+        writeModule("wash.silo", delay(100), delay(300));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified.toMillis() + 4000));
+        final SiloModule changed = cache.getModule(file);
+        assertNotSame(module, changed);
+        assertEquals(300L, ((DelayTaskModel) changed.createEntries().get(1).getTaskModel())
+                .getDelayInMillisec());
+
+        assertThrows(IOException.class, () -> cache.getModule(tempDir.resolve("missing.silo")));
+    }
+
+    @Test
+    public void createEntries() throws IOException {
+        final Path file = writeModule("calibrate.silo", delay(100), include("wash.silo"));
+        final SiloModule module = new SiloModuleCache().getModule(file);
+        assertEquals(List.of("wash.silo"), module.getIncludes());
+        assertEquals(file.toRealPath().resolveSibling("wash.silo"),
+                module.resolveInclude("wash.silo"));
+
+        final List<TaskEntry> entries = module.createEntries();
+        assertEquals(2, entries.size());
+        assertEquals(2, entries.get(1).getTaskId());
+        assertEquals("wash.silo",
+                ((IncludeTaskModel) entries.get(1).getTaskModel()).getSiloFile());
+        // each call creates independent models
+        ((DelayTaskModel) entries.get(0).getTaskModel()).setDelayInMillisec(5);
+        assertEquals(100L, ((DelayTaskModel) module.createEntries().get(0).getTaskModel())
+                .getDelayInMillisec());
+    }
+
+    @Test
+    public void checkIncludes() throws IOException {
+        final SiloModuleCache cache = new SiloModuleCache();
+        writeModule("wash.silo", delay(100));
+        writeModule("prepare.silo", include("wash.silo"), include("wash.silo"));
+        final Path main = writeModule("main.silo", include("prepare.silo"), include("wash.silo"));
+        cache.checkIncludes(main);
+
+        writeModule("a.silo", include("b.silo"));
+        final Path b = writeModule("b.silo", delay(100), include("a.silo"));
+        assertThrows(IllegalArgumentException.class, () -> cache.checkIncludes(b));
+        final Path self = writeModule("self.silo", include("self.silo"));
+        assertThrows(IllegalArgumentException.class, () -> cache.checkIncludes(self));
+        final Path broken = writeModule("broken.silo", include("missing.silo"));
+        assertThrows(IOException.class, () -> cache.checkIncludes(broken));
+    }
+}
@@ -0,0 +1,213 @@
+package de.fau.clients.orchestrator.queue;
+
+import de.fau.clients.orchestrator.tasks.DelayTaskModel;
+import de.fau.clients.orchestrator.tasks.ExecPolicy;
+import de.fau.clients.orchestrator.tasks.LocalExecTaskModel;
+import de.fau.clients.orchestrator.tasks.QueueTask;
+import de.fau.clients.orchestrator.tasks.TaskEntry;
+import de.fau.clients.orchestrator.tasks.TaskFactory;
+import de.fau.clients.orchestrator.tasks.TaskState;
+import de.fau.clients.orchestrator.utils.VersionNumber;
+import java.io.BufferedInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TaskQueueDataTest {
+
+    @TempDir
+    static Path tempDir;
+
+    static Path writeSilo(final String fileName, final String content) throws IOException {
+        final Path file = tempDir.resolve(fileName);
+        Files.writeString(file, content);
+        return file;
+    }
+
+    @Test
+    public void createFromFile() throws IOException {
+        final Path file = writeSilo("valid.silo", "{\n"
+                + "  \"siloFileVersion\" : \"1.1.0\",\n"
+                + "  \"tasks\" : [ {\n"
+                + "    \"taskId\" : 3,\n"
+                + "    \"taskModel\" : { \"delay\" : { \"delayInMillisec\" : 500 } },\n"
+                + "    \"taskPolicy\" : \"PROCEED_AFTER_ERROR\"\n"
+                + "  }, {\n"
+                + "    \"taskId\" : 7,\n"
+                + "    \"taskModel\" : { \"localExec\" : { \"exec\" : \"echo hi\", \"expRetVal\" : 0 } },\n"
+                + "    \"taskPolicy\" : \"HALT_AFTER_ERROR\"\n"
+                + "  } ]\n"
+                + "}");
+
+        final TaskQueueData tqd = TaskQueueData.createFromFile(file.toString());
+        final VersionNumber version = tqd.getLoadedSiloFileVersion();
+        assertEquals(1, version.getMajorNumber());
+        assertEquals(1, version.getMinorNumber());
+        assertEquals(0, version.getPatchLevel());
+
+        final List<TaskEntry> tasks = tqd.getTasks();
+        assertEquals(2, tasks.size());
+        assertEquals(3, tasks.get(0).getTaskId());
+        assertEquals(ExecPolicy.PROCEED_AFTER_ERROR, tasks.get(0).getTaskPolicy());
+        assertEquals(500L, ((DelayTaskModel) tasks.get(0).getTaskModel()).getDelayInMillisec());
+        assertEquals(7, tasks.get(1).getTaskId());
+        assertEquals(ExecPolicy.HALT_AFTER_ERROR, tasks.get(1).getTaskPolicy());
+        assertEquals("echo hi", ((LocalExecTaskModel) tasks.get(1).getTaskModel()).getExec());
+    }
+
+    @Test
+    public void readFromFile_streamsEntriesInOrder() throws IOException {
+        final StringBuilder sb = new StringBuilder("{\"siloFileVersion\":\"1.0.0\",\"tasks\":[");
+        final int numOfTasks = 1000;
+        for (int i = 1; i <= numOfTasks; i++) {
+            sb.append("{\"taskId\":").append(i)
+                    .append(",\"taskModel\":{\"delay\":{\"delayInMillisec\":").append(i)
+                    .append("}}}");
+            if (i < numOfTasks) {
+                sb.append(',');
+            }
+        }
+        sb.append("]}");
+        final Path file = writeSilo("many.silo", sb.toString());
+
+        final ArrayList<TaskEntry> entries = new ArrayList<>();
+        final VersionNumber version = TaskQueueData.readFromFile(file.toString(), entries::add);
+        assertEquals(1, version.getMajorNumber());
+        assertEquals(numOfTasks, entries.size());
+        for (int i = 0; i < numOfTasks; i++) {
+            assertEquals(i + 1, entries.get(i).getTaskId());
+            assertNull(entries.get(i).getTaskPolicy());
+        }
+    }
+
+    @Test
+    public void writeToFile_roundTripAllFormats() throws IOException {
+        final Path file = writeSilo("source.silo", "{\"siloFileVersion\":\"1.1.0\",\"tasks\":["
+                + "{\"taskId\":1,\"taskModel\":{\"delay\":{\"delayInMillisec\":42}},"
+                + "\"taskPolicy\":\"PROCEED_AFTER_ERROR\"},"
+                + "{\"taskId\":2,\"taskModel\":{\"localExec\":{\"exec\":\"ls\",\"expRetVal\":1}}}"
+                + "]}");
+        final TaskQueueData source = TaskQueueData.createFromFile(file.toString());
+
+        for (final SiloFileFormat format : SiloFileFormat.values()) {
+            // use a neutral extension to make sure the format is detected from the content
+            final Path outFile = tempDir.resolve("roundTrip_" + format + ".tmp");
+            TaskQueueData.writeToFile(outFile, source, format);
+            final TaskQueueData tqd = TaskQueueData.createFromFile(outFile.toString());
+            assertEquals(TaskQueueData.SILO_FILE_VERSION.toString(),
+                    tqd.getLoadedSiloFileVersion().toString());
+            final List<TaskEntry> tasks = tqd.getTasks();
+            assertEquals(2, tasks.size());
+            assertEquals(1, tasks.get(0).getTaskId());
+            assertEquals(ExecPolicy.PROCEED_AFTER_ERROR, tasks.get(0).getTaskPolicy());
+            assertEquals(42L, ((DelayTaskModel) tasks.get(0).getTaskModel()).getDelayInMillisec());
+            assertEquals(2, tasks.get(1).getTaskId());
+            assertEquals("ls", ((LocalExecTaskModel) tasks.get(1).getTaskModel()).getExec());
+        }
+    }
+
+    @Test
+    public void writeToFile_formatFromFileName() throws IOException {
+        final Path file = writeSilo("plain.silo", "{\"siloFileVersion\":\"1.1.0\",\"tasks\":[]}");
+        final TaskQueueData source = TaskQueueData.createFromFile(file.toString());
+        final Path binFile = tempDir.resolve("binary.silob");
+        TaskQueueData.writeToFile(binFile, source);
+        try (final InputStream in = new BufferedInputStream(Files.newInputStream(binFile))) {
+            assertEquals(SiloFileFormat.SMILE, SiloFileFormat.detect(in));
+        }
+        try (final InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            assertEquals(SiloFileFormat.JSON, SiloFileFormat.detect(in));
+        }
+    }
+
+    @Test
+    public void createFromFile_emptyTasks() throws IOException {
+        final Path file = writeSilo("empty.silo", "{\"siloFileVersion\":\"1.1.0\",\"tasks\":[]}");
+        final TaskQueueData tqd = TaskQueueData.createFromFile(file.toString());
+        assertTrue(tqd.getTasks().isEmpty());
+    }
+
+    @Test
+    public void createFromFile_notFound() {
+        assertThrows(FileNotFoundException.class,
+                () -> TaskQueueData.createFromFile(tempDir.resolve("missing.silo").toString()));
+    }
+
+    @Test
+    public void createFromFile_incompatibleMajorVersion() throws IOException {
+        final Path file = writeSilo("major.silo", "{\"siloFileVersion\":\"99.0.0\",\"tasks\":[]}");
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> TaskQueueData.createFromFile(file.toString()));
+        assertTrue(ex.getMessage().contains("99.0.0"));
+    }
+
+    @Test
+    public void createFromFile_higherMinorVersionWithUnknownContent() throws IOException {
+        final Path file = writeSilo("minor.silo", "{\"siloFileVersion\":\"1.99.0\","
+                + "\"tasks\":[{\"taskId\":1,\"taskModel\":{\"futureTask\":{}}}]}");
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> TaskQueueData.createFromFile(file.toString()));
+        assertTrue(ex.getMessage().contains("not compatible"));
+    }
+
+    @Test
+    public void createFromFile_higherMinorVersionWithKnownContent() throws IOException {
+        final Path file = writeSilo("minorKnown.silo", "{\"siloFileVersion\":\"1.99.0\","
+                + "\"tasks\":[{\"taskId\":1,\"taskModel\":{\"delay\":{\"delayInMillisec\":5}}}]}");
+        assertEquals(1, TaskQueueData.createFromFile(file.toString()).getTasks().size());
+    }
+
+    @Test
+    public void createFromFile_includeRelativeToFile() throws IOException {
+        // the module is not reachable from the working directory of the test
+        final Path projectDir = Files.createDirectories(tempDir.resolve("project/modules"))
+                .getParent();
+        Files.writeString(projectDir.resolve("modules/wash.silo"), "{\"siloFileVersion\":\"1.2.0\","
+                + "\"tasks\":[{\"taskId\":1,\"taskModel\":{\"delay\":{\"delayInMillisec\":1}}}]}");
+        final Path mainFile = projectDir.resolve("main.silo");
+        Files.writeString(mainFile, "{\"siloFileVersion\":\"1.2.0\",\"tasks\":[{\"taskId\":1,"
+                + "\"taskModel\":{\"include\":{\"siloFile\":\"modules/wash.silo\"}}}]}");
+        assertFalse(Files.exists(Path.of("modules/wash.silo")));
+
+        final TaskQueueData tqd = TaskQueueData.createFromFile(mainFile.toString());
+        assertEquals(projectDir.toAbsolutePath(), tqd.getLoadedDir());
+        final QueueTask include = TaskFactory.createTask(tqd.getTasks().get(0).getTaskModel(),
+                tqd.getLoadedDir());
+        include.run();
+        assertEquals(TaskState.FINISHED_SUCCESS, include.getState());
+
+        // without the directory of the file, the path refers to the working directory
+        final QueueTask unresolved = TaskFactory.createTask(tqd.getTasks().get(0).getTaskModel());
+        unresolved.run();
+        assertEquals(TaskState.FINISHED_ERROR, unresolved.getState());
+    }
+
+    @Test
+    public void createFromFile_missingVersion() throws IOException {
+        final Path file = writeSilo("noVersion.silo", "{\n\"tasks\":[]}");
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> TaskQueueData.createFromFile(file.toString()));
+        assertTrue(ex.getMessage().contains("line 2"));
+    }
+
+    @Test
+    public void createFromFile_invalidTaskEntry() throws IOException {
+        final Path file = writeSilo("invalid.silo", "{\"siloFileVersion\":\"1.1.0\",\n"
+                + "\"tasks\":[\n"
+                + "42]}");
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> TaskQueueData.createFromFile(file.toString()));
+        assertTrue(ex.getMessage().contains("line 3, column 1"));
+    }
+}
@@ -0,0 +1,67 @@
+package de.fau.clients.orchestrator.queue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import javax.swing.table.DefaultTableModel;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+public class TaskQueueExporterTest {
+
+    static DefaultTableModel createModel() {
+        final Object[] titles = Arrays.stream(Column.values()).map(c -> c.title).toArray();
+        final DefaultTableModel model = new DefaultTableModel(titles, 0);
+        model.addRow(new Object[]{1, 7, "ONLINE", "GetTemp", "uuid", "HALT_AFTER_ERROR",
+            "FINISHED_SUCCESS", "10:00:00", "10:00:01", "0:00:01.000",
+            "{\n    \"value\": \"a;b\"\n  }"});
+        model.addRow(new Object[]{2, 8, "NEUTRAL", "Set;Temp", "", "PROCEED_AFTER_ERROR",
+            "NEUTRAL", "-", "-", "-", null});
+        return model;
+    }
+
+    @Test
+    public void exportAsCsv() throws IOException {
+        final StringWriter sw = new StringWriter();
+        new TaskQueueExporter(createModel()).export(sw, QueueExportFormat.CSV);
+        assertEquals("ID;Connection;Task;Server UUID;Policy;State;Start Time;End Time;Duration;"
+                + "Result;\n"
+                + "7;ONLINE;GetTemp;uuid;HALT_AFTER_ERROR;FINISHED_SUCCESS;10:00:00;10:00:01;"
+                + "0:00:01.000;\"{ \"\"value\"\": \"\"a;b\"\" }\";\n"
+                + "8;NEUTRAL;\"Set;Temp\";;PROCEED_AFTER_ERROR;NEUTRAL;-;-;-;\"\";\n",
+                sw.toString());
+    }
+
+    @Test
+    public void writeCollapsed() throws IOException {
+        final StringWriter sw = new StringWriter();
+        TaskQueueExporter.writeCollapsed(sw, "a b  c\t\t\nd \"e\"  ");
+        assertEquals("a b c d \"\"e\"\" ", sw.toString());
+    }
+
+    @Test
+    public void exportAsJsonLines() throws IOException {
+        final StringWriter sw = new StringWriter();
+        new TaskQueueExporter(createModel()).export(sw, QueueExportFormat.JSONL);
+        final String[] lines = sw.toString().split("\n");
+        assertEquals(2, lines.length);
+        final ObjectMapper mapper = new ObjectMapper();
+        final JsonNode first = mapper.readTree(lines[0]);
+        assertEquals("7", first.get("ID").asText());
+        assertEquals("{\n    \"value\": \"a;b\"\n  }", first.get("Result").asText());
+        final JsonNode second = mapper.readTree(lines[1]);
+        assertEquals("Set;Temp", second.get("Task").asText());
+        assertEquals("", second.get("Result").asText());
+    }
+
+    @Test
+    public void exportEmptyTable() throws IOException {
+        final DefaultTableModel model = createModel();
+        model.setRowCount(0);
+        final StringWriter sw = new StringWriter();
+        new TaskQueueExporter(model).export(sw, QueueExportFormat.JSONL);
+        assertEquals("", sw.toString());
+    }
+}
@@ -0,0 +1,165 @@
+package de.fau.clients.orchestrator.queue;
+
+import de.fau.clients.orchestrator.tasks.DelayTask;
+import de.fau.clients.orchestrator.tasks.DelayTaskModel;
+import de.fau.clients.orchestrator.tasks.QueueTask;
+import de.fau.clients.orchestrator.tasks.TaskState;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.DefaultTableModel;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class TaskQueueTableModelTest {
+
+    static List<QueueTask> fillModel(final TaskQueueTableModel model, int taskCount) {
+        final List<QueueTask> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            final QueueTask task = new DelayTask(new DelayTaskModel(0));
+            model.addTask(i + 1, task, null);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    static void assertRowIndex(final TaskQueueTableModel model) {
+        for (int i = 0; i < model.getRowCount(); i++) {
+            final QueueTask task = (QueueTask) model.getValueAt(i, Column.TASK_INSTANCE);
+            assertEquals(i, model.getRowIndex(task));
+            assertEquals(i + 1, model.getValueAt(i, Column.ROW_NR));
+        }
+    }
+
+    @Test
+    public void getTaskById() {
+        final TaskQueueTableModel model = new TaskQueueTableModel();
+        final List<QueueTask> tasks = fillModel(model, 3);
+        assertEquals(tasks.get(1), model.getTaskById(2));
+        assertEquals(null, model.getTaskById(4));
+
+        model.setValueAt(42, 0, Column.TASK_ID);
+        assertEquals(tasks.get(0), model.getTaskById(42));
+        assertEquals(null, model.getTaskById(1));
+    }
+
+    @Test
+    public void getRowIndex() {
+        final TaskQueueTableModel model = new TaskQueueTableModel();
+        final List<QueueTask> tasks = fillModel(model, 5);
+        assertRowIndex(model);
+
+        model.moveRow(0, 0, 4);
+        assertEquals(4, model.getRowIndex(tasks.get(0)));
+        assertRowIndex(model);
+
+        final QueueTask inserted = new DelayTask();
+        model.insertTask(1, 6, inserted, null);
+        assertEquals(1, model.getRowIndex(inserted));
+        assertRowIndex(model);
+
+        model.removeRow(1);
+        assertEquals(-1, model.getRowIndex(inserted));
+        assertRowIndex(model);
+
+        model.clear();
+        assertEquals(-1, model.getRowIndex(tasks.get(2)));
+    }
+
+    @Test
+    public void moveRow() {
+        final int[][] moves = {{0, 0, 4}, {4, 4, 0}, {1, 2, 3}, {3, 4, 0}, {0, 5, 0}, {2, 3, 2}};
+        for (final int[] move : moves) {
+            final TaskQueueTableModel model = new TaskQueueTableModel();
+            final List<QueueTask> tasks = fillModel(model, 6);
+            final DefaultTableModel expected = new DefaultTableModel(0, 1);
+            tasks.forEach(task -> expected.addRow(new Object[]{task}));
+
+            model.moveRow(move[0], move[1], move[2]);
+            expected.moveRow(move[0], move[1], move[2]);
+            for (int i = 0; i < tasks.size(); i++) {
+                assertEquals(expected.getValueAt(i, 0), model.getValueAt(i, Column.TASK_INSTANCE));
+            }
+            assertRowIndex(model);
+        }
+        final TaskQueueTableModel model = new TaskQueueTableModel();
+        fillModel(model, 3);
+        assertThrows(IndexOutOfBoundsException.class, () -> model.moveRow(1, 2, 2));
+    }
+
+    @Test
+    public void derivedColumns() {
+        final TaskQueueTableModel model = new TaskQueueTableModel();
+        final QueueTask task = fillModel(model, 1).get(0);
+        assertEquals(1, model.getValueAt(0, Column.TASK_ID));
+        assertEquals("", model.getValueAt(0, Column.SERVER_UUID));
+        assertEquals("-", model.getValueAt(0, Column.START_TIME));
+        assertFalse(model.isCellEditable(0, Column.RESULT.ordinal()));
+
+        task.run();
+        model.setValueAt(TaskState.FINISHED_SUCCESS, 0, Column.STATE);
+        model.setValueAt("42", 0, Column.TASK_ID);
+        assertEquals(42, model.getValueAt(0, Column.TASK_ID));
+        assertEquals(task.getStartTimeStamp(), model.getValueAt(0, Column.START_TIME));
+        assertEquals(task.getEndTimeStamp(), model.getValueAt(0, Column.END_TIME));
+        assertEquals(task.getLastExecResult(), model.getValueAt(0, Column.RESULT));
+        assertTrue(model.isCellEditable(0, Column.TASK_ID.ordinal()));
+    }
+
+    @Test
+    public void coalescedStateUpdates() throws InterruptedException, InvocationTargetException {
+        // use a long delay to prevent the timer from applying the changes before the flush
+        final TaskQueueTableModel model = new TaskQueueTableModel(60_000);
+        final List<QueueTask> tasks = fillModel(model, 10);
+        final AtomicInteger updateEventCount = new AtomicInteger();
+        model.addTableModelListener(evt -> {
+            if (evt.getType() == TableModelEvent.UPDATE) {
+                updateEventCount.incrementAndGet();
+            }
+        });
+
+        // run the tasks outside of the EDT and apply all changes in one go
+        tasks.get(2).run();
+        tasks.get(7).run();
+        SwingUtilities.invokeAndWait(() -> model.flushStateUpdates());
+        assertEquals(1, updateEventCount.get());
+        assertEquals(TaskState.FINISHED_SUCCESS, model.getValueAt(2, Column.STATE));
+        assertEquals(TaskState.FINISHED_SUCCESS, model.getValueAt(7, Column.STATE));
+        assertEquals(tasks.get(7).getDuration(), model.getValueAt(7, Column.DURATION));
+        assertEquals(TaskState.NEUTRAL, model.getValueAt(5, Column.STATE));
+
+        SwingUtilities.invokeAndWait(() -> {
+            model.resetTaskStates();
+            model.flushStateUpdates();
+        });
+        assertEquals(2, updateEventCount.get());
+        assertEquals(TaskState.NEUTRAL, model.getValueAt(7, Column.STATE));
+        assertEquals("-", model.getValueAt(7, Column.DURATION));
+    }
+
+    @Test
+    public void dispatcherMergesItems() throws InterruptedException, InvocationTargetException {
+        final List<List<String>> batches = new ArrayList<>();
+        final CoalescingDispatcher<String> dispatcher = new CoalescingDispatcher<>(60_000, batches::add);
+        dispatcher.submit("a");
+        dispatcher.submit("b");
+        dispatcher.submit("a");
+        assertEquals(2, dispatcher.getPendingCount());
+        assertThrows(IllegalStateException.class, () -> dispatcher.flush());
+
+        SwingUtilities.invokeAndWait(() -> {
+            dispatcher.flush();
+            dispatcher.flush(); // nothing pending
+        });
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(0, dispatcher.getPendingCount());
+        assertThrows(IllegalArgumentException.class, () -> new CoalescingDispatcher<String>(-1, batches::add));
+    }
+}
@@ -0,0 +1,101 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.fau.clients.orchestrator.ctx.ConnectionManager;
+import de.fau.clients.orchestrator.mock.MockSilaServer;
+import java.io.IOException;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import sila_java.library.manager.ServerAdditionException;
+
+/**
+ * End-to-end tests of command tasks against local mock servers.
+ */
+public class CommandTaskMockServerTest {
+
+    static final ObjectMapper mapper = new ObjectMapper();
+
+    @SuppressWarnings("deprecation")
+    static UUID connect(final MockSilaServer server) throws ServerAdditionException {
+        final UUID serverUuid = ConnectionManager.getInstance()
+                .addServer(MockSilaServer.HOST, server.getPort());
+        assertNotNull(serverUuid);
+        return serverUuid;
+    }
+
+    static CommandTask createEchoTask(final UUID serverUuid, final String value) {
+        final CommandTaskModel model = new CommandTaskModel(
+                serverUuid,
+                MockSilaServer.FEATURE_ID_PREFIX,
+                "Echo");
+        final ObjectNode params = mapper.createObjectNode();
+        params.putObject("Value").put("value", value);
+        model.setCommandParams(params);
+        return new CommandTask(model);
+    }
+
+    @Test
+    public void run_success() throws IOException, ServerAdditionException {
+        try (final MockSilaServer server = MockSilaServer.Builder.newBuilder().start()) {
+            final UUID serverUuid = connect(server);
+            try {
+                final CommandTask task = createEchoTask(serverUuid, "ping");
+                assertEquals(ConnectionStatus.ONLINE, task.getConnectionStatus());
+                task.run();
+                assertEquals(TaskState.FINISHED_SUCCESS, task.getState());
+                assertTrue(task.getLastExecResult().contains("ping"));
+                assertEquals(1, server.getInvocationCount(MockSilaServer.FEATURE_ID_PREFIX, "Echo"));
+            } finally {
+                ConnectionManager.getInstance().removeServer(serverUuid);
+            }
+        }
+    }
+
+    @Test
+    public void run_poolKeepsModelServer() throws IOException, ServerAdditionException {
+        try (final MockSilaServer server1 = MockSilaServer.Builder.newBuilder().start();
+                final MockSilaServer server2 = MockSilaServer.Builder.newBuilder().start()) {
+            final UUID serverUuid1 = connect(server1);
+            final UUID serverUuid2 = connect(server2);
+            try {
+                final CommandTask task = createEchoTask(serverUuid1, "ping");
+                final CommandTaskModel model = (CommandTaskModel) task.getCurrentTaskModel();
+                model.setServerPool(ServerPool.fromString(serverUuid1 + "\n" + serverUuid2));
+                for (int i = 0; i < 4; i++) {
+                    task.run();
+                    assertEquals(TaskState.FINISHED_SUCCESS, task.getState());
+                }
+                // the chosen pool server is not persisted in the model
+                assertEquals(serverUuid1, model.getServerUuid());
+                assertEquals(serverUuid1, task.getServerUuid());
+                assertEquals(4, server1.getInvocationCount(MockSilaServer.FEATURE_ID_PREFIX, "Echo")
+                        + server2.getInvocationCount(MockSilaServer.FEATURE_ID_PREFIX, "Echo"));
+            } finally {
+                ConnectionManager.getInstance().removeServer(serverUuid1);
+                ConnectionManager.getInstance().removeServer(serverUuid2);
+            }
+        }
+    }
+
+    @Test
+    public void run_injectedError() throws IOException, ServerAdditionException {
+        try (final MockSilaServer server = MockSilaServer.Builder.newBuilder()
+                .withDefinedErrorRate(1.0)
+                .start()) {
+            final UUID serverUuid = connect(server);
+            try {
+                final CommandTask task = createEchoTask(serverUuid, "ping");
+                task.run();
+                assertEquals(TaskState.FINISHED_ERROR, task.getState());
+                assertTrue(task.getLastExecResult().startsWith("DefinedExecutionError"));
+                assertEquals(1, server.getInjectedErrorCount());
+            } finally {
+                ConnectionManager.getInstance().removeServer(serverUuid);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class FanOutTaskModelTest {
+
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private static final String FQI = "org.silastandard/examples/TemperatureController/v1";
+
+    @Test
+    public void constructor() {
+        final FanOutTaskModel model = new FanOutTaskModel(FQI, "ControlTemperature");
+        assertEquals("TemperatureController", model.getFeatureId());
+        assertTrue(model.getServerUuids().isEmpty());
+        assertEquals(FanOutTaskModel.DEFAULT_MAX_CONCURRENCY, model.getMaxConcurrency());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new FanOutTaskModel("TemperatureController", "ControlTemperature"));
+        assertThrows(IllegalArgumentException.class, () -> model.setMaxConcurrency(0));
+    }
+
+    @Test
+    public void serialization() throws JsonProcessingException {
+        final FanOutTaskModel model = new FanOutTaskModel(FQI, "ControlTemperature");
+        String json = jsonMapper.writeValueAsString(model);
+        assertFalse(json.contains("serverUuids"));
+        assertFalse(json.contains("featureId"));
+
+        final UUID serverUuid = UUID.randomUUID();
+        model.setServerUuids(List.of(serverUuid));
+        model.setMaxConcurrency(2);
+        model.setCommandParams(jsonMapper.readTree("{\"TargetTemperature\":{\"value\":\"300\"}}"));
+        json = jsonMapper.writeValueAsString(model);
+        final FanOutTaskModel read = jsonMapper.readValue(json, FanOutTaskModel.class);
+        assertEquals(FQI, read.getFeatureFqi());
+        assertEquals("ControlTemperature", read.getCommandId());
+        assertEquals(List.of(serverUuid), read.getServerUuids());
+        assertEquals(2, read.getMaxConcurrency());
+        assertEquals("300", read.getCommandParams().at("/TargetTemperature/value").asText());
+
+        // polymorphic (de-)serialization as used in queue files
+        final TaskModel taskModel = jsonMapper.readValue(
+                jsonMapper.writerFor(TaskModel.class).writeValueAsString(model), TaskModel.class);
+        assertTrue(taskModel instanceof FanOutTaskModel);
+    }
+}
@@ -0,0 +1,271 @@
+package de.fau.clients.orchestrator.tasks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LocalExecTaskTest {
+
+    @TempDir
+    static Path tempDir;
+    private ExecWorkerPool pool;
+
+    @BeforeEach
+    public void createPool() {
+        pool = new ExecWorkerPool(ExecWorkerPool.MAX_WORKERS_PER_COMMAND);
+    }
+
+    @AfterEach
+    public void closePool() {
+        pool.close();
+    }
+
+    static OutputCapture capture(final String text, int headSize, int tailSize) throws InterruptedException {
+        final OutputCapture capture = new OutputCapture("test",
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+                headSize,
+                tailSize,
+                null);
+        capture.start();
+        assertTrue(capture.await(5000));
+        return capture;
+    }
+
+    @Test
+    public void outputCapture() throws InterruptedException {
+        assertEquals("hello", capture("hello", 4, 4).getText());
+        assertEquals("", capture("", 4, 4).getText());
+
+        final OutputCapture truncated = capture("0123456789abcdef", 4, 4);
+        assertEquals(16, truncated.getTotalBytes());
+        assertEquals("0123\n[... 8 bytes omitted ...]\ncdef", truncated.getText());
+        assertEquals("01\n[... 14 bytes omitted ...]\n", capture("0123456789abcdef", 2, 0).getText());
+    }
+
+    @Test
+    public void outputCapture_spill() throws InterruptedException {
+        final ByteArrayOutputStream spill = new ByteArrayOutputStream();
+        final OutputCapture capture = new OutputCapture("test",
+                new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.UTF_8)),
+                1,
+                1,
+                spill);
+        capture.start();
+        assertTrue(capture.await(5000));
+        assertEquals("0123456789", spill.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void run_largeOutput() throws IOException {
+        final Path outFile = tempDir.resolve("out.txt");
+        final LocalExecTaskModel model = new LocalExecTaskModel("sh -c 'head -c 1000000 /dev/zero | tr \\\\0 x; echo err >&2'");
+        model.setOutputFile(outFile.toString());
+        final LocalExecTask task = new LocalExecTask(model);
+        task.run();
+        assertEquals(TaskState.FINISHED_SUCCESS, task.getState());
+        final String result = task.getLastExecResult();
+        assertTrue(result.startsWith("xxxx"));
+        assertTrue(result.contains("bytes omitted"));
+        assertTrue(result.endsWith("[stderr]\nerr"));
+        assertEquals(1000000 + "err\n".length(), Files.size(outFile));
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void run_timeout() {
+        final LocalExecTaskModel model = new LocalExecTaskModel("sh -c 'sleep 30 & sleep 30'");
+        model.setTimeoutInSec(1);
+        final LocalExecTask task = new LocalExecTask(model);
+        final long start = System.nanoTime();
+        task.run();
+        assertTrue(System.nanoTime() - start < 20_000_000_000L);
+        assertEquals(TaskState.FINISHED_ERROR, task.getState());
+        assertTrue(task.getLastExecResult().startsWith("Timeout"));
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void run_canceledAfterSuccess() throws InterruptedException {
+        final LocalExecTaskModel model = new LocalExecTaskModel("sh -c 'exit 0'");
+        final LocalExecTask task = new LocalExecTask(model);
+        task.run();
+        assertEquals(TaskState.FINISHED_SUCCESS, task.getState());
+
+        // a canceled re-run must not report the exit value of the previous run
+        model.setExec("sh -c 'sleep 30'");
+        final Thread runner = new Thread(task);
+        runner.start();
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (task.getState() != TaskState.RUNNING) {
+            assertTrue(System.currentTimeMillis() < deadline, "timeout");
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        runner.interrupt();
+        runner.join(10000);
+        assertEquals(TaskState.FINISHED_ERROR, task.getState());
+        assertTrue(task.getLastExecResult().startsWith("Execution was interrupted."));
+    }
+
+    LocalExecTask workerTask(final String exec, final String request, int maxUses) {
+        final LocalExecTaskModel model = new LocalExecTaskModel(exec);
+        model.setWorkerMode(true);
+        model.setWorkerRequest(request);
+        model.setWorkerMaxUses(maxUses);
+        final LocalExecTask task = new LocalExecTask(model);
+        task.setWorkerPool(pool);
+        return task;
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void run_workerMode() {
+        final String exec = "sh -c 'while read l; do echo 0 $$ $l; done'";
+        final List<String> cmd = new LocalExecTaskModel(exec).getExecWithArgsAsList();
+
+        final LocalExecTask first = workerTask(exec, "a", 2);
+        first.run();
+        assertEquals(TaskState.FINISHED_SUCCESS, first.getState());
+        final String pid = first.getLastExecResult().split(" ")[0];
+        assertEquals(pid + " a", first.getLastExecResult());
+        assertEquals(1, pool.getIdleWorkerCount(cmd));
+
+        // the same worker is reused and recycled after the second request
+        final LocalExecTask second = workerTask(exec, "b", 2);
+        second.run();
+        assertEquals(pid + " b", second.getLastExecResult());
+        assertEquals(0, pool.getIdleWorkerCount(cmd));
+
+        final LocalExecTask third = workerTask(exec, "c", 2);
+        third.run();
+        assertEquals(TaskState.FINISHED_SUCCESS, third.getState());
+        assertNotEquals(pid, third.getLastExecResult().split(" ")[0]);
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void run_workerFailure() {
+        // the worker answers once with an error code and terminates after the second request
+        final String exec = "sh -c 'read l; echo 3 failed; read l; echo oops >&2; exit 1'";
+        final List<String> cmd = new LocalExecTaskModel(exec).getExecWithArgsAsList();
+
+        final LocalExecTask first = workerTask(exec, "x", 10);
+        first.run();
+        assertEquals(TaskState.FINISHED_ERROR, first.getState());
+        assertEquals("failed", first.getLastExecResult());
+        assertEquals(1, pool.getIdleWorkerCount(cmd));
+
+        final LocalExecTask second = workerTask(exec, "y", 10);
+        second.run();
+        assertEquals(TaskState.FINISHED_ERROR, second.getState());
+        assertTrue(second.getLastExecResult().startsWith("Worker terminated unexpectedly."));
+        assertEquals(0, pool.getIdleWorkerCount(cmd));
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void run_workerTimeout() {
+        final String exec = "sh -c 'read l; sleep 30'";
+        final LocalExecTask task = workerTask(exec, "x", 10);
+        ((LocalExecTaskModel) task.getCurrentTaskModel()).setTimeoutInSec(1);
+        task.run();
+        assertEquals(TaskState.FINISHED_ERROR, task.getState());
+        assertTrue(task.getLastExecResult().startsWith("Timeout"));
+        assertEquals(0, pool.getIdleWorkerCount(
+                new LocalExecTaskModel(exec).getExecWithArgsAsList()));
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void run_workerInterrupted() throws InterruptedException {
+        // the worker never answers and there is no timeout
+        final String exec = "sh -c 'read l; sleep 30'";
+        final LocalExecTask task = workerTask(exec, "x", 10);
+        final Thread runner = new Thread(task);
+        runner.start();
+        runner.join(500);
+        assertTrue(runner.isAlive());
+        runner.interrupt();
+        runner.join(5000);
+        assertFalse(runner.isAlive());
+        assertEquals(TaskState.FINISHED_ERROR, task.getState());
+        assertEquals("Execution was interrupted.", task.getLastExecResult());
+        assertEquals(0, pool.getWorkerCount(
+                new LocalExecTaskModel(exec).getExecWithArgsAsList()));
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void run_workerLimit() throws Exception {
+        final String exec = "sh -c 'while read l; do echo 0 $l; done'";
+        final List<String> cmd = new LocalExecTaskModel(exec).getExecWithArgsAsList();
+        pool.close();
+        pool = new ExecWorkerPool(1);
+
+        final ExecWorker busyWorker = pool.acquire(cmd);
+        assertEquals(1, pool.getWorkerCount(cmd));
+        final LocalExecTask task = workerTask(exec, "a", 10);
+        final Thread runner = new Thread(task);
+        runner.start();
+        // the task has to wait, since the only worker is busy
+        runner.join(500);
+        assertTrue(runner.isAlive());
+        assertEquals(TaskState.RUNNING, task.getState());
+
+        pool.release(busyWorker, true, 10);
+        runner.join(10000);
+        assertEquals(TaskState.FINISHED_SUCCESS, task.getState());
+        assertEquals("a", task.getLastExecResult());
+        assertEquals(1, pool.getWorkerCount(cmd));
+        assertSame(busyWorker, pool.acquire(cmd));
+        pool.release(busyWorker, false, 10);
+        assertEquals(0, pool.getWorkerCount(cmd));
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void run_workerLimitInterrupted() throws Exception {
+        final String exec = "sh -c 'while read l; do echo 0 $l; done'";
+        pool.close();
+        pool = new ExecWorkerPool(1);
+
+        final ExecWorker busyWorker = pool.acquire(new LocalExecTaskModel(exec)
+                .getExecWithArgsAsList());
+        final LocalExecTask task = workerTask(exec, "a", 10);
+        final Thread runner = new Thread(task);
+        runner.start();
+        runner.join(200);
+        runner.interrupt();
+        runner.join(10000);
+        assertEquals(TaskState.FINISHED_ERROR, task.getState());
+        assertTrue(task.getLastExecResult().startsWith("Execution was interrupted"));
+        pool.release(busyWorker, true, 10);
+    }
+
+    @Test
+    public void workerResponse() throws IOException {
+        final ExecWorker.Response resp = ExecWorker.Response.parse("0 some text");
+        assertEquals(0, resp.getRetVal());
+        assertEquals("some text", resp.getText());
+        assertEquals(-1, ExecWorker.Response.parse("-1").getRetVal());
+        assertEquals("", ExecWorker.Response.parse("-1").getText());
+        assertThrows(IOException.class, () -> ExecWorker.Response.parse("done"));
+    }
+}
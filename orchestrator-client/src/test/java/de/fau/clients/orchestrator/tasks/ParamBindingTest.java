@@ -0,0 +1,155 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.UUID;
+import javax.swing.JPanel;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class ParamBindingTest {
+
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+
+    /**
+     * Task with a fixed JSON result.
+     */
+    static class ResultTask extends QueueTask {
+
+        private final JsonNode resultNode;
+
+        ResultTask(final String result, final TaskState state) throws JsonProcessingException {
+            this.lastExecResult = result;
+            this.taskState = state;
+            this.resultNode = jsonMapper.readTree(result);
+        }
+
+        @Override
+        public JsonNode getLastResultNode() {
+            return resultNode;
+        }
+
+        @Override
+        public TaskModel getCurrentTaskModel() {
+            return null;
+        }
+
+        @Override
+        public JPanel getPresenter() {
+            return null;
+        }
+
+        @Override
+        public void run() {
+        }
+    }
+
+    @Test
+    public void apply() throws JsonProcessingException {
+        final ResultTask source = new ResultTask(
+                "{\"CurrentTemperature\":{\"value\":\"21.5\"},\"Samples\":[{\"value\":\"1\"},{\"value\":\"2\"}]}",
+                TaskState.FINISHED_SUCCESS);
+        final JsonNode params = jsonMapper.readTree(
+                "{\"Temperature\":{\"value\":\"0\"},\"Ids\":[{\"value\":\"a\"},{\"value\":\"b\"}]}");
+
+        new ParamBinding("/Temperature/value", 1, "/CurrentTemperature/value").apply(params, source);
+        assertEquals("21.5", params.at("/Temperature/value").asText());
+
+        // the referenced node is inserted without copying
+        new ParamBinding("/Ids/1", 1, "/Samples/0").apply(params, source);
+        assertSame(source.getLastResultNode().at("/Samples/0"), params.at("/Ids/1"));
+        assertEquals("a", params.at("/Ids/0/value").asText());
+
+        // missing objects along the path are created
+        new ParamBinding("/Extra/Nested/value", 1, "/CurrentTemperature/value").apply(params, source);
+        assertEquals("21.5", params.at("/Extra/Nested/value").asText());
+
+        new ParamBinding("/Whole", 1, "").apply(params, source);
+        assertSame(source.getLastResultNode(), params.get("Whole"));
+    }
+
+    @Test
+    public void apply_failures() throws JsonProcessingException {
+        final JsonNode params = jsonMapper.readTree("{\"Ids\":[{\"value\":\"a\"}],\"Num\":1}");
+        final ResultTask source = new ResultTask("{\"A\":{\"value\":\"1\"}}", TaskState.FINISHED_SUCCESS);
+        final ResultTask failed = new ResultTask("{\"A\":{\"value\":\"1\"}}", TaskState.FINISHED_ERROR);
+        final ParamBinding binding = new ParamBinding("/Ids/0", 3, "/A");
+
+        assertThrows(IllegalArgumentException.class, () -> binding.apply(params, null));
+        assertThrows(IllegalArgumentException.class, () -> binding.apply(params, failed));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParamBinding("/Ids/0", 3, "/B").apply(params, source));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParamBinding("/Ids/5", 3, "/A").apply(params, source));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParamBinding("/Num/x", 3, "/A").apply(params, source));
+        assertThrows(IllegalArgumentException.class, () -> new ParamBinding("", 3, "/A"));
+        assertThrows(IllegalArgumentException.class, () -> new ParamBinding("no-slash", 3, "/A"));
+    }
+
+    @Test
+    public void overlappingTargets() throws JsonProcessingException {
+        final ResultTask source = new ResultTask(
+                "{\"Sample\":{\"value\":\"1\"},\"Current\":{\"value\":\"2\"}}",
+                TaskState.FINISHED_SUCCESS);
+        final String sourceResult = source.getLastResultNode().toString();
+        final ParamBinding whole = new ParamBinding("/Sample", 1, "/Sample");
+        final ParamBinding nested = new ParamBinding("/Sample/value", 1, "/Current/value");
+
+        // a nested binding would write into the subtree of the cached source result
+        final CommandTaskModel model = new CommandTaskModel(UUID.randomUUID(), "Feature", "Command");
+        assertThrows(IllegalArgumentException.class,
+                () -> model.setParamBindings(List.of(whole, nested)));
+        assertThrows(IllegalArgumentException.class,
+                () -> model.setParamBindings(List.of(nested, whole)));
+        assertThrows(IllegalArgumentException.class,
+                () -> model.setParamBindings(List.of(whole, whole)));
+        assertTrue(model.getParamBindings().isEmpty());
+
+        final ParamBinding sibling = new ParamBinding("/SampleValue", 1, "/Current/value");
+        model.setParamBindings(List.of(whole, sibling));
+        final JsonNode params = jsonMapper.createObjectNode();
+        for (final ParamBinding binding : model.getParamBindings()) {
+            binding.apply(params, source);
+        }
+        assertEquals("1", params.at("/Sample/value").asText());
+        assertEquals("2", params.get("SampleValue").asText());
+        assertEquals(sourceResult, source.getLastResultNode().toString());
+    }
+
+    @Test
+    public void serialization() throws JsonProcessingException {
+        final CommandTaskModel model = new CommandTaskModel(UUID.randomUUID(), "Feature", "Command");
+        assertFalse(jsonMapper.writeValueAsString(model).contains("paramBindings"));
+
+        model.setParamBindings(List.of(new ParamBinding("/Temperature/value", 7, "/Current/value")));
+        final String json = jsonMapper.writeValueAsString(model);
+        final CommandTaskModel read = jsonMapper.readValue(json, CommandTaskModel.class);
+        assertEquals(1, read.getParamBindings().size());
+        final ParamBinding binding = read.getParamBindings().get(0);
+        assertEquals("/Temperature/value", binding.getTarget());
+        assertEquals(7, binding.getSourceTaskId());
+        assertEquals("/Current/value", binding.getSource());
+    }
+
+    @Test
+    public void fromString() {
+        final ParamBinding binding = ParamBinding.fromString(" /Temperature/value <- #12/Current/value ");
+        assertEquals("/Temperature/value", binding.getTarget());
+        assertEquals(12, binding.getSourceTaskId());
+        assertEquals("/Current/value", binding.getSource());
+        assertEquals("/Temperature/value <- #12/Current/value", binding.toString());
+        assertEquals("", ParamBinding.fromString("/Value <- #3").getSource());
+
+        assertThrows(IllegalArgumentException.class, () -> ParamBinding.fromString("/Value"));
+        assertThrows(IllegalArgumentException.class, () -> ParamBinding.fromString("/Value <- 3/A"));
+        assertThrows(IllegalArgumentException.class, () -> ParamBinding.fromString("/Value <- #/A"));
+        assertThrows(IllegalArgumentException.class, () -> ParamBinding.fromString("/Value <- #3A"));
+    }
+}
@@ -0,0 +1,445 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class ResourceManagerTest {
+
+    private static final long TIMEOUT_IN_MS = 5000;
+    private static final long LONG_AGING_INTERVAL_IN_MS = 3600000;
+
+    @Test
+    public void parseClaims() throws JsonProcessingException {
+        final ResourceClaim arm = ResourceClaim.fromString(" arm ");
+        assertEquals(new ResourceClaim("arm", 1, 1), arm);
+        assertEquals("arm", arm.toString());
+        final ResourceClaim incubator = ResourceClaim.fromString("incubator:2/4");
+        assertEquals(2, incubator.getPermits());
+        assertEquals(4, incubator.getCapacity());
+        assertEquals("incubator:2/4", incubator.toString());
+        assertEquals("reader/3", ResourceClaim.fromString("reader:1/3").toString());
+        assertEquals(List.of(arm, incubator), ResourceClaim.listFromString("arm, incubator:2/4,"));
+        assertEquals(List.of(), ResourceClaim.listFromString(" "));
+
+        assertThrows(IllegalArgumentException.class, () -> ResourceClaim.fromString("arm:2"));
+        assertThrows(IllegalArgumentException.class, () -> ResourceClaim.fromString("arm:0/2"));
+        assertThrows(IllegalArgumentException.class, () -> ResourceClaim.fromString("my arm"));
+        assertThrows(IllegalArgumentException.class, () -> ResourceClaim.fromString(""));
+        assertThrows(IllegalArgumentException.class,
+                () -> ResourceClaim.fromString(ResourceClaim.SERVER_PREFIX + UUID.randomUUID()));
+
+        final ObjectMapper jsonMapper = new ObjectMapper();
+        final TaskEntry entry = new TaskEntry(1, new DelayTaskModel(), ExecPolicy.HALT_AFTER_ERROR,
+                null);
+        assertFalse(jsonMapper.writeValueAsString(entry).contains("taskResources"));
+        entry.setTaskResources(List.of(arm, incubator));
+        final String json = jsonMapper.writeValueAsString(entry);
+        assertTrue(json.contains("\"taskResources\":[\"arm\",\"incubator:2/4\"]"));
+        assertEquals(List.of(arm, incubator),
+                jsonMapper.readValue(json, TaskEntry.class).getTaskResources());
+    }
+
+    @Test
+    public void exclusiveLock() throws Exception {
+        final ResourceManager manager = new ResourceManager();
+        final List<ResourceClaim> arm = ResourceClaim.listFromString("arm");
+        final ResourceManager.Lease lease = manager.acquire(arm);
+        assertEquals(1, manager.getUsedPermits("arm"));
+
+        final CountDownLatch acquired = new CountDownLatch(1);
+        final Thread other = new Thread(() -> {
+            try (ResourceManager.Lease l = manager.acquire(arm)) {
+                acquired.countDown();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        other.start();
+        awaitWaiting(manager, 1);
+        assertEquals(1, acquired.getCount());
+        lease.release();
+        // releasing twice has no effect
+        lease.release();
+        assertTrue(acquired.await(TIMEOUT_IN_MS, TimeUnit.MILLISECONDS));
+        other.join(TIMEOUT_IN_MS);
+        assertEquals(0, manager.getUsedPermits("arm"));
+    }
+
+    @Test
+    public void countingSemaphore() throws Exception {
+        final ResourceManager manager = new ResourceManager();
+        final ResourceManager.Lease lease = manager.acquire(
+                ResourceClaim.listFromString("incubator:2/4"));
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread other = new Thread(() -> {
+            // the claims of a request are merged
+            try (ResourceManager.Lease l = manager.acquire(
+                    ResourceClaim.listFromString("incubator/4, incubator/4"))) {
+                release.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        other.start();
+        final long deadline = System.currentTimeMillis() + TIMEOUT_IN_MS;
+        while (manager.getUsedPermits("incubator") < 4) {
+            assertTrue(System.currentTimeMillis() < deadline, "timeout");
+            Thread.sleep(10);
+        }
+        assertEquals(0, manager.getWaitingCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.acquire(ResourceClaim.listFromString("incubator/8")));
+        release.countDown();
+        other.join(TIMEOUT_IN_MS);
+        lease.release();
+        assertEquals(0, manager.getUsedPermits("incubator"));
+        // unused resources may be claimed with another capacity
+        manager.acquire(ResourceClaim.listFromString("incubator/8")).release();
+    }
+
+    @Test
+    public void fairOrder() throws Exception {
+        final ResourceManager manager = new ResourceManager();
+        final ResourceManager.Lease lease = manager.acquire(
+                ResourceClaim.listFromString("arm, reader"));
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+        final Thread both = startAcquiring(manager, "arm, reader", "both", order);
+        awaitWaiting(manager, 1);
+        final Thread reader = startAcquiring(manager, "reader", "reader", order);
+        awaitWaiting(manager, 2);
+        // the reader must not overtake the earlier request, even if only the arm was busy
+        lease.release();
+        both.join(TIMEOUT_IN_MS);
+        reader.join(TIMEOUT_IN_MS);
+        assertEquals(List.of("both", "reader"), order);
+    }
+
+    @Test
+    public void reentrantClaims() throws Exception {
+        final ResourceManager manager = new ResourceManager();
+        final List<ResourceClaim> arm = ResourceClaim.listFromString("arm");
+        try (ResourceManager.Lease outer = manager.acquire(arm)) {
+            try (ResourceManager.Lease inner = manager.acquire(arm)) {
+                assertEquals(1, manager.getUsedPermits("arm"));
+            }
+            assertEquals(1, manager.getUsedPermits("arm"));
+        }
+        assertEquals(0, manager.getUsedPermits("arm"));
+    }
+
+    @Test
+    public void deadlockDetection() throws Exception {
+        final ResourceManager manager = new ResourceManager();
+        final ResourceManager.Lease arm = manager.acquire(ResourceClaim.listFromString("arm"));
+        final CountDownLatch readerAcquired = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        final AtomicReference<Exception> otherError = new AtomicReference<>();
+        final Thread other = new Thread(() -> {
+            try (ResourceManager.Lease reader = manager.acquire(
+                    ResourceClaim.listFromString("reader"))) {
+                readerAcquired.countDown();
+                proceed.await();
+                manager.acquire(ResourceClaim.listFromString("arm")).release();
+            } catch (final Exception ex) {
+                otherError.set(ex);
+            }
+        });
+        other.start();
+        assertTrue(readerAcquired.await(TIMEOUT_IN_MS, TimeUnit.MILLISECONDS));
+        proceed.countDown();
+        awaitWaiting(manager, 1);
+        // this thread holds the arm, the other thread holds the reader and waits for the arm
+        assertThrows(IllegalStateException.class,
+                () -> manager.acquire(ResourceClaim.listFromString("reader")));
+        arm.release();
+        other.join(TIMEOUT_IN_MS);
+        assertNull(otherError.get());
+    }
+
+    @Test
+    public void executeTask() throws Exception {
+        final ResourceManager manager = new ResourceManager();
+        final DelayTask task = new DelayTask(new DelayTaskModel(1));
+        manager.execute(task, ResourceClaim.listFromString("arm"));
+        assertEquals(TaskState.FINISHED_SUCCESS, task.getState());
+        assertEquals(0, manager.getUsedPermits("arm"));
+
+        final ResourceManager.Lease lease = manager.acquire(ResourceClaim.listFromString("arm"));
+        final Thread runner = new Thread(
+                () -> manager.execute(task, ResourceClaim.listFromString("arm")));
+        runner.start();
+        awaitWaiting(manager, 1);
+        runner.interrupt();
+        runner.join(TIMEOUT_IN_MS);
+        assertEquals(TaskState.FINISHED_ERROR, task.getState());
+        assertTrue(task.getLastExecResult().startsWith("Error: Interrupted"));
+        assertEquals(0, manager.getWaitingCount());
+        lease.release();
+    }
+
+
+    @Test
+    public void priorityOrder() throws Exception {
+        final ResourceManager manager = new ResourceManager(LONG_AGING_INTERVAL_IN_MS);
+        final ResourceManager.Lease lease = manager.acquire(ResourceClaim.listFromString("arm"));
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+        final Thread low = startAcquiring(manager, "arm", "low", order, TaskPriority.LOW, null);
+        awaitWaiting(manager, 1);
+        final Thread urgent = startAcquiring(manager, "arm", "urgent", order, TaskPriority.URGENT,
+                null);
+        awaitWaiting(manager, 2);
+        lease.release();
+        low.join(TIMEOUT_IN_MS);
+        urgent.join(TIMEOUT_IN_MS);
+        assertEquals(List.of("urgent", "low"), order);
+    }
+
+    @Test
+    public void aging() throws Exception {
+        // without aging interval, all requests are aged immediately and served in arrival order
+        final ResourceManager manager = new ResourceManager(0);
+        final ResourceManager.Lease lease = manager.acquire(ResourceClaim.listFromString("arm"));
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+        final Thread low = startAcquiring(manager, "arm", "low", order, TaskPriority.LOW, null);
+        awaitWaiting(manager, 1);
+        final Thread urgent = startAcquiring(manager, "arm", "urgent", order, TaskPriority.URGENT,
+                null);
+        awaitWaiting(manager, 2);
+        lease.release();
+        low.join(TIMEOUT_IN_MS);
+        urgent.join(TIMEOUT_IN_MS);
+        assertEquals(List.of("low", "urgent"), order);
+    }
+
+    @Test
+    public void deadlineOrder() throws Exception {
+        final ResourceManager manager = new ResourceManager(LONG_AGING_INTERVAL_IN_MS);
+        final ResourceManager.Lease lease = manager.acquire(ResourceClaim.listFromString("arm"));
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+        final Thread routine = startAcquiring(manager, "arm", "routine", order,
+                TaskPriority.NORMAL, null);
+        awaitWaiting(manager, 1);
+        final Thread due = startAcquiring(manager, "arm", "due", order, TaskPriority.NORMAL,
+                Instant.now().plusSeconds(60));
+        awaitWaiting(manager, 2);
+        lease.release();
+        routine.join(TIMEOUT_IN_MS);
+        due.join(TIMEOUT_IN_MS);
+        assertEquals(List.of("due", "routine"), order);
+    }
+
+    @Test
+    public void resourceStatus() throws Exception {
+        final ResourceManager manager = new ResourceManager();
+        assertTrue(manager.getResourceStatusList().isEmpty());
+        final List<ResourceClaim> arm = ResourceClaim.listFromString("arm");
+        final ResourceManager.Lease first = manager.acquire(arm);
+        Thread.sleep(50);
+        first.release();
+        manager.acquire(ResourceClaim.listFromString("reader/2")).release();
+
+        final ResourceManager.Lease lease = manager.acquire(arm);
+        final Thread other = startAcquiring(manager, "arm", "other",
+                Collections.synchronizedList(new ArrayList<>()));
+        awaitWaiting(manager, 1);
+        List<ResourceManager.ResourceStatus> statusList = manager.getResourceStatusList();
+        assertEquals(2, statusList.size());
+        ResourceManager.ResourceStatus status = statusList.get(0);
+        assertEquals("arm", status.getName());
+        assertEquals(1, status.getCapacity());
+        assertEquals(1, status.getUsedPermits());
+        assertEquals(1, status.getQueueDepth());
+        // the waiting and the new request each hold the arm for about 50 ms
+        assertTrue(status.getExpectedWaitInMs() >= 100);
+        status = statusList.get(1);
+        assertEquals("reader", status.getName());
+        assertEquals(2, status.getCapacity());
+        assertEquals(0, status.getQueueDepth());
+        assertEquals(0, status.getExpectedWaitInMs());
+
+        lease.release();
+        other.join(TIMEOUT_IN_MS);
+        status = manager.getResourceStatusList().get(0);
+        assertEquals(0, status.getUsedPermits());
+        assertEquals(0, status.getQueueDepth());
+        assertEquals(0, status.getExpectedWaitInMs());
+    }
+
+    @Test
+    public void deadlineMisses() {
+        final ResourceManager manager = new ResourceManager();
+        manager.execute(new DelayTask(new DelayTaskModel(1)), List.of(), TaskPriority.HIGH,
+                Instant.now().plusSeconds(60));
+        assertEquals(0, manager.getDeadlineMissCount());
+        manager.execute(new DelayTask(new DelayTaskModel(1)), ResourceClaim.listFromString("arm"),
+                TaskPriority.HIGH, Instant.now().minusSeconds(1));
+        assertEquals(1, manager.getDeadlineMissCount());
+
+        // inline executed tasks inherit the deadline of the enclosing task
+        final DelayTask inner = new DelayTask(new DelayTaskModel(1));
+        final DelayTask outer = new DelayTask(new DelayTaskModel(1)) {
+            @Override
+            public void run() {
+                manager.execute(inner, ResourceClaim.listFromString("arm"));
+                super.run();
+            }
+        };
+        manager.execute(outer, ResourceClaim.listFromString("arm"), null,
+                Instant.now().minusSeconds(1));
+        assertEquals(TaskState.FINISHED_SUCCESS, inner.getState());
+        assertEquals(3, manager.getDeadlineMissCount());
+    }
+
+    @Test
+    public void serverOrder() throws Exception {
+        final ResourceManager manager = new ResourceManager(LONG_AGING_INTERVAL_IN_MS);
+        final UUID serverUuid = UUID.randomUUID();
+        final ResourceClaim callSlot = ResourceClaim.forServer(serverUuid);
+        assertEquals(ResourceClaim.SERVER_PREFIX + serverUuid, callSlot.getName());
+        assertEquals(1, callSlot.getPermits());
+        assertEquals(ResourceClaim.SERVER_CAPACITY, callSlot.getCapacity());
+
+        // all call slots of the server are in use, the last one by another thread
+        final ResourceManager.Lease lease = manager.acquire(List.of(new ResourceClaim(
+                callSlot.getName(),
+                ResourceClaim.SERVER_CAPACITY - 1,
+                ResourceClaim.SERVER_CAPACITY)));
+        final CountDownLatch lastCallDone = new CountDownLatch(1);
+        final Thread lastCall = new Thread(() -> {
+            try (ResourceManager.Lease l = manager.acquire(List.of(callSlot))) {
+                lastCallDone.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        lastCall.start();
+        final long deadline = System.currentTimeMillis() + TIMEOUT_IN_MS;
+        while (manager.getUsedPermits(callSlot.getName()) < ResourceClaim.SERVER_CAPACITY) {
+            assertTrue(System.currentTimeMillis() < deadline, "timeout");
+            Thread.sleep(10);
+        }
+
+        // the waiting calls are dispatched by priority when a slot of the server becomes free
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+        final Thread low = startAcquiring(manager, List.of(callSlot), "low", order,
+                TaskPriority.LOW, null);
+        awaitWaiting(manager, 1);
+        final Thread urgent = startAcquiring(manager, List.of(callSlot), "urgent", order,
+                TaskPriority.URGENT, null);
+        awaitWaiting(manager, 2);
+        lastCallDone.countDown();
+        lastCall.join(TIMEOUT_IN_MS);
+        low.join(TIMEOUT_IN_MS);
+        urgent.join(TIMEOUT_IN_MS);
+        assertEquals(List.of("urgent", "low"), order);
+        lease.release();
+        assertEquals(0, manager.getUsedPermits(callSlot.getName()));
+    }
+
+    @Test
+    public void currentDispatch() {
+        final ResourceManager manager = new ResourceManager();
+        assertNull(manager.getCurrentPriority());
+        final Instant deadline = Instant.now().plusSeconds(60);
+        final List<Object> dispatch = new ArrayList<>();
+        final DelayTask task = new DelayTask(new DelayTaskModel(1)) {
+            @Override
+            public void run() {
+                dispatch.add(manager.getCurrentPriority());
+                dispatch.add(manager.getCurrentDeadline());
+                super.run();
+            }
+        };
+        manager.execute(task, List.of(), TaskPriority.HIGH, deadline);
+        assertEquals(List.of(TaskPriority.HIGH, deadline), dispatch);
+        assertNull(manager.getCurrentPriority());
+        assertNull(manager.getCurrentDeadline());
+    }
+
+    @Test
+    public void executeInBackground() throws Exception {
+        // tasks executed from their panel hold their resources like in a queue run
+        final ResourceManager manager = ResourceManager.getInstance();
+        final List<ResourceClaim> claims = ResourceClaim.listFromString("panel-test-arm");
+        final DelayTask task = new DelayTask(new DelayTaskModel(1));
+        task.setResourceClaims(claims);
+        task.setPriority(TaskPriority.HIGH);
+        assertEquals(claims, task.getResourceClaims());
+        assertEquals(TaskPriority.HIGH, task.getPriority());
+
+        final ResourceManager.Lease lease = manager.acquire(claims);
+        task.executeInBackground();
+        awaitWaiting(manager, 1);
+        assertEquals(TaskState.NEUTRAL, task.getState());
+        lease.release();
+        final long deadline = System.currentTimeMillis() + TIMEOUT_IN_MS;
+        while (task.getState() != TaskState.FINISHED_SUCCESS) {
+            assertTrue(System.currentTimeMillis() < deadline, "timeout");
+            Thread.sleep(10);
+        }
+        assertEquals(0, manager.getWaitingCount());
+    }
+
+    private static Thread startAcquiring(
+            final ResourceManager manager,
+            final String claims,
+            final String name,
+            final List<String> order
+    ) {
+        return startAcquiring(manager, claims, name, order, TaskPriority.NORMAL, null);
+    }
+
+    private static Thread startAcquiring(
+            final ResourceManager manager,
+            final String claims,
+            final String name,
+            final List<String> order,
+            final TaskPriority priority,
+            final Instant deadline
+    ) {
+        return startAcquiring(manager, ResourceClaim.listFromString(claims), name, order, priority,
+                deadline);
+    }
+
+    private static Thread startAcquiring(
+            final ResourceManager manager,
+            final List<ResourceClaim> claims,
+            final String name,
+            final List<String> order,
+            final TaskPriority priority,
+            final Instant deadline
+    ) {
+        final Thread thread = new Thread(() -> {
+            try (ResourceManager.Lease lease = manager.acquire(claims, priority, deadline)) {
+                order.add(name);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitWaiting(final ResourceManager manager, int count)
+            throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_IN_MS;
+        while (manager.getWaitingCount() < count) {
+            assertTrue(System.currentTimeMillis() < deadline, "timeout");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Set;
+import javax.swing.JPanel;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class RetrySettingsTest {
+
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+
+    /**
+     * Task which fails with the given errors before it succeeds.
+     */
+    static class FlakyTask extends QueueTask {
+
+        private final List<ErrorCategory> errors;
+        private int runCount = 0;
+
+        FlakyTask(final List<ErrorCategory> errors) {
+            this.errors = errors;
+        }
+
+        @Override
+        public TaskModel getCurrentTaskModel() {
+            return null;
+        }
+
+        @Override
+        public JPanel getPresenter() {
+            return null;
+        }
+
+        @Override
+        public void run() {
+            if (runCount < errors.size()) {
+                lastErrorCategory = errors.get(runCount);
+                taskState = TaskState.FINISHED_ERROR;
+            } else {
+                lastErrorCategory = null;
+                taskState = TaskState.FINISHED_SUCCESS;
+            }
+            runCount++;
+        }
+    }
+
+    private static RetrySettings createSettings(int maxAttempts) {
+        final RetrySettings retry = new RetrySettings();
+        retry.setMaxAttempts(maxAttempts);
+        retry.setInitialBackoffInMs(1);
+        retry.setMaxBackoffInMs(1);
+        return retry;
+    }
+
+    @Test
+    public void getBackoffInMs() {
+        final RetrySettings retry = new RetrySettings();
+        retry.setInitialBackoffInMs(1000);
+        retry.setBackoffMultiplier(2.0);
+        retry.setMaxBackoffInMs(5000);
+        retry.setJitter(0.0);
+        assertEquals(1000, retry.getBackoffInMs(1, 0.9));
+        assertEquals(2000, retry.getBackoffInMs(2, 0.9));
+        assertEquals(4000, retry.getBackoffInMs(3, 0.9));
+        assertEquals(5000, retry.getBackoffInMs(4, 0.9));
+
+        retry.setJitter(0.5);
+        assertEquals(500, retry.getBackoffInMs(1, 0.0));
+        assertEquals(1000, retry.getBackoffInMs(1, 0.5));
+        for (int i = 0; i < 100; i++) {
+            final long backoff = retry.getBackoffInMs(2);
+            assertTrue(backoff >= 1000 && backoff <= 3000);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> retry.setMaxAttempts(0));
+        assertThrows(IllegalArgumentException.class, () -> retry.setInitialBackoffInMs(-1));
+        assertThrows(IllegalArgumentException.class, () -> retry.setBackoffMultiplier(0.5));
+        assertThrows(IllegalArgumentException.class, () -> retry.setJitter(1.5));
+    }
+
+    @Test
+    public void retry() {
+        final FlakyTask recovering = new FlakyTask(List.of(
+                ErrorCategory.CONNECTION,
+                ErrorCategory.UNDEFINED));
+        recovering.run();
+        createSettings(3).retry(recovering, recovering, () -> false);
+        assertEquals(TaskState.FINISHED_SUCCESS, recovering.getState());
+        assertNull(recovering.getLastErrorCategory());
+        assertEquals(3, recovering.runCount);
+
+        // attempts exhausted
+        final FlakyTask exhausted = new FlakyTask(List.of(
+                ErrorCategory.CONNECTION,
+                ErrorCategory.CONNECTION));
+        exhausted.run();
+        createSettings(2).retry(exhausted, exhausted, () -> false);
+        assertEquals(TaskState.FINISHED_ERROR, exhausted.getState());
+        assertEquals(2, exhausted.runCount);
+
+        // not retryable
+        final FlakyTask invalid = new FlakyTask(List.of(ErrorCategory.VALIDATION));
+        invalid.run();
+        createSettings(3).retry(invalid, invalid, () -> false);
+        assertEquals(1, invalid.runCount);
+
+        // cancelled
+        final FlakyTask cancelled = new FlakyTask(List.of(ErrorCategory.CONNECTION));
+        cancelled.run();
+        createSettings(3).retry(cancelled, cancelled, () -> true);
+        assertEquals(1, cancelled.runCount);
+    }
+
+    @Test
+    public void serialization() throws JsonProcessingException {
+        final RetrySettings retry = new RetrySettings();
+        retry.setMaxAttempts(5);
+        retry.setJitter(0.1);
+        retry.setRetryableErrors(Set.of(ErrorCategory.DEFINED));
+        final TaskEntry entry = new TaskEntry(3, new DelayTaskModel(10), ExecPolicy.RETRY, retry);
+        final TaskEntry read = jsonMapper.readValue(
+                jsonMapper.writeValueAsString(entry),
+                TaskEntry.class);
+        assertEquals(ExecPolicy.RETRY, read.getTaskPolicy());
+        assertEquals(5, read.getTaskRetry().getMaxAttempts());
+        assertEquals(0.1, read.getTaskRetry().getJitter());
+        assertEquals(Set.of(ErrorCategory.DEFINED), read.getTaskRetry().getRetryableErrors());
+
+        final TaskEntry halt = new TaskEntry(4, new DelayTaskModel(10), ExecPolicy.HALT_AFTER_ERROR,
+                null);
+        assertFalse(jsonMapper.writeValueAsString(halt).contains("taskRetry"));
+    }
+}
@@ -0,0 +1,78 @@
+package de.fau.clients.orchestrator.tasks;
+
+import de.fau.clients.orchestrator.metrics.CommandKey;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class ServerBalancerTest {
+
+    private static final String FEATURE_ID = "Feature";
+    private static final String COMMAND_ID = "Command";
+    private final UUID serverA = new UUID(0, 1);
+    private final UUID serverB = new UUID(0, 2);
+    private final AtomicLong clock = new AtomicLong();
+    private final ServerBalancer balancer = new ServerBalancer(clock::get);
+
+    @Test
+    public void acquire_inFlight() {
+        final List<UUID> pool = List.of(serverA, serverB);
+        assertNull(balancer.acquire(List.of(), FEATURE_ID, COMMAND_ID));
+
+        // without latencies, the calls are spread by the number of calls in flight
+        final ServerBalancer.Lease lease1 = balancer.acquire(pool, FEATURE_ID, COMMAND_ID);
+        final ServerBalancer.Lease lease2 = balancer.acquire(pool, FEATURE_ID, COMMAND_ID);
+        assertEquals(serverA, lease1.getServerUuid());
+        assertEquals(serverB, lease2.getServerUuid());
+        assertEquals(1, balancer.getInFlightCount(serverA));
+        assertEquals(1, balancer.getInFlightCount(serverB));
+
+        lease1.cancel();
+        lease1.cancel();
+        assertEquals(0, balancer.getInFlightCount(serverA));
+        assertTrue(Double.isNaN(balancer.getLatencyEstimate(
+                new CommandKey(serverA, FEATURE_ID, COMMAND_ID))));
+        assertEquals(serverA, balancer.acquire(pool, FEATURE_ID, COMMAND_ID).getServerUuid());
+    }
+
+    @Test
+    public void acquire_latency() {
+        final List<UUID> pool = List.of(serverA, serverB);
+        final CommandKey keyA = new CommandKey(serverA, FEATURE_ID, COMMAND_ID);
+        final CommandKey keyB = new CommandKey(serverB, FEATURE_ID, COMMAND_ID);
+        final ServerBalancer.Lease leaseA = balancer.acquire(pool, FEATURE_ID, COMMAND_ID);
+        final ServerBalancer.Lease leaseB = balancer.acquire(pool, FEATURE_ID, COMMAND_ID);
+        clock.addAndGet(100);
+        leaseB.release(true);
+        clock.addAndGet(300);
+        leaseA.release(true);
+        assertEquals(400.0, balancer.getLatencyEstimate(keyA));
+        assertEquals(100.0, balancer.getLatencyEstimate(keyB));
+
+        // the faster server takes calls until it is expected to finish later than the slower one
+        final ServerBalancer.Lease lease1 = balancer.acquire(pool, FEATURE_ID, COMMAND_ID);
+        final ServerBalancer.Lease lease2 = balancer.acquire(pool, FEATURE_ID, COMMAND_ID);
+        final ServerBalancer.Lease lease3 = balancer.acquire(pool, FEATURE_ID, COMMAND_ID);
+        final ServerBalancer.Lease lease4 = balancer.acquire(pool, FEATURE_ID, COMMAND_ID);
+        final ServerBalancer.Lease lease5 = balancer.acquire(pool, FEATURE_ID, COMMAND_ID);
+        assertEquals(serverB, lease1.getServerUuid());
+        assertEquals(serverB, lease2.getServerUuid());
+        assertEquals(serverB, lease3.getServerUuid());
+        assertEquals(serverA, lease4.getServerUuid());
+        assertEquals(serverB, lease5.getServerUuid());
+
+        // the moving average adapts to the recent latency
+        clock.addAndGet(200);
+        lease1.release(true);
+        assertEquals(0.7 * 100.0 + 0.3 * 200.0, balancer.getLatencyEstimate(keyB), 1e-9);
+
+        // failures are penalized even if they are fast
+        final double before = balancer.getLatencyEstimate(keyA);
+        lease4.release(false);
+        assertTrue(balancer.getLatencyEstimate(keyA) > before);
+    }
+}
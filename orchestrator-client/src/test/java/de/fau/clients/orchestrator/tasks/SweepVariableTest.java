@@ -0,0 +1,134 @@
+package de.fau.clients.orchestrator.tasks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SweepVariableTest {
+
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+
+    @Test
+    public void fromString() {
+        SweepVariable var = SweepVariable.fromString("/Well/value = A1, A2 ,A3");
+        assertEquals("/Well/value", var.getTarget());
+        assertEquals(List.of("A1", "A2", "A3"), var.getValues());
+        assertEquals(3, var.size());
+        assertEquals("/Well/value = A1, A2, A3", var.toString());
+
+        var = SweepVariable.fromString("/Volume/value = 10..100:10");
+        assertNull(var.getValues());
+        assertEquals(10, var.size());
+        assertEquals("10", var.getValue(0));
+        assertEquals("100", var.getValue(9));
+        assertEquals(var.toString(), SweepVariable.fromString(var.toString()).toString());
+
+        var = SweepVariable.fromString("/Volume/value = 1..2");
+        assertEquals(2, var.size());
+        assertEquals("1..2:1", var.toString().split(" = ")[1]);
+
+        assertThrows(IllegalArgumentException.class, () -> SweepVariable.fromString("/Well/value"));
+        assertThrows(IllegalArgumentException.class, () -> SweepVariable.fromString(" = A1"));
+        assertThrows(IllegalArgumentException.class, () -> SweepVariable.fromString("Well = A1"));
+        assertThrows(IllegalArgumentException.class,
+                () -> SweepVariable.fromString("/Volume/value = 10..1:1"));
+        assertThrows(IllegalArgumentException.class,
+                () -> SweepVariable.fromString("/Volume/value = 1..10:0"));
+    }
+
+    @Test
+    public void range() {
+        SweepVariable var = SweepVariable.ofRange("/T/value",
+                new BigDecimal("0.5"), new BigDecimal("1.6"), new BigDecimal("0.25"));
+        assertEquals(5, var.size());
+        assertEquals("0.5", var.getValue(0));
+        assertEquals("1.5", var.getValue(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> var.getValue(5));
+
+        final SweepVariable desc = SweepVariable.ofRange("/T/value",
+                BigDecimal.TEN, BigDecimal.ONE, new BigDecimal("-3"));
+        assertEquals(4, desc.size());
+        assertEquals("1", desc.getValue(3));
+
+        assertThrows(IllegalArgumentException.class, () -> SweepVariable.ofRange("/T/value",
+                BigDecimal.ZERO, new BigDecimal("1e10"), BigDecimal.ONE));
+    }
+
+    @Test
+    public void serialization() throws JsonProcessingException {
+        final SweepVariable var = SweepVariable.fromString("/Volume/value = 10..100:10");
+        final String json = jsonMapper.writeValueAsString(var);
+        assertEquals(var.toString(),
+                jsonMapper.readValue(json, SweepVariable.class).toString());
+        assertThrows(JsonProcessingException.class, () -> jsonMapper.readValue(
+                "{\"target\":\"/Well/value\",\"values\":[\"A1\"],\"start\":1,\"end\":2}",
+                SweepVariable.class));
+    }
+
+    @Test
+    public void generator(@TempDir final Path tempDir) throws IOException {
+        final JsonNode template = jsonMapper.readTree("{\"Mode\":{\"value\":\"fast\"}}");
+        final List<SweepVariable> vars = List.of(
+                SweepVariable.fromString("/Well/value = A1, A2"),
+                SweepVariable.fromString("/Volume/value = 1..3"));
+        List<JsonNode> calls = generateAll(new SweepGenerator(template, vars, null));
+        assertEquals(6, calls.size());
+        assertEquals("A1", calls.get(0).at("/Well/value").asText());
+        assertEquals("1", calls.get(0).at("/Volume/value").asText());
+        assertEquals("A1", calls.get(2).at("/Well/value").asText());
+        assertEquals("3", calls.get(2).at("/Volume/value").asText());
+        assertEquals("A2", calls.get(3).at("/Well/value").asText());
+        assertEquals("fast", calls.get(5).at("/Mode/value").asText());
+        // the template must not be modified
+        assertEquals(1, template.size());
+
+        final Path csvFile = tempDir.resolve("sweep.csv");
+        Files.writeString(csvFile, "/Plate/value;/Mode/value\n"
+                + "P1;\"slow; steady\"\n"
+                + "\n"
+                + "P2;\"a \"\"b\"\"\"\n", StandardCharsets.UTF_8);
+        calls = generateAll(new SweepGenerator(template,
+                List.of(SweepVariable.fromString("/Well/value = A1, A2")), csvFile));
+        assertEquals(4, calls.size());
+        assertEquals("P1", calls.get(1).at("/Plate/value").asText());
+        assertEquals("slow; steady", calls.get(1).at("/Mode/value").asText());
+        assertEquals("A2", calls.get(1).at("/Well/value").asText());
+        assertEquals("P2", calls.get(2).at("/Plate/value").asText());
+        assertEquals("a \"b\"", calls.get(2).at("/Mode/value").asText());
+
+        Files.writeString(csvFile, "/Plate/value,/Well/value\nP1,A1\n", StandardCharsets.UTF_8);
+        calls = generateAll(new SweepGenerator(null, List.of(), csvFile));
+        assertEquals(1, calls.size());
+        assertEquals("A1", calls.get(0).at("/Well/value").asText());
+
+        Files.writeString(csvFile, "/Plate/value;/Well/value\nP1\n", StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class,
+                () -> generateAll(new SweepGenerator(null, List.of(), csvFile)));
+        Files.writeString(csvFile, "\n", StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class,
+                () -> new SweepGenerator(null, List.of(), csvFile));
+    }
+
+    private static List<JsonNode> generateAll(final SweepGenerator generator) throws IOException {
+        final List<JsonNode> calls = new ArrayList<>();
+        try (generator) {
+            JsonNode params;
+            while ((params = generator.next()) != null) {
+                calls.add(params);
+            }
+        }
+        return calls;
+    }
+}
@@ -0,0 +1,133 @@
+package de.fau.clients.orchestrator.mock;
+
+import java.util.Random;
+
+/**
+ * Distribution of the artificial response delay of a mock server. The distributions are meant to
+ * approximate the timing of real devices, which usually answer within a typical time, but
+ * occasionally take considerably longer.
+ *
+ * @see MockSilaServer
+ */
+public interface LatencyDistribution {
+
+    /**
+     * Draws the next delay from the distribution.
+     *
+     * @param rnd The random number generator to use.
+     * @return The delay in milliseconds (always &gt;= 0).
+     */
+    long sampleMillis(final Random rnd);
+
+    /**
+     * Responds immediately.
+     *
+     * @return The distribution.
+     */
+    static LatencyDistribution none() {
+        return rnd -> 0;
+    }
+
+    /**
+     * Responds always with the same delay.
+     *
+     * @param millis The delay in milliseconds.
+     * @return The distribution.
+     */
+    static LatencyDistribution constant(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Delay must not be negative.");
+        }
+        return rnd -> millis;
+    }
+
+    /**
+     * Draws the delay uniformly from the given range.
+     *
+     * @param minMillis The minimal delay in milliseconds (inclusive).
+     * @param maxMillis The maximal delay in milliseconds (inclusive).
+     * @return The distribution.
+     */
+    static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Invalid delay range.");
+        }
+        final long span = maxMillis - minMillis + 1;
+        return rnd -> minMillis + (long) (rnd.nextDouble() * span);
+    }
+
+    /**
+     * Draws the delay from an exponential distribution, which models independent arrivals.
+     *
+     * @param meanMillis The mean delay in milliseconds.
+     * @return The distribution.
+     */
+    static LatencyDistribution exponential(double meanMillis) {
+        if (meanMillis < 0) {
+            throw new IllegalArgumentException("Mean delay must not be negative.");
+        }
+        return rnd -> Math.round(-meanMillis * Math.log(1.0 - rnd.nextDouble()));
+    }
+
+    /**
+     * Draws the delay from a log-normal distribution, which has a long tail towards high delays.
+     *
+     * @param medianMillis The median delay in milliseconds.
+     * @param sigma The shape parameter. Higher values result in a longer tail (e.g. 0.5).
+     * @return The distribution.
+     */
+    static LatencyDistribution logNormal(double medianMillis, double sigma) {
+        if (medianMillis <= 0 || sigma < 0) {
+            throw new IllegalArgumentException("Invalid log-normal parameters.");
+        }
+        final double mu = Math.log(medianMillis);
+        return rnd -> Math.round(Math.exp(mu + sigma * rnd.nextGaussian()));
+    }
+
+    /**
+     * Parses a distribution from its textual form. The supported forms are <code>none</code>,
+     * <code>constant:&lt;ms&gt;</code>, <code>uniform:&lt;min-ms&gt;:&lt;max-ms&gt;</code>,
+     * <code>exponential:&lt;mean-ms&gt;</code> and <code>lognormal:&lt;median-ms&gt;:&lt;sigma&gt;</code>.
+     *
+     * @param spec The textual form of the distribution (e.g. "uniform:5:20").
+     * @return The parsed distribution.
+     * @throws IllegalArgumentException if the given string is not a valid distribution.
+     */
+    static LatencyDistribution parse(final String spec) {
+        final String[] parts = spec.trim().toLowerCase().split(":");
+        try {
+            switch (parts[0]) {
+                case "none":
+                    if (parts.length == 1) {
+                        return none();
+                    }
+                    break;
+                case "constant":
+                    if (parts.length == 2) {
+                        return constant(Long.parseLong(parts[1]));
+                    }
+                    break;
+                case "uniform":
+                    if (parts.length == 3) {
+                        return uniform(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+                    }
+                    break;
+                case "exponential":
+                    if (parts.length == 2) {
+                        return exponential(Double.parseDouble(parts[1]));
+                    }
+                    break;
+                case "lognormal":
+                    if (parts.length == 3) {
+                        return logNormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (final NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid number in latency distribution '" + spec + "'.");
+        }
+        throw new IllegalArgumentException("Unknown latency distribution '" + spec + "'.");
+    }
+}
@@ -0,0 +1,71 @@
+package de.fau.clients.orchestrator.mock;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Command line entry point to start mock servers for manual tests with the orchestrator (e.g. to
+ * reproduce a production load locally). The servers run until the process gets terminated.
+ */
+public final class MockServerLauncher {
+
+    private static final String USAGE = "Usage: MockServerLauncher [options]\n"
+            + " -n <count>\t Number of servers to start (default: 1).\n"
+            + " -f <count>\t Number of synthetic features per server (default: 1).\n"
+            + " -l <latency>\t Latency distribution, e.g. 'none', 'constant:10', 'uniform:5:20',\n"
+            + "\t\t 'exponential:15' or 'lognormal:20:0.5' (default: none).\n"
+            + " -e <rate>\t Probability of a defined execution error (default: 0.0).\n"
+            + " -u <rate>\t Probability of an undefined execution error (default: 0.0).\n"
+            + " -s <seed>\t Seed for reproducible delays and errors.\n";
+
+    private MockServerLauncher() {
+        throw new UnsupportedOperationException("Instantiation not allowed.");
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        final MockSilaServer.Builder builder = MockSilaServer.Builder.newBuilder();
+        int serverCount = 1;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for option " + args[i] + ".");
+                }
+                final String value = args[++i];
+                switch (args[i - 1]) {
+                    case "-n":
+                        serverCount = Integer.parseInt(value);
+                        break;
+                    case "-f":
+                        builder.withFeatureCount(Integer.parseInt(value));
+                        break;
+                    case "-l":
+                        builder.withLatency(LatencyDistribution.parse(value));
+                        break;
+                    case "-e":
+                        builder.withDefinedErrorRate(Double.parseDouble(value));
+                        break;
+                    case "-u":
+                        builder.withUndefinedErrorRate(Double.parseDouble(value));
+                        break;
+                    case "-s":
+                        builder.withSeed(Long.parseLong(value));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i - 1] + ".");
+                }
+            }
+        } catch (final IllegalArgumentException ex) {
+            System.err.println(ex.getMessage() + "\n\n" + USAGE);
+            System.exit(1);
+            return;
+        }
+
+        final List<MockSilaServer> servers = MockSilaServer.startMany(serverCount, builder);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> servers.forEach(MockSilaServer::close)));
+        for (final MockSilaServer server : servers) {
+            System.out.println("Mock server listening on " + MockSilaServer.HOST + ":" + server.getPort());
+        }
+        new CountDownLatch(1).await();
+    }
+}
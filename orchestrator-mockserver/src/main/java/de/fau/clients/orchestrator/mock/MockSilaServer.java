@@ -0,0 +1,441 @@
+package de.fau.clients.orchestrator.mock;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import sila_java.library.server_base.SiLAServer;
+import sila_java.library.server_base.identification.ServerInformation;
+
+/**
+ * A stand-in SiLA server for load and throughput testing of the orchestrator without real devices.
+ * The server provides one or more synthetic features (see <code>SyntheticFeature</code>), whose
+ * commands respond after a delay drawn from the configured latency distribution. Errors can be
+ * injected with a given probability and every finished invocation is counted and reported to the
+ * registered listeners.
+ *
+ * Responses are scheduled on a small thread pool instead of blocking the gRPC threads, so a single
+ * server is able to handle many concurrent calls even with high latencies.
+ *
+ * Example:
+ * <pre>
+ * try (final MockSilaServer server = MockSilaServer.Builder.newBuilder()
+ *         .withLatency(LatencyDistribution.logNormal(20, 0.5))
+ *         .withDefinedErrorRate(0.01)
+ *         .start()) {
+ *     connectionManager.addServer("127.0.0.1", server.getPort());
+ *     ...
+ * }
+ * </pre>
+ */
+@Slf4j
+public final class MockSilaServer implements AutoCloseable {
+
+    public static final String HOST = "127.0.0.1";
+    public static final String SERVER_TYPE = "MockServer";
+    public static final String FEATURE_ID_PREFIX = "SyntheticFeature";
+
+    private final int port;
+    private final LatencyDistribution latency;
+    private final double definedErrorRate;
+    private final double undefinedErrorRate;
+    private final Random rnd;
+    private final ScheduledExecutorService scheduler;
+    private final List<SyntheticFeature> features;
+    private final Map<String, LongAdder> invocationCounts = new ConcurrentHashMap<>();
+    private final LongAdder injectedErrorCount = new LongAdder();
+    private final List<InvocationListener> invocationListeners = new CopyOnWriteArrayList<>();
+    private final SiLAServer server;
+
+    /**
+     * Listener which gets notified about every finished command invocation. The callbacks are
+     * executed on the scheduler threads of the server and should therefore return quickly.
+     */
+    public interface InvocationListener {
+
+        /**
+         * Called after an invocation was answered.
+         *
+         * @param featureId The identifier of the feature.
+         * @param commandId The identifier of the command.
+         * @param delayInMillisec The applied artificial delay.
+         * @param error The returned error or <code>null</code> on success.
+         */
+        void onInvocationFinished(
+                final String featureId,
+                final String commandId,
+                long delayInMillisec,
+                final Throwable error);
+    }
+
+    private MockSilaServer(final Builder builder) throws IOException {
+        this.port = (builder.port > 0) ? builder.port : findFreePort();
+        this.latency = builder.latency;
+        this.definedErrorRate = builder.definedErrorRate;
+        this.undefinedErrorRate = builder.undefinedErrorRate;
+        this.rnd = (builder.seed != null) ? new Random(builder.seed) : new Random();
+        this.scheduler = Executors.newScheduledThreadPool(builder.workerThreads, runnable -> {
+            final Thread thread = new Thread(runnable, "mock-sila-" + port);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final List<SyntheticFeature> featureList = new ArrayList<>(builder.featureCount);
+        for (int i = 1; i <= builder.featureCount; i++) {
+            final String featureId = (builder.featureCount == 1)
+                    ? FEATURE_ID_PREFIX
+                    : FEATURE_ID_PREFIX + i;
+            featureList.add(new SyntheticFeature(featureId, this));
+        }
+        this.features = Collections.unmodifiableList(featureList);
+
+        final ServerInformation serverInfo = new ServerInformation(
+                SERVER_TYPE,
+                "Stand-in SiLA server with synthetic features for load testing.",
+                "https://github.com/FlorianBauer/sila-orchestrator",
+                "1.0");
+        final SiLAServer.Builder serverBuilder = SiLAServer.Builder.newBuilder(serverInfo)
+                .withPort(port)
+                .withDiscovery(false)
+                .withUnsafeCommunication(true);
+        for (final SyntheticFeature feature : features) {
+            serverBuilder.addFeature(feature.getFeatureDefinition(), feature);
+        }
+        try {
+            this.server = serverBuilder.start();
+        } catch (final IOException ex) {
+            scheduler.shutdownNow();
+            throw ex;
+        }
+        log.info("Mock server started on port " + port + " with " + features.size() + " feature(s)");
+    }
+
+    /**
+     * Gets a currently unused port on the local host.
+     *
+     * @return The free port.
+     * @throws IOException if no port could be allocated.
+     */
+    public static int findFreePort() throws IOException {
+        try (final ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Starts the given number of servers with the same configuration on distinct ports.
+     *
+     * @param count The number of servers to start.
+     * @param builder The configuration to use. A fixed port is ignored.
+     * @return The list of started servers.
+     * @throws IOException if a server could not be started. Already started servers are closed.
+     */
+    public static List<MockSilaServer> startMany(int count, @NonNull final Builder builder)
+            throws IOException {
+        final List<MockSilaServer> servers = new ArrayList<>(count);
+        final int fixedPort = builder.port;
+        final Long baseSeed = builder.seed;
+        builder.port = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                if (baseSeed != null) {
+                    // distinct but reproducible sequences for each server
+                    builder.seed = baseSeed + i;
+                }
+                servers.add(new MockSilaServer(builder));
+            }
+        } catch (final IOException ex) {
+            servers.forEach(MockSilaServer::close);
+            throw ex;
+        } finally {
+            builder.port = fixedPort;
+            builder.seed = baseSeed;
+        }
+        return servers;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Gets the identifiers of all features provided by this server.
+     *
+     * @return The feature identifiers.
+     */
+    public List<String> getFeatureIds() {
+        final List<String> featureIds = new ArrayList<>(features.size());
+        for (final SyntheticFeature feature : features) {
+            featureIds.add(feature.getIdentifier());
+        }
+        return featureIds;
+    }
+
+    /**
+     * Gets the number of finished invocations of the given command.
+     *
+     * @param featureId The identifier of the feature.
+     * @param commandId The identifier of the command.
+     * @return The number of invocations including the failed ones.
+     */
+    public long getInvocationCount(final String featureId, final String commandId) {
+        final LongAdder count = invocationCounts.get(featureId + "/" + commandId);
+        return (count != null) ? count.sum() : 0;
+    }
+
+    /**
+     * Gets the number of finished command invocations of the given feature.
+     *
+     * @param featureId The identifier of the feature.
+     * @return The number of invocations including the failed ones.
+     */
+    public long getInvocationCount(final String featureId) {
+        final LongAdder count = invocationCounts.get(featureId);
+        return (count != null) ? count.sum() : 0;
+    }
+
+    /**
+     * Gets the number of finished command invocations of all features.
+     *
+     * @return The number of invocations including the failed ones.
+     */
+    public long getTotalInvocationCount() {
+        long total = 0;
+        for (final SyntheticFeature feature : features) {
+            total += getInvocationCount(feature.getIdentifier());
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of invocations which were answered with an injected error.
+     *
+     * @return The number of injected errors.
+     */
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.sum();
+    }
+
+    /**
+     * Resets all invocation counters.
+     */
+    public void resetCounters() {
+        invocationCounts.clear();
+        injectedErrorCount.reset();
+    }
+
+    public void addInvocationListener(@NonNull final InvocationListener listener) {
+        invocationListeners.add(listener);
+    }
+
+    public void removeInvocationListener(@NonNull final InvocationListener listener) {
+        invocationListeners.remove(listener);
+    }
+
+    /**
+     * Executes a call of a synthetic feature. The response is delayed according to the latency
+     * distribution and, in case of a command, possibly replaced by an injected error.
+     *
+     * @param feature The feature the call belongs to.
+     * @param callId The identifier of the command or property.
+     * @param handler The handler creating the response.
+     * @param isCommand <code>true</code> if the call is a command invocation, which gets counted
+     * and is subject to error injection.
+     * @return The future of the encoded response.
+     */
+    CompletableFuture<byte[]> execute(
+            final SyntheticFeature feature,
+            final String callId,
+            final Callable<byte[]> handler,
+            boolean isCommand
+    ) {
+        final CompletableFuture<byte[]> future = new CompletableFuture<>();
+        final long delay = latency.sampleMillis(rnd);
+        final double errorSample = isCommand ? rnd.nextDouble() : 1.0;
+        scheduler.schedule(() -> {
+            Throwable error = null;
+            if (errorSample < definedErrorRate) {
+                error = ProtoUtils.createDefinedExecutionError(
+                        feature.getErrorIdentifier(),
+                        "Injected error on " + callId + ".");
+                injectedErrorCount.increment();
+            } else if (errorSample < definedErrorRate + undefinedErrorRate) {
+                error = ProtoUtils.createUndefinedExecutionError(
+                        "Injected undefined error on " + callId + ".");
+                injectedErrorCount.increment();
+            }
+
+            byte[] response = null;
+            if (error == null) {
+                try {
+                    response = handler.call();
+                } catch (final Exception ex) {
+                    error = ex;
+                }
+            }
+
+            // count before responding, so the counters are up to date once the client is notified
+            final String featureId = feature.getIdentifier();
+            if (isCommand) {
+                invocationCounts.computeIfAbsent(featureId, key -> new LongAdder()).increment();
+                invocationCounts.computeIfAbsent(featureId + "/" + callId, key -> new LongAdder())
+                        .increment();
+            }
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(response);
+            }
+            if (isCommand) {
+                for (final InvocationListener listener : invocationListeners) {
+                    listener.onInvocationFinished(featureId, callId, delay, error);
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.close();
+        } catch (final Exception ex) {
+            log.warn("Could not close mock server on port " + port + ": " + ex.getMessage());
+        }
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Builder for the configuration of a mock server. By default, a single feature is served on a
+     * free port without any delay or errors.
+     */
+    public static final class Builder {
+
+        private int port = 0;
+        private int featureCount = 1;
+        private int workerThreads = 2;
+        private LatencyDistribution latency = LatencyDistribution.none();
+        private double definedErrorRate = 0.0;
+        private double undefinedErrorRate = 0.0;
+        private Long seed = null;
+
+        private Builder() {
+        }
+
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * Sets the port to listen on.
+         *
+         * @param port The port or 0 to choose a free port.
+         * @return The builder.
+         */
+        public Builder withPort(int port) {
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException("Invalid port " + port + ".");
+            }
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Sets the number of synthetic features provided by the server. With more than one feature,
+         * the identifiers get numbered (e.g. "SyntheticFeature1", "SyntheticFeature2").
+         *
+         * @param featureCount The number of features (&gt;= 1).
+         * @return The builder.
+         */
+        public Builder withFeatureCount(int featureCount) {
+            if (featureCount < 1) {
+                throw new IllegalArgumentException("At least one feature is required.");
+            }
+            this.featureCount = featureCount;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads used to send the responses.
+         *
+         * @param workerThreads The number of threads (&gt;= 1).
+         * @return The builder.
+         */
+        public Builder withWorkerThreads(int workerThreads) {
+            if (workerThreads < 1) {
+                throw new IllegalArgumentException("At least one worker thread is required.");
+            }
+            this.workerThreads = workerThreads;
+            return this;
+        }
+
+        public Builder withLatency(@NonNull final LatencyDistribution latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Sets the probability of answering a command with the defined execution error
+         * <code>InjectedError</code>.
+         *
+         * @param rate The probability in the range of [0.0, 1.0].
+         * @return The builder.
+         */
+        public Builder withDefinedErrorRate(double rate) {
+            this.definedErrorRate = checkRate(rate, undefinedErrorRate);
+            return this;
+        }
+
+        /**
+         * Sets the probability of answering a command with an undefined execution error.
+         *
+         * @param rate The probability in the range of [0.0, 1.0].
+         * @return The builder.
+         */
+        public Builder withUndefinedErrorRate(double rate) {
+            this.undefinedErrorRate = checkRate(rate, definedErrorRate);
+            return this;
+        }
+
+        /**
+         * Sets a seed for the random number generator to get reproducible delays and errors.
+         *
+         * @param seed The seed to use.
+         * @return The builder.
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        private static double checkRate(double rate, double otherRate) {
+            if (rate < 0.0 || rate > 1.0 || rate + otherRate > 1.0) {
+                throw new IllegalArgumentException("Error rates must be within [0.0, 1.0] in total.");
+            }
+            return rate;
+        }
+
+        /**
+         * Starts a server with the current configuration.
+         *
+         * @return The running server.
+         * @throws IOException if the server could not be started.
+         */
+        public MockSilaServer start() throws IOException {
+            return new MockSilaServer(this);
+        }
+    }
+}
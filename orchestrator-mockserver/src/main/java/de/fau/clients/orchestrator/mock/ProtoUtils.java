@@ -0,0 +1,139 @@
+package de.fau.clients.orchestrator.mock;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Message;
+import com.google.protobuf.WireFormat;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import sila2.org.silastandard.SiLAFramework;
+
+/**
+ * Helpers to handle the SiLA messages of the synthetic features without generated protobuf stubs.
+ * All parameter and response messages of SiLA consist of length-delimited fields only, whose
+ * content is one of the types of the SiLA framework. The messages are therefore passed through
+ * gRPC as plain bytes and only the needed fields are decoded.
+ */
+final class ProtoUtils {
+
+    static final MethodDescriptor.Marshaller<byte[]> BYTES_MARSHALLER = new MethodDescriptor.Marshaller<byte[]>() {
+        @Override
+        public InputStream stream(final byte[] value) {
+            return new ByteArrayInputStream(value);
+        }
+
+        @Override
+        public byte[] parse(final InputStream stream) {
+            try {
+                return stream.readAllBytes();
+            } catch (final IOException ex) {
+                throw Status.INTERNAL.withCause(ex).asRuntimeException();
+            }
+        }
+    };
+
+    private ProtoUtils() {
+        throw new UnsupportedOperationException("Instantiation not allowed.");
+    }
+
+    /**
+     * Reads all length-delimited fields of the given message. Other field types are skipped.
+     *
+     * @param message The encoded message.
+     * @return A map with the field numbers as key and the encoded field content as value.
+     * @throws IOException if the message is malformed.
+     */
+    static Map<Integer, ByteString> readFields(final byte[] message) throws IOException {
+        final CodedInputStream in = CodedInputStream.newInstance(message);
+        final Map<Integer, ByteString> fields = new HashMap<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            if (WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                fields.put(WireFormat.getTagFieldNumber(tag), in.readBytes());
+            } else {
+                in.skipField(tag);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Encodes the given values as consecutive fields of a message, starting with field number 1.
+     *
+     * @param values The field values in order of their field number.
+     * @return The encoded message.
+     */
+    static byte[] writeFields(final Message... values) {
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            size += CodedOutputStream.computeMessageSize(i + 1, values[i]);
+        }
+        final byte[] message = new byte[size];
+        final CodedOutputStream out = CodedOutputStream.newInstance(message);
+        try {
+            for (int i = 0; i < values.length; i++) {
+                out.writeMessage(i + 1, values[i]);
+            }
+            out.checkNoSpaceLeft();
+        } catch (final IOException ex) {
+            // cannot happen, since the array was sized accordingly
+            throw new IllegalStateException(ex);
+        }
+        return message;
+    }
+
+    /**
+     * Wraps the given error into a gRPC status as defined by the SiLA 2 standard (i.e. ABORTED with
+     * the Base64 encoded error as description).
+     *
+     * @param silaError The SiLA error to transmit.
+     * @return The exception to pass to the response observer.
+     */
+    static StatusRuntimeException toStatusException(final SiLAFramework.SiLAError silaError) {
+        return Status.ABORTED
+                .withDescription(Base64.getEncoder().encodeToString(silaError.toByteArray()))
+                .asRuntimeException();
+    }
+
+    static StatusRuntimeException createDefinedExecutionError(
+            final String errorIdentifier,
+            final String message
+    ) {
+        return toStatusException(SiLAFramework.SiLAError.newBuilder()
+                .setDefinedExecutionError(SiLAFramework.DefinedExecutionError.newBuilder()
+                        .setErrorIdentifier(errorIdentifier)
+                        .setMessage(message))
+                .build());
+    }
+
+    static StatusRuntimeException createUndefinedExecutionError(final String message) {
+        return toStatusException(SiLAFramework.SiLAError.newBuilder()
+                .setUndefinedExecutionError(SiLAFramework.UndefinedExecutionError.newBuilder()
+                        .setMessage(message))
+                .build());
+    }
+
+    static StatusRuntimeException createValidationError(final String parameter, final String message) {
+        return toStatusException(SiLAFramework.SiLAError.newBuilder()
+                .setValidationError(SiLAFramework.ValidationError.newBuilder()
+                        .setParameter(parameter)
+                        .setMessage(message))
+                .build());
+    }
+
+    static StatusRuntimeException createInvalidExecutionUuidError() {
+        return toStatusException(SiLAFramework.SiLAError.newBuilder()
+                .setFrameworkError(SiLAFramework.FrameworkError.newBuilder()
+                        .setErrorType(SiLAFramework.FrameworkError.ErrorType.INVALID_COMMAND_EXECUTION_UUID)
+                        .setMessage("Unknown command execution UUID."))
+                .build());
+    }
+}
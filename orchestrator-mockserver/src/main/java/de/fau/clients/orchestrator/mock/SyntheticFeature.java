@@ -0,0 +1,325 @@
+package de.fau.clients.orchestrator.mock;
+
+import com.google.protobuf.ByteString;
+import io.grpc.BindableService;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import sila2.org.silastandard.SiLAFramework;
+
+/**
+ * A synthetic SiLA feature with a fixed set of simple commands, which are answered by the mock
+ * server with the configured latency and error injection. The feature definition and the gRPC
+ * service are generated at runtime, so an arbitrary number of distinct features can be served.
+ *
+ * Provided commands and properties:
+ * <ul>
+ * <li><code>Echo</code>: Returns the given string parameter <code>Value</code>.</li>
+ * <li><code>Add</code>: Returns the sum of the integer parameters <code>A</code> and
+ * <code>B</code>.</li>
+ * <li><code>Process</code>: Observable command which returns the given integer parameter
+ * <code>Value</code> after the configured latency.</li>
+ * <li><code>CallCount</code>: Unobservable property with the number of command invocations served
+ * by this feature.</li>
+ * </ul>
+ */
+final class SyntheticFeature implements BindableService {
+
+    static final String ORIGINATOR = "de.fau";
+    static final String CATEGORY = "examples";
+    static final String CMD_ECHO = "Echo";
+    static final String CMD_ADD = "Add";
+    static final String CMD_PROCESS = "Process";
+    static final String PROP_CALL_COUNT = "CallCount";
+    static final String INJECTED_ERROR = "InjectedError";
+
+    private final String identifier;
+    private final MockSilaServer server;
+    private final Map<UUID, CompletableFuture<byte[]>> executions = new ConcurrentHashMap<>();
+
+    SyntheticFeature(final String identifier, final MockSilaServer server) {
+        this.identifier = identifier;
+        this.server = server;
+    }
+
+    String getIdentifier() {
+        return identifier;
+    }
+
+    String getServiceName() {
+        return "sila2." + ORIGINATOR + "." + CATEGORY + "." + identifier.toLowerCase()
+                + ".v1." + identifier;
+    }
+
+    String getErrorIdentifier() {
+        return ORIGINATOR + "/" + CATEGORY + "/" + identifier + "/v1/DefinedExecutionError/"
+                + INJECTED_ERROR;
+    }
+
+    /**
+     * Generates the XML feature definition as it is transmitted to the clients.
+     *
+     * @return The feature definition.
+     */
+    String getFeatureDefinition() {
+        final StringBuilder sb = new StringBuilder(4096);
+        sb.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n")
+                .append("<Feature SiLA2Version=\"1.0\" FeatureVersion=\"1.0\" Originator=\"")
+                .append(ORIGINATOR).append("\" Category=\"").append(CATEGORY).append("\"\n")
+                .append("         xmlns=\"http://www.sila-standard.org\"\n")
+                .append("         xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n")
+                .append("         xsi:schemaLocation=\"http://www.sila-standard.org ")
+                .append("https://gitlab.com/SiLA2/sila_base/raw/master/schema/FeatureDefinition.xsd\">\n");
+        appendHeader(sb, "  ", identifier, "Synthetic feature of a mock server for load testing.");
+
+        sb.append("  <Command>\n");
+        appendHeader(sb, "    ", CMD_ECHO, "Returns the given value.");
+        sb.append("    <Observable>No</Observable>\n");
+        appendElement(sb, "Parameter", "Value", "String");
+        appendElement(sb, "Response", "Result", "String");
+        appendErrors(sb);
+        sb.append("  </Command>\n");
+
+        sb.append("  <Command>\n");
+        appendHeader(sb, "    ", CMD_ADD, "Returns the sum of both values.");
+        sb.append("    <Observable>No</Observable>\n");
+        appendElement(sb, "Parameter", "A", "Integer");
+        appendElement(sb, "Parameter", "B", "Integer");
+        appendElement(sb, "Response", "Sum", "Integer");
+        appendErrors(sb);
+        sb.append("  </Command>\n");
+
+        sb.append("  <Command>\n");
+        appendHeader(sb, "    ", CMD_PROCESS, "Returns the given value after a while.");
+        sb.append("    <Observable>Yes</Observable>\n");
+        appendElement(sb, "Parameter", "Value", "Integer");
+        appendElement(sb, "Response", "Result", "Integer");
+        appendErrors(sb);
+        sb.append("  </Command>\n");
+
+        sb.append("  <Property>\n");
+        appendHeader(sb, "    ", PROP_CALL_COUNT, "The number of served command invocations.");
+        sb.append("    <Observable>No</Observable>\n")
+                .append("    <DataType>\n      <Basic>Integer</Basic>\n    </DataType>\n")
+                .append("  </Property>\n");
+
+        sb.append("  <DefinedExecutionError>\n");
+        appendHeader(sb, "    ", INJECTED_ERROR, "Error injected by the mock server on purpose.");
+        sb.append("  </DefinedExecutionError>\n");
+        sb.append("</Feature>\n");
+        return sb.toString();
+    }
+
+    private static void appendHeader(
+            final StringBuilder sb,
+            final String indent,
+            final String identifier,
+            final String description
+    ) {
+        sb.append(indent).append("<Identifier>").append(identifier).append("</Identifier>\n")
+                .append(indent).append("<DisplayName>").append(identifier).append("</DisplayName>\n")
+                .append(indent).append("<Description>").append(description).append("</Description>\n");
+    }
+
+    private static void appendElement(
+            final StringBuilder sb,
+            final String tag,
+            final String identifier,
+            final String basicType
+    ) {
+        sb.append("    <").append(tag).append(">\n");
+        appendHeader(sb, "      ", identifier, identifier + " of type " + basicType + ".");
+        sb.append("      <DataType>\n        <Basic>").append(basicType).append("</Basic>\n")
+                .append("      </DataType>\n")
+                .append("    </").append(tag).append(">\n");
+    }
+
+    private static void appendErrors(final StringBuilder sb) {
+        sb.append("    <DefinedExecutionErrors>\n      <Identifier>").append(INJECTED_ERROR)
+                .append("</Identifier>\n    </DefinedExecutionErrors>\n");
+    }
+
+    @Override
+    public ServerServiceDefinition bindService() {
+        final String serviceName = getServiceName();
+        return ServerServiceDefinition.builder(serviceName)
+                .addMethod(
+                        createMethod(serviceName, CMD_ECHO, MethodDescriptor.MethodType.UNARY),
+                        ServerCalls.asyncUnaryCall(this::echo))
+                .addMethod(
+                        createMethod(serviceName, CMD_ADD, MethodDescriptor.MethodType.UNARY),
+                        ServerCalls.asyncUnaryCall(this::add))
+                .addMethod(
+                        createMethod(serviceName, CMD_PROCESS, MethodDescriptor.MethodType.UNARY),
+                        ServerCalls.asyncUnaryCall(this::process))
+                .addMethod(
+                        createMethod(serviceName, CMD_PROCESS + "_Info",
+                                MethodDescriptor.MethodType.SERVER_STREAMING),
+                        ServerCalls.asyncServerStreamingCall(this::processInfo))
+                .addMethod(
+                        createMethod(serviceName, CMD_PROCESS + "_Result",
+                                MethodDescriptor.MethodType.UNARY),
+                        ServerCalls.asyncUnaryCall(this::processResult))
+                .addMethod(
+                        createMethod(serviceName, "Get_" + PROP_CALL_COUNT,
+                                MethodDescriptor.MethodType.UNARY),
+                        ServerCalls.asyncUnaryCall(this::getCallCount))
+                .build();
+    }
+
+    private static MethodDescriptor<byte[], byte[]> createMethod(
+            final String serviceName,
+            final String methodName,
+            final MethodDescriptor.MethodType type
+    ) {
+        return MethodDescriptor.<byte[], byte[]>newBuilder()
+                .setType(type)
+                .setFullMethodName(MethodDescriptor.generateFullMethodName(serviceName, methodName))
+                .setRequestMarshaller(ProtoUtils.BYTES_MARSHALLER)
+                .setResponseMarshaller(ProtoUtils.BYTES_MARSHALLER)
+                .build();
+    }
+
+    private static ByteString getRequiredField(
+            final Map<Integer, ByteString> fields,
+            int fieldNumber,
+            final String parameter
+    ) {
+        final ByteString field = fields.get(fieldNumber);
+        if (field == null) {
+            throw ProtoUtils.createValidationError(parameter, "Missing parameter " + parameter + ".");
+        }
+        return field;
+    }
+
+    private void respond(
+            final String callId,
+            final Callable<byte[]> handler,
+            boolean isCommand,
+            final StreamObserver<byte[]> responseObserver
+    ) {
+        server.execute(this, callId, handler, isCommand).whenComplete((response, ex) -> {
+            if (ex != null) {
+                responseObserver.onError(ex);
+            } else {
+                responseObserver.onNext(response);
+                responseObserver.onCompleted();
+            }
+        });
+    }
+
+    private void echo(final byte[] request, final StreamObserver<byte[]> responseObserver) {
+        respond(CMD_ECHO, () -> {
+            final Map<Integer, ByteString> fields = ProtoUtils.readFields(request);
+            final SiLAFramework.String value = SiLAFramework.String.parseFrom(
+                    getRequiredField(fields, 1, "Value"));
+            return ProtoUtils.writeFields(value);
+        }, true, responseObserver);
+    }
+
+    private void add(final byte[] request, final StreamObserver<byte[]> responseObserver) {
+        respond(CMD_ADD, () -> {
+            final Map<Integer, ByteString> fields = ProtoUtils.readFields(request);
+            final long a = SiLAFramework.Integer.parseFrom(getRequiredField(fields, 1, "A")).getValue();
+            final long b = SiLAFramework.Integer.parseFrom(getRequiredField(fields, 2, "B")).getValue();
+            return ProtoUtils.writeFields(SiLAFramework.Integer.newBuilder().setValue(a + b).build());
+        }, true, responseObserver);
+    }
+
+    private void process(final byte[] request, final StreamObserver<byte[]> responseObserver) {
+        final SiLAFramework.Integer value;
+        try {
+            value = SiLAFramework.Integer.parseFrom(
+                    getRequiredField(ProtoUtils.readFields(request), 1, "Value"));
+        } catch (final IOException ex) {
+            responseObserver.onError(ProtoUtils.createValidationError("Value", ex.getMessage()));
+            return;
+        } catch (final RuntimeException ex) {
+            responseObserver.onError(ex);
+            return;
+        }
+
+        final UUID executionUuid = UUID.randomUUID();
+        executions.put(executionUuid, server.execute(
+                this,
+                CMD_PROCESS,
+                () -> ProtoUtils.writeFields(value),
+                true));
+        responseObserver.onNext(SiLAFramework.CommandConfirmation.newBuilder()
+                .setCommandExecutionUUID(SiLAFramework.CommandExecutionUUID.newBuilder()
+                        .setValue(executionUuid.toString()))
+                .build()
+                .toByteArray());
+        responseObserver.onCompleted();
+    }
+
+    private CompletableFuture<byte[]> getExecution(final byte[] request) {
+        try {
+            final String uuidStr = SiLAFramework.CommandExecutionUUID.parseFrom(request).getValue();
+            return executions.get(UUID.fromString(uuidStr));
+        } catch (final IOException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static SiLAFramework.ExecutionInfo createExecutionInfo(
+            final SiLAFramework.ExecutionInfo.CommandStatus status,
+            double progress
+    ) {
+        return SiLAFramework.ExecutionInfo.newBuilder()
+                .setCommandStatus(status)
+                .setProgressInfo(SiLAFramework.Real.newBuilder().setValue(progress))
+                .build();
+    }
+
+    private void processInfo(final byte[] request, final StreamObserver<byte[]> responseObserver) {
+        final CompletableFuture<byte[]> execution = getExecution(request);
+        if (execution == null) {
+            responseObserver.onError(ProtoUtils.createInvalidExecutionUuidError());
+            return;
+        }
+        responseObserver.onNext(createExecutionInfo(
+                SiLAFramework.ExecutionInfo.CommandStatus.running, 0.0).toByteArray());
+        execution.whenComplete((response, ex) -> {
+            responseObserver.onNext(createExecutionInfo(
+                    (ex == null)
+                            ? SiLAFramework.ExecutionInfo.CommandStatus.finishedSuccessfully
+                            : SiLAFramework.ExecutionInfo.CommandStatus.finishedWithError,
+                    1.0).toByteArray());
+            responseObserver.onCompleted();
+        });
+    }
+
+    private void processResult(final byte[] request, final StreamObserver<byte[]> responseObserver) {
+        final CompletableFuture<byte[]> execution = getExecution(request);
+        if (execution == null) {
+            responseObserver.onError(ProtoUtils.createInvalidExecutionUuidError());
+            return;
+        }
+        execution.whenComplete((response, ex) -> {
+            executions.values().remove(execution);
+            if (ex != null) {
+                responseObserver.onError(ex);
+            } else {
+                responseObserver.onNext(response);
+                responseObserver.onCompleted();
+            }
+        });
+    }
+
+    private void getCallCount(final byte[] request, final StreamObserver<byte[]> responseObserver) {
+        respond("Get_" + PROP_CALL_COUNT, () -> ProtoUtils.writeFields(
+                SiLAFramework.Integer.newBuilder()
+                        .setValue(server.getInvocationCount(identifier))
+                        .build()),
+                false,
+                responseObserver);
+    }
+}
@@ -0,0 +1,76 @@
+package de.fau.clients.orchestrator.mock;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class LatencyDistributionTest {
+
+    static final int SAMPLE_COUNT = 10000;
+
+    static long[] sample(final LatencyDistribution dist) {
+        final Random rnd = new Random(42);
+        final long[] samples = new long[SAMPLE_COUNT];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            samples[i] = dist.sampleMillis(rnd);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    @Test
+    public void noneAndConstant() {
+        final long[] none = sample(LatencyDistribution.none());
+        assertEquals(0, none[0]);
+        assertEquals(0, none[SAMPLE_COUNT - 1]);
+
+        final long[] constant = sample(LatencyDistribution.constant(25));
+        assertEquals(25, constant[0]);
+        assertEquals(25, constant[SAMPLE_COUNT - 1]);
+    }
+
+    @Test
+    public void uniform() {
+        final long[] samples = sample(LatencyDistribution.uniform(5, 20));
+        assertEquals(5, samples[0]);
+        assertEquals(20, samples[SAMPLE_COUNT - 1]);
+        final long median = samples[SAMPLE_COUNT / 2];
+        assertTrue(median >= 11 && median <= 14, "median was " + median);
+    }
+
+    @Test
+    public void exponential() {
+        final long[] samples = sample(LatencyDistribution.exponential(10));
+        assertTrue(samples[0] >= 0);
+        final double mean = Arrays.stream(samples).average().orElse(0);
+        assertEquals(10.0, mean, 0.5);
+    }
+
+    @Test
+    public void logNormal() {
+        final long[] samples = sample(LatencyDistribution.logNormal(20, 0.5));
+        assertTrue(samples[0] >= 0);
+        final long median = samples[SAMPLE_COUNT / 2];
+        assertTrue(median >= 19 && median <= 21, "median was " + median);
+        // the long tail: the 99th percentile is far above the median
+        assertTrue(samples[SAMPLE_COUNT * 99 / 100] > 2 * median);
+    }
+
+    @Test
+    public void parse() {
+        assertEquals(0, LatencyDistribution.parse("none").sampleMillis(new Random()));
+        assertEquals(7, LatencyDistribution.parse("constant:7").sampleMillis(new Random()));
+        assertEquals(3, LatencyDistribution.parse(" Uniform:3:3 ").sampleMillis(new Random()));
+        assertTrue(LatencyDistribution.parse("exponential:5").sampleMillis(new Random()) >= 0);
+        assertTrue(LatencyDistribution.parse("lognormal:5:0.2").sampleMillis(new Random()) >= 0);
+
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("gauss:5"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("constant"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("constant:x"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("uniform:9:3"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("constant:-1"));
+    }
+}